@@ -0,0 +1,45 @@
+// Writes a .gz and a .br copy of each text file in the build, which Spring serves to browsers
+// that accept them (spring.web.resources.chain.compressed), so that the server never compresses
+// the frontend per request. Copies that would not save at least 10% are not kept.
+//
+// Runs after `vite build` as the postbuild script: node precompress.js build
+import fs from 'fs';
+import path from 'path';
+import zlib from 'zlib';
+
+const EXTENSIONS = /\.(html|js|css|json|svg|txt|map)$/;
+const MIN_SIZE = 1024;
+
+function precompress(dir) {
+  const files = fs.readdirSync(dir, { recursive: true })
+    .map((file) => path.join(dir, file))
+    .filter((file) => EXTENSIONS.test(file) && fs.statSync(file).size >= MIN_SIZE);
+  const written = [];
+  for (const file of files) {
+    const content = fs.readFileSync(file);
+    const compressed = {
+      gz: zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+      br: zlib.brotliCompressSync(content, {
+        params: {
+          [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+          [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+        },
+      }),
+    };
+    for (const [extension, bytes] of Object.entries(compressed)) {
+      if (bytes.length < content.length * 0.9) {
+        fs.writeFileSync(`${file}.${extension}`, bytes);
+        written.push(`${file}.${extension}`);
+      }
+    }
+  }
+  return written;
+}
+
+const dir = process.argv[2];
+if (!dir || !fs.existsSync(dir)) {
+  console.error(`usage: node precompress.js <build directory>; '${dir}' does not exist`);
+  process.exit(1);
+}
+const written = precompress(dir);
+console.log(`precompress: wrote ${written.length} compressed copies in ${dir}`);
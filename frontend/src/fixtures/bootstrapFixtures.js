@@ -0,0 +1,33 @@
+import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
+import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+
+const csrf = {
+  headerName: "X-XSRF-TOKEN",
+  parameterName: "_csrf",
+  token: "3f1c2a8e-6b0d-4c7e-9a51-2d4e8f0b7c13",
+};
+
+const apiBootstrapFixtures = {
+  adminUser: {
+    systemInfo: systemInfoFixtures.showingNeither,
+    currentUser: apiCurrentUserFixtures.adminUser,
+    csrf,
+  },
+  adminUserShowingBoth: {
+    systemInfo: systemInfoFixtures.showingBoth,
+    currentUser: apiCurrentUserFixtures.adminUser,
+    csrf,
+  },
+  userOnly: {
+    systemInfo: systemInfoFixtures.showingNeither,
+    currentUser: apiCurrentUserFixtures.userOnly,
+    csrf,
+  },
+  notLoggedIn: {
+    systemInfo: systemInfoFixtures.showingNeither,
+    currentUser: null,
+    csrf,
+  },
+};
+
+export { apiBootstrapFixtures };
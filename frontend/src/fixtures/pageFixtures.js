@@ -0,0 +1,18 @@
+// Wraps a list in the response shape of a paged list endpoint
+// (e.g. /api/articles/all); see useBackendPage in main/utils/useBackend
+export function pageOf(
+  content,
+  number = 0,
+  size = 20,
+  totalElements = content.length,
+) {
+  return {
+    content: content,
+    page: {
+      size: size,
+      number: number,
+      totalElements: totalElements,
+      totalPages: Math.ceil(totalElements / size),
+    },
+  };
+}
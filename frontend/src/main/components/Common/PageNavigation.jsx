@@ -0,0 +1,38 @@
+import React from "react";
+import { Button } from "react-bootstrap";
+
+// Previous / Next controls for a paged list endpoint; page is the "page" part
+// of the response, i.e. { size, number, totalElements, totalPages }
+export default function PageNavigation({
+  page,
+  onPageChange,
+  testid = "PageNavigation",
+}) {
+  const pageCount = Math.max(page.totalPages, 1);
+
+  return (
+    <div className="d-flex align-items-center gap-2 mb-3" data-testid={testid}>
+      <Button
+        variant="outline-secondary"
+        size="sm"
+        disabled={page.number <= 0}
+        onClick={() => onPageChange(page.number - 1)}
+        data-testid={`${testid}-previous`}
+      >
+        Previous
+      </Button>
+      <span data-testid={`${testid}-status`}>
+        {`Page ${page.number + 1} of ${pageCount} (${page.totalElements} total)`}
+      </span>
+      <Button
+        variant="outline-secondary"
+        size="sm"
+        disabled={page.number >= pageCount - 1}
+        onClick={() => onPageChange(page.number + 1)}
+        data-testid={`${testid}-next`}
+      >
+        Next
+      </Button>
+    </div>
+  );
+}
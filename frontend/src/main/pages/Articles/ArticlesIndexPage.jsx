@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import ArticlesTable from "main/components/Articles/ArticlesTable";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
 import { Button } from "react-bootstrap";
@@ -9,16 +10,12 @@ import { Button } from "react-bootstrap";
 export default function ArticlesIndexPage() {
   const currentUser = useCurrentUser();
 
+  const [page, setPage] = useState(0);
   const {
-    data: articles,
+    data: articlesPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/articles/all"],{ method: "GET", url: "/api/articles/all" },
-    // Stryker disable next-line all : don't test default value of empty list
-    [],
-  );
+  } = useBackendPage("/api/articles/all", page);
 
   const createButton = () => {
     if (hasRole(currentUser, "ROLE_ADMIN")) {
@@ -39,7 +36,8 @@ export default function ArticlesIndexPage() {
       <div className="pt-2">
         {createButton()}
         <h1>Articles</h1>
-        <ArticlesTable articles={articles} currentUser={currentUser} />
+        <ArticlesTable articles={articlesPage.content} currentUser={currentUser} />
+        <PageNavigation page={articlesPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import HelpRequestTable from "main/components/HelpRequest/HelpRequestTable";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
 import { Button } from "react-bootstrap";
@@ -9,17 +10,12 @@ import { Button } from "react-bootstrap";
 export default function HelpRequestIndexPage() {
   const currentUser = useCurrentUser();
 
+  const [page, setPage] = useState(0);
   const {
-    data: helpRequests,
+    data: helpRequestsPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/helprequest/all"],
-    { method: "GET", url: "/api/helprequest/all" },
-    // Stryker disable next-line all : don't test default value of empty list
-    [],
-  );
+  } = useBackendPage("/api/helprequest/all", page);
 
   const createButton = () => {
     if (hasRole(currentUser, "ROLE_ADMIN")) {
@@ -41,9 +37,10 @@ export default function HelpRequestIndexPage() {
         {createButton()}
         <h1>HelpRequests</h1>
         <HelpRequestTable
-          helpRequests={helpRequests}
+          helpRequests={helpRequestsPage.content}
           currentUser={currentUser}
         />
+        <PageNavigation page={helpRequestsPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import MenuItemReviewTable from "main/components/MenuItemReview/MenuItemReviewTable";
 import { Button } from "react-bootstrap";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
@@ -23,23 +24,20 @@ export default function MenuItemReviewIndexPage() {
     }
   };
 
+  const [page, setPage] = useState(0);
   const {
-    data: menuItemReviews,
+    data: menuItemReviewsPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/menuitemreview/all"],
-    { method: "GET", url: "/api/menuitemreview/all" },
-    [],
-  );
+  } = useBackendPage("/api/menuitemreview/all", page);
 
   return (
     <BasicLayout>
       <div className="pt-2">
         {createButton()}
         <h1>MenuItemReview</h1>
-        <MenuItemReviewTable menuItemReviews={menuItemReviews} currentUser={currentUser} />
+        <MenuItemReviewTable menuItemReviews={menuItemReviewsPage.content} currentUser={currentUser} />
+        <PageNavigation page={menuItemReviewsPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import RecommendationRequestTable from "main/components/RecommendationRequest/RecommendationRequestTable";
 import { Button } from "react-bootstrap";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
@@ -23,16 +24,12 @@ export default function RecommendationRequestIndexPage() {
     }
   };
 
+  const [page, setPage] = useState(0);
   const {
-    data: recommendationRequests,
+    data: recommendationRequestsPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/recommendationrequest/all"],
-    { method: "GET", url: "/api/recommendationrequest/all" },
-    []
-  );
+  } = useBackendPage("/api/recommendationrequest/all", page);
 
   return (
     <BasicLayout>
@@ -40,9 +37,10 @@ export default function RecommendationRequestIndexPage() {
         {createButton()}
         <h1>Recommendation Requests</h1>
         <RecommendationRequestTable
-          recommendationRequests={recommendationRequests}
+          recommendationRequests={recommendationRequestsPage.content}
           currentUser={currentUser}
         />
+        <PageNavigation page={recommendationRequestsPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import RestaurantTable from "main/components/Restaurants/RestaurantTable";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
 import { Button } from "react-bootstrap";
@@ -9,17 +10,12 @@ import { Button } from "react-bootstrap";
 export default function RestaurantIndexPage() {
   const currentUser = useCurrentUser();
 
+  const [page, setPage] = useState(0);
   const {
-    data: restaurants,
+    data: restaurantsPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/restaurants/all"],
-    { method: "GET", url: "/api/restaurants/all" },
-    // Stryker disable next-line all : don't test default value of empty list
-    [],
-  );
+  } = useBackendPage("/api/restaurants/all", page);
 
   const createButton = () => {
     if (hasRole(currentUser, "ROLE_ADMIN")) {
@@ -40,7 +36,8 @@ export default function RestaurantIndexPage() {
       <div className="pt-2">
         {createButton()}
         <h1>Restaurants</h1>
-        <RestaurantTable restaurants={restaurants} currentUser={currentUser} />
+        <RestaurantTable restaurants={restaurantsPage.content} currentUser={currentUser} />
+        <PageNavigation page={restaurantsPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
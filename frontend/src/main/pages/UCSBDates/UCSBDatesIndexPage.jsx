@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import UCSBDatesTable from "main/components/UCSBDates/UCSBDatesTable";
 import { Button } from "react-bootstrap";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
@@ -23,23 +24,20 @@ export default function UCSBDatesIndexPage() {
     }
   };
 
+  const [page, setPage] = useState(0);
   const {
-    data: dates,
+    data: datesPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/ucsbdates/all"],
-    { method: "GET", url: "/api/ucsbdates/all" },
-    [],
-  );
+  } = useBackendPage("/api/ucsbdates/all", page);
 
   return (
     <BasicLayout>
       <div className="pt-2">
         {createButton()}
         <h1>UCSBDates</h1>
-        <UCSBDatesTable dates={dates} currentUser={currentUser} />
+        <UCSBDatesTable dates={datesPage.content} currentUser={currentUser} />
+        <PageNavigation page={datesPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import UCSBDiningCommonsMenuItemTable from "main/components/UCSBDiningCommonsMenuItem/UCSBDiningCommonsMenuItemTable";
 import { Button } from "react-bootstrap";
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
@@ -23,23 +24,20 @@ export default function UCSBDiningCommonsMenuItemIndexPage() {
     }
   };
 
+  const [page, setPage] = useState(0);
   const {
-    data: items,
+    data: itemsPage,
     error: _error,
     status: _status,
-  } = useBackend(
-    // Stryker disable next-line all : don't test internal caching of React Query
-    ["/api/ucsbdiningcommonsmenuitem/all"],
-    { method: "GET", url: "/api/ucsbdiningcommonsmenuitem/all" },
-    [],
-  );
+  } = useBackendPage("/api/ucsbdiningcommonsmenuitem/all", page);
 
   return (
     <BasicLayout>
       <div className="pt-2">
         {createButton()}
         <h1>UCSBDiningCommonsMenuItems</h1>
-        <UCSBDiningCommonsMenuItemTable diningCommonsMenuItems={items} currentUser={currentUser} />
+        <UCSBDiningCommonsMenuItemTable diningCommonsMenuItems={itemsPage.content} currentUser={currentUser} />
+        <PageNavigation page={itemsPage.page} onPageChange={setPage} />
       </div>
     </BasicLayout>
   );
@@ -1,7 +1,8 @@
-import React from "react";
-import { useBackend } from "main/utils/useBackend";
+import React, { useState } from "react";
+import { useBackendPage } from "main/utils/useBackend";
 
 import BasicLayout from "main/layouts/BasicLayout/BasicLayout";
+import PageNavigation from "main/components/Common/PageNavigation";
 import UCSBOrganizationTable from "main/components/UCSBOrganization/UCSBOrganizationTable" ;
 import { useCurrentUser, hasRole } from "main/utils/useCurrentUser";
 import { Button } from "react-bootstrap";
@@ -9,17 +10,12 @@ import { Button } from "react-bootstrap";
 export default function UCSBOrganizationIndexPage() {
   const currentUser = useCurrentUser();
   
+    const [page, setPage] = useState(0);
     const {
-      data: organizations,
+      data: organizationsPage,
       error: _error,
       status: _status,
-    } = useBackend(
-      // Stryker disable next-line all : don't test internal caching of React Query
-      ["/api/ucsborganization/all"],
-      { method: "GET", url: "/api/ucsborganization/all" },
-      // Stryker disable next-line all : don't test default value of empty list
-      [],
-    );
+    } = useBackendPage("/api/ucsborganization/all", page);
   
     const createButton = () => {
       if (hasRole(currentUser, "ROLE_ADMIN")) {
@@ -40,7 +36,8 @@ export default function UCSBOrganizationIndexPage() {
         <div className="pt-2">
           {createButton()}
           <h1>Organizations</h1>
-          <UCSBOrganizationTable organizations={organizations} currentUser={currentUser} />
+          <UCSBOrganizationTable organizations={organizationsPage.content} currentUser={currentUser} />
+          <PageNavigation page={organizationsPage.page} onPageChange={setPage} />
         </div>
       </BasicLayout>
     );
@@ -0,0 +1,38 @@
+import { useQuery } from "@tanstack/react-query";
+import axios from "axios";
+
+// GET /api/bootstrap returns the system info, the current user and a CSRF
+// token in one request; useSystemInfo and useCurrentUser each select their
+// part of this one query, so a page load makes one request instead of three.
+export const bootstrapQueryKey = ["bootstrap"];
+
+const initialData = {
+  initialData: true,
+  systemInfo: {
+    initialData: true,
+    springH2ConsoleEnabled: true,
+    showSwaggerUILink: true,
+    oauthLogin: "/oauth2/authorization/google",
+    sourceRepo: "https://github.com/ucsb-cs156-f25/STARTER-team02",
+  },
+  currentUser: null,
+};
+
+export function useBootstrap(select) {
+  return useQuery({
+    queryKey: bootstrapQueryKey,
+    queryFn: async () => {
+      try {
+        const response = await axios.get("/api/bootstrap");
+        const { csrf } = response.data;
+        axios.defaults.headers.common[csrf.headerName] = csrf.token;
+        return response.data;
+      } catch (e) {
+        console.error("Error invoking axios.get: ", e);
+        throw e;
+      }
+    },
+    initialData,
+    select,
+  });
+}
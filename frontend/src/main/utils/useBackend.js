@@ -50,6 +50,33 @@ export function useBackend(
   });
 }
 
+// Paged list endpoints (e.g. /api/articles/all) take page and size parameters
+// and return { content: [...], page: { size, number, totalElements, totalPages } }.
+// The backend caps size at app.paging.maxPageSize.
+export const DEFAULT_PAGE_SIZE = 20;
+
+export function emptyPage(size = DEFAULT_PAGE_SIZE) {
+  return {
+    content: [],
+    page: { size: size, number: 0, totalElements: 0, totalPages: 0 },
+  };
+}
+
+// GET Example:
+// const [page, setPage] = useState(0);
+// const { data: articlesPage } = useBackendPage("/api/articles/all", page);
+// ... articlesPage.content, articlesPage.page.totalElements
+
+export function useBackendPage(url, page, size = DEFAULT_PAGE_SIZE) {
+  return useBackend(
+    // Stryker disable next-line all : don't test internal caching of React Query
+    [url, page, size],
+    { method: "GET", url: url, params: { page: page, size: size } },
+    // Stryker disable next-line all : don't test default value of empty page
+    emptyPage(size),
+  );
+}
+
 const wrappedParams = async (params) => {
   return await (
     await axios(params)
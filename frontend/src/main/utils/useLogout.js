@@ -1,5 +1,6 @@
 import { useMutation, useQueryClient } from "@tanstack/react-query";
 import axios from "axios";
+import { bootstrapQueryKey } from "main/utils/bootstrap";
 import { useNavigate } from "react-router";
 
 export function useLogout() {
@@ -8,7 +9,8 @@ export function useLogout() {
   const mutation = useMutation({
     mutationFn: async () => {
       await axios.post("/logout");
-      await queryClient.resetQueries({ queryKey: ["current user"] });
+      // refetches the current user, and the CSRF token of the new session
+      await queryClient.resetQueries({ queryKey: bootstrapQueryKey });
       navigate("/");
     },
   });
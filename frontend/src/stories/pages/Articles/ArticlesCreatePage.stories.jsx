@@ -1,6 +1,5 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import { http, HttpResponse } from "msw";
 
 import ArticlesCreatePage from "main/pages/Articles/ArticlesCreatePage";
@@ -15,11 +14,8 @@ const Template = () => <ArticlesCreatePage storybook={true} />;
 export const Default = Template.bind({});
 Default.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, { status: 200 });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, { status: 200 });
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, { status: 200 });
     }),
     http.post("/api/articles/post", () => {
       return HttpResponse.json({}, { status: 200 });
@@ -1,6 +1,5 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import { http, HttpResponse } from "msw";
 
 import ArticlesEditPage from "main/pages/Articles/ArticlesEditPage";
@@ -16,16 +15,9 @@ const Template = () => <ArticlesEditPage storybook={true} />;
 export const Default = Template.bind({});
 Default.parameters = {
   msw: [
-    // 当前用户信息
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-
-    // 系统信息
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    // 当前用户信息和系统信息
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
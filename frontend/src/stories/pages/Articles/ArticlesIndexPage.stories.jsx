@@ -2,8 +2,8 @@
 import React from "react";
 import { http, HttpResponse } from "msw";
 import ArticlesIndexPage from "main/pages/Articles/ArticlesIndexPage";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { articlesFixtures } from "fixtures/articlesFixtures";
 
 export default {
@@ -16,18 +16,13 @@ const Template = () => <ArticlesIndexPage />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
     http.get("/api/articles/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -35,12 +30,10 @@ Empty.parameters = {
 export const ThreeArticlesOrdinaryUser = Template.bind({});
 ThreeArticlesOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () =>
-      HttpResponse.json(apiCurrentUserFixtures.userOnly, { status: 200 })),
-    http.get("/api/systemInfo", () =>
-      HttpResponse.json(systemInfoFixtures.showingNeither, { status: 200 })),
+    http.get("/api/bootstrap", () =>
+      HttpResponse.json(apiBootstrapFixtures.userOnly, { status: 200 })),
     http.get("/api/articles/all", () =>
-      HttpResponse.json(articlesFixtures.threeArticles, { status: 200 })),
+      HttpResponse.json(pageOf(articlesFixtures.threeArticles), { status: 200 })),
     http.delete("/api/articles", () => HttpResponse.json({}, { status: 200 })),
   ],
 };
@@ -49,14 +42,11 @@ export const ThreeArticlesAdminUser = Template.bind({});
 
 ThreeArticlesAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/articles/all", () => {
-      return HttpResponse.json(articlesFixtures.threeArticles);
+      return HttpResponse.json(pageOf(articlesFixtures.threeArticles));
     }),
     http.delete("/api/articles", () => {
       return HttpResponse.json(
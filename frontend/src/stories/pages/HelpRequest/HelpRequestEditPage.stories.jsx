@@ -1,6 +1,5 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import { helpRequestFixtures } from "fixtures/helpRequestFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,13 +15,8 @@ const Template = () => <HelpRequestEditPage storybook={true} />;
 export const Default = Template.bind({});
 Default.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
@@ -1,6 +1,6 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { helpRequestFixtures } from "fixtures/helpRequestFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,18 +16,13 @@ const Template = () => <HelpRequestIndexPage storybook={true} />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
     http.get("/api/helprequest/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -36,14 +31,11 @@ export const ThreeItemsOrdinaryUser = Template.bind({});
 
 ThreeItemsOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly);
     }),
     http.get("/api/helprequest/all", () => {
-      return HttpResponse.json(helpRequestFixtures.threeHelpRequests);
+      return HttpResponse.json(pageOf(helpRequestFixtures.threeHelpRequests));
     }),
   ],
 };
@@ -52,14 +44,11 @@ export const ThreeItemsAdminUser = Template.bind({});
 
 ThreeItemsAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/helprequest/all", () => {
-      return HttpResponse.json(helpRequestFixtures.threeHelpRequests);
+      return HttpResponse.json(pageOf(helpRequestFixtures.threeHelpRequests));
     }),
     http.delete("/api/helprequest", () => {
       return HttpResponse.json({}, { status: 200 });
@@ -1,5 +1,4 @@
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import { http, HttpResponse } from "msw";
 
 import HomePage from "main/pages/HomePage";
@@ -15,11 +14,8 @@ export const LoggedOut = Template.bind({});
 LoggedOut.parameters = {
   msw: {
     handlers: [
-      http.get("/api/currentUser", () => {
-        return HttpResponse.json(null, { status: 403 });
-      }),
-      http.get("/api/systemInfo", () => {
-        return HttpResponse.json(systemInfoFixtures.showingNeither);
+      http.get("/api/bootstrap", () => {
+        return HttpResponse.json(apiBootstrapFixtures.notLoggedIn);
       }),
     ],
   },
@@ -29,11 +25,8 @@ export const LoggedInRegularUser = Template.bind({});
 LoggedInRegularUser.parameters = {
   msw: {
     handlers: [
-      http.get("/api/currentUser", () => {
-        return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-      }),
-      http.get("/api/systemInfo", () => {
-        return HttpResponse.json(systemInfoFixtures.showingNeither);
+      http.get("/api/bootstrap", () => {
+        return HttpResponse.json(apiBootstrapFixtures.userOnly);
       }),
     ],
   },
@@ -43,11 +36,8 @@ export const LoggedInAdminUserShowingSwaggerAndH2Console = Template.bind({});
 LoggedInAdminUserShowingSwaggerAndH2Console.parameters = {
   msw: {
     handlers: [
-      http.get("/api/currentUser", () => {
-        return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-      }),
-      http.get("/api/systemInfo", () => {
-        return HttpResponse.json(systemInfoFixtures.showingBoth);
+      http.get("/api/bootstrap", () => {
+        return HttpResponse.json(apiBootstrapFixtures.adminUserShowingBoth);
       }),
     ],
   },
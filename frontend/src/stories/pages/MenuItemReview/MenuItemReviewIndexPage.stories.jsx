@@ -1,6 +1,6 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { menuItemReviewFixtures } from "fixtures/menuItemReviewFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,18 +16,13 @@ const Template = () => <MenuItemReviewIndexPage storybook={true} />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
     http.get("/api/menuitemreview/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -36,14 +31,11 @@ export const ThreeItemsOrdinaryUser = Template.bind({});
 
 ThreeItemsOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly);
     }),
     http.get("/api/menuitemreview/all", () => {
-      return HttpResponse.json(menuItemReviewFixtures.threeMenuItemReviews);
+      return HttpResponse.json(pageOf(menuItemReviewFixtures.threeMenuItemReviews));
     }),
   ],
 };
@@ -52,14 +44,11 @@ export const ThreeItemsAdminUser = Template.bind({});
 
 ThreeItemsAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/menuitemreview/all", () => {
-      return HttpResponse.json(menuItemReviewFixtures.threeMenuItemReviews);
+      return HttpResponse.json(pageOf(menuItemReviewFixtures.threeMenuItemReviews));
     }),
     http.delete("/api/menuitemreview", () => {
       return HttpResponse.json(
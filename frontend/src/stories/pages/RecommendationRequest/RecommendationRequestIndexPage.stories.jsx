@@ -1,6 +1,6 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { recommendationRequestFixtures } from "fixtures/recommendationRequestFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,14 +16,11 @@ const Template = () => <RecommendationRequestIndexPage storybook={true} />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, { status: 200 });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, { status: 200 });
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, { status: 200 });
     }),
     http.get("/api/recommendationrequest/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -31,14 +28,11 @@ Empty.parameters = {
 export const ThreeItemsOrdinaryUser = Template.bind({});
 ThreeItemsOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly);
     }),
     http.get("/api/recommendationrequest/all", () => {
-      return HttpResponse.json(recommendationRequestFixtures.threeRequests);
+      return HttpResponse.json(pageOf(recommendationRequestFixtures.threeRequests));
     }),
   ],
 };
@@ -46,14 +40,11 @@ ThreeItemsOrdinaryUser.parameters = {
 export const ThreeItemsAdminUser = Template.bind({});
 ThreeItemsAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/recommendationrequest/all", () => {
-      return HttpResponse.json(recommendationRequestFixtures.threeRequests);
+      return HttpResponse.json(pageOf(recommendationRequestFixtures.threeRequests));
     }),
     http.delete("/api/recommendationrequest", () => {
       return HttpResponse.json({}, { status: 200 });
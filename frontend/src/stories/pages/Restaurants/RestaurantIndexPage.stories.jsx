@@ -1,6 +1,6 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { restaurantFixtures } from "fixtures/restaurantFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,18 +16,13 @@ const Template = () => <RestaurantIndexPage storybook={true} />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
     http.get("/api/restaurants/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -36,14 +31,11 @@ export const ThreeItemsOrdinaryUser = Template.bind({});
 
 ThreeItemsOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly);
     }),
     http.get("/api/restaurants/all", () => {
-      return HttpResponse.json(restaurantFixtures.threeRestaurants);
+      return HttpResponse.json(pageOf(restaurantFixtures.threeRestaurants));
     }),
   ],
 };
@@ -52,14 +44,11 @@ export const ThreeItemsAdminUser = Template.bind({});
 
 ThreeItemsAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/restaurants/all", () => {
-      return HttpResponse.json(restaurantFixtures.threeRestaurants);
+      return HttpResponse.json(pageOf(restaurantFixtures.threeRestaurants));
     }),
     http.delete("/api/restaurants", () => {
       return HttpResponse.json(
@@ -1,6 +1,6 @@
 import React from "react";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { ucsbDatesFixtures } from "fixtures/ucsbDatesFixtures";
 import { http, HttpResponse } from "msw";
 
@@ -16,18 +16,13 @@ const Template = () => <UCSBDatesIndexPage storybook={true} />;
 export const Empty = Template.bind({});
 Empty.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly, {
-        status: 200,
-      });
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither, {
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly, {
         status: 200,
       });
     }),
     http.get("/api/ucsbdates/all", () => {
-      return HttpResponse.json([], { status: 200 });
+      return HttpResponse.json(pageOf([]), { status: 200 });
     }),
   ],
 };
@@ -36,14 +31,11 @@ export const ThreeItemsOrdinaryUser = Template.bind({});
 
 ThreeItemsOrdinaryUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.userOnly);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.userOnly);
     }),
     http.get("/api/ucsbdates/all", () => {
-      return HttpResponse.json(ucsbDatesFixtures.threeDates);
+      return HttpResponse.json(pageOf(ucsbDatesFixtures.threeDates));
     }),
   ],
 };
@@ -52,14 +44,11 @@ export const ThreeItemsAdminUser = Template.bind({});
 
 ThreeItemsAdminUser.parameters = {
   msw: [
-    http.get("/api/currentUser", () => {
-      return HttpResponse.json(apiCurrentUserFixtures.adminUser);
-    }),
-    http.get("/api/systemInfo", () => {
-      return HttpResponse.json(systemInfoFixtures.showingNeither);
+    http.get("/api/bootstrap", () => {
+      return HttpResponse.json(apiBootstrapFixtures.adminUser);
     }),
     http.get("/api/ucsbdates/all", () => {
-      return HttpResponse.json(ucsbDatesFixtures.threeDates);
+      return HttpResponse.json(pageOf(ucsbDatesFixtures.threeDates));
     }),
     http.delete("/api/ucsbdates", () => {
       return HttpResponse.json({}, { status: 200 });
@@ -0,0 +1,58 @@
+import { render, screen, fireEvent } from "@testing-library/react";
+import PageNavigation from "main/components/Common/PageNavigation";
+
+describe("PageNavigation tests", () => {
+  test("first of several pages can only go forward", () => {
+    const onPageChange = vi.fn();
+    render(
+      <PageNavigation
+        page={{ size: 20, number: 0, totalElements: 45, totalPages: 3 }}
+        onPageChange={onPageChange}
+      />,
+    );
+
+    expect(screen.getByTestId("PageNavigation-status")).toHaveTextContent(
+      "Page 1 of 3 (45 total)",
+    );
+    expect(screen.getByTestId("PageNavigation-previous")).toBeDisabled();
+    expect(screen.getByTestId("PageNavigation-next")).toBeEnabled();
+
+    fireEvent.click(screen.getByTestId("PageNavigation-next"));
+    expect(onPageChange).toHaveBeenCalledWith(1);
+  });
+
+  test("last page can only go back", () => {
+    const onPageChange = vi.fn();
+    render(
+      <PageNavigation
+        page={{ size: 20, number: 2, totalElements: 45, totalPages: 3 }}
+        onPageChange={onPageChange}
+        testid="custom"
+      />,
+    );
+
+    expect(screen.getByTestId("custom-status")).toHaveTextContent(
+      "Page 3 of 3 (45 total)",
+    );
+    expect(screen.getByTestId("custom-next")).toBeDisabled();
+    expect(screen.getByTestId("custom-previous")).toBeEnabled();
+
+    fireEvent.click(screen.getByTestId("custom-previous"));
+    expect(onPageChange).toHaveBeenCalledWith(1);
+  });
+
+  test("empty list shows a single page", () => {
+    render(
+      <PageNavigation
+        page={{ size: 20, number: 0, totalElements: 0, totalPages: 0 }}
+        onPageChange={vi.fn()}
+      />,
+    );
+
+    expect(screen.getByTestId("PageNavigation-status")).toHaveTextContent(
+      "Page 1 of 1 (0 total)",
+    );
+    expect(screen.getByTestId("PageNavigation-previous")).toBeDisabled();
+    expect(screen.getByTestId("PageNavigation-next")).toBeDisabled();
+  });
+});
@@ -4,8 +4,7 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import ArticlesEditPage from "main/pages/Articles/ArticlesEditPage";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
@@ -41,8 +40,9 @@ describe("ArticlesEditPage tests", () => {
       axiosMock.reset();
       axiosMock.resetHistory();
 
-      axiosMock.onGet("/api/currentUser").reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock.onGet("/api/systemInfo").reply(200, systemInfoFixtures.showingNeither);
+      axiosMock
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
 
       // GET /api/articles?id=17 超时
       axiosMock.onGet("/api/articles", { params: { id: 17 } }).timeout();
@@ -81,8 +81,9 @@ describe("ArticlesEditPage tests", () => {
       axiosMock.reset();
       axiosMock.resetHistory();
 
-      axiosMock.onGet("/api/currentUser").reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock.onGet("/api/systemInfo").reply(200, systemInfoFixtures.showingNeither);
+      axiosMock
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
 
       // 初始文章（dateAdded 为 YYYY-MM-DD，PUT 时应被规范为 T00:00:00）
       axiosMock.onGet("/api/articles", { params: { id: 17 } }).reply(200, {
@@ -4,9 +4,9 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import mockConsole from "tests/testutils/mockConsole";
 import { articlesFixtures } from "fixtures/articlesFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 
@@ -29,15 +29,15 @@ describe("ArticleIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock.onGet("/api/currentUser").reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock.onGet("/api/systemInfo").reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock.onGet("/api/currentUser").reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock.onGet("/api/systemInfo").reply(200, systemInfoFixtures.showingNeither);
+    axiosMock
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   beforeEach(() => {
@@ -55,7 +55,7 @@ describe("ArticleIndexPage tests", () => {
 
   test("Renders with Create Button for admin user", async () => {
     setupAdminUser();
-    axiosMock.onGet("/api/articles/all").reply(200, []);
+    axiosMock.onGet("/api/articles/all").reply(200, pageOf([]));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -76,7 +76,7 @@ describe("ArticleIndexPage tests", () => {
 
   test("renders three articles correctly for regular user", async () => {
     setupUserOnly();
-    axiosMock.onGet("/api/articles/all").reply(200, articlesFixtures.threeArticles);
+    axiosMock.onGet("/api/articles/all").reply(200, pageOf(articlesFixtures.threeArticles));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -107,6 +107,37 @@ describe("ArticleIndexPage tests", () => {
     expect(screen.queryByTestId("ArticlesTable-cell-row-0-col-Edit-button")).not.toBeInTheDocument();
   });
 
+  test("requests the next page when Next is clicked", async () => {
+    setupUserOnly();
+    axiosMock
+      .onGet("/api/articles/all")
+      .reply(200, pageOf(articlesFixtures.threeArticles, 0, 20, 45));
+
+    render(
+      <QueryClientProvider client={queryClient}>
+        <MemoryRouter>
+          <ArticlesIndexPage />
+        </MemoryRouter>
+      </QueryClientProvider>
+    );
+
+    await waitFor(() => {
+      expect(screen.getByTestId("PageNavigation-status")).toHaveTextContent(
+        "Page 1 of 3 (45 total)",
+      );
+    });
+    const pageRequests = () =>
+      axiosMock.history.get.filter((r) => r.url === "/api/articles/all");
+    expect(pageRequests()[0].params).toEqual({ page: 0, size: 20 });
+
+    fireEvent.click(screen.getByTestId("PageNavigation-next"));
+
+    await waitFor(() => {
+      expect(pageRequests().length).toBe(2);
+    });
+    expect(pageRequests()[1].params).toEqual({ page: 1, size: 20 });
+  });
+
   test("renders empty table when backend unavailable, user only", async () => {
     setupUserOnly();
 
@@ -134,7 +165,7 @@ describe("ArticleIndexPage tests", () => {
   test("what happens when you click delete, admin", async () => {
     setupAdminUser();
 
-    axiosMock.onGet("/api/articles/all").reply(200, articlesFixtures.threeArticles);
+    axiosMock.onGet("/api/articles/all").reply(200, pageOf(articlesFixtures.threeArticles));
     axiosMock.onDelete("/api/articles").reply(200, "Article with id 1 was deleted");
 
     render(
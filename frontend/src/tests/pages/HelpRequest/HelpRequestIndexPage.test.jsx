@@ -4,9 +4,9 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import mockConsole from "tests/testutils/mockConsole";
 import { helpRequestFixtures } from "fixtures/helpRequestFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 
@@ -27,30 +27,22 @@ describe("HelpRequestIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   const queryClient = new QueryClient();
 
   test("Renders with Create Button for admin user", async () => {
     setupAdminUser();
-    axiosMock.onGet("/api/helprequest/all").reply(200, []);
+    axiosMock.onGet("/api/helprequest/all").reply(200, pageOf([]));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -72,7 +64,7 @@ describe("HelpRequestIndexPage tests", () => {
     setupUserOnly();
     axiosMock
       .onGet("/api/helprequest/all")
-      .reply(200, helpRequestFixtures.threeHelpRequests);
+      .reply(200, pageOf(helpRequestFixtures.threeHelpRequests));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -129,7 +121,7 @@ describe("HelpRequestIndexPage tests", () => {
 
     axiosMock
       .onGet("/api/helprequest/all")
-      .reply(200, helpRequestFixtures.threeHelpRequests);
+      .reply(200, pageOf(helpRequestFixtures.threeHelpRequests));
     axiosMock
       .onDelete("/api/helprequest")
       .reply(200, "Helprequest with id 1 was deleted");
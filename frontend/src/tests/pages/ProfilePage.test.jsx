@@ -1,12 +1,11 @@
 import { render, screen } from "@testing-library/react";
 import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 import ProfilePage from "main/pages/ProfilePage";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
 import { beforeEach, expect } from "vitest";
 
 let axiosMock;
@@ -25,12 +24,7 @@ describe("ProfilePage tests", () => {
   });
 
   test("renders correctly for regular logged in user", async () => {
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -46,11 +40,8 @@ describe("ProfilePage tests", () => {
 
   test("renders correctly for admin user", async () => {
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
 
     render(
       <QueryClientProvider client={queryClient}>
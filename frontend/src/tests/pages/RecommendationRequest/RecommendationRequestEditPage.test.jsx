@@ -3,8 +3,7 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import RecommendationRequestEditPage from "main/pages/RecommendationRequest/RecommendationRequestEditPage";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 
@@ -41,11 +40,8 @@ describe("RecommendationRequestEditPage tests", () => {
     beforeEach(() => {
       axiosMock = new AxiosMockAdapter(axios);
       axiosMock
-        .onGet("/api/currentUser")
-        .reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock
-        .onGet("/api/systemInfo")
-        .reply(200, systemInfoFixtures.showingNeither);
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
       axiosMock.onGet("/api/recommendationrequest", { params: { id: 17 } }).timeout();
     });
 
@@ -83,11 +79,8 @@ describe("RecommendationRequestEditPage tests", () => {
       axiosMock.reset();
       axiosMock.resetHistory();
       axiosMock
-        .onGet("/api/currentUser")
-        .reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock
-        .onGet("/api/systemInfo")
-        .reply(200, systemInfoFixtures.showingNeither);
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
       axiosMock.onGet("/api/recommendationrequest", { params: { id: 17 } }).reply(200, {
         id: 17,
         requesterEmail: "johndoe@ucsb.edu",
@@ -3,8 +3,8 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import RecommendationRequestIndexPage from "main/pages/RecommendationRequest/RecommendationRequestIndexPage";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { recommendationRequestFixtures } from "fixtures/recommendationRequestFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
@@ -27,29 +27,21 @@ describe("RecommendationRequestIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   test("Renders Create Button for admin user", async () => {
     setupAdminUser();
     const queryClient = new QueryClient();
-    axiosMock.onGet("/api/recommendationrequest/all").reply(200, []);
+    axiosMock.onGet("/api/recommendationrequest/all").reply(200, pageOf([]));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -73,7 +65,7 @@ describe("RecommendationRequestIndexPage tests", () => {
     const queryClient = new QueryClient();
     axiosMock
       .onGet("/api/recommendationrequest/all")
-      .reply(200, recommendationRequestFixtures.threeRequests);
+      .reply(200, pageOf(recommendationRequestFixtures.threeRequests));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -127,7 +119,7 @@ describe("RecommendationRequestIndexPage tests", () => {
     const queryClient = new QueryClient();
     axiosMock
       .onGet("/api/recommendationrequest/all")
-      .reply(200, recommendationRequestFixtures.threeRequests);
+      .reply(200, pageOf(recommendationRequestFixtures.threeRequests));
     axiosMock
       .onDelete("/api/recommendationrequest")
       .reply(200, "RecommendationRequest with id 1 was deleted");
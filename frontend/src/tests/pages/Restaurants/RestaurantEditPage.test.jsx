@@ -3,8 +3,7 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import RestaurantEditPage from "main/pages/Restaurants/RestaurantEditPage";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 import mockConsole from "tests/testutils/mockConsole";
@@ -41,11 +40,8 @@ describe("RestaurantEditPage tests", () => {
       axiosMock.reset();
       axiosMock.resetHistory();
       axiosMock
-        .onGet("/api/currentUser")
-        .reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock
-        .onGet("/api/systemInfo")
-        .reply(200, systemInfoFixtures.showingNeither);
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
       axiosMock.onGet("/api/restaurants", { params: { id: 17 } }).timeout();
     });
 
@@ -79,11 +75,8 @@ describe("RestaurantEditPage tests", () => {
       axiosMock.reset();
       axiosMock.resetHistory();
       axiosMock
-        .onGet("/api/currentUser")
-        .reply(200, apiCurrentUserFixtures.userOnly);
-      axiosMock
-        .onGet("/api/systemInfo")
-        .reply(200, systemInfoFixtures.showingNeither);
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.userOnly);
       axiosMock.onGet("/api/restaurants", { params: { id: 17 } }).reply(200, {
         id: 17,
         name: "Freebirds",
@@ -4,9 +4,9 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import mockConsole from "tests/testutils/mockConsole";
 import { restaurantFixtures } from "fixtures/restaurantFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 
@@ -27,30 +27,22 @@ describe("RestaurantIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   const queryClient = new QueryClient();
 
   test("Renders with Create Button for admin user", async () => {
     setupAdminUser();
-    axiosMock.onGet("/api/restaurants/all").reply(200, []);
+    axiosMock.onGet("/api/restaurants/all").reply(200, pageOf([]));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -72,7 +64,7 @@ describe("RestaurantIndexPage tests", () => {
     setupUserOnly();
     axiosMock
       .onGet("/api/restaurants/all")
-      .reply(200, restaurantFixtures.threeRestaurants);
+      .reply(200, pageOf(restaurantFixtures.threeRestaurants));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -145,7 +137,7 @@ describe("RestaurantIndexPage tests", () => {
 
     axiosMock
       .onGet("/api/restaurants/all")
-      .reply(200, restaurantFixtures.threeRestaurants);
+      .reply(200, pageOf(restaurantFixtures.threeRestaurants));
     axiosMock
       .onDelete("/api/restaurants")
       .reply(200, "Restaurant with id 1 was deleted");
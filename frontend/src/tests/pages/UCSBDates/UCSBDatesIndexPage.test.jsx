@@ -3,8 +3,8 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import UCSBDatesIndexPage from "main/pages/UCSBDates/UCSBDatesIndexPage";
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 import { ucsbDatesFixtures } from "fixtures/ucsbDatesFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
@@ -27,30 +27,22 @@ describe("UCSBDatesIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   test("Renders with Create Button for admin user", async () => {
     // arrange
     setupAdminUser();
     const queryClient = new QueryClient();
-    axiosMock.onGet("/api/ucsbdates/all").reply(200, []);
+    axiosMock.onGet("/api/ucsbdates/all").reply(200, pageOf([]));
 
     // act
     render(
@@ -76,7 +68,7 @@ describe("UCSBDatesIndexPage tests", () => {
     const queryClient = new QueryClient();
     axiosMock
       .onGet("/api/ucsbdates/all")
-      .reply(200, ucsbDatesFixtures.threeDates);
+      .reply(200, pageOf(ucsbDatesFixtures.threeDates));
 
     // act
     render(
@@ -142,7 +134,7 @@ describe("UCSBDatesIndexPage tests", () => {
     const queryClient = new QueryClient();
     axiosMock
       .onGet("/api/ucsbdates/all")
-      .reply(200, ucsbDatesFixtures.threeDates);
+      .reply(200, pageOf(ucsbDatesFixtures.threeDates));
     axiosMock
       .onDelete("/api/ucsbdates")
       .reply(200, "UCSBDate with id 1 was deleted");
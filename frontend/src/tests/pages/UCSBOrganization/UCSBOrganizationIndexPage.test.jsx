@@ -4,10 +4,10 @@ import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
 import { MemoryRouter } from "react-router";
 import mockConsole from "tests/testutils/mockConsole";
 import { organizationFixtures } from "fixtures/organizationFixtures";
+import { pageOf } from "fixtures/pageFixtures";
 
 
-import { apiCurrentUserFixtures } from "fixtures/currentUserFixtures";
-import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 import { expect } from "vitest";
@@ -29,30 +29,22 @@ describe("UCSBOrganizationIndexPage tests", () => {
   const setupUserOnly = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
-    axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.userOnly);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
   };
 
   const setupAdminUser = () => {
     axiosMock.reset();
     axiosMock.resetHistory();
     axiosMock
-      .onGet("/api/currentUser")
-      .reply(200, apiCurrentUserFixtures.adminUser);
-    axiosMock
-      .onGet("/api/systemInfo")
-      .reply(200, systemInfoFixtures.showingNeither);
+      .onGet("/api/bootstrap")
+      .reply(200, apiBootstrapFixtures.adminUser);
   };
 
   const queryClient = new QueryClient();
 
   test("Renders with Create Button for admin user", async () => {
     setupAdminUser();
-    axiosMock.onGet("/api/ucsborganization/all").reply(200, []);
+    axiosMock.onGet("/api/ucsborganization/all").reply(200, pageOf([]));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -74,7 +66,7 @@ describe("UCSBOrganizationIndexPage tests", () => {
     setupUserOnly();
     axiosMock
       .onGet("/api/ucsborganization/all")
-      .reply(200, organizationFixtures.threeOrganizations);
+      .reply(200, pageOf(organizationFixtures.threeOrganizations));
 
     render(
       <QueryClientProvider client={queryClient}>
@@ -150,7 +142,7 @@ describe("UCSBOrganizationIndexPage tests", () => {
 
     axiosMock
       .onGet("/api/ucsborganization/all")
-      .reply(200, organizationFixtures.threeOrganizations);
+      .reply(200, pageOf(organizationFixtures.threeOrganizations));
     axiosMock
       .onDelete("/api/ucsborganization")
       .reply(200, "Organization with orgCode ZPR was deleted");
@@ -0,0 +1,68 @@
+import { QueryClient, QueryClientProvider } from "@tanstack/react-query";
+import { useBootstrap } from "main/utils/bootstrap";
+import { useCurrentUser } from "main/utils/useCurrentUser";
+import { useSystemInfo } from "main/utils/systemInfo";
+import { renderHook, waitFor } from "@testing-library/react";
+
+import axios from "axios";
+import AxiosMockAdapter from "axios-mock-adapter";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
+import { currentUserFixtures } from "fixtures/currentUserFixtures";
+import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+
+describe("utils/bootstrap tests", () => {
+  let queryClient;
+  let axiosMock;
+
+  beforeEach(() => {
+    queryClient = new QueryClient({
+      defaultOptions: {
+        queries: {
+          retry: false,
+        },
+      },
+    });
+    axiosMock = new AxiosMockAdapter(axios);
+  });
+
+  afterEach(() => {
+    axiosMock.restore();
+    queryClient.clear();
+    delete axios.defaults.headers.common["X-XSRF-TOKEN"];
+  });
+
+  const wrapper = ({ children }) => (
+    <QueryClientProvider client={queryClient}>{children}</QueryClientProvider>
+  );
+
+  test("useBootstrap sends the CSRF token with later requests", async () => {
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
+
+    const { result } = renderHook(() => useBootstrap(), { wrapper });
+
+    await waitFor(() => expect(result.current.isFetchedAfterMount).toBe(true));
+
+    expect(result.current.data).toEqual(apiBootstrapFixtures.userOnly);
+    expect(axios.defaults.headers.common["X-XSRF-TOKEN"]).toBe(
+      apiBootstrapFixtures.userOnly.csrf.token,
+    );
+  });
+
+  test("useSystemInfo and useCurrentUser share one request", async () => {
+    axiosMock.onGet("/api/bootstrap").reply(200, apiBootstrapFixtures.userOnly);
+
+    const { result } = renderHook(
+      () => ({ systemInfo: useSystemInfo(), currentUser: useCurrentUser() }),
+      { wrapper },
+    );
+
+    await waitFor(() => expect(result.current.currentUser.loggedIn).toBe(true));
+
+    expect(result.current.currentUser).toEqual(currentUserFixtures.userOnly);
+    expect(result.current.systemInfo.data).toEqual(
+      systemInfoFixtures.showingNeither,
+    );
+    expect(axiosMock.history.get.length).toBe(1);
+    expect(axiosMock.history.get[0].url).toBe("/api/bootstrap");
+  });
+});
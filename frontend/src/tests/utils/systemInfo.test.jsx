@@ -8,6 +8,7 @@ import { waitFor } from "@testing-library/react";
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
 import { systemInfoFixtures } from "fixtures/systemInfoFixtures";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 
 vi.mock("react-router");
 
@@ -22,7 +23,7 @@ describe("utils/systemInfo tests", () => {
       );
 
       const axiosMock = new AxiosMockAdapter(axios);
-      axiosMock.onGet("/api/systemInfo").timeout();
+      axiosMock.onGet("/api/bootstrap").timeout();
 
       const restoreConsole = mockConsole();
 
@@ -31,7 +32,7 @@ describe("utils/systemInfo tests", () => {
 
       expect(result.current.data).toEqual(systemInfoFixtures.initialData);
 
-      const queryState = queryClient.getQueryState(["systemInfo"]);
+      const queryState = queryClient.getQueryState(["bootstrap"]);
       expect(queryState).toBeDefined();
 
       queryClient.clear();
@@ -52,8 +53,8 @@ describe("utils/systemInfo tests", () => {
 
       const axiosMock = new AxiosMockAdapter(axios);
       axiosMock
-        .onGet("/api/systemInfo")
-        .reply(200, systemInfoFixtures.showingBoth);
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.adminUserShowingBoth);
 
       const { result } = renderHook(() => useSystemInfo(), { wrapper });
 
@@ -74,7 +75,7 @@ describe("utils/systemInfo tests", () => {
       );
 
       const axiosMock = new AxiosMockAdapter(axios);
-      axiosMock.onGet("/api/systemInfo").reply(404);
+      axiosMock.onGet("/api/bootstrap").reply(404);
 
       const restoreConsole = mockConsole();
       const { result } = renderHook(() => useSystemInfo(), { wrapper });
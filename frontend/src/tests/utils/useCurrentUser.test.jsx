@@ -4,6 +4,7 @@ import { renderHook, waitFor } from "@testing-library/react";
 
 import axios from "axios";
 import AxiosMockAdapter from "axios-mock-adapter";
+import { apiBootstrapFixtures } from "fixtures/bootstrapFixtures";
 import { vi } from "vitest";
 
 // The mock MUST be at the top level of the file
@@ -46,8 +47,10 @@ describe("utils/currentUser tests", () => {
       <QueryClientProvider client={queryClient}>{children}</QueryClientProvider>
     );
 
-    test("should return loggedIn: false when API returns null", async () => {
-      axiosMock.onGet("/api/currentUser").reply(200, null);
+    test("should return loggedIn: false when no one is logged in", async () => {
+      axiosMock
+        .onGet("/api/bootstrap")
+        .reply(200, apiBootstrapFixtures.notLoggedIn);
 
       const { result } = renderHook(() => useCurrentUser(), { wrapper });
 
@@ -62,7 +65,10 @@ describe("utils/currentUser tests", () => {
         email: "test@example.com",
         roles: [{ authority: "ROLE_USER" }, { authority: "ROLE_ADMIN" }],
       };
-      axiosMock.onGet("/api/currentUser").reply(200, mockUser);
+      axiosMock.onGet("/api/bootstrap").reply(200, {
+        ...apiBootstrapFixtures.notLoggedIn,
+        currentUser: mockUser,
+      });
 
       const { result } = renderHook(() => useCurrentUser(), { wrapper });
 
@@ -76,7 +82,10 @@ describe("utils/currentUser tests", () => {
 
     test("should return loggedIn: false when API returns an object without roles", async () => {
       const mockData = { some: "data" };
-      axiosMock.onGet("/api/currentUser").reply(200, mockData);
+      axiosMock.onGet("/api/bootstrap").reply(200, {
+        ...apiBootstrapFixtures.notLoggedIn,
+        currentUser: mockData,
+      });
 
       const { result } = renderHook(() => useCurrentUser(), { wrapper });
 
@@ -88,24 +97,9 @@ describe("utils/currentUser tests", () => {
       });
     });
 
-    test("should return loggedIn: false on a 403 error", async () => {
-      axiosMock.onGet("/api/currentUser").reply(403);
-
-      const { result } = renderHook(() => useCurrentUser(), { wrapper });
-
-      // Wait for the root property to be updated from null to {}
-      await waitFor(() => {
-        expect(result.current.root).toEqual({});
-      });
-
-      // Now, all assertions can be made on the final, processed data
-      expect(result.current.loggedIn).toBe(false);
-      expect(consoleErrorSpy).not.toHaveBeenCalled();
-    });
-
-    test("should log an error and re-throw on a non-403 error", async () => {
+    test("should log an error and keep the initial data on an error", async () => {
       // Create a mock error that doesn't have a status property, like a network error
-      axiosMock.onGet("/api/currentUser").networkError();
+      axiosMock.onGet("/api/bootstrap").networkError();
 
       const { result } = renderHook(() => useCurrentUser(), { wrapper });
 
@@ -123,7 +117,7 @@ describe("utils/currentUser tests", () => {
       expect(result.current.loggedIn).toBe(false);
       expect(result.current.root).toBe(null);
       expect(result.current.initialData).toBe(true);
-      expect(queryClient.getQueryData(["current user"])).toBeTruthy();
+      expect(queryClient.getQueryData(["bootstrap"])).toBeTruthy();
     });
   });
 
@@ -58,7 +58,7 @@ describe("useLogout tests", () => {
 
     expect(axiosMock.history.post.length).toBe(1);
     expect(resetQueriesSpy).toHaveBeenCalledWith({
-      queryKey: ["current user"],
+      queryKey: ["bootstrap"],
     });
     expect(navigateSpy).toHaveBeenCalledWith("/"); // Your assertion will now pass
   });
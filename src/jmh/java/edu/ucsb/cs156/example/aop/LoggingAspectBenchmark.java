@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.example.aop;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Measures the overhead LoggingAspect adds to a controller method: the same method is called
+ * directly, and through a proxy advised by the aspect, with and without a current request. Past
+ * 50 calls a second the rate limiter skips the log line, so at these rates almost every call takes
+ * that path, as it would under heavy load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingAspectBenchmark {
+
+  /** A controller with one mapped method that does no work of its own. */
+  public static class BenchmarkController {
+    @GetMapping("/api/benchmark")
+    public String get(String id) {
+      return id;
+    }
+  }
+
+  /** A request bound to the benchmark thread, as DispatcherServlet binds it. */
+  @State(Scope.Thread)
+  public static class CurrentRequest {
+    @Setup
+    public void bind() {
+      RequestContextHolder.setRequestAttributes(
+          new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/benchmark")));
+    }
+
+    @TearDown
+    public void unbind() {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  private BenchmarkController direct;
+
+  private BenchmarkController advised;
+
+  @Setup
+  public void setup() {
+    direct = new BenchmarkController();
+    AspectJProxyFactory factory = new AspectJProxyFactory(new BenchmarkController());
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new LoggingAspect());
+    advised = factory.getProxy();
+  }
+
+  @Benchmark
+  public String direct(CurrentRequest request) {
+    return direct.get("1");
+  }
+
+  @Benchmark
+  public String advisedWithoutRequest() {
+    return advised.get("1");
+  }
+
+  @Benchmark
+  public String advisedWithRequest(CurrentRequest request) {
+    return advised.get("1");
+  }
+}
@@ -0,0 +1,78 @@
+package edu.ucsb.cs156.example.config;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.repositories.UserRepositoryStub;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures the GrantedAuthoritiesMapper that SecurityConfig applies at OAuth2 login, for three
+ * kinds of user:
+ *
+ * <ul>
+ *   <li><code>admin</code>: listed in app.admin.emails, so the repository is not consulted
+ *   <li><code>member</code>: a ucsb.edu user found in the repository, who is not an admin
+ *   <li><code>guest</code>: a user from another domain who is not in the repository
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityConfigBenchmark {
+
+  @Param({"admin", "member", "guest"})
+  String user;
+
+  private GrantedAuthoritiesMapper mapper;
+
+  private List<GrantedAuthority> authorities;
+
+  @Setup
+  public void setup() {
+    SecurityConfig securityConfig = new SecurityConfig();
+    ReflectionTestUtils.setField(securityConfig, "adminEmails", List.of("admin@ucsb.edu"));
+    securityConfig.userRepository =
+        UserRepositoryStub.of(User.builder().email("member@ucsb.edu").admin(false).build());
+    mapper = securityConfig.userAuthoritiesMapper();
+
+    String email =
+        switch (user) {
+          case "admin" -> "admin@ucsb.edu";
+          case "member" -> "member@ucsb.edu";
+          default -> "guest@example.org";
+        };
+    Map<String, Object> attributes = Map.of("sub", "1234567890", "email", email);
+    authorities =
+        List.of(
+            new OAuth2UserAuthority(attributes),
+            new SimpleGrantedAuthority("SCOPE_openid"),
+            new SimpleGrantedAuthority("SCOPE_email"),
+            new SimpleGrantedAuthority("SCOPE_profile"));
+  }
+
+  @Benchmark
+  public Collection<? extends GrantedAuthority> mapAuthorities() {
+    return mapper.mapAuthorities(authorities);
+  }
+}
@@ -0,0 +1,158 @@
+package edu.ucsb.cs156.example.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures serializing a list of <code>size</code> entities of one type to JSON, as the controllers
+ * do when they return a list. The ObjectMapper is configured by Jackson2ObjectMapperBuilder, as
+ * Spring Boot's is.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntitySerializationBenchmark {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 9, 25, 8, 0);
+
+  @Param({
+    "Article",
+    "HelpRequest",
+    "Job",
+    "MenuItemReview",
+    "RecommendationRequest",
+    "Restaurant",
+    "UCSBDate",
+    "UCSBDiningCommons",
+    "UCSBDiningCommonsMenuItem",
+    "UCSBOrganization"
+  })
+  String entity;
+
+  @Param({"10000"})
+  int size;
+
+  private ObjectMapper mapper;
+
+  private List<Object> entities;
+
+  @Setup
+  public void setup() {
+    mapper = Jackson2ObjectMapperBuilder.json().build();
+    entities = IntStream.range(0, size).mapToObj(this::create).toList();
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(entities);
+  }
+
+  private Object create(int i) {
+    LocalDateTime time = START.plusMinutes(i);
+    String email = "student" + i + "@ucsb.edu";
+    return switch (entity) {
+      case "Article" ->
+          Article.builder()
+              .id(i)
+              .title("Article " + i)
+              .url("https://example.org/articles/" + i)
+              .explanation("Why article " + i + " is worth reading")
+              .email(email)
+              .dateAdded(time)
+              .build();
+      case "HelpRequest" ->
+          HelpRequest.builder()
+              .id((long) i)
+              .requesterEmail(email)
+              .teamId("f25-" + (i % 20))
+              .tableOrBreakoutRoom("table " + (i % 10))
+              .requestTime(time)
+              .explanation("Help with exercise " + i)
+              .solved(i % 2 == 0)
+              .build();
+      case "Job" ->
+          Job.builder()
+              .id(i)
+              .status("complete")
+              .requestId("request-" + i)
+              .log("Job started\nProcessed " + i + " rows\nJob complete")
+              .build();
+      case "MenuItemReview" ->
+          MenuItemReview.builder()
+              .id((long) i)
+              .itemId((long) (i % 500))
+              .reviewerEmail(email)
+              .stars(i % 5 + 1)
+              .dateReviewed(time)
+              .comments("Review " + i + " of the menu item")
+              .build();
+      case "RecommendationRequest" ->
+          RecommendationRequest.builder()
+              .id((long) i)
+              .requesterEmail(email)
+              .professorEmail("professor" + (i % 50) + "@ucsb.edu")
+              .explanation("Recommendation for program " + i)
+              .dateRequested(time)
+              .dateNeeded(time.plusWeeks(4))
+              .done(i % 3 == 0)
+              .build();
+      case "Restaurant" ->
+          Restaurant.builder()
+              .id(i)
+              .name("Restaurant " + i)
+              .description("Serves dish " + i)
+              .build();
+      case "UCSBDate" ->
+          UCSBDate.builder()
+              .id(i)
+              .quarterYYYYQ("20" + (20 + i % 10) + (i % 4 + 1))
+              .name("Date " + i)
+              .localDateTime(time)
+              .build();
+      case "UCSBDiningCommons" ->
+          UCSBDiningCommons.builder()
+              .code("commons" + i)
+              .name("Dining Commons " + i)
+              .hasSackMeal(i % 2 == 0)
+              .hasTakeOutMeal(i % 3 == 0)
+              .hasDiningCam(i % 5 == 0)
+              .latitude(34.4 + i * 1e-6)
+              .longitude(-119.8 - i * 1e-6)
+              .build();
+      case "UCSBDiningCommonsMenuItem" ->
+          UCSBDiningCommonsMenuItem.builder()
+              .id((long) i)
+              .diningCommonsCode("commons" + (i % 4))
+              .name("Menu item " + i)
+              .station("Station " + (i % 8))
+              .build();
+      case "UCSBOrganization" ->
+          UCSBOrganization.builder()
+              .orgCode("ORG" + i)
+              .orgTranslationShort("ORGANIZATION " + i)
+              .orgTranslation("STUDENT ORGANIZATION " + i)
+              .inactive(i % 4 == 0)
+              .build();
+      default -> throw new IllegalArgumentException("unknown entity " + entity);
+    };
+  }
+}
@@ -0,0 +1,41 @@
+package edu.ucsb.cs156.example.repositories;
+
+import edu.ucsb.cs156.example.entities.User;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory UserRepository for the benchmarks, so that they measure the code that calls the
+ * repository rather than a database or a mocking library. Only <code>findByEmail</code> and <code>
+ * save</code> are supported.
+ */
+public class UserRepositoryStub {
+
+  /**
+   * This method returns a UserRepository that finds the given users by email.
+   *
+   * @param users the users in the repository
+   * @return the repository
+   */
+  public static UserRepository of(User... users) {
+    Map<String, User> byEmail =
+        Arrays.stream(users).collect(Collectors.toMap(User::getEmail, Function.identity()));
+    return (UserRepository)
+        Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "findByEmail" -> Optional.ofNullable(byEmail.get((String) args[0]));
+                  case "save" -> args[0];
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "equals" -> proxy == args[0];
+                  case "toString" -> "UserRepositoryStub" + byEmail.keySet();
+                  default -> throw new UnsupportedOperationException(method.getName());
+                });
+  }
+}
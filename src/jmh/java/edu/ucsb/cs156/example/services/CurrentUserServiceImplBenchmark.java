@@ -0,0 +1,109 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.SignedTokenAuthentication;
+import edu.ucsb.cs156.example.models.TokenClaims;
+import edu.ucsb.cs156.example.repositories.UserRepositoryStub;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures CurrentUserServiceImpl.getUser, which runs on every request that asks for the current
+ * user, for each way a user can be authenticated:
+ *
+ * <ul>
+ *   <li><code>oauth2</code>: an OAuth2 login of a user already in the repository
+ *   <li><code>oauth2-new</code>: an OAuth2 login of a user not yet in the repository, who is built
+ *       and saved
+ *   <li><code>signed-token</code>: a signed API token (stateless profile), which needs no lookup
+ * </ul>
+ *
+ * The repository is held in memory, so a database round trip is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrentUserServiceImplBenchmark {
+
+  @Param({"oauth2", "oauth2-new", "signed-token"})
+  String authentication;
+
+  private CurrentUserServiceImpl currentUserService;
+
+  @Setup
+  public void setup() {
+    currentUserService = new CurrentUserServiceImpl();
+    ReflectionTestUtils.setField(
+        currentUserService,
+        "userRepository",
+        UserRepositoryStub.of(
+            User.builder().id(1L).email("cgaucho@ucsb.edu").fullName("Chris Gaucho").build()));
+    ReflectionTestUtils.setField(currentUserService, "adminEmails", List.of("admin@ucsb.edu"));
+
+    List<GrantedAuthority> roles = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_MEMBER");
+    Authentication token =
+        switch (authentication) {
+          case "oauth2" -> oauth2Token("cgaucho@ucsb.edu", roles);
+          case "oauth2-new" -> oauth2Token("ldelplaya@ucsb.edu", roles);
+          default ->
+              new SignedTokenAuthentication(
+                  TokenClaims.builder()
+                      .userId(1L)
+                      .email("cgaucho@ucsb.edu")
+                      .fullName("Chris Gaucho")
+                      .roles(List.of("ROLE_USER", "ROLE_MEMBER"))
+                      .build());
+        };
+    SecurityContextHolder.getContext().setAuthentication(token);
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static OAuth2AuthenticationToken oauth2Token(
+      String email, List<GrantedAuthority> roles) {
+    Map<String, Object> attributes =
+        Map.of(
+            "sub", "1234567890",
+            "email", email,
+            "name", "Chris Gaucho",
+            "given_name", "Chris",
+            "family_name", "Gaucho",
+            "picture", "https://example.org/picture.png",
+            "email_verified", true,
+            "locale", "en",
+            "hd", "ucsb.edu");
+    return new OAuth2AuthenticationToken(
+        new DefaultOAuth2User(roles, attributes, "sub"), roles, "google");
+  }
+
+  @Benchmark
+  public User getUser() {
+    return currentUserService.getUser();
+  }
+}
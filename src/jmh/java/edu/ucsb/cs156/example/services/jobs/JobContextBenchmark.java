@@ -0,0 +1,57 @@
+package edu.ucsb.cs156.example.services.jobs;
+
+import edu.ucsb.cs156.example.entities.Job;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JobContext.log adding one line to a job whose log is already <code>logSize</code>
+ * characters long. The job is not saved (there is no JobsRepository), so this is the cost of
+ * building the new log in memory, which grows with the size of the log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JobContextBenchmark {
+
+  @Param({"0", "1000", "100000", "1000000"})
+  int logSize;
+
+  private String existingLog;
+
+  private Job job;
+
+  private JobContext jobContext;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    String line = "Processed row 12345 of 67890\n";
+    existingLog =
+        logSize == 0 ? null : line.repeat(logSize / line.length() + 1).substring(0, logSize);
+    job = Job.builder().id(1L).status("running").build();
+    jobContext = new JobContext(null, job);
+  }
+
+  @Benchmark
+  public String log() {
+    // every invocation starts from the same log, so that it does not grow during the run; this is
+    // one field write, where an invocation-level @Setup would cost more than the smaller logs
+    job.setLog(existingLog);
+    jobContext.log("Processed row 12346 of 67890");
+    return job.getLog();
+  }
+}
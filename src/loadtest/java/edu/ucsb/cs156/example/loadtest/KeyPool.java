@@ -0,0 +1,46 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The keys of the rows of one resource that exist, so that virtual users get, update and delete
+ * rows that are there. A deleted key is taken out first, so that two users never delete the same
+ * row; a user may still get or update a row that another user is deleting, and see a 404.
+ */
+public class KeyPool {
+
+  private final List<String> keys = new ArrayList<>();
+
+  public synchronized void add(String key) {
+    keys.add(key);
+  }
+
+  /**
+   * This method picks a key at random.
+   *
+   * @param random the source of randomness
+   * @return a key, or null if there are none
+   */
+  public synchronized String pick(Random random) {
+    return keys.isEmpty() ? null : keys.get(random.nextInt(keys.size()));
+  }
+
+  /**
+   * This method picks a key at random and removes it.
+   *
+   * @param random the source of randomness
+   * @return a key, or null if there are none
+   */
+  public synchronized String take(Random random) {
+    if (keys.isEmpty()) {
+      return null;
+    }
+    int i = random.nextInt(keys.size());
+    String key = keys.get(i);
+    keys.set(i, keys.get(keys.size() - 1));
+    keys.remove(keys.size() - 1);
+    return key;
+  }
+}
@@ -0,0 +1,286 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.ExampleApplication;
+import edu.ucsb.cs156.example.services.VirtualThreadPinningService;
+import edu.ucsb.cs156.example.services.wiremock.WiremockService;
+import edu.ucsb.cs156.example.services.wiremock.WiremockServiceImpl;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * An HTTP load test of the <code>/api/*</code> controllers, which runs offline on one machine.
+ *
+ * <p>It starts the application in the wiremock and development profiles, as <code>
+ * WIREMOCK=true mvn spring-boot:run</code> does, but on an in-memory H2 database and a random port.
+ * It logs in the virtual users through the OAuth2 flow that WiremockServiceImpl fakes, admins first
+ * and then regular users, creates some rows in each table, and has every user send requests,
+ * one after the other, for the warmup and then the measured duration. Admins send the whole mix of
+ * operations; regular users, who may not write, only list and get. The throughput and latency
+ * percentiles of each endpoint are then printed and written as JSON.
+ *
+ * <p>With <code>threads=virtual</code>, the application also runs in the virtualthreads profile,
+ * so that it can be compared with the default platform threads under the same load; the number of
+ * virtual threads that were pinned to their carrier while measuring is then reported too.
+ *
+ * <p>The virtual users run in the same JVM as the application, so they share its CPUs; on a
+ * machine with few cores, use fewer users or some think time. See LoadTestOptions for the options.
+ */
+@Slf4j
+public class LoadTest {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final LoadTestOptions options;
+
+  private final URI baseUri;
+
+  private final String loginPath;
+
+  private final WiremockService wiremockService;
+
+  private final VirtualThreadPinningService virtualThreadPinningService;
+
+  private final Map<Resource, KeyPool> keys = new IdentityHashMap<>();
+
+  private final AtomicLong rowNumber = new AtomicLong();
+
+  private volatile LoadTestReport report = new LoadTestReport();
+
+  private volatile boolean recording;
+
+  private volatile boolean stopped;
+
+  public LoadTest(LoadTestOptions options, ConfigurableApplicationContext context) {
+    this.options = options;
+    this.baseUri =
+        URI.create(
+            "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    this.loginPath = context.getEnvironment().getProperty("app.oauth.login");
+    this.wiremockService = context.getBean(WiremockService.class);
+    this.virtualThreadPinningService = context.getBean(VirtualThreadPinningService.class);
+    options.resources().forEach(resource -> keys.put(resource, new KeyPool()));
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options = LoadTestOptions.parse(args);
+    // devtools is on the test classpath; its restarts and file watching have no place here
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    SpringApplication application = new SpringApplication(ExampleApplication.class);
+    if (options.virtualThreads()) {
+      application.setAdditionalProfiles("wiremock", "development", "virtualthreads");
+    } else {
+      application.setAdditionalProfiles("wiremock", "development");
+    }
+    // command line arguments, so that they take precedence over the profiles' properties
+    ConfigurableApplicationContext context =
+        application.run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "--spring.security.oauth2.client.registration.my-oauth-provider.redirect-uri="
+                + "{baseUrl}/login/oauth2/code/{registrationId}");
+    try {
+      new LoadTest(options, context).run();
+    } finally {
+      context.getBean(WiremockService.class).getWiremockServer().stop();
+      System.exit(SpringApplication.exit(context));
+    }
+  }
+
+  /** This method runs the load test and reports the results. */
+  public void run() throws Exception {
+    List<VirtualUser> admins = login(options.admins(), true);
+    List<VirtualUser> users = new ArrayList<>(admins);
+    users.addAll(login(options.users() - options.admins(), false));
+    if (!admins.isEmpty()) {
+      seed(admins.get(0));
+    }
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < users.size(); i++) {
+      VirtualUser user = users.get(i);
+      boolean admin = i < admins.size();
+      Random random = new Random(options.random() + i);
+      threads.add(Thread.ofPlatform().name("virtual-user-" + i).start(() -> drive(user, admin, random)));
+    }
+
+    log.info("warming up for {}", options.warmup());
+    TimeUnit.NANOSECONDS.sleep(options.warmup().toNanos());
+    report = new LoadTestReport();
+    recording = true;
+    long pinnedBefore = virtualThreadPinningService.getPinnedCount();
+    long start = System.nanoTime();
+    log.info("measuring for {}", options.duration());
+    TimeUnit.NANOSECONDS.sleep(options.duration().toNanos());
+    recording = false;
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    Long pinned =
+        options.virtualThreads()
+            ? virtualThreadPinningService.getPinnedCount() - pinnedBefore
+            : null;
+    stopped = true;
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    List<Map<String, Object>> rows = report.summarize(elapsed);
+    LoadTestReport.print(rows, System.out);
+    if (pinned != null) {
+      System.out.println("virtual threads pinned while measuring: " + pinned);
+    }
+    LoadTestReport.write(rows, options, elapsed, pinned, options.report());
+    System.out.println("report written to " + options.report().toAbsolutePath());
+  }
+
+  // the mocked provider returns the same userinfo to everyone until it is stubbed again, so the
+  // admins all log in as one admin, and the regular users as one regular user, each with a
+  // session of their own
+  private List<VirtualUser> login(int count, boolean admin) throws Exception {
+    WiremockServiceImpl.setupOauthMocks(wiremockService.getWiremockServer(), admin);
+    String email = admin ? "admingaucho@ucsb.edu" : "cgaucho@ucsb.edu";
+    List<VirtualUser> users = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      VirtualUser user = new VirtualUser(baseUri);
+      String roles = user.login(loginPath, email);
+      if (roles.contains("ROLE_ADMIN") != admin) {
+        throw new IllegalStateException("%s logged in with roles %s".formatted(email, roles));
+      }
+      users.add(user);
+    }
+    log.info("logged in {} {} users", count, admin ? "admin" : "regular");
+    return users;
+  }
+
+  private void seed(VirtualUser admin) throws Exception {
+    for (Resource resource : options.resources()) {
+      if (resource.operations().contains(Operation.CREATE)) {
+        for (int i = 0; i < options.seed(); i++) {
+          send(admin, resource, Operation.CREATE, new Random(i));
+        }
+      }
+    }
+    log.info("created {} rows in each table", options.seed());
+  }
+
+  private void drive(VirtualUser user, boolean admin, Random random) {
+    Map<Operation, Integer> mix = new LinkedHashMap<>(options.mix());
+    if (!admin) {
+      mix.keySet().removeIf(Operation::isWrite);
+    }
+    int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    while (!stopped) {
+      Operation operation = pick(mix, totalWeight, random);
+      List<Resource> candidates =
+          options.resources().stream()
+              .filter(resource -> resource.operations().contains(operation))
+              .toList();
+      if (candidates.isEmpty()) {
+        continue;
+      }
+      try {
+        send(user, candidates.get(random.nextInt(candidates.size())), operation, random);
+        if (!options.think().isZero()) {
+          TimeUnit.NANOSECONDS.sleep(options.think().toNanos());
+        }
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  private static Operation pick(Map<Operation, Integer> mix, int totalWeight, Random random) {
+    int r = random.nextInt(totalWeight);
+    for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+      r -= weight.getValue();
+      if (r < 0) {
+        return weight.getKey();
+      }
+    }
+    throw new IllegalStateException("weights do not add up to " + totalWeight);
+  }
+
+  /**
+   * Sends one request. Get, update and delete need a row that exists; when there is none, the
+   * user lists the rows instead.
+   */
+  private void send(VirtualUser user, Resource resource, Operation operation, Random random)
+      throws InterruptedException {
+    KeyPool pool = keys.get(resource);
+    String key = null;
+    Map<String, Object> fields = null;
+    String pathAndQuery;
+    String method = "GET";
+    switch (operation) {
+      case LIST -> pathAndQuery = resource.path() + "/all";
+      case CREATE -> {
+        fields = resource.fields().apply(rowNumber.incrementAndGet());
+        method = "POST";
+        pathAndQuery = resource.path() + "/post?" + VirtualUser.formEncode(fields);
+      }
+      default -> {
+        if (resource.key() == null) {
+          pathAndQuery = resource.path();
+          break;
+        }
+        key = operation == Operation.DELETE ? pool.take(random) : pool.pick(random);
+        if (key == null) {
+          send(user, resource, Operation.LIST, random);
+          return;
+        }
+        pathAndQuery =
+            resource.path() + "?" + VirtualUser.formEncode(Map.of(resource.key(), key));
+        if (operation == Operation.UPDATE) {
+          method = "PUT";
+          fields = resource.fields().apply(rowNumber.incrementAndGet());
+          if (!resource.generatedKey()) {
+            fields.put(resource.key(), key);
+          }
+        } else if (operation == Operation.DELETE) {
+          method = "DELETE";
+        }
+      }
+    }
+
+    int status;
+    long start = System.nanoTime();
+    HttpResponse<byte[]> response = null;
+    try {
+      response = user.send(method, pathAndQuery, operation == Operation.UPDATE ? fields : null);
+      status = response.statusCode();
+    } catch (IOException e) {
+      status = -1;
+    }
+    long nanos = System.nanoTime() - start;
+    if (recording) {
+      report.record(resource.endpoint(operation), status, nanos);
+    }
+
+    if (operation == Operation.CREATE && status == 200) {
+      pool.add(
+          resource.generatedKey()
+              ? createdId(response)
+              : String.valueOf(fields.get(resource.key())));
+    }
+  }
+
+  private static String createdId(HttpResponse<byte[]> response) {
+    try {
+      return mapper.readTree(response.body()).get("id").asText();
+    } catch (IOException e) {
+      throw new IllegalStateException("the response to a create is not JSON", e);
+    }
+  }
+}
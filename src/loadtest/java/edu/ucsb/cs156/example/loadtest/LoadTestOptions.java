@@ -0,0 +1,126 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * The settings of a load test run, given on the command line as <code>name=value</code> (or <code>
+ * --name=value</code>):
+ *
+ * <ul>
+ *   <li><code>users</code>: number of virtual users (default 20)
+ *   <li><code>admins</code>: how many of them are admins (default 5); the others only read
+ *   <li><code>warmup</code>: how long to run before measuring (default 10s)
+ *   <li><code>duration</code>: how long to measure (default 60s)
+ *   <li><code>think</code>: pause between a user's requests (default 0ms)
+ *   <li><code>mix</code>: weight of each operation (default list:40,get:40,create:8,update:8,delete:4)
+ *   <li><code>resources</code>: the controllers to drive, e.g. <code>/api/articles,/api/restaurants
+ *       </code> (default all of them)
+ *   <li><code>seed</code>: rows created per controller before the warmup (default 100)
+ *   <li><code>random</code>: seed of the virtual users' random choices (default 42)
+ *   <li><code>threads</code>: whether the application serves requests on <code>platform</code>
+ *       threads, as it does by default, or on <code>virtual</code> threads, as in the virtualthreads
+ *       profile (default platform)
+ *   <li><code>report</code>: where to write the JSON report (default target/loadtest-report.json)
+ * </ul>
+ */
+public record LoadTestOptions(
+    int users,
+    int admins,
+    Duration warmup,
+    Duration duration,
+    Duration think,
+    Map<Operation, Integer> mix,
+    List<Resource> resources,
+    int seed,
+    long random,
+    boolean virtualThreads,
+    Path report) {
+
+  /**
+   * This method reads the options from the command line, with defaults for those not given.
+   *
+   * @param args arguments of the form <code>--name=value</code>
+   * @return the options
+   */
+  public static LoadTestOptions parse(String... args) {
+    Map<String, String> values = new LinkedHashMap<>();
+    values.put("users", "20");
+    values.put("admins", "5");
+    values.put("warmup", "10s");
+    values.put("duration", "60s");
+    values.put("think", "0ms");
+    values.put("mix", "list:40,get:40,create:8,update:8,delete:4");
+    values.put("resources", "all");
+    values.put("seed", "100");
+    values.put("random", "42");
+    values.put("threads", "platform");
+    values.put("report", "target/loadtest-report.json");
+    for (String arg : args) {
+      String[] nameAndValue = arg.replaceFirst("^--", "").split("=", 2);
+      if (!values.containsKey(nameAndValue[0]) || nameAndValue.length != 2) {
+        throw new IllegalArgumentException(
+            "unknown option %s; the options are %s".formatted(arg, values.keySet()));
+      }
+      values.put(nameAndValue[0], nameAndValue[1]);
+    }
+
+    int users = Integer.parseInt(values.get("users"));
+    int admins = Integer.parseInt(values.get("admins"));
+    if (users < 1 || admins < 0 || admins > users) {
+      throw new IllegalArgumentException("need at least one user, and no more admins than users");
+    }
+    String threads = values.get("threads");
+    if (!threads.equals("platform") && !threads.equals("virtual")) {
+      throw new IllegalArgumentException("threads must be platform or virtual, not " + threads);
+    }
+    return new LoadTestOptions(
+        users,
+        admins,
+        DurationStyle.detectAndParse(values.get("warmup")),
+        DurationStyle.detectAndParse(values.get("duration")),
+        DurationStyle.detectAndParse(values.get("think")),
+        mix(values.get("mix")),
+        resources(values.get("resources")),
+        Integer.parseInt(values.get("seed")),
+        Long.parseLong(values.get("random")),
+        threads.equals("virtual"),
+        Path.of(values.get("report")));
+  }
+
+  private static Map<Operation, Integer> mix(String value) {
+    Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    for (String weight : value.split(",")) {
+      String[] operationAndWeight = weight.trim().split(":");
+      mix.put(
+          Operation.valueOf(operationAndWeight[0].toUpperCase(Locale.ROOT)),
+          Integer.parseInt(operationAndWeight[1]));
+    }
+    if (mix.getOrDefault(Operation.LIST, 0) + mix.getOrDefault(Operation.GET, 0) == 0) {
+      throw new IllegalArgumentException("the mix needs some list or get, for the non-admins");
+    }
+    return mix;
+  }
+
+  private static List<Resource> resources(String value) {
+    if (value.equals("all")) {
+      return Resource.ALL;
+    }
+    List<String> paths = Arrays.stream(value.split(",")).map(String::trim).toList();
+    List<Resource> resources =
+        Resource.ALL.stream().filter(resource -> paths.contains(resource.path())).toList();
+    if (resources.size() != paths.size()) {
+      throw new IllegalArgumentException(
+          "unknown resource in %s; the resources are %s"
+              .formatted(paths, Resource.ALL.stream().map(Resource::path).toList()));
+    }
+    return resources;
+  }
+}
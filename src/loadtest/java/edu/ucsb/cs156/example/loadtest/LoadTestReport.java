@@ -0,0 +1,174 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Collects the latency of every measured request, per endpoint, and reports the throughput and
+ * the 50th, 95th and 99th percentile latency of each endpoint as a table and as JSON.
+ *
+ * <p>Latencies are recorded in microseconds in an HdrHistogram, so that the percentiles are exact
+ * to three significant digits however many requests are made. Requests that fail (a status other
+ * than 2xx, or no response at all) are counted as errors, and their latency is not recorded.
+ */
+public class LoadTestReport {
+
+  private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(5).toNanos() / 1000;
+
+  /** The requests made to one endpoint. */
+  private static class Endpoint {
+    final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    final Map<Integer, LongAdder> errors = new ConcurrentSkipListMap<>();
+  }
+
+  private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+  /**
+   * This method records one request.
+   *
+   * @param endpoint the endpoint, e.g. <code>GET /api/articles/all</code>
+   * @param status the HTTP status, or -1 when there was no response
+   * @param nanos how long the request took
+   */
+  public void record(String endpoint, int status, long nanos) {
+    Endpoint requests = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+    if (status >= 200 && status < 300) {
+      requests.latencies.recordValue(Math.min(nanos / 1000, MAX_LATENCY_MICROS));
+    } else {
+      requests.errors.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+  }
+
+  /**
+   * This method summarizes the requests recorded, one row per endpoint and a last row for all of
+   * them.
+   *
+   * @param elapsed how long the requests were recorded for
+   * @return for each endpoint, its name and statistics
+   */
+  public List<Map<String, Object>> summarize(Duration elapsed) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+    Map<Integer, Long> allErrors = new LinkedHashMap<>();
+    endpoints.forEach(
+        (name, endpoint) -> {
+          Map<Integer, Long> errors = new LinkedHashMap<>();
+          endpoint.errors.forEach((status, count) -> errors.put(status, count.sum()));
+          errors.forEach((status, count) -> allErrors.merge(status, count, Long::sum));
+          all.add(endpoint.latencies);
+          rows.add(row(name, endpoint.latencies, errors, elapsed));
+        });
+    rows.add(row("all", all, allErrors, elapsed));
+    return rows;
+  }
+
+  private static Map<String, Object> row(
+      String endpoint, Histogram latencies, Map<Integer, Long> errors, Duration elapsed) {
+    long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+    long requests = latencies.getTotalCount() + errorCount;
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("endpoint", endpoint);
+    row.put("requests", requests);
+    row.put("errors", errorCount);
+    row.put("errorsByStatus", errors);
+    row.put("throughput", requests / (elapsed.toNanos() / 1e9));
+    row.put("p50Millis", millis(latencies.getValueAtPercentile(50)));
+    row.put("p95Millis", millis(latencies.getValueAtPercentile(95)));
+    row.put("p99Millis", millis(latencies.getValueAtPercentile(99)));
+    row.put("maxMillis", millis(latencies.getMaxValue()));
+    return row;
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  /**
+   * This method prints the summary as a table.
+   *
+   * @param rows the summary, from <code>summarize</code>
+   * @param out where to print it
+   */
+  public static void print(List<Map<String, Object>> rows, PrintStream out) {
+    String format = "%-42s %9s %7s %9s %9s %9s %9s %9s%n";
+    out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    for (Map<String, Object> row : rows) {
+      out.printf(
+          format,
+          row.get("endpoint"),
+          row.get("requests"),
+          row.get("errors"),
+          "%.1f".formatted(row.get("throughput")),
+          "%.2f".formatted(row.get("p50Millis")),
+          "%.2f".formatted(row.get("p95Millis")),
+          "%.2f".formatted(row.get("p99Millis")),
+          "%.2f".formatted(row.get("maxMillis")));
+    }
+  }
+
+  /**
+   * This method writes the summary as JSON, along with the options of the run, so that runs can be
+   * compared.
+   *
+   * @param rows the summary, from <code>summarize</code>
+   * @param options the options of the run
+   * @param elapsed how long the requests were recorded for
+   * @param pinned how many virtual threads were pinned meanwhile, or null when running on platform
+   *     threads
+   * @param file where to write it
+   */
+  public static void write(
+      List<Map<String, Object>> rows,
+      LoadTestOptions options,
+      Duration elapsed,
+      Long pinned,
+      Path file)
+      throws IOException {
+    Map<String, Object> settings = new LinkedHashMap<>();
+    settings.put("users", options.users());
+    settings.put("admins", options.admins());
+    settings.put("warmup", options.warmup());
+    settings.put("duration", options.duration());
+    settings.put("think", options.think());
+    settings.put("mix", options.mix());
+    settings.put("resources", options.resources().stream().map(Resource::path).toList());
+    settings.put("seed", options.seed());
+    settings.put("random", options.random());
+    settings.put("threads", options.virtualThreads() ? "virtual" : "platform");
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("finishedAt", Instant.now());
+    report.put("options", settings);
+    report.put("elapsedSeconds", elapsed.toNanos() / 1e9);
+    if (pinned != null) {
+      report.put("pinnedVirtualThreads", pinned);
+    }
+    report.put("endpoints", rows);
+
+    ObjectMapper mapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    mapper.writeValue(file.toFile(), report);
+  }
+}
@@ -0,0 +1,19 @@
+package edu.ucsb.cs156.example.loadtest;
+
+/** The kinds of request a virtual user makes; the traffic mix gives each a weight. */
+public enum Operation {
+  LIST,
+  GET,
+  CREATE,
+  UPDATE,
+  DELETE;
+
+  /**
+   * This method tells whether the operation changes data, and so needs the admin role.
+   *
+   * @return true for create, update and delete
+   */
+  public boolean isWrite() {
+    return this == CREATE || this == UPDATE || this == DELETE;
+  }
+}
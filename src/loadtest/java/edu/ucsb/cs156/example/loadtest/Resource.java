@@ -0,0 +1,155 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * One <code>/api/*</code> controller as the load test sees it: where it is, which operations it
+ * supports, how its rows are identified, and how to make up the fields of row number <code>n
+ * </code>.
+ *
+ * @param path the controller's request mapping, e.g. <code>/api/articles</code>
+ * @param key the request parameter that identifies one row, e.g. <code>id</code>
+ * @param generatedKey true when the key is generated by the database, false when it is one of the
+ *     fields
+ * @param fields the fields of row number n, as sent to <code>/post</code> and in updates
+ * @param operations the operations the controller supports
+ */
+public record Resource(
+    String path,
+    String key,
+    boolean generatedKey,
+    LongFunction<Map<String, Object>> fields,
+    Set<Operation> operations) {
+
+  private static final Set<Operation> CRUD = EnumSet.allOf(Operation.class);
+
+  /** Every controller the load test drives. */
+  public static final List<Resource> ALL =
+      List.of(
+          entity(
+              "/api/articles",
+              n ->
+                  fields(
+                      "title", "Article " + n,
+                      "url", "https://example.org/articles/" + n,
+                      "explanation", "Why article " + n + " is worth reading",
+                      "email", "student" + n % 100 + "@ucsb.edu",
+                      "dateAdded", date(n))),
+          entity(
+              "/api/helprequest",
+              n ->
+                  fields(
+                      "requesterEmail", "student" + n % 100 + "@ucsb.edu",
+                      "teamId", "f25-" + n % 20,
+                      "tableOrBreakoutRoom", "table " + n % 10,
+                      "requestTime", date(n),
+                      "explanation", "Help with exercise " + n,
+                      "solved", n % 2 == 0)),
+          entity(
+              "/api/menuitemreview",
+              n ->
+                  fields(
+                      "itemId", n % 500,
+                      "reviewerEmail", "student" + n % 100 + "@ucsb.edu",
+                      "stars", n % 5 + 1,
+                      "dateReviewed", date(n),
+                      "comments", "Review " + n)),
+          entity(
+              "/api/recommendationrequest",
+              n ->
+                  fields(
+                      "requesterEmail", "student" + n % 100 + "@ucsb.edu",
+                      "professorEmail", "professor" + n % 20 + "@ucsb.edu",
+                      "explanation", "Recommendation " + n,
+                      "dateRequested", date(n),
+                      "dateNeeded", date(n + 40_000),
+                      "done", n % 3 == 0)),
+          entity(
+              "/api/restaurants",
+              n -> fields("name", "Restaurant " + n, "description", "Serves dish " + n)),
+          entity(
+              "/api/ucsbdates",
+              n ->
+                  fields(
+                      "quarterYYYYQ", "20" + (20 + n % 10) + (n % 4 + 1),
+                      "name", "Date " + n,
+                      "localDateTime", date(n))),
+          entity(
+              "/api/ucsbdiningcommonsmenuitem",
+              n ->
+                  fields(
+                      "diningCommonsCode", "commons" + n % 4,
+                      "name", "Menu item " + n,
+                      "station", "Station " + n % 8)),
+          new Resource(
+              "/api/ucsbdiningcommons",
+              "code",
+              false,
+              n ->
+                  fields(
+                      "code", "commons-" + n,
+                      "name", "Dining Commons " + n,
+                      "hasSackMeal", n % 2 == 0,
+                      "hasTakeOutMeal", n % 3 == 0,
+                      "hasDiningCam", n % 5 == 0,
+                      "latitude", 34.4,
+                      "longitude", -119.8),
+              CRUD),
+          new Resource(
+              "/api/ucsborganization",
+              "orgCode",
+              false,
+              n ->
+                  fields(
+                      "orgCode", "ORG" + n,
+                      "orgTranslationShort", "ORGANIZATION " + n,
+                      "orgTranslation", "STUDENT ORGANIZATION " + n,
+                      "inactive", n % 4 == 0),
+              CRUD),
+          readOnly("/api/currentUser"),
+          readOnly("/api/systemInfo"),
+          readOnly("/api/bootstrap"));
+
+  private static Resource entity(String path, LongFunction<Map<String, Object>> fields) {
+    return new Resource(path, "id", true, fields, CRUD);
+  }
+
+  // a controller with a single GET and nothing to identify
+  private static Resource readOnly(String path) {
+    return new Resource(path, null, false, n -> Map.of(), EnumSet.of(Operation.GET));
+  }
+
+  private static Map<String, Object> fields(Object... namesAndValues) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      fields.put((String) namesAndValues[i], namesAndValues[i + 1]);
+    }
+    return fields;
+  }
+
+  private static String date(long n) {
+    return "2025-%02d-%02dT%02d:00:00".formatted(n % 12 + 1, n % 28 + 1, n % 24);
+  }
+
+  /**
+   * This method names the endpoint an operation on this resource is sent to, as it appears in the
+   * report.
+   *
+   * @param operation the operation
+   * @return e.g. <code>GET /api/articles/all</code>
+   */
+  public String endpoint(Operation operation) {
+    return switch (operation) {
+      case LIST -> "GET " + path + "/all";
+      case GET -> "GET " + path;
+      case CREATE -> "POST " + path + "/post";
+      case UPDATE -> "PUT " + path;
+      case DELETE -> "DELETE " + path;
+    };
+  }
+}
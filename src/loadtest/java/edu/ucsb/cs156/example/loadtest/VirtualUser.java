@@ -0,0 +1,160 @@
+package edu.ucsb.cs156.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * One user of the application, with its own HTTP client and cookies (and so its own session), who
+ * logs in through the OAuth2 flow that WiremockServiceImpl fakes, and then sends API requests as a
+ * browser running the frontend would, with the CSRF token from the XSRF-TOKEN cookie.
+ */
+public class VirtualUser {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final URI baseUri;
+
+  private final CookieManager cookies = new CookieManager();
+
+  private final HttpClient client;
+
+  public VirtualUser(URI baseUri) {
+    this.baseUri = baseUri;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .cookieHandler(cookies)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+  }
+
+  /**
+   * This method logs in the way a browser does: it follows the redirect to the (mocked) provider,
+   * submits the login form, and follows the redirect back to the application, which then fetches the
+   * user's details from the mocked userinfo endpoint.
+   *
+   * @param loginPath the path that starts the login, i.e. <code>app.oauth.login</code>
+   * @param email the email entered in the login form (the mocks ignore it)
+   * @return the roles of the logged-in user, as reported by <code>/api/currentUser</code>
+   */
+  public String login(String loginPath, String email) throws IOException, InterruptedException {
+    URI authorize = redirect(send(HttpRequest.newBuilder(baseUri.resolve(loginPath)).GET()));
+    send(HttpRequest.newBuilder(authorize).GET());
+
+    Map<String, String> query = query(authorize);
+    String form =
+        formEncode(
+            Map.of(
+                "state", query.get("state"),
+                "redirectUri", query.get("redirect_uri"),
+                "username", email,
+                "password", "password"));
+    URI callback =
+        redirect(
+            send(
+                HttpRequest.newBuilder(authorize.resolve("/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(BodyPublishers.ofString(form))));
+    redirect(send(HttpRequest.newBuilder(callback).GET()));
+
+    HttpResponse<byte[]> currentUser =
+        send(HttpRequest.newBuilder(baseUri.resolve("/api/currentUser")).GET());
+    if (currentUser.statusCode() != 200) {
+      throw new IllegalStateException(
+          "login as %s failed: /api/currentUser returned %d"
+              .formatted(email, currentUser.statusCode()));
+    }
+    return mapper.readTree(currentUser.body()).get("roles").toString();
+  }
+
+  /**
+   * This method sends one request.
+   *
+   * @param method the HTTP method
+   * @param pathAndQuery the path, with its query string already encoded
+   * @param body the JSON body, or null for none
+   * @return the response
+   */
+  public HttpResponse<byte[]> send(String method, String pathAndQuery, Object body)
+      throws IOException, InterruptedException {
+    HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(pathAndQuery));
+    if (body != null) {
+      request
+          .header("Content-Type", "application/json")
+          .method(method, BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+    } else {
+      request.method(method, BodyPublishers.noBody());
+    }
+    if (!method.equals("GET")) {
+      request.header("X-XSRF-TOKEN", csrfToken());
+    }
+    return send(request);
+  }
+
+  private HttpResponse<byte[]> send(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    return client.send(request.timeout(Duration.ofSeconds(30)).build(), BodyHandlers.ofByteArray());
+  }
+
+  private String csrfToken() {
+    return cookies.getCookieStore().get(baseUri).stream()
+        .filter(cookie -> cookie.getName().equals("XSRF-TOKEN"))
+        .map(HttpCookie::getValue)
+        .findFirst()
+        .orElse("");
+  }
+
+  private static URI redirect(HttpResponse<?> response) {
+    return response
+        .headers()
+        .firstValue("Location")
+        .map(location -> response.uri().resolve(location))
+        .orElseThrow(
+            () ->
+                new IllegalStateException(
+                    "expected a redirect from %s, not %d"
+                        .formatted(response.uri(), response.statusCode())));
+  }
+
+  private static Map<String, String> query(URI uri) {
+    return Arrays.stream(uri.getRawQuery().split("&"))
+        .map(parameter -> parameter.split("=", 2))
+        .collect(
+            Collectors.toMap(
+                pair -> pair[0],
+                pair -> pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : ""));
+  }
+
+  /**
+   * This method encodes names and values as an <code>application/x-www-form-urlencoded</code>
+   * string, which is also the format of a query string.
+   *
+   * @param fields the names and values
+   * @return the encoded string
+   */
+  public static String formEncode(Map<String, ?> fields) {
+    return fields.entrySet().stream()
+        .map(
+            field ->
+                URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8)
+                    + "="
+                    + URLEncoder.encode(String.valueOf(field.getValue()), StandardCharsets.UTF_8))
+        .collect(Collectors.joining("&"));
+  }
+}
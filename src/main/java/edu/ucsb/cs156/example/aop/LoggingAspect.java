@@ -1,9 +1,10 @@
 package edu.ucsb.cs156.example.aop;
 
+import edu.ucsb.cs156.example.logging.LogRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
@@ -26,7 +27,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Component
 public class LoggingAspect {
   // language=PointcutExpression
-  private static final String pointcut =
+  static final String pointcut =
       """
       @annotation(org.springframework.web.bind.annotation.RequestMapping) ||
       @annotation(org.springframework.web.bind.annotation.GetMapping) ||
@@ -36,9 +37,12 @@ public class LoggingAspect {
       @annotation(org.springframework.web.bind.annotation.PatchMapping)
       """;
 
-  private ArrayList<String> stoplist =
-      new ArrayList<String>(
-          Arrays.asList("edu.ucsb.cs156.example.controllers.FrontendProxyController"));
+  // controllers whose calls are neither logged nor timed
+  static final Set<String> stoplist =
+      Set.of("edu.ucsb.cs156.example.controllers.FrontendProxyController");
+
+  // at most 50 request lines per second; the next line reports how many were skipped
+  private static final LogRateLimiter rateLimiter = new LogRateLimiter(50, Duration.ofSeconds(1));
 
   /**
    * This method is called before any controller method that is annotated with
@@ -53,14 +57,17 @@ public class LoggingAspect {
         .ifPresent(
             request -> {
               String declaringTypeName = joinPoint.getSignature().getDeclaringTypeName();
-              if (!stoplist.contains(declaringTypeName)) {
-                log.info(
-                    "===== %s %s handled by %s in %s"
-                        .formatted(
-                            request.getMethod(),
-                            request.getRequestURI(),
-                            joinPoint.getSignature().getName(),
-                            declaringTypeName));
+              if (!stoplist.contains(declaringTypeName) && log.isInfoEnabled()) {
+                long suppressed = rateLimiter.tryAcquire();
+                if (suppressed >= 0) {
+                  log.atInfo()
+                      .addKeyValue("method", request.getMethod())
+                      .addKeyValue("uri", request.getRequestURI())
+                      .addKeyValue("handler", joinPoint.getSignature().getName())
+                      .addKeyValue("controller", declaringTypeName)
+                      .addKeyValue("suppressed", suppressed)
+                      .log("request");
+                }
               }
             });
   }
@@ -71,7 +78,7 @@ public class LoggingAspect {
    *
    * @return An Optional object containing the current HttpServletRequest, if available.
    */
-  private static Optional<HttpServletRequest> getCurrentHttpRequest() {
+  static Optional<HttpServletRequest> getCurrentHttpRequest() {
     return Optional.ofNullable(RequestContextHolder.getRequestAttributes())
         .filter(ServletRequestAttributes.class::isInstance)
         .map(ServletRequestAttributes.class::cast)
@@ -0,0 +1,93 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.services.RequestTimingService;
+import edu.ucsb.cs156.example.services.SlowRequestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * This class is an Aspect that times all invocations of the controller methods matched by the
+ * {@link LoggingAspect} pointcut, and records the latency, outcome and exception type with the
+ * {@link RequestTimingService}. Calls are also tracked by the {@link SlowRequestService}, which
+ * keeps the ones that take longer than its threshold.
+ *
+ * @see edu.ucsb.cs156.example.services.RequestTimingService
+ * @see edu.ucsb.cs156.example.services.SlowRequestService
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+  @Autowired RequestTimingService requestTimingService;
+
+  @Autowired SlowRequestService slowRequestService;
+
+  /**
+   * This method wraps any controller method that is annotated with {@code @RequestMapping},
+   * {@code @GetMapping}, {@code @PostMapping}, {@code @PutMapping}, {@code @DeleteMapping}, or
+   * {@code @PatchMapping}, and records how long it took.
+   *
+   * @param joinPoint the join point (injected by Spring framework)
+   * @return whatever the controller method returns
+   * @throws Throwable whatever the controller method throws
+   */
+  @Around(LoggingAspect.pointcut)
+  public Object timeControllers(ProceedingJoinPoint joinPoint) throws Throwable {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    if (LoggingAspect.stoplist.contains(signature.getDeclaringTypeName())) {
+      return joinPoint.proceed();
+    }
+    // nothing is looked up or built for the slow request tracking when it is off
+    SlowRequestService.InFlightRequest inFlight =
+        slowRequestService.isEnabled() ? beginSlowRequest(signature.getMethod()) : null;
+    long start = System.nanoTime();
+    Object result = null;
+    Throwable exception = null;
+    try {
+      result = joinPoint.proceed();
+      return result;
+    } catch (Throwable t) {
+      exception = t;
+      throw t;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      int status =
+          RequestTimingService.statusOf(
+              signature.getMethod(), result, currentResponseStatus(), exception);
+      requestTimingService.record(signature.getMethod(), elapsed, status, exception);
+      slowRequestService.end(inFlight, status);
+    }
+  }
+
+  private SlowRequestService.InFlightRequest beginSlowRequest(Method handler) {
+    return LoggingAspect.getCurrentHttpRequest()
+        .map(request -> slowRequestService.begin(handler, request.getMethod(), requestUri(request)))
+        .orElse(null);
+  }
+
+  private static String requestUri(HttpServletRequest request) {
+    String query = request.getQueryString();
+    return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+  }
+
+  private static int currentResponseStatus() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes instanceof ServletRequestAttributes servletAttributes) {
+      HttpServletResponse response = servletAttributes.getResponse();
+      if (response != null) {
+        return response.getStatus();
+      }
+    }
+    return 200;
+  }
+}
@@ -0,0 +1,59 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.services.ServerTiming;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class is an Aspect that adds the time spent in CurrentUserService and in Spring Data
+ * repositories to the ServerTiming of the current request. It is only created when <code>
+ * app.serverTiming.enabled</code> is true, so that repositories are not proxied otherwise.
+ *
+ * @see edu.ucsb.cs156.example.services.ServerTiming
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.serverTiming.enabled", havingValue = "true")
+public class ServerTimingAspect {
+
+  /**
+   * This method times calls to CurrentUserService.
+   *
+   * @param joinPoint the join point (injected by Spring framework)
+   * @return whatever the method returns
+   * @throws Throwable whatever the method throws
+   */
+  @Around("execution(* edu.ucsb.cs156.example.services.CurrentUserService+.*(..))")
+  public Object timeCurrentUser(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, ServerTiming.Segment.USER);
+  }
+
+  /**
+   * This method times calls to Spring Data repositories.
+   *
+   * @param joinPoint the join point (injected by Spring framework)
+   * @return whatever the method returns
+   * @throws Throwable whatever the method throws
+   */
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object timeRepositories(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, ServerTiming.Segment.DB);
+  }
+
+  private static Object time(ProceedingJoinPoint joinPoint, ServerTiming.Segment segment)
+      throws Throwable {
+    ServerTiming timing = ServerTiming.current();
+    if (timing == null) {
+      return joinPoint.proceed();
+    }
+    timing.enter(segment);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      timing.exit(segment);
+    }
+  }
+}
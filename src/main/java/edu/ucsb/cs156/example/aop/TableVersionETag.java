@@ -0,0 +1,24 @@
+package edu.ucsb.cs156.example.aop;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the rows of one entity table. The response
+ * gets the table's ETag, and a request whose <code>If-None-Match</code> matches it is answered with
+ * 304 Not Modified without calling the handler.
+ *
+ * @see TableVersionETagAspect
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TableVersionETag {
+  /**
+   * @return the entity stored in the table
+   */
+  Class<?> value();
+}
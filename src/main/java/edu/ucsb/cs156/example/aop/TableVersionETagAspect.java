@@ -0,0 +1,61 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.services.TableVersionService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * This class is an Aspect that implements {@link TableVersionETag}. It runs inside the method
+ * security interceptor, so a request is authorized before it can get a 304.
+ *
+ * <p>Responses are marked <code>Cache-Control: no-cache, private</code> (instead of Spring
+ * Security's default <code>no-store</code>), which lets the browser keep them and revalidate with
+ * <code>If-None-Match</code> on every use.
+ *
+ * @see edu.ucsb.cs156.example.services.TableVersionService
+ */
+@Aspect
+@Component
+public class TableVersionETagAspect {
+
+  static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+  @Autowired TableVersionService tableVersionService;
+
+  /**
+   * This method answers a conditional GET from the table's version, or calls the handler and adds
+   * the ETag to its response.
+   *
+   * @param joinPoint the join point (injected by Spring framework)
+   * @param tableVersionETag the annotation on the handler
+   * @return whatever the handler returns, or null if the response is 304 Not Modified
+   * @throws Throwable whatever the handler throws
+   */
+  @Around("@annotation(tableVersionETag)")
+  public Object checkNotModified(ProceedingJoinPoint joinPoint, TableVersionETag tableVersionETag)
+      throws Throwable {
+    if (!(RequestContextHolder.getRequestAttributes()
+            instanceof ServletRequestAttributes attributes)
+        || attributes.getResponse() == null) {
+      return joinPoint.proceed();
+    }
+    // read before the handler runs: if the table changes meanwhile, the ETag is older than the
+    // body and the next request simply fetches it again
+    String etag = tableVersionService.getETag(tableVersionETag.value());
+    ServletWebRequest webRequest =
+        new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+    attributes.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return joinPoint.proceed();
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.config;
+
+/**
+ * This class reads an <code>Accept-Encoding</code> request header, e.g. <code>
+ * gzip, br;q=0.8, *;q=0</code>.
+ *
+ * <p>A coding is accepted if it is listed with a q-value above 0, or if it is not listed and <code>
+ * *
+ * </code> is. A coding listed with <code>q=0</code> is refused even if <code>*</code> is accepted.
+ * Codings are compared ignoring case, and a malformed q-value counts as 0.
+ */
+public final class AcceptEncoding {
+
+  private AcceptEncoding() {}
+
+  /**
+   * This method decides whether a response may be sent with a content coding.
+   *
+   * @param header the Accept-Encoding header, or null if the request has none
+   * @param coding the content coding, e.g. gzip or br
+   * @return true if the header accepts the coding
+   */
+  public static boolean accepts(String header, String coding) {
+    if (header == null) {
+      return false;
+    }
+    double wildcard = 0;
+    for (String element : header.split(",")) {
+      String[] params = element.split(";");
+      String name = params[0].trim();
+      if (name.equalsIgnoreCase(coding)) {
+        return quality(params) > 0;
+      }
+      if (name.equals("*")) {
+        wildcard = quality(params);
+      }
+    }
+    return wildcard > 0;
+  }
+
+  private static double quality(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String param = params[i].trim();
+      if (param.regionMatches(true, 0, "q=", 0, 2)) {
+        try {
+          return Double.parseDouble(param.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,117 @@
+package edu.ucsb.cs156.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * This is a configuration class that registers a filter so that <code>
+ * server.compression.min-response-size</code> applies to /api/** responses.
+ *
+ * <p>Tomcat can only compare a response's size with the threshold if the size is known when the
+ * response is committed; a response committed without a <code>Content-Length</code> is always
+ * compressed. Spring flushes the output stream after writing a JSON body, which commits it with no
+ * length. This filter ignores flushes until the response is committed, so a body that fits in the
+ * response buffer is sent with its length when the request completes, and is only compressed if it
+ * is at least the threshold. A body larger than the buffer is committed (and compressed) as soon as
+ * the buffer fills, as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+  @Bean
+  public FilterRegistrationBean<DeferredFlushFilter> deferredFlushFilter() {
+    FilterRegistrationBean<DeferredFlushFilter> registration =
+        new FilterRegistrationBean<>(new DeferredFlushFilter());
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+
+  /** Wraps the response of requests that accept gzip, the only ones Tomcat might compress. */
+  static final class DeferredFlushFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+      if (AcceptEncoding.accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), "gzip")) {
+        response = new DeferredFlushResponse(response);
+      }
+      filterChain.doFilter(request, response);
+    }
+  }
+
+  static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+    private ServletOutputStream outputStream;
+
+    DeferredFlushResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        outputStream = new DeferredFlushOutputStream(super.getOutputStream());
+      }
+      return outputStream;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      if (isCommitted()) {
+        super.flushBuffer();
+      }
+    }
+
+    private final class DeferredFlushOutputStream extends ServletOutputStream {
+      private final ServletOutputStream delegate;
+
+      DeferredFlushOutputStream(ServletOutputStream delegate) {
+        this.delegate = delegate;
+      }
+
+      @Override
+      public void write(int b) throws IOException {
+        delegate.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        delegate.write(b, off, len);
+      }
+
+      @Override
+      public void flush() throws IOException {
+        if (isCommitted()) {
+          delegate.flush();
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        delegate.close();
+      }
+
+      @Override
+      public boolean isReady() {
+        return delegate.isReady();
+      }
+
+      @Override
+      public void setWriteListener(WriteListener writeListener) {
+        delegate.setWriteListener(writeListener);
+      }
+    }
+  }
+}
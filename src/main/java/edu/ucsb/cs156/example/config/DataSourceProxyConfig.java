@@ -0,0 +1,64 @@
+package edu.ucsb.cs156.example.config;
+
+import edu.ucsb.cs156.example.services.ServerTiming;
+import edu.ucsb.cs156.example.services.SlowRequestService;
+import java.util.List;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy so that every SQL statement is timed and
+ * attributed to the request that executed it (see SlowRequestService and ServerTiming).
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+  private static final String START_NANOS = "startNanos";
+
+  @Bean
+  static BeanPostProcessor dataSourceProxyPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+          return ProxyDataSourceBuilder.create(beanName, dataSource)
+              .listener(new StatementTimingListener())
+              .build();
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Times statements with System.nanoTime(), since the elapsed time datasource-proxy reports is in
+   * whole milliseconds.
+   */
+  static final class StatementTimingListener implements QueryExecutionListener {
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+      execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+      long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+      String sql =
+          queryInfoList.size() == 1
+              ? queryInfoList.get(0).getQuery()
+              : String.join("; ", queryInfoList.stream().map(QueryInfo::getQuery).toList());
+      SlowRequestService.recordSql(sql, elapsedNanos, execInfo.isSuccess());
+      ServerTiming timing = ServerTiming.current();
+      if (timing != null) {
+        timing.countQuery();
+      }
+    }
+  }
+}
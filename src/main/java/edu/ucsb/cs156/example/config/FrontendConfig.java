@@ -0,0 +1,46 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+/**
+ * This is a configuration class that serves the files the frontend build puts under /assets so that
+ * browsers cache them for good.
+ *
+ * <p>Vite puts a hash of each file's content in its name, and index.html refers to them by those
+ * names, so a file under /assets never changes: a new build has new names. They are served with
+ * <code>Cache-Control: public, max-age=31536000, immutable</code>, and a browser that has them does
+ * not ask for them again, not even to revalidate. index.html itself is revalidated on every visit
+ * (see FrontendController). As for the other static files, the .br or .gz copy written by the build
+ * is served to a browser that accepts it.
+ */
+@Profile("!development")
+@Configuration
+public class FrontendConfig implements WebMvcConfigurer {
+
+  private final String[] assetLocations;
+
+  public FrontendConfig(WebProperties webProperties) {
+    this.assetLocations =
+        Arrays.stream(webProperties.getResources().getStaticLocations())
+            .map(location -> (location.endsWith("/") ? location : location + "/") + "assets/")
+            .toArray(String[]::new);
+  }
+
+  @Override
+  public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    registry
+        .addResourceHandler("/assets/**")
+        .addResourceLocations(assetLocations)
+        .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver());
+  }
+}
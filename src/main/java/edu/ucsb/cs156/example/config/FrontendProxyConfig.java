@@ -0,0 +1,180 @@
+package edu.ucsb.cs156.example.config;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.context.ServletContextAware;
+
+/**
+ * Proxies the WebSocket that Vite's hot module replacement client opens to the page's own origin,
+ * so that HMR works when the frontend is loaded through the backend in development (see
+ * FrontendProxyController).
+ *
+ * <p>The client connects to <code>/</code> with the <code>vite-hmr</code> (or, while waiting for
+ * the dev server to come back, <code>vite-ping</code>) subprotocol. Each such connection is paired
+ * with one to the dev server, with the same path, query (which carries Vite's token) and
+ * subprotocol, and messages are relayed both ways until either side closes.
+ */
+@Slf4j
+@Profile("development")
+@Configuration
+public class FrontendProxyConfig implements ServletContextAware, SmartInitializingSingleton {
+
+  private static final List<String> VITE_SUBPROTOCOLS = List.of("vite-hmr", "vite-ping");
+
+  // the user property of the endpoint config that holds the dev server's host and port
+  private static final String FRONTEND_SERVER = "frontendServer";
+
+  @Value("${app.frontendServer:localhost:3000}")
+  private String frontendServer;
+
+  private ServletContext servletContext;
+
+  @Override
+  public void setServletContext(ServletContext servletContext) {
+    this.servletContext = servletContext;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    ServerContainer container =
+        (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+    ServerEndpointConfig config =
+        ServerEndpointConfig.Builder.create(ViteHmrProxyEndpoint.class, "/")
+            .subprotocols(VITE_SUBPROTOCOLS)
+            .build();
+    config.getUserProperties().put(FRONTEND_SERVER, frontendServer);
+    try {
+      container.addEndpoint(config);
+    } catch (DeploymentException e) {
+      throw new IllegalStateException("could not proxy the vite HMR WebSocket", e);
+    }
+  }
+
+  /** One browser connection, relayed to and from one connection to the dev server. */
+  public static class ViteHmrProxyEndpoint extends Endpoint {
+
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    // sends to the dev server one at a time, as java.net.http.WebSocket requires
+    private CompletableFuture<WebSocket> upstream;
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+      String query = session.getQueryString();
+      URI uri =
+          URI.create(
+              "ws://"
+                  + config.getUserProperties().get(FRONTEND_SERVER)
+                  + session.getRequestURI().getRawPath()
+                  + (query == null ? "" : "?" + query));
+      upstream =
+          httpClient
+              .newWebSocketBuilder()
+              .subprotocols(session.getNegotiatedSubprotocol())
+              .buildAsync(uri, new Relay(session));
+      upstream.exceptionally(
+          e -> {
+            log.info("could not connect to the vite HMR WebSocket at {}: {}", uri, e.toString());
+            close(session, CloseReason.CloseCodes.TRY_AGAIN_LATER, "frontend server unavailable");
+            return null;
+          });
+      session.addMessageHandler(
+          String.class,
+          (MessageHandler.Partial<String>) (text, last) -> send(ws -> ws.sendText(text, last)));
+      session.addMessageHandler(
+          ByteBuffer.class,
+          (MessageHandler.Partial<ByteBuffer>)
+              (bytes, last) -> {
+                // the container may reuse the buffer once this returns
+                ByteBuffer copy = ByteBuffer.allocate(bytes.remaining()).put(bytes).flip();
+                send(ws -> ws.sendBinary(copy, last));
+              });
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+      send(ws -> ws.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+    }
+
+    private synchronized void send(Function<WebSocket, CompletableFuture<WebSocket>> message) {
+      upstream = upstream.thenCompose(message);
+    }
+
+    private static void close(Session session, CloseReason.CloseCode code, String reason) {
+      try {
+        session.close(new CloseReason(code, reason));
+      } catch (IOException e) {
+        log.debug("could not close the HMR WebSocket", e);
+      }
+    }
+  }
+
+  /** Relays what the dev server sends to the browser. */
+  private static final class Relay implements WebSocket.Listener {
+    private final Session session;
+
+    Relay(Session session) {
+      this.session = session;
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      try {
+        session.getBasicRemote().sendText(data.toString(), last);
+      } catch (IOException e) {
+        webSocket.abort();
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+      try {
+        session.getBasicRemote().sendBinary(data, last);
+      } catch (IOException e) {
+        webSocket.abort();
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      // 1005, 1006 and 1015 only describe a close; they cannot be sent
+      CloseReason.CloseCode code =
+          statusCode == 1005 || statusCode == 1006 || statusCode == 1015
+              ? CloseReason.CloseCodes.NORMAL_CLOSURE
+              : CloseReason.CloseCodes.getCloseCode(statusCode);
+      ViteHmrProxyEndpoint.close(session, code, reason);
+      return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      ViteHmrProxyEndpoint.close(
+          session, CloseReason.CloseCodes.UNEXPECTED_CONDITION, "frontend server error");
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package edu.ucsb.cs156.example.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on the Hibernate second-level cache and query cache, and creates the Caffeine caches behind
+ * them, which Hibernate uses through JCache.
+ *
+ * <p>Only the reference-data entities (UCSBDiningCommons, UCSBOrganization, Restaurant and
+ * UCSBDate) are cached; each names its region in its <code>@Cache</code> annotation. Every entity
+ * region, and the query results region, holds at most <code>app.cache.maxEntries</code> entries for
+ * at most <code>app.cache.ttl</code>. Hibernate keeps the regions current when entities are
+ * written, and the single-statement updates and deletes of SingleRowRepository clear the region of
+ * the table they change. When Hibernate statistics are on (<code>HIBERNATE_STATISTICS</code>), hit
+ * and miss counts per region are published as the <code>hibernate.second.level.cache.*</code>
+ * metrics.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+  /** The second-level cache regions of the cached entities. */
+  public static final List<String> ENTITY_REGIONS =
+      List.of("ucsbdiningcommons", "ucsborganization", "restaurants", "ucsbdates");
+
+  @Bean(destroyMethod = "close")
+  CacheManager hibernateCacheManager(
+      @Value("${app.cache.maxEntries}") long maxEntries, @Value("${app.cache.ttl}") Duration ttl) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    // a cache manager of our own, so that every application context starts with empty caches
+    CacheManager cacheManager =
+        provider.getCacheManager(
+            URI.create("hibernate:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+    for (String region : ENTITY_REGIONS) {
+      cacheManager.createCache(region, bounded(maxEntries, ttl));
+    }
+    cacheManager.createCache(
+        RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(maxEntries, ttl));
+    // one entry per table, checked to decide whether a cached query result is stale, so it must
+    // never be evicted
+    cacheManager.createCache(
+        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+        new CaffeineConfiguration<>());
+    return cacheManager;
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      // every region is created above; a region without a cache is a mistake, not a default
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, Duration ttl) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxEntries));
+    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    return configuration;
+  }
+}
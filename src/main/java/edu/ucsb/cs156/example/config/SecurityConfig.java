@@ -3,12 +3,16 @@ package edu.ucsb.cs156.example.config;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.logging.LogRateLimiter;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.CurrentUserService;
+import edu.ucsb.cs156.example.services.SignedTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -17,10 +21,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -30,8 +37,10 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
 import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
@@ -40,6 +49,7 @@ import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
 
 /**
  * The `SecurityConfig` class in Java configures web security with OAuth2 login, CSRF protection,
@@ -56,6 +66,18 @@ public class SecurityConfig {
 
   @Autowired UserRepository userRepository;
 
+  @Autowired ObjectProvider<SignedTokenService> signedTokenService;
+
+  @Autowired ObjectProvider<CurrentUserService> currentUserService;
+
+  @Autowired Environment environment;
+
+  // logins are logged at INFO, but at most 10 per second (e.g. during a load test)
+  private final LogRateLimiter loginLogRateLimiter = new LogRateLimiter(10, Duration.ofSeconds(1));
+
+  @Value("${app.serverTiming.enabled:false}")
+  private boolean serverTimingEnabled;
+
   /**
    * The `filterChain` method in this Java code configures various security settings for an HTTP
    * request, including authorization, exception handling, OAuth2 login, CSRF protection, and logout
@@ -77,36 +99,112 @@ public class SecurityConfig {
                 csrf.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
                     .csrfTokenRequestHandler(new SpaCsrfTokenRequestHandler()))
         .addFilterAfter(new CsrfCookieFilter(), BasicAuthenticationFilter.class)
-        .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+        .authorizeHttpRequests(
+            auth ->
+                auth.requestMatchers(antMatcher("/actuator/**"))
+                    .hasRole("ADMIN")
+                    .anyRequest()
+                    .permitAll())
         .logout(
             logout ->
                 logout
                     .logoutRequestMatcher(new AntPathRequestMatcher("/logout"))
                     .logoutSuccessUrl("/"));
+    SignedTokenService tokens = signedTokenService.getIfAvailable();
+    if (tokens != null) {
+      configureSignedTokens(http, tokens);
+    }
+    if (serverTimingEnabled) {
+      // marks the end of authentication for the Server-Timing header (see ServerTimingConfig)
+      http.addFilterAfter(
+          new ServerTimingConfig.AuthenticatedMarkerFilter(), AuthorizationFilter.class);
+    }
     return http.build();
   }
 
+  /**
+   * When the stateless profile is active, a signed token is issued after OAuth2 login, and API
+   * requests are authenticated from that token alone. The session is then only used to carry the
+   * OAuth2 authorization request during login, and the security context is never stored in it.
+   *
+   * @param http the HttpSecurity being configured by filterChain
+   * @param tokens the service used to issue and verify tokens
+   */
+  private void configureSignedTokens(HttpSecurity http, SignedTokenService tokens)
+      throws Exception {
+    http.securityContext(
+            context ->
+                context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+        .addFilterBefore(
+            new SignedTokenAuthenticationFilter(tokens), BasicAuthenticationFilter.class)
+        .oauth2Login(
+            oauth2 ->
+                oauth2.successHandler(
+                    new SignedTokenLoginSuccessHandler(tokens, currentUserService::getObject)))
+        .logout(
+            logout ->
+                logout
+                    .addLogoutHandler(new SignedTokenLogoutHandler(tokens))
+                    .deleteCookies(SignedTokenAuthenticationFilter.COOKIE_NAME));
+  }
+
+  /**
+   * Paths of static frontend resources: the content-hashed build artifacts under /assets, the files
+   * copied from frontend/public and the swagger-ui bundle. None of these need authentication or a
+   * CSRF token.
+   */
+  static final String[] STATIC_RESOURCES = {
+    "/assets/**",
+    "/favicon.ico",
+    "/manifest.json",
+    "/robots.txt",
+    "/*.js",
+    "/*.png",
+    "/*.svg",
+    "/swagger-ui/**"
+  };
+
+  /**
+   * Paths of the modules served by the vite dev server through FrontendProxyController. They only
+   * exist in development, so they are only ignored in the development profile; anywhere else they
+   * go through the security chain like any other request.
+   */
+  static final String[] DEV_SERVER_RESOURCES = {
+    "/src/**", "/node_modules/**", "/@vite/**", "/@react-refresh", "/@fs/**"
+  };
+
   /**
    * The `webSecurityCustomizer` method is used to configure web security in Java, specifically
-   * ignoring requests to the "/h2-console/**" path.
+   * ignoring requests to the "/h2-console/**" path and to static resources, so that those bypass
+   * the security filter chain (and CSRF token generation) entirely.
    */
   @Bean
   public WebSecurityCustomizer webSecurityCustomizer() {
-    return web -> web.ignoring().requestMatchers(antMatcher("/h2-console/**"));
+    boolean development = environment.acceptsProfiles(Profiles.of("development"));
+    return web -> {
+      web.ignoring().requestMatchers(antMatcher("/h2-console/**"));
+      for (String path : STATIC_RESOURCES) {
+        web.ignoring().requestMatchers(antMatcher(path));
+      }
+      if (development) {
+        for (String path : DEV_SERVER_RESOURCES) {
+          web.ignoring().requestMatchers(antMatcher(path));
+        }
+      }
+    };
   }
 
-  private GrantedAuthoritiesMapper userAuthoritiesMapper() {
+  // package-private so that SecurityConfigBenchmark (src/jmh) can call it
+  GrantedAuthoritiesMapper userAuthoritiesMapper() {
     return (authorities) -> {
       Set<GrantedAuthority> mappedAuthorities = new HashSet<>();
-      log.info("********** authorities={}", authorities);
+      log.atDebug().addKeyValue("authorities", authorities).log("mapping authorities");
 
       authorities.forEach(
           authority -> {
-            log.info("********** authority={}", authority);
             mappedAuthorities.add(authority);
             if (authority instanceof OAuth2UserAuthority oauth2UserAuthority) {
               Map<String, Object> userAttributes = oauth2UserAuthority.getAttributes();
-              log.info("********** userAttributes={}", userAttributes);
 
               mappedAuthorities.add(new SimpleGrantedAuthority("ROLE_USER"));
 
@@ -120,7 +218,13 @@ public class SecurityConfig {
               }
             }
           });
-      log.info("********** mappedAuthorities={}", mappedAuthorities);
+      long suppressed = loginLogRateLimiter.tryAcquire();
+      if (suppressed >= 0) {
+        log.atInfo()
+            .addKeyValue("authorities", mappedAuthorities)
+            .addKeyValue("suppressed", suppressed)
+            .log("login");
+      }
       return mappedAuthorities;
     };
   }
@@ -183,13 +287,20 @@ final class SpaCsrfTokenRequestHandler extends CsrfTokenRequestAttributeHandler
 
 final class CsrfCookieFilter extends OncePerRequestFilter {
 
+  // the default cookie name used by CookieCsrfTokenRepository
+  private static final String CSRF_COOKIE_NAME = "XSRF-TOKEN";
+
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
-    CsrfToken csrfToken = (CsrfToken) request.getAttribute("_csrf");
-    // Render the token value to a cookie by causing the deferred token to be loaded
-    csrfToken.getToken();
+    // Only mint a token when the browser does not already hold the cookie; the token is still
+    // loaded lazily (and checked) whenever a state-changing request needs it
+    if (WebUtils.getCookie(request, CSRF_COOKIE_NAME) == null) {
+      CsrfToken csrfToken = (CsrfToken) request.getAttribute("_csrf");
+      // Render the token value to a cookie by causing the deferred token to be loaded
+      csrfToken.getToken();
+    }
     filterChain.doFilter(request, response);
   }
 }
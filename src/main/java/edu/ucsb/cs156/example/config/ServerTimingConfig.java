@@ -0,0 +1,160 @@
+package edu.ucsb.cs156.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.services.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Adds a <code>Server-Timing</code> header to every /api/** response when <code>
+ * app.serverTiming.enabled</code> is true (see ServerTiming). When it is false none of these beans
+ * exist, the default JSON converter is used, and the remaining hooks only check an empty
+ * ThreadLocal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.serverTiming.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+  @Bean
+  public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+    FilterRegistrationBean<ServerTimingFilter> registration =
+        new FilterRegistrationBean<>(new ServerTimingFilter());
+    registration.addUrlPatterns("/api/*");
+    // just outside the Spring Security filter chain, so that auth is included in the timings
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+
+  /**
+   * Replaces Spring Boot's default JSON converter with one that times serialization.
+   *
+   * @param objectMapper the ObjectMapper configured by Spring Boot
+   * @return the converter
+   */
+  @Bean
+  public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+      ObjectMapper objectMapper) {
+    return new TimedJacksonConverter(objectMapper);
+  }
+
+  /**
+   * Binds a ServerTiming to the request, and adds the header if nothing else has. Errors sent by
+   * the security filter chain (e.g. a 403) get the header before the error is sent, since the
+   * response cannot be changed afterwards.
+   */
+  static final class ServerTimingFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+      ServerTiming timing = ServerTiming.start();
+      try {
+        filterChain.doFilter(request, new HeaderBeforeErrorResponse(response, timing));
+      } finally {
+        addHeader(response, timing);
+        timing.finish();
+      }
+    }
+
+    private static void addHeader(HttpServletResponse response, ServerTiming timing) {
+      if (!timing.isWritten() && !response.isCommitted()) {
+        response.addHeader(ServerTiming.HEADER, timing.header());
+        timing.setWritten();
+      }
+    }
+  }
+
+  private static final class HeaderBeforeErrorResponse extends HttpServletResponseWrapper {
+    private final ServerTiming timing;
+
+    HeaderBeforeErrorResponse(HttpServletResponse response, ServerTiming timing) {
+      super(response);
+      this.timing = timing;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+      ServerTimingFilter.addHeader(this, timing);
+      super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+      ServerTimingFilter.addHeader(this, timing);
+      super.sendError(sc, msg);
+    }
+  }
+
+  /** Placed at the end of the security filter chain (see SecurityConfig). */
+  static final class AuthenticatedMarkerFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+      ServerTiming timing = ServerTiming.current();
+      if (timing != null) {
+        timing.markAuthenticated();
+      }
+      filterChain.doFilter(request, response);
+    }
+  }
+
+  /**
+   * Serializes into a buffer so that the header, which must precede the body, can include the
+   * serialization time. Responses outside an API request are written directly.
+   */
+  static final class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    TimedJacksonConverter(ObjectMapper objectMapper) {
+      super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+        throws IOException {
+      ServerTiming timing = ServerTiming.current();
+      if (timing == null || timing.isWritten()) {
+        super.writeInternal(object, type, outputMessage);
+        return;
+      }
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+      HttpOutputMessage buffered =
+          new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+              return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+              return outputMessage.getHeaders();
+            }
+          };
+      timing.enter(ServerTiming.Segment.JSON);
+      try {
+        super.writeInternal(object, type, buffered);
+      } finally {
+        timing.exit(ServerTiming.Segment.JSON);
+      }
+      outputMessage.getHeaders().add(ServerTiming.HEADER, timing.header());
+      timing.setWritten();
+      buffer.writeTo(outputMessage.getBody());
+    }
+  }
+}
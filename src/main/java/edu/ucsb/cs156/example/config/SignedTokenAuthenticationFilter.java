@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.example.config;
+
+import edu.ucsb.cs156.example.models.SignedTokenAuthentication;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates requests that carry a signed API token, either as a bearer token or in the {@link
+ * #COOKIE_NAME} cookie. Only the signature, expiry and deny list are checked; there is no session
+ * or database lookup. Requests without a valid token continue unauthenticated.
+ */
+final class SignedTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  static final String COOKIE_NAME = "API_TOKEN";
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final SignedTokenService signedTokenService;
+
+  SignedTokenAuthenticationFilter(SignedTokenService signedTokenService) {
+    this.signedTokenService = signedTokenService;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    signedTokenService
+        .verify(resolveToken(request))
+        .ifPresent(
+            claims -> {
+              SecurityContext context = SecurityContextHolder.createEmptyContext();
+              context.setAuthentication(new SignedTokenAuthentication(claims));
+              SecurityContextHolder.setContext(context);
+            });
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * Finds the token on a request; a bearer token takes precedence over the cookie.
+   *
+   * @param request the current request
+   * @return the raw token, or null if the request does not carry one
+   */
+  static String resolveToken(HttpServletRequest request) {
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (header != null && header.startsWith(BEARER_PREFIX)) {
+      return header.substring(BEARER_PREFIX.length());
+    }
+    Cookie[] cookies = request.getCookies();
+    if (cookies != null) {
+      for (Cookie cookie : cookies) {
+        if (COOKIE_NAME.equals(cookie.getName())) {
+          return cookie.getValue();
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,61 @@
+package edu.ucsb.cs156.example.config;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.services.CurrentUserService;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+
+/**
+ * After an OAuth2 login in the stateless profile, issues a signed token for the user in the {@link
+ * SignedTokenAuthenticationFilter#COOKIE_NAME} cookie, invalidates the session that carried the
+ * OAuth2 authorization request, and sends the browser to the home page.
+ */
+final class SignedTokenLoginSuccessHandler implements AuthenticationSuccessHandler {
+
+  private final SignedTokenService signedTokenService;
+
+  private final Supplier<CurrentUserService> currentUserService;
+
+  SignedTokenLoginSuccessHandler(
+      SignedTokenService signedTokenService, Supplier<CurrentUserService> currentUserService) {
+    this.signedTokenService = signedTokenService;
+    this.currentUserService = currentUserService;
+  }
+
+  @Override
+  public void onAuthenticationSuccess(
+      HttpServletRequest request, HttpServletResponse response, Authentication authentication)
+      throws IOException, ServletException {
+    User user = currentUserService.get().getUser();
+    String token;
+    try {
+      token = signedTokenService.issue(user, authentication.getAuthorities());
+    } catch (GeneralSecurityException e) {
+      throw new ServletException(e);
+    }
+    ResponseCookie cookie =
+        ResponseCookie.from(SignedTokenAuthenticationFilter.COOKIE_NAME, token)
+            .httpOnly(true)
+            .secure(request.isSecure())
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(signedTokenService.getTtlSeconds())
+            .build();
+    response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    HttpSession session = request.getSession(false);
+    if (session != null) {
+      session.invalidate();
+    }
+    response.sendRedirect("/");
+  }
+}
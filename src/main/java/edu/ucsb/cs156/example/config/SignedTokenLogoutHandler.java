@@ -0,0 +1,29 @@
+package edu.ucsb.cs156.example.config;
+
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+
+/**
+ * On logout in the stateless profile, puts the signed token the request carries (if it is valid) on
+ * the deny list, so that a copy of it cannot be used until it expires. The cookie itself is deleted
+ * by the logout configuration.
+ */
+final class SignedTokenLogoutHandler implements LogoutHandler {
+
+  private final SignedTokenService signedTokenService;
+
+  SignedTokenLogoutHandler(SignedTokenService signedTokenService) {
+    this.signedTokenService = signedTokenService;
+  }
+
+  @Override
+  public void logout(
+      HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+    signedTokenService
+        .verify(SignedTokenAuthenticationFilter.resolveToken(request))
+        .ifPresent(signedTokenService::revoke);
+  }
+}
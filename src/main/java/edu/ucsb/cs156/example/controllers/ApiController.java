@@ -1,11 +1,18 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.errors.BulkOperationException;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.models.CurrentUser;
 import edu.ucsb.cs156.example.services.CurrentUserService;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -15,6 +22,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public abstract class ApiController {
   @Autowired private CurrentUserService currentUserService;
 
+  @Value("${app.paging.maxPageSize:100}")
+  private int maxPageSize;
+
   /**
    * This method returns the current user.
    *
@@ -34,6 +44,78 @@ public abstract class ApiController {
     return Map.of("message", message);
   }
 
+  /**
+   * This method builds the page request for a paged list endpoint. Sizes above
+   * app.paging.maxPageSize are reduced to it, and the results are always ordered by the first
+   * sortable property (the id) last, so that pages are stable.
+   *
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ",asc" or ",desc"
+   * @param sortable the properties that may be sorted by; the first one is the id
+   * @return the page request
+   * @throws BadRequestException if page, size or sort is not acceptable
+   */
+  protected Pageable pageRequest(int page, int size, String sort, List<String> sortable) {
+    if (page < 0) {
+      throw new BadRequestException("page must not be negative");
+    }
+    if (size < 1) {
+      throw new BadRequestException("size must be at least 1");
+    }
+    String[] parts = sort.split(",", -1);
+    String property = parts[0];
+    if (!sortable.contains(property)) {
+      throw new BadRequestException(
+          "cannot sort by '%s'; sort must be one of %s".formatted(property, sortable));
+    }
+    if (parts.length > 2) {
+      throw new BadRequestException(
+          "sort must be a property, optionally followed by ,asc or ,desc");
+    }
+    Sort.Direction direction = Sort.Direction.ASC;
+    if (parts.length == 2) {
+      direction =
+          Sort.Direction.fromOptionalString(parts[1])
+              .orElseThrow(() -> new BadRequestException("sort direction must be asc or desc"));
+    }
+    Sort order = Sort.by(direction, property);
+    String id = sortable.get(0);
+    if (!id.equals(property)) {
+      order = order.and(Sort.by(id));
+    }
+    return PageRequest.of(page, Math.min(size, maxPageSize), order);
+  }
+
+  /**
+   * This method handles the BadRequestException.
+   *
+   * @param e the exception
+   * @return a map with the type and message of the exception
+   */
+  @ExceptionHandler({BadRequestException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Object handleBadRequestException(Throwable e) {
+    return Map.of(
+        "type", e.getClass().getSimpleName(),
+        "message", e.getMessage());
+  }
+
+  /**
+   * This method handles the BulkOperationException.
+   *
+   * @param e the exception
+   * @return a map with the type and message of the exception, and the rejected items
+   */
+  @ExceptionHandler({BulkOperationException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Object handleBulkOperationException(BulkOperationException e) {
+    return Map.of(
+        "type", e.getClass().getSimpleName(),
+        "message", e.getMessage(),
+        "errors", e.getErrors());
+  }
+
   /**
    * This method handles the EntityNotFoundException.
    *
@@ -1,18 +1,24 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.Article;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.ArticleRepository;
+import edu.ucsb.cs156.example.services.ArticleService;
+import edu.ucsb.cs156.example.services.BulkService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,15 +31,36 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Articles")
 @RequestMapping("/api/articles")
 @RestController
+@Validated
 @Slf4j
 public class ArticlesController extends ApiController {
   @Autowired private ArticleRepository articleRepository;
 
-  @Operation(summary = "List all articles")
+  @Autowired private ArticleService articleService;
+
+  @Autowired private BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES = List.of("id", "title", "email", "dateAdded");
+
+  @Operation(summary = "List articles, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<Article> allArticles() {
-    return articleRepository.findAll();
+  @TableVersionETag(Article.class)
+  public PagedModel<Article> allArticles(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, title, email, dateAdded; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        articleService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   @Operation(summary = "Create a new article")
@@ -55,35 +82,25 @@ public class ArticlesController extends ApiController {
     a.setEmail(email);
     a.setDateAdded(dateAdded);
 
-    return articleRepository.save(a);
+    return articleService.create(a);
   }
 
   @Operation(summary = "Get a single article")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(Article.class)
   public Article getById(@Parameter(name = "id") @RequestParam Long id) {
-    return articleRepository
-        .findById(id)
-        .orElseThrow(() -> new EntityNotFoundException(Article.class, id));
+    return articleService.findById(id);
   }
 
   @Operation(summary = "Update a single article")
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @PutMapping("")
   public Article updateArticleById(
-      @Parameter(name = "id") @RequestParam Long id, @RequestBody Article incoming) {
-    Article article =
-        articleRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(Article.class, id));
-
-    article.setTitle(incoming.getTitle());
-    article.setUrl(incoming.getUrl());
-    article.setExplanation(incoming.getExplanation());
-    article.setEmail(incoming.getEmail());
-    article.setDateAdded(incoming.getDateAdded());
-
-    return articleRepository.save(article);
+      @Parameter(name = "id") @RequestParam Long id, @RequestBody @Valid Article incoming) {
+    incoming.setId(id);
+    articleService.update(id, incoming);
+    return incoming;
   }
 
   @Operation(summary = "Delete a single article")
@@ -91,14 +108,52 @@ public class ArticlesController extends ApiController {
   @DeleteMapping("")
   public ResponseEntity<String> deleteArticleById(@Parameter(name = "id") @RequestParam Long id) {
 
-    return articleRepository
-        .findById(id)
-        .map(
-            existing -> {
-              articleRepository.delete(existing);
-              return ResponseEntity.ok("record " + id + " deleted");
-            })
-        .orElseGet(
-            () -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("record " + id + " not found"));
+    if (!articleService.deleteIfExists(id)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("record " + id + " not found");
+    }
+    return ResponseEntity.ok("record " + id + " deleted");
+  }
+
+  /**
+   * This method creates many articles in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param items the articles to create, without ids
+   * @return the created articles, with their ids
+   */
+  @Operation(summary = "Create many articles at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<Article> postBulk(@RequestBody List<@Valid Article> items) {
+    return bulkService.create(articleRepository, Article.class, items);
+  }
+
+  /**
+   * This method updates many articles in one transaction; each item is matched by its id.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the articles, with their ids
+   * @return the updated articles
+   */
+  @Operation(summary = "Update many articles at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<Article> putBulk(@RequestBody List<@Valid Article> items) {
+    return bulkService.update(articleRepository, Article.class, items);
+  }
+
+  /**
+   * This method deletes many articles in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param ids the ids of the articles to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(summary = "Delete many articles at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted = bulkService.delete(articleRepository, Article.class, ids);
+    return genericMessage("%d Article records deleted".formatted(deleted));
   }
 }
@@ -0,0 +1,92 @@
+package edu.ucsb.cs156.example.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.models.Bootstrap;
+import edu.ucsb.cs156.example.models.CurrentUser;
+import edu.ucsb.cs156.example.services.SystemInfoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import java.security.Principal;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DeferredCsrfToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This is a REST controller that returns, in one request, what the frontend needs when it starts:
+ * the system information (as /api/systemInfo does), the current user (as /api/currentUser does),
+ * and a CSRF token.
+ *
+ * <p>The system information does not change while the application runs, so it is serialized once,
+ * when the controller is created. The current user is kept in the session after the first request,
+ * so later page loads in the same session do not look the user up again. As with the roles, which
+ * are set when the user logs in, changes to the user are seen after logging in again.
+ *
+ * @see edu.ucsb.cs156.example.models.Bootstrap
+ */
+@Tag(name = "Bootstrap")
+@RequestMapping("/api/bootstrap")
+@RestController
+public class BootstrapController extends ApiController {
+
+  /** Prefix of the session attribute holding the current user; the user's name follows it. */
+  public static final String CURRENT_USER_ATTRIBUTE =
+      BootstrapController.class.getName() + ".currentUser.";
+
+  private final String systemInfoJson;
+
+  /**
+   * Constructor for the controller; it serializes the system information.
+   *
+   * @param systemInfoService the service that provides the system information
+   * @param objectMapper the mapper that serializes it
+   * @throws JsonProcessingException if the system information cannot be serialized
+   */
+  public BootstrapController(SystemInfoService systemInfoService, ObjectMapper objectMapper)
+      throws JsonProcessingException {
+    this.systemInfoJson = objectMapper.writeValueAsString(systemInfoService.getSystemInfo());
+  }
+
+  /**
+   * This method returns the system information, the current user and a CSRF token.
+   *
+   * @param request the request, whose session holds the current user
+   * @param principal the logged in user, or null if no one is logged in
+   * @return the system information, the current user (null if no one is logged in) and the CSRF
+   *     token to send in the header it names
+   */
+  @Operation(summary = "Get the system information, the current user and a CSRF token")
+  @GetMapping("")
+  public Bootstrap getBootstrap(HttpServletRequest request, Principal principal) {
+    return Bootstrap.builder()
+        .systemInfo(systemInfoJson)
+        .currentUser(principal == null ? null : currentUser(request, principal))
+        .csrf(csrfToken(request))
+        .build();
+  }
+
+  private CurrentUser currentUser(HttpServletRequest request, Principal principal) {
+    HttpSession session = request.getSession(false);
+    if (session == null) {
+      // e.g. the stateless profile, where the token carries the user
+      return getCurrentUser();
+    }
+    String attribute = CURRENT_USER_ATTRIBUTE + principal.getName();
+    CurrentUser currentUser = (CurrentUser) session.getAttribute(attribute);
+    if (currentUser == null) {
+      currentUser = getCurrentUser();
+      session.setAttribute(attribute, currentUser);
+    }
+    return currentUser;
+  }
+
+  // the token itself, as in the XSRF-TOKEN cookie, which is what the frontend sends in the header;
+  // the CsrfToken request attribute is masked, and is only accepted as a form parameter
+  private static CsrfToken csrfToken(HttpServletRequest request) {
+    return ((DeferredCsrfToken) request.getAttribute(DeferredCsrfToken.class.getName())).get();
+  }
+}
@@ -0,0 +1,87 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.services.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * This is a REST controller for exporting whole tables (for backups and syncs). Unlike the paged
+ * /all endpoints, the rows are streamed to the client as they are read, so memory use does not
+ * depend on the size of the table.
+ *
+ * <p>These endpoints are only accessible to users with the role "ROLE_ADMIN".
+ *
+ * @see edu.ucsb.cs156.example.services.ExportService
+ */
+@Tag(name = "Export (admin only)")
+@RequestMapping("/api/export")
+@RestController
+public class ExportController extends ApiController {
+
+  @Autowired ExportService exportService;
+
+  @Value("${app.export.timeout:10m}")
+  Duration timeout;
+
+  /**
+   * This method returns the names of the tables that can be exported.
+   *
+   * @return resource names
+   */
+  @Operation(summary = "List the tables that can be exported")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @GetMapping("")
+  public Iterable<String> resources() {
+    return exportService.getResources();
+  }
+
+  /**
+   * This method streams every row of a table.
+   *
+   * @param resource the table, e.g. menuitemreview
+   * @param format json (a single array) or ndjson (one object per line)
+   * @param request the request, whose async timeout is raised to app.export.timeout
+   * @return the rows, written as they are read from the database
+   */
+  @Operation(summary = "Export every row of a table as a JSON array or NDJSON")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @GetMapping("/{resource}")
+  public ResponseEntity<StreamingResponseBody> export(
+      @Parameter(name = "resource", description = "table to export, e.g. menuitemreview")
+          @PathVariable
+          String resource,
+      @Parameter(name = "format", description = "json or ndjson")
+          @RequestParam(defaultValue = "json")
+          String format,
+      HttpServletRequest request) {
+    ExportService.Format exportFormat = ExportService.Format.of(format);
+    StreamingResponseBody body = exportService.export(resource, exportFormat);
+    // only exports take this long; other async requests keep the container's default timeout
+    WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename(resource + "." + exportFormat.getExtension())
+                .build()
+                .toString())
+        .body(body);
+  }
+}
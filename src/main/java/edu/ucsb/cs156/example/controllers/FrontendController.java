@@ -1,11 +1,27 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.config.AcceptEncoding;
 import edu.ucsb.cs156.example.services.wiremock.WiremockService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 /**
  * The FrontendController is used to serve the frontend of the application.
@@ -13,7 +29,14 @@ import org.springframework.web.bind.annotation.GetMapping;
  * <p>This is only enabled in the production profile, and is used to serve the frontend of the
  * application. For development, see the FrontendProxyController.
  *
+ * <p>index.html, and the .br and .gz copies written by the frontend build, are read from the first
+ * static location that has them the first time they are needed, and then served from memory with an
+ * ETag and <code>Cache-Control: no-cache</code>, so a browser revalidates it on every visit and
+ * usually gets a 304. Everything else the page loads is under /assets, is content-hashed by the
+ * build, and is cached for good (see FrontendConfig).
+ *
  * @see edu.ucsb.cs156.example.controllers.FrontendProxyController
+ * @see edu.ucsb.cs156.example.config.FrontendConfig
  */
 @Profile("!development")
 @Controller
@@ -21,14 +44,47 @@ public class FrontendController {
 
   @Autowired WiremockService wiremockService;
 
+  @Autowired ResourceLoader resourceLoader;
+
+  @Autowired WebProperties webProperties;
+
+  // content encoding ("br", "gzip" or "" for none) to body, in order of preference
+  private volatile Map<String, byte[]> indexHtml;
+
+  // content encoding to the ETag of its body
+  private volatile Map<String, String> indexHtmlETags;
+
   /**
    * Serve home page of application
    *
-   * @return the home page (via index.html)
+   * @param acceptEncoding the Accept-Encoding header of the request, if any
+   * @return the home page (index.html), compressed if the browser accepts it, or 404 (not found) if
+   *     the frontend has not been built
+   * @throws IOException if index.html cannot be read
    */
-  @GetMapping("/**/{path:[^\\.]*}")
-  public String index() {
-    return "forward:/index.html";
+  @GetMapping({"/", "/index.html", "/**/{path:[^\\.]*}"})
+  public ResponseEntity<byte[]> index(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+      throws IOException {
+    if (indexHtml == null && !loadIndexHtml()) {
+      return ResponseEntity.notFound().build();
+    }
+    String encoding =
+        indexHtml.keySet().stream()
+            .filter(e -> e.isEmpty() || AcceptEncoding.accepts(acceptEncoding, e))
+            .findFirst()
+            .get();
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+            .cacheControl(CacheControl.noCache())
+            .eTag(indexHtmlETags.get(encoding))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (!encoding.isEmpty()) {
+      response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+    }
+    // a matching If-None-Match turns this into a 304 with no body
+    return response.body(indexHtml.get(encoding));
   }
 
   /**
@@ -40,4 +96,49 @@ public class FrontendController {
   public ResponseEntity<String> csrf() {
     return ResponseEntity.notFound().build();
   }
+
+  private synchronized boolean loadIndexHtml() throws IOException {
+    if (indexHtml != null) {
+      return true;
+    }
+    for (String location : webProperties.getResources().getStaticLocations()) {
+      String base = location.endsWith("/") ? location : location + "/";
+      Resource index = resourceLoader.getResource(base + "index.html");
+      if (!index.exists()) {
+        continue;
+      }
+      Map<String, byte[]> bodies = new LinkedHashMap<>();
+      putIfExists(bodies, "br", resourceLoader.getResource(base + "index.html.br"));
+      putIfExists(bodies, "gzip", resourceLoader.getResource(base + "index.html.gz"));
+      bodies.put("", read(index));
+      Map<String, String> eTags = new LinkedHashMap<>();
+      bodies.forEach((encoding, body) -> eTags.put(encoding, eTag(body)));
+      indexHtmlETags = eTags;
+      indexHtml = bodies;
+      return true;
+    }
+    return false;
+  }
+
+  private static void putIfExists(Map<String, byte[]> bodies, String encoding, Resource resource)
+      throws IOException {
+    if (resource.exists()) {
+      bodies.put(encoding, read(resource));
+    }
+  }
+
+  private static byte[] read(Resource resource) throws IOException {
+    try (InputStream in = resource.getInputStream()) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static String eTag(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
@@ -1,61 +1,156 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.services.wiremock.WiremockService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.gateway.mvc.ProxyExchange;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.ResourceAccessException;
 
 /**
  * The FrontendProxyController is used to proxy requests to the frontend of the application.
  *
  * <p>This is only used in development where we have a separate frontend server process listening on
- * port 3000.
+ * port 3000 (<code>app.frontendServer</code>).
+ *
+ * <p>Responses from the frontend server are streamed to the browser through a fixed-size buffer as
+ * they arrive, rather than read whole into memory first, so large source maps and bundles cost no
+ * more heap than small files. The browser's request headers, including <code>If-None-Match</code>
+ * and <code>If-Modified-Since</code>, are passed on, so the frontend server can answer with a 304.
+ * Vite's hot module replacement WebSocket is proxied by FrontendProxyConfig.
  *
  * <p>For production, see the FrontendController.
  *
  * @see edu.ucsb.cs156.example.controllers.FrontendController
+ * @see edu.ucsb.cs156.example.config.FrontendProxyConfig
  */
 @Profile("development")
 @RestController
 public class FrontendProxyController {
 
+  private static final int BUFFER_SIZE = 8192;
+
+  // hop-by-hop headers, which are not passed on, and headers that HttpClient sets itself
+  private static final Set<String> REQUEST_HEADERS_NOT_PROXIED =
+      Set.of(
+          "connection",
+          "content-length",
+          "cookie",
+          "expect",
+          "host",
+          "keep-alive",
+          "proxy-connection",
+          "te",
+          "trailer",
+          "transfer-encoding",
+          "upgrade");
+
+  private static final Set<String> RESPONSE_HEADERS_NOT_PROXIED =
+      Set.of(
+          "connection",
+          "keep-alive",
+          "proxy-connection",
+          "trailer",
+          "transfer-encoding",
+          "upgrade");
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .followRedirects(HttpClient.Redirect.NEVER)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
   @Autowired WiremockService wiremockService;
 
+  /** The frontend (vite) dev server. */
+  @Value("${app.frontendServer:localhost:3000}")
+  String frontendServer;
+
   /**
    * This method proxies requests to the frontend server. It is only used in development. The
    * regular expression is used to exclude the paths that should NOT be proxied to the frontend
    * server, such as the endpoints for the api, oauth2, and swagger-ui.
    *
-   * @param proxy the proxy exchange, injected by Spring automatically
-   * @return response entity with the response from the frontend server, or a response entity with
-   *     instructions in case the frontend server cannot be reached.
+   * @param request the request from the browser
+   * @param response the response to the browser, to which the frontend server's response is copied,
+   *     or instructions in case the frontend server cannot be reached.
+   * @throws IOException if the frontend server's response cannot be read or relayed
+   * @throws InterruptedException if interrupted while waiting for the frontend server
    */
   @GetMapping({"/", "/{path:^(?!api|oauth2|swagger-ui|h2-console).*}/**"})
-  public ResponseEntity<?> proxy(ProxyExchange<byte[]> proxy) {
-    String path = proxy.path("/");
+  public void proxy(HttpServletRequest request, HttpServletResponse response)
+      throws IOException, InterruptedException {
+    HttpResponse<InputStream> upstream;
     try {
-      return proxy.uri("http://localhost:3000/" + path).get();
-    } catch (ResourceAccessException e) {
-      if (e.getCause() instanceof ConnectException) {
-        String instructions =
-            """
-                <p>Failed to connect to the frontend server...</p>
-                <p>On Dokku, be sure that <code>PRODUCTION</code> is defined.</p>
-                <p>On localhost, open a second terminal window, cd into <code>frontend</code> and type: <code>nvm use 20.17.0; npm ci; npm start</code></p>
-                <p>Or, you may click to access: </p>
-                <ul>
-                  <li><a href='/swagger-ui/index.html'>/swagger-ui/index.html</a></li>
-                  <li><a href='/h2-console'>/h2-console</a></li>
-                </ul>""";
-
-        return ResponseEntity.ok(instructions);
+      upstream =
+          httpClient.send(upstreamRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+    } catch (ConnectException e) {
+      String instructions =
+          """
+              <p>Failed to connect to the frontend server...</p>
+              <p>On Dokku, be sure that <code>PRODUCTION</code> is defined.</p>
+              <p>On localhost, open a second terminal window, cd into <code>frontend</code> and type: <code>nvm use 20.17.0; npm ci; npm start</code></p>
+              <p>Or, you may click to access: </p>
+              <ul>
+                <li><a href='/swagger-ui/index.html'>/swagger-ui/index.html</a></li>
+                <li><a href='/h2-console'>/h2-console</a></li>
+              </ul>""";
+      response.setContentType(MediaType.TEXT_HTML_VALUE);
+      response.getWriter().write(instructions);
+      return;
+    }
+
+    response.setStatus(upstream.statusCode());
+    upstream
+        .headers()
+        .map()
+        .forEach(
+            (name, values) -> {
+              if (!RESPONSE_HEADERS_NOT_PROXIED.contains(name.toLowerCase())) {
+                values.forEach(value -> response.addHeader(name, value));
+              }
+            });
+    try (InputStream in = upstream.body()) {
+      OutputStream out = response.getOutputStream();
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+  }
+
+  private HttpRequest upstreamRequest(HttpServletRequest request) {
+    String query = request.getQueryString();
+    URI uri =
+        URI.create(
+            "http://"
+                + frontendServer
+                + request.getRequestURI()
+                + (query == null ? "" : "?" + query));
+    HttpRequest.Builder builder = HttpRequest.newBuilder(uri).GET();
+    for (String name : Collections.list(request.getHeaderNames())) {
+      if (!REQUEST_HEADERS_NOT_PROXIED.contains(name.toLowerCase())) {
+        List<String> values = Collections.list(request.getHeaders(name));
+        values.forEach(value -> builder.header(name, value));
       }
-      throw e;
     }
+    return builder.build();
   }
 }
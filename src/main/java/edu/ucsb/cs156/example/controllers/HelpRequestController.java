@@ -1,18 +1,23 @@
 package edu.ucsb.cs156.example.controllers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.HelpRequest;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.HelpRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -26,22 +31,46 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "HelpRequest")
 @RequestMapping("/api/helprequest")
 @RestController
+@Validated
 @Slf4j
 public class HelpRequestController extends ApiController {
 
   @Autowired HelpRequestRepository helpRequestRepository;
 
+  @Autowired HelpRequestService helpRequestService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("id", "requesterEmail", "teamId", "tableOrBreakoutRoom", "requestTime", "solved");
+
   /*
-   * List all help requesty
+   * List help requests, one page at a time
    *
-   * @return an iterable of help request
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of help requests, with the total count
    */
-  @Operation(summary = "List all help request")
+  @Operation(summary = "List help requests, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<HelpRequest> allHelpRequests() {
-    Iterable<HelpRequest> helpRequest = helpRequestRepository.findAll();
-    return helpRequest;
+  @TableVersionETag(HelpRequest.class)
+  public PagedModel<HelpRequest> allHelpRequests(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, requesterEmail, teamId, tableOrBreakoutRoom, requestTime, solved; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        helpRequestService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /*
@@ -79,7 +108,7 @@ public class HelpRequestController extends ApiController {
     helpRequest.setRequestTime(reqDateTime);
     helpRequest.setExplanation(explanation);
     helpRequest.setSolved(solved);
-    HelpRequest savedHelpRequest = helpRequestRepository.save(helpRequest);
+    HelpRequest savedHelpRequest = helpRequestService.create(helpRequest);
     return savedHelpRequest;
   }
 
@@ -92,11 +121,10 @@ public class HelpRequestController extends ApiController {
   @Operation(summary = "Get a single help request")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(HelpRequest.class)
   public HelpRequest getById(@Parameter(name = "id") @RequestParam Long id) {
 
-    return helpRequestRepository
-        .findById(id)
-        .orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
+    return helpRequestService.findById(id);
   }
 
   @Operation(summary = "Update a single help request")
@@ -104,34 +132,59 @@ public class HelpRequestController extends ApiController {
   @PutMapping("")
   public HelpRequest updateHelpRequest(
       @Parameter(name = "id") @RequestParam Long id, @RequestBody @Valid HelpRequest incoming) {
-
-    HelpRequest existing =
-        helpRequestRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
-
-    existing.setRequesterEmail(incoming.getRequesterEmail());
-    existing.setTeamId(incoming.getTeamId());
-    existing.setTableOrBreakoutRoom(incoming.getTableOrBreakoutRoom());
-    existing.setRequestTime(incoming.getRequestTime());
-    existing.setExplanation(incoming.getExplanation());
-    existing.setSolved(incoming.getSolved());
-
-    helpRequestRepository.save(existing);
-    return existing;
+    incoming.setId(id);
+    helpRequestService.update(id, incoming);
+    return incoming;
   }
 
   @Operation(summary = "Delete a single help request")
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteHelpRequest(@Parameter(name = "id") @RequestParam Long id) {
-    HelpRequest existing =
-        helpRequestRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
+    helpRequestService.delete(id);
+    return genericMessage("HelpRequest with id %s was deleted".formatted(id));
+  }
 
-    helpRequestRepository.delete(existing);
+  /**
+   * This method creates many help requests in one transaction. Accessible only to users with the
+   * role "ROLE_ADMIN".
+   *
+   * @param items the help requests to create, without ids
+   * @return the created help requests, with their ids
+   */
+  @Operation(summary = "Create many help requests at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<HelpRequest> postBulk(@RequestBody List<@Valid HelpRequest> items) {
+    return bulkService.create(helpRequestRepository, HelpRequest.class, items);
+  }
 
-    return genericMessage("HelpRequest with id %s was deleted".formatted(id));
+  /**
+   * This method updates many help requests in one transaction; each item is matched by its id.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the help requests, with their ids
+   * @return the updated help requests
+   */
+  @Operation(summary = "Update many help requests at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<HelpRequest> putBulk(@RequestBody List<@Valid HelpRequest> items) {
+    return bulkService.update(helpRequestRepository, HelpRequest.class, items);
+  }
+
+  /**
+   * This method deletes many help requests in one transaction. Accessible only to users with the
+   * role "ROLE_ADMIN".
+   *
+   * @param ids the ids of the help requests to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(summary = "Delete many help requests at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted = bulkService.delete(helpRequestRepository, HelpRequest.class, ids);
+    return genericMessage("%d HelpRequest records deleted".formatted(deleted));
   }
 }
@@ -3,9 +3,13 @@ package edu.ucsb.cs156.example.controllers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.errors.BadRequestException;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.jobs.SeedDataJob;
 import edu.ucsb.cs156.example.jobs.TestJob;
+import edu.ucsb.cs156.example.models.SeedDataOptions;
 import edu.ucsb.cs156.example.repositories.JobsRepository;
+import edu.ucsb.cs156.example.services.SeedDataService;
 import edu.ucsb.cs156.example.services.jobs.JobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +35,8 @@ public class JobsController extends ApiController {
 
   @Autowired private JobService jobService;
 
+  @Autowired private SeedDataService seedDataService;
+
   @Autowired ObjectMapper mapper;
 
   @Operation(summary = "List all jobs")
@@ -84,6 +90,48 @@ public class JobsController extends ApiController {
     return jobService.runAsJob(testJob);
   }
 
+  /**
+   * This method launches a job that inserts synthetic rows into the larger tables, for performance
+   * testing. The rows are added to those already there. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param seed the rows are generated from this seed; on an empty database, the same seed gives
+   *     the same rows (reviews refer to the ids the database gives the new menu items)
+   * @param menuItems number of UCSBDiningCommonsMenuItems to insert
+   * @param menuItemReviews number of MenuItemReviews to insert
+   * @param helpRequests number of HelpRequests to insert
+   * @param jobs number of Jobs to insert
+   * @param jobLogLines number of lines in the log of each inserted Job
+   * @return the job that was launched
+   */
+  @Operation(summary = "Launch Seed Data Job (inserts generated rows, for performance testing)")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/launch/seeddata")
+  public Job launchSeedDataJob(
+      @Parameter(name = "seed") @RequestParam(defaultValue = "42") long seed,
+      @Parameter(name = "menuItems") @RequestParam(defaultValue = "5000") long menuItems,
+      @Parameter(name = "menuItemReviews") @RequestParam(defaultValue = "1000000")
+          long menuItemReviews,
+      @Parameter(name = "helpRequests") @RequestParam(defaultValue = "200000") long helpRequests,
+      @Parameter(name = "jobs") @RequestParam(defaultValue = "100000") long jobs,
+      @Parameter(name = "jobLogLines") @RequestParam(defaultValue = "50") int jobLogLines) {
+    if (menuItems < 0 || menuItemReviews < 0 || helpRequests < 0 || jobs < 0 || jobLogLines < 0) {
+      throw new BadRequestException("counts must not be negative");
+    }
+    SeedDataOptions options =
+        SeedDataOptions.builder()
+            .seed(seed)
+            .menuItems(menuItems)
+            .menuItemReviews(menuItemReviews)
+            .helpRequests(helpRequests)
+            .jobs(jobs)
+            .jobLogLines(jobLogLines)
+            .build();
+    SeedDataJob seedDataJob =
+        SeedDataJob.builder().seedDataService(seedDataService).options(options).build();
+    return jobService.runAsJob(seedDataJob);
+  }
+
   @Operation(summary = "Get long job logs")
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @GetMapping("/logs/{id}")
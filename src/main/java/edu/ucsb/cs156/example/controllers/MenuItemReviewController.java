@@ -1,17 +1,22 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.MenuItemReview;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.MenuItemReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,17 +29,38 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "MenuItemReview")
 @RequestMapping("/api/menuitemreview")
 @RestController
+@Validated
 @Slf4j
 public class MenuItemReviewController extends ApiController {
 
   @Autowired MenuItemReviewRepository menuItemReviewRepository;
 
-  @Operation(summary = "List all menu item reviews")
+  @Autowired MenuItemReviewService menuItemReviewService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("id", "itemId", "reviewerEmail", "stars", "dateReviewed");
+
+  @Operation(summary = "List menu item reviews, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<MenuItemReview> allMenuItemReviews() {
-    Iterable<MenuItemReview> menuItemReviews = menuItemReviewRepository.findAll();
-    return menuItemReviews;
+  @TableVersionETag(MenuItemReview.class)
+  public PagedModel<MenuItemReview> allMenuItemReviews(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, itemId, reviewerEmail, stars, dateReviewed; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        menuItemReviewService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   @Operation(summary = "Create a new menu item review")
@@ -60,18 +86,16 @@ public class MenuItemReviewController extends ApiController {
     menuItemReview.setDateReviewed(dateReviewed);
     menuItemReview.setComments(comments);
 
-    MenuItemReview savedMenuItemReview = menuItemReviewRepository.save(menuItemReview);
+    MenuItemReview savedMenuItemReview = menuItemReviewService.create(menuItemReview);
     return savedMenuItemReview;
   }
 
   @Operation(summary = "Get a single menu item review by id")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(MenuItemReview.class)
   public MenuItemReview getById(@Parameter(name = "id") @RequestParam Long id) {
-    MenuItemReview menuItemReview =
-        menuItemReviewRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(MenuItemReview.class, id));
+    MenuItemReview menuItemReview = menuItemReviewService.findById(id);
     return menuItemReview;
   }
 
@@ -80,33 +104,62 @@ public class MenuItemReviewController extends ApiController {
   @PutMapping("")
   public MenuItemReview updateMenuItemReview(
       @Parameter(name = "id") @RequestParam Long id, @RequestBody @Valid MenuItemReview incoming) {
-
-    MenuItemReview menuItemReview =
-        menuItemReviewRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(MenuItemReview.class, id));
-
-    menuItemReview.setItemId(incoming.getItemId());
-    menuItemReview.setReviewerEmail(incoming.getReviewerEmail());
-    menuItemReview.setStars(incoming.getStars());
-    menuItemReview.setDateReviewed(incoming.getDateReviewed());
-    menuItemReview.setComments(incoming.getComments());
-
-    menuItemReviewRepository.save(menuItemReview);
-
-    return menuItemReview;
+    incoming.setId(id);
+    menuItemReviewService.update(id, incoming);
+    return incoming;
   }
 
   @Operation(summary = "Delete a MenuItemReview")
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteMenuItemReview(@Parameter(name = "id") @RequestParam Long id) {
-    MenuItemReview menuItemReview =
-        menuItemReviewRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(MenuItemReview.class, id));
-
-    menuItemReviewRepository.delete(menuItemReview);
+    menuItemReviewService.delete(id);
     return genericMessage("MenuItemReview with id %s deleted".formatted(id));
   }
+
+  /**
+   * This method creates many menu item reviews in one transaction. Accessible only to users with
+   * the role "ROLE_ADMIN".
+   *
+   * @param items the menu item reviews to create, without ids
+   * @return the created menu item reviews, with their ids
+   */
+  @Operation(
+      summary = "Create many menu item reviews at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<MenuItemReview> postBulk(@RequestBody List<@Valid MenuItemReview> items) {
+    return bulkService.create(menuItemReviewRepository, MenuItemReview.class, items);
+  }
+
+  /**
+   * This method updates many menu item reviews in one transaction; each item is matched by its id.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the menu item reviews, with their ids
+   * @return the updated menu item reviews
+   */
+  @Operation(
+      summary = "Update many menu item reviews at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<MenuItemReview> putBulk(@RequestBody List<@Valid MenuItemReview> items) {
+    return bulkService.update(menuItemReviewRepository, MenuItemReview.class, items);
+  }
+
+  /**
+   * This method deletes many menu item reviews in one transaction. Accessible only to users with
+   * the role "ROLE_ADMIN".
+   *
+   * @param ids the ids of the menu item reviews to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(
+      summary = "Delete many menu item reviews at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted = bulkService.delete(menuItemReviewRepository, MenuItemReview.class, ids);
+    return genericMessage("%d MenuItemReview records deleted".formatted(deleted));
+  }
 }
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.PinnedThread;
+import edu.ucsb.cs156.example.services.VirtualThreadPinningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This is a REST controller for the most recent virtual threads that blocked while pinned to their
+ * carrier thread. The list is only filled when running in the virtualthreads profile.
+ *
+ * <p>These endpoints are only accessible to users with the role "ROLE_ADMIN".
+ *
+ * @see edu.ucsb.cs156.example.services.VirtualThreadPinningService
+ */
+@Tag(name = "Pinned virtual threads (admin only)")
+@RequestMapping("/api/admin/pinned-threads")
+@RestController
+public class PinnedThreadsController extends ApiController {
+
+  @Autowired VirtualThreadPinningService virtualThreadPinningService;
+
+  /**
+   * This method returns the pinned virtual threads that have been kept, newest first.
+   *
+   * @return a list of pinned virtual threads, with where they were pinned and their stacks
+   */
+  @Operation(summary = "Get the most recent virtual threads pinned to their carrier thread")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @GetMapping("")
+  public List<PinnedThread> pinnedThreads() {
+    return virtualThreadPinningService.getPinnedThreads();
+  }
+
+  /**
+   * This method discards the pinned virtual threads that have been kept.
+   *
+   * @return a message indicating the pinned threads were cleared
+   */
+  @Operation(summary = "Clear the list of pinned virtual threads")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("")
+  public Object clearPinnedThreads() {
+    virtualThreadPinningService.clear();
+    return genericMessage("Pinned threads cleared");
+  }
+}
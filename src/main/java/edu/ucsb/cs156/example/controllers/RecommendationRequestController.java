@@ -1,18 +1,23 @@
 package edu.ucsb.cs156.example.controllers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.RecommendationRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -26,21 +31,46 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "RecommendationRequest")
 @RequestMapping("/api/recommendationrequest")
 @RestController
+@Validated
 @Slf4j
 public class RecommendationRequestController extends ApiController {
 
   @Autowired private RecommendationRequestRepository recommendationRequestRepository;
 
+  @Autowired private RecommendationRequestService recommendationRequestService;
+
+  @Autowired private BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("id", "requesterEmail", "professorEmail", "dateRequested", "dateNeeded", "done");
+
   /**
-   * Get all recommendation requests
+   * Get recommendation requests, one page at a time
    *
-   * @return all RecommendationRequest entries as JSON
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of RecommendationRequest entries, with the total count
    */
-  @Operation(summary = "List all recommendation requests")
+  @Operation(summary = "List recommendation requests, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<RecommendationRequest> allRecommendationRequest() {
-    return recommendationRequestRepository.findAll();
+  @TableVersionETag(RecommendationRequest.class)
+  public PagedModel<RecommendationRequest> allRecommendationRequest(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, requesterEmail, professorEmail, dateRequested, dateNeeded, done; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        recommendationRequestService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /** Create a new recommendation request */
@@ -72,19 +102,18 @@ public class RecommendationRequestController extends ApiController {
     request.setDateNeeded(dateNeeded);
     request.setDone(done);
 
-    return recommendationRequestRepository.save(request);
+    return recommendationRequestService.create(request);
   }
 
   /** Get a single recommendation request by id */
   @Operation(summary = "Get a single recommendation request by id")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(RecommendationRequest.class)
   public RecommendationRequest getRecommendationRequestById(
       @Parameter(name = "id") @RequestParam Long id) {
 
-    return recommendationRequestRepository
-        .findById(id)
-        .orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
+    return recommendationRequestService.findById(id);
   }
 
   /** Update a single recommendation request by id */
@@ -94,21 +123,9 @@ public class RecommendationRequestController extends ApiController {
   public RecommendationRequest updateRecommendationRequest(
       @Parameter(name = "id") @RequestParam Long id,
       @RequestBody @Valid RecommendationRequest incoming) {
-
-    RecommendationRequest request =
-        recommendationRequestRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
-
-    request.setRequesterEmail(incoming.getRequesterEmail());
-    request.setProfessorEmail(incoming.getProfessorEmail());
-    request.setExplanation(incoming.getExplanation());
-    request.setDateRequested(incoming.getDateRequested());
-    request.setDateNeeded(incoming.getDateNeeded());
-    request.setDone(incoming.getDone());
-
-    recommendationRequestRepository.save(request);
-    return request;
+    incoming.setId(id);
+    recommendationRequestService.update(id, incoming);
+    return incoming;
   }
 
   /** Delete a RecommendationRequest */
@@ -116,12 +133,56 @@ public class RecommendationRequestController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteRecommendationRequest(@Parameter(name = "id") @RequestParam Long id) {
-    RecommendationRequest recommendationRequest =
-        recommendationRequestRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
-
-    recommendationRequestRepository.delete(recommendationRequest);
+    recommendationRequestService.delete(id);
     return genericMessage("RecommendationRequest with id %s deleted".formatted(id));
   }
+
+  /**
+   * This method creates many recommendation requests in one transaction. Accessible only to users
+   * with the role "ROLE_ADMIN".
+   *
+   * @param items the recommendation requests to create, without ids
+   * @return the created recommendation requests, with their ids
+   */
+  @Operation(
+      summary = "Create many recommendation requests at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<RecommendationRequest> postBulk(
+      @RequestBody List<@Valid RecommendationRequest> items) {
+    return bulkService.create(recommendationRequestRepository, RecommendationRequest.class, items);
+  }
+
+  /**
+   * This method updates many recommendation requests in one transaction; each item is matched by
+   * its id. Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the recommendation requests, with their ids
+   * @return the updated recommendation requests
+   */
+  @Operation(
+      summary = "Update many recommendation requests at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<RecommendationRequest> putBulk(
+      @RequestBody List<@Valid RecommendationRequest> items) {
+    return bulkService.update(recommendationRequestRepository, RecommendationRequest.class, items);
+  }
+
+  /**
+   * This method deletes many recommendation requests in one transaction. Accessible only to users
+   * with the role "ROLE_ADMIN".
+   *
+   * @param ids the ids of the recommendation requests to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(
+      summary = "Delete many recommendation requests at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted =
+        bulkService.delete(recommendationRequestRepository, RecommendationRequest.class, ids);
+    return genericMessage("%d RecommendationRequest records deleted".formatted(deleted));
+  }
 }
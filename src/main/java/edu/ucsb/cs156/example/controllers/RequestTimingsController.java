@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.HandlerTimingSummary;
+import edu.ucsb.cs156.example.services.RequestTimingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This is a REST controller for the latency histograms recorded for each controller handler.
+ *
+ * <p>These endpoints are only accessible to users with the role "ROLE_ADMIN". The same data is also
+ * published as Micrometer timers; see RequestTimingService.
+ *
+ * @see edu.ucsb.cs156.example.services.RequestTimingService
+ */
+@Tag(name = "Request timings (admin only)")
+@RequestMapping("/api/admin/timings")
+@RestController
+public class RequestTimingsController extends ApiController {
+
+  @Autowired RequestTimingService requestTimingService;
+
+  /**
+   * This method returns the latency summary of every handler, slowest first.
+   *
+   * @return a list of per-handler summaries
+   */
+  @Operation(summary = "Get per-handler latency percentiles, outcomes and exception counts")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @GetMapping("")
+  public List<HandlerTimingSummary> timings() {
+    return requestTimingService.getSummaries();
+  }
+
+  /**
+   * This method clears the recorded histograms and counters.
+   *
+   * @return a message indicating the timings were reset
+   */
+  @Operation(summary = "Reset per-handler latency histograms")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("")
+  public Object resetTimings() {
+    requestTimingService.reset();
+    return genericMessage("Request timings reset");
+  }
+}
@@ -1,14 +1,19 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.Restaurant;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,21 +27,43 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Restaurants")
 @RequestMapping("/api/restaurants")
 @RestController
+@Validated
 public class RestaurantsController extends ApiController {
 
   @Autowired RestaurantRepository restaurantRepository;
 
+  @Autowired RestaurantService restaurantService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES = List.of("id", "name");
+
   /**
-   * This method returns a list of all restaurants.
+   * This method returns one page of restaurants.
    *
-   * @return a list of all restaurants
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of restaurants, with the total count
    */
-  @Operation(summary = "List all restaurants")
+  @Operation(summary = "List restaurants, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<Restaurant> allRestaurants() {
-    Iterable<Restaurant> restaurants = restaurantRepository.findAll();
-    return restaurants;
+  @TableVersionETag(Restaurant.class)
+  public PagedModel<Restaurant> allRestaurants(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description = "one of id, name; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        restaurantService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /**
@@ -48,11 +75,9 @@ public class RestaurantsController extends ApiController {
   @Operation(summary = "Get a single restaurant")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(Restaurant.class)
   public Restaurant getById(@Parameter(name = "id") @RequestParam Long id) {
-    Restaurant restaurant =
-        restaurantRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(Restaurant.class, id));
+    Restaurant restaurant = restaurantService.findById(id);
 
     return restaurant;
   }
@@ -75,7 +100,7 @@ public class RestaurantsController extends ApiController {
     restaurant.setName(name);
     restaurant.setDescription(description);
 
-    Restaurant savedrestaurant = restaurantRepository.save(restaurant);
+    Restaurant savedrestaurant = restaurantService.create(restaurant);
     return savedrestaurant;
   }
 
@@ -89,12 +114,7 @@ public class RestaurantsController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteRestaurant(@Parameter(name = "id") @RequestParam Long id) {
-    Restaurant restaurant =
-        restaurantRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(Restaurant.class, id));
-
-    restaurantRepository.delete(restaurant);
+    restaurantService.delete(id);
     return genericMessage("Restaurant with id %s deleted".formatted(id));
   }
 
@@ -110,17 +130,51 @@ public class RestaurantsController extends ApiController {
   @PutMapping("")
   public Restaurant updateRestaurant(
       @Parameter(name = "id") @RequestParam Long id, @RequestBody @Valid Restaurant incoming) {
+    incoming.setId(id);
+    restaurantService.update(id, incoming);
+    return incoming;
+  }
 
-    Restaurant restaurant =
-        restaurantRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(Restaurant.class, id));
-
-    restaurant.setName(incoming.getName());
-    restaurant.setDescription(incoming.getDescription());
+  /**
+   * This method creates many restaurants in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param items the restaurants to create, without ids
+   * @return the created restaurants, with their ids
+   */
+  @Operation(summary = "Create many restaurants at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<Restaurant> postBulk(@RequestBody List<@Valid Restaurant> items) {
+    return bulkService.create(restaurantRepository, Restaurant.class, items);
+  }
 
-    restaurantRepository.save(restaurant);
+  /**
+   * This method updates many restaurants in one transaction; each item is matched by its id.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the restaurants, with their ids
+   * @return the updated restaurants
+   */
+  @Operation(summary = "Update many restaurants at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<Restaurant> putBulk(@RequestBody List<@Valid Restaurant> items) {
+    return bulkService.update(restaurantRepository, Restaurant.class, items);
+  }
 
-    return restaurant;
+  /**
+   * This method deletes many restaurants in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param ids the ids of the restaurants to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(summary = "Delete many restaurants at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted = bulkService.delete(restaurantRepository, Restaurant.class, ids);
+    return genericMessage("%d Restaurant records deleted".formatted(deleted));
   }
 }
@@ -0,0 +1,46 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This is a REST controller for managing signed API tokens. It is only enabled in the stateless
+ * profile.
+ *
+ * @see edu.ucsb.cs156.example.services.SignedTokenService
+ */
+@Profile("stateless")
+@Tag(name = "Signed tokens (admin only; enabled only in the stateless profile)")
+@RequestMapping("/api/admin/tokens")
+@RestController
+public class SignedTokensController extends ApiController {
+
+  @Autowired SignedTokenService signedTokenService;
+
+  /**
+   * Revoke every token signed with a retired key
+   *
+   * @param keyId id of the key to revoke
+   * @return a message indicating whether the key was revoked
+   */
+  @Operation(summary = "Revoke all tokens signed with a (non-active) key")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/revokeKey")
+  public ResponseEntity<Object> revokeKey(@Parameter(name = "keyId") @RequestParam String keyId) {
+    if (!signedTokenService.revokeKey(keyId)) {
+      return ResponseEntity.badRequest()
+          .body(genericMessage("Key %s is unknown or is the active key".formatted(keyId)));
+    }
+    return ResponseEntity.ok(genericMessage("Key %s revoked".formatted(keyId)));
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.SlowRequest;
+import edu.ucsb.cs156.example.services.SlowRequestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This is a REST controller for the most recent requests that took longer than the slow request
+ * threshold.
+ *
+ * <p>These endpoints are only accessible to users with the role "ROLE_ADMIN".
+ *
+ * @see edu.ucsb.cs156.example.services.SlowRequestService
+ */
+@Tag(name = "Slow requests (admin only)")
+@RequestMapping("/api/admin/slow-requests")
+@RestController
+public class SlowRequestsController extends ApiController {
+
+  @Autowired SlowRequestService slowRequestService;
+
+  /**
+   * This method returns the slow requests that have been kept, newest first.
+   *
+   * @return a list of slow requests, with their SQL statements and sampled stacks
+   */
+  @Operation(summary = "Get the most recent slow requests, with SQL and a sampled stack")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @GetMapping("")
+  public List<SlowRequest> slowRequests() {
+    return slowRequestService.getSlowRequests();
+  }
+
+  /**
+   * This method discards the slow requests that have been kept.
+   *
+   * @return a message indicating the slow requests were cleared
+   */
+  @Operation(summary = "Clear the list of slow requests")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("")
+  public Object clearSlowRequests() {
+    slowRequestService.clear();
+    return genericMessage("Slow requests cleared");
+  }
+}
@@ -1,18 +1,23 @@
 package edu.ucsb.cs156.example.controllers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.UCSBDate;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -26,22 +31,46 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "UCSBDates")
 @RequestMapping("/api/ucsbdates")
 @RestController
+@Validated
 @Slf4j
 public class UCSBDatesController extends ApiController {
 
   @Autowired UCSBDateRepository ucsbDateRepository;
 
+  @Autowired UCSBDateService ucsbDateService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("id", "quarterYYYYQ", "name", "localDateTime");
+
   /**
-   * List all UCSB dates
+   * List UCSB dates, one page at a time
    *
-   * @return an iterable of UCSBDate
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of UCSBDates, with the total count
    */
-  @Operation(summary = "List all ucsb dates")
+  @Operation(summary = "List ucsb dates, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<UCSBDate> allUCSBDates() {
-    Iterable<UCSBDate> dates = ucsbDateRepository.findAll();
-    return dates;
+  @TableVersionETag(UCSBDate.class)
+  public PagedModel<UCSBDate> allUCSBDates(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, quarterYYYYQ, name, localDateTime; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        ucsbDateService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /**
@@ -53,11 +82,9 @@ public class UCSBDatesController extends ApiController {
   @Operation(summary = "Get a single date")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(UCSBDate.class)
   public UCSBDate getById(@Parameter(name = "id") @RequestParam Long id) {
-    UCSBDate ucsbDate =
-        ucsbDateRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDate.class, id));
+    UCSBDate ucsbDate = ucsbDateService.findById(id);
 
     return ucsbDate;
   }
@@ -95,7 +122,7 @@ public class UCSBDatesController extends ApiController {
     ucsbDate.setName(name);
     ucsbDate.setLocalDateTime(localDateTime);
 
-    UCSBDate savedUcsbDate = ucsbDateRepository.save(ucsbDate);
+    UCSBDate savedUcsbDate = ucsbDateService.create(ucsbDate);
 
     return savedUcsbDate;
   }
@@ -110,12 +137,7 @@ public class UCSBDatesController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteUCSBDate(@Parameter(name = "id") @RequestParam Long id) {
-    UCSBDate ucsbDate =
-        ucsbDateRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDate.class, id));
-
-    ucsbDateRepository.delete(ucsbDate);
+    ucsbDateService.delete(id);
     return genericMessage("UCSBDate with id %s deleted".formatted(id));
   }
 
@@ -131,18 +153,51 @@ public class UCSBDatesController extends ApiController {
   @PutMapping("")
   public UCSBDate updateUCSBDate(
       @Parameter(name = "id") @RequestParam Long id, @RequestBody @Valid UCSBDate incoming) {
+    incoming.setId(id);
+    ucsbDateService.update(id, incoming);
+    return incoming;
+  }
 
-    UCSBDate ucsbDate =
-        ucsbDateRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDate.class, id));
-
-    ucsbDate.setQuarterYYYYQ(incoming.getQuarterYYYYQ());
-    ucsbDate.setName(incoming.getName());
-    ucsbDate.setLocalDateTime(incoming.getLocalDateTime());
+  /**
+   * This method creates many UCSB dates in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param items the UCSB dates to create, without ids
+   * @return the created UCSB dates, with their ids
+   */
+  @Operation(summary = "Create many UCSB dates at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<UCSBDate> postBulk(@RequestBody List<@Valid UCSBDate> items) {
+    return bulkService.create(ucsbDateRepository, UCSBDate.class, items);
+  }
 
-    ucsbDateRepository.save(ucsbDate);
+  /**
+   * This method updates many UCSB dates in one transaction; each item is matched by its id.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the UCSB dates, with their ids
+   * @return the updated UCSB dates
+   */
+  @Operation(summary = "Update many UCSB dates at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<UCSBDate> putBulk(@RequestBody List<@Valid UCSBDate> items) {
+    return bulkService.update(ucsbDateRepository, UCSBDate.class, items);
+  }
 
-    return ucsbDate;
+  /**
+   * This method deletes many UCSB dates in one transaction. Accessible only to users with the role
+   * "ROLE_ADMIN".
+   *
+   * @param ids the ids of the UCSB dates to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(summary = "Delete many UCSB dates at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted = bulkService.delete(ucsbDateRepository, UCSBDate.class, ids);
+    return genericMessage("%d UCSBDate records deleted".formatted(deleted));
   }
 }
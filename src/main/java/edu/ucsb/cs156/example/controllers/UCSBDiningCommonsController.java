@@ -1,15 +1,20 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDiningCommonsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,22 +28,46 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "UCSBDiningCommons")
 @RequestMapping("/api/ucsbdiningcommons")
 @RestController
+@Validated
 @Slf4j
 public class UCSBDiningCommonsController extends ApiController {
 
   @Autowired UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
 
+  @Autowired UCSBDiningCommonsService ucsbDiningCommonsService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("code", "name", "hasSackMeal", "hasTakeOutMeal", "hasDiningCam");
+
   /**
-   * THis method returns a list of all ucsbdiningcommons.
+   * This method returns one page of ucsbdiningcommons.
    *
-   * @return a list of all ucsbdiningcommons
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of ucsbdiningcommons, with the total count
    */
-  @Operation(summary = "List all ucsb dining commons")
+  @Operation(summary = "List ucsb dining commons, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<UCSBDiningCommons> allCommonss() {
-    Iterable<UCSBDiningCommons> commons = ucsbDiningCommonsRepository.findAll();
-    return commons;
+  @TableVersionETag(UCSBDiningCommons.class)
+  public PagedModel<UCSBDiningCommons> allCommonss(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of code, name, hasSackMeal, hasTakeOutMeal, hasDiningCam; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "code")
+          String sort) {
+    return new PagedModel<>(
+        ucsbDiningCommonsService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /**
@@ -50,11 +79,9 @@ public class UCSBDiningCommonsController extends ApiController {
   @Operation(summary = "Get a single commons")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(UCSBDiningCommons.class)
   public UCSBDiningCommons getById(@Parameter(name = "code") @RequestParam String code) {
-    UCSBDiningCommons commons =
-        ucsbDiningCommonsRepository
-            .findById(code)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommons.class, code));
+    UCSBDiningCommons commons = ucsbDiningCommonsService.findById(code);
 
     return commons;
   }
@@ -92,7 +119,7 @@ public class UCSBDiningCommonsController extends ApiController {
     commons.setLatitude(latitude);
     commons.setLongitude(longitude);
 
-    UCSBDiningCommons savedCommons = ucsbDiningCommonsRepository.save(commons);
+    UCSBDiningCommons savedCommons = ucsbDiningCommonsService.create(commons);
 
     return savedCommons;
   }
@@ -107,12 +134,7 @@ public class UCSBDiningCommonsController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteCommons(@Parameter(name = "code") @RequestParam String code) {
-    UCSBDiningCommons commons =
-        ucsbDiningCommonsRepository
-            .findById(code)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommons.class, code));
-
-    ucsbDiningCommonsRepository.delete(commons);
+    ucsbDiningCommonsService.delete(code);
     return genericMessage("UCSBDiningCommons with id %s deleted".formatted(code));
   }
 
@@ -129,21 +151,51 @@ public class UCSBDiningCommonsController extends ApiController {
   public UCSBDiningCommons updateCommons(
       @Parameter(name = "code") @RequestParam String code,
       @RequestBody @Valid UCSBDiningCommons incoming) {
+    incoming.setCode(code);
+    ucsbDiningCommonsService.update(code, incoming);
+    return incoming;
+  }
 
-    UCSBDiningCommons commons =
-        ucsbDiningCommonsRepository
-            .findById(code)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommons.class, code));
-
-    commons.setName(incoming.getName());
-    commons.setHasSackMeal(incoming.getHasSackMeal());
-    commons.setHasTakeOutMeal(incoming.getHasTakeOutMeal());
-    commons.setHasDiningCam(incoming.getHasDiningCam());
-    commons.setLatitude(incoming.getLatitude());
-    commons.setLongitude(incoming.getLongitude());
+  /**
+   * This method creates many dining commons in one transaction. Accessible only to users with the
+   * role "ROLE_ADMIN".
+   *
+   * @param items the dining commons to create, with their codes
+   * @return the created dining commons
+   */
+  @Operation(summary = "Create many dining commons at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<UCSBDiningCommons> postBulk(@RequestBody List<@Valid UCSBDiningCommons> items) {
+    return bulkService.create(ucsbDiningCommonsRepository, UCSBDiningCommons.class, items);
+  }
 
-    ucsbDiningCommonsRepository.save(commons);
+  /**
+   * This method updates many dining commons in one transaction; each item is matched by its code.
+   * Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the dining commons, with their codes
+   * @return the updated dining commons
+   */
+  @Operation(summary = "Update many dining commons at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<UCSBDiningCommons> putBulk(@RequestBody List<@Valid UCSBDiningCommons> items) {
+    return bulkService.update(ucsbDiningCommonsRepository, UCSBDiningCommons.class, items);
+  }
 
-    return commons;
+  /**
+   * This method deletes many dining commons in one transaction. Accessible only to users with the
+   * role "ROLE_ADMIN".
+   *
+   * @param ids the codes of the dining commons to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(summary = "Delete many dining commons at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<String> ids) {
+    int deleted = bulkService.delete(ucsbDiningCommonsRepository, UCSBDiningCommons.class, ids);
+    return genericMessage("%d UCSBDiningCommons records deleted".formatted(deleted));
   }
 }
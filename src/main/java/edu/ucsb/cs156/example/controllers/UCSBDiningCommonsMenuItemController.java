@@ -1,15 +1,20 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDiningCommonsMenuItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,16 +28,38 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "UCSBDiningCommonsMenuItem")
 @RequestMapping("/api/ucsbdiningcommonsmenuitem")
 @RestController
+@Validated
 @Slf4j
 public class UCSBDiningCommonsMenuItemController extends ApiController {
   @Autowired UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
 
-  @Operation(summary = "List all UCSB dining commons menu items")
+  @Autowired UCSBDiningCommonsMenuItemService ucsbDiningCommonsMenuItemService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("id", "diningCommonsCode", "name", "station");
+
+  @Operation(summary = "List UCSB dining commons menu items, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<UCSBDiningCommonsMenuItem> allUCSBDiningCommonsMenuItems() {
-    Iterable<UCSBDiningCommonsMenuItem> items = ucsbDiningCommonsMenuItemRepository.findAll();
-    return items;
+  @TableVersionETag(UCSBDiningCommonsMenuItem.class)
+  public PagedModel<UCSBDiningCommonsMenuItem> allUCSBDiningCommonsMenuItems(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of id, diningCommonsCode, name, station; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "id")
+          String sort) {
+    return new PagedModel<>(
+        ucsbDiningCommonsMenuItemService.findAll(
+            pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   @Operation(summary = "Create a new UCSB dining commons menu item")
@@ -48,18 +75,17 @@ public class UCSBDiningCommonsMenuItemController extends ApiController {
     item.setName(name);
     item.setStation(station);
 
-    UCSBDiningCommonsMenuItem savedItem = ucsbDiningCommonsMenuItemRepository.save(item);
+    UCSBDiningCommonsMenuItem savedItem = ucsbDiningCommonsMenuItemService.create(item);
     return savedItem;
   }
 
   @Operation(summary = "Get a single UCSB dining commonsmenu item by id")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(UCSBDiningCommonsMenuItem.class)
   public UCSBDiningCommonsMenuItem getById(@Parameter(name = "id") @RequestParam Long id) {
     UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItem =
-        ucsbDiningCommonsMenuItemRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommonsMenuItem.class, id));
+        ucsbDiningCommonsMenuItemService.findById(id);
 
     return ucsbDiningCommonsMenuItem;
   }
@@ -68,12 +94,7 @@ public class UCSBDiningCommonsMenuItemController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteUCSBDiningCommonsMenuItem(@Parameter(name = "id") @RequestParam Long id) {
-    UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItem =
-        ucsbDiningCommonsMenuItemRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommonsMenuItem.class, id));
-
-    ucsbDiningCommonsMenuItemRepository.delete(ucsbDiningCommonsMenuItem);
+    ucsbDiningCommonsMenuItemService.delete(id);
     return genericMessage("UCSBDiningCommonsMenuItem with id %s deleted".formatted(id));
   }
 
@@ -83,18 +104,63 @@ public class UCSBDiningCommonsMenuItemController extends ApiController {
   public UCSBDiningCommonsMenuItem updateUCSBDiningCommonsMenuItem(
       @Parameter(name = "id") @RequestParam Long id,
       @RequestBody @Valid UCSBDiningCommonsMenuItem incoming) {
+    incoming.setId(id);
+    ucsbDiningCommonsMenuItemService.update(id, incoming);
+    return incoming;
+  }
 
-    UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItem =
-        ucsbDiningCommonsMenuItemRepository
-            .findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBDiningCommonsMenuItem.class, id));
-
-    ucsbDiningCommonsMenuItem.setDiningCommonsCode(incoming.getDiningCommonsCode());
-    ucsbDiningCommonsMenuItem.setName(incoming.getName());
-    ucsbDiningCommonsMenuItem.setStation(incoming.getStation());
+  /**
+   * This method creates many dining commons menu items in one transaction. Accessible only to users
+   * with the role "ROLE_ADMIN".
+   *
+   * @param items the dining commons menu items to create, without ids
+   * @return the created dining commons menu items, with their ids
+   */
+  @Operation(
+      summary =
+          "Create many dining commons menu items at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<UCSBDiningCommonsMenuItem> postBulk(
+      @RequestBody List<@Valid UCSBDiningCommonsMenuItem> items) {
+    return bulkService.create(
+        ucsbDiningCommonsMenuItemRepository, UCSBDiningCommonsMenuItem.class, items);
+  }
 
-    ucsbDiningCommonsMenuItemRepository.save(ucsbDiningCommonsMenuItem);
+  /**
+   * This method updates many dining commons menu items in one transaction; each item is matched by
+   * its id. Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the dining commons menu items, with their ids
+   * @return the updated dining commons menu items
+   */
+  @Operation(
+      summary =
+          "Update many dining commons menu items at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<UCSBDiningCommonsMenuItem> putBulk(
+      @RequestBody List<@Valid UCSBDiningCommonsMenuItem> items) {
+    return bulkService.update(
+        ucsbDiningCommonsMenuItemRepository, UCSBDiningCommonsMenuItem.class, items);
+  }
 
-    return ucsbDiningCommonsMenuItem;
+  /**
+   * This method deletes many dining commons menu items in one transaction. Accessible only to users
+   * with the role "ROLE_ADMIN".
+   *
+   * @param ids the ids of the dining commons menu items to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(
+      summary =
+          "Delete many dining commons menu items at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<Long> ids) {
+    int deleted =
+        bulkService.delete(
+            ucsbDiningCommonsMenuItemRepository, UCSBDiningCommonsMenuItem.class, ids);
+    return genericMessage("%d UCSBDiningCommonsMenuItem records deleted".formatted(deleted));
   }
 }
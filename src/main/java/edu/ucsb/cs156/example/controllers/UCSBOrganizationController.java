@@ -1,15 +1,20 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.aop.TableVersionETag;
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
-import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBOrganizationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,22 +28,46 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "UCSBOrganization")
 @RequestMapping("/api/ucsborganization")
 @RestController
+@Validated
 @Slf4j
 public class UCSBOrganizationController extends ApiController {
 
   @Autowired UCSBOrganizationRepository ucsbOrganizationRepository;
 
+  @Autowired UCSBOrganizationService ucsbOrganizationService;
+
+  @Autowired BulkService bulkService;
+
+  static final List<String> SORTABLE_PROPERTIES =
+      List.of("orgCode", "orgTranslationShort", "orgTranslation", "inactive");
+
   /**
-   * THis method returns a list of all ucsborganizations.
+   * This method returns one page of ucsborganizations.
    *
-   * @return a list of all ucsborganizations
+   * @param page page number, starting at 0
+   * @param size number of items per page
+   * @param sort property to sort by, optionally followed by ,asc or ,desc
+   * @return a page of ucsborganizations, with the total count
    */
-  @Operation(summary = "List all ucsb organizations")
+  @Operation(summary = "List ucsb organizations, one page at a time")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("/all")
-  public Iterable<UCSBOrganization> allOrganizations() {
-    Iterable<UCSBOrganization> organizations = ucsbOrganizationRepository.findAll();
-    return organizations;
+  @TableVersionETag(UCSBOrganization.class)
+  public PagedModel<UCSBOrganization> allOrganizations(
+      @Parameter(name = "page", description = "page number, starting at 0")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(name = "size", description = "number of items per page")
+          @RequestParam(defaultValue = "${app.paging.defaultPageSize:20}")
+          int size,
+      @Parameter(
+              name = "sort",
+              description =
+                  "one of orgCode, orgTranslationShort, orgTranslation, inactive; optionally followed by ,asc or ,desc")
+          @RequestParam(defaultValue = "orgCode")
+          String sort) {
+    return new PagedModel<>(
+        ucsbOrganizationService.findAll(pageRequest(page, size, sort, SORTABLE_PROPERTIES)));
   }
 
   /**
@@ -50,11 +79,9 @@ public class UCSBOrganizationController extends ApiController {
   @Operation(summary = "Get a single organization")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
+  @TableVersionETag(UCSBOrganization.class)
   public UCSBOrganization getById(@Parameter(name = "orgCode") @RequestParam String orgCode) {
-    UCSBOrganization organization =
-        ucsbOrganizationRepository
-            .findById(orgCode)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBOrganization.class, orgCode));
+    UCSBOrganization organization = ucsbOrganizationService.findById(orgCode);
 
     return organization;
   }
@@ -83,7 +110,7 @@ public class UCSBOrganizationController extends ApiController {
     organization.setOrgTranslation(orgTranslation);
     organization.setInactive(inactive);
 
-    UCSBOrganization savedOrganization = ucsbOrganizationRepository.save(organization);
+    UCSBOrganization savedOrganization = ucsbOrganizationService.create(organization);
 
     return savedOrganization;
   }
@@ -98,12 +125,7 @@ public class UCSBOrganizationController extends ApiController {
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @DeleteMapping("")
   public Object deleteOrganization(@Parameter(name = "orgCode") @RequestParam String orgCode) {
-    UCSBOrganization organization =
-        ucsbOrganizationRepository
-            .findById(orgCode)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBOrganization.class, orgCode));
-
-    ucsbOrganizationRepository.delete(organization);
+    ucsbOrganizationService.delete(orgCode);
     return genericMessage("UCSBOrganization with id %s deleted".formatted(orgCode));
   }
 
@@ -120,17 +142,54 @@ public class UCSBOrganizationController extends ApiController {
   public UCSBOrganization updateOrganization(
       @Parameter(name = "orgCode") @RequestParam String orgCode,
       @RequestBody @Valid UCSBOrganization incoming) {
+    incoming.setOrgCode(orgCode);
+    ucsbOrganizationService.update(orgCode, incoming);
+    return incoming;
+  }
 
-    UCSBOrganization organization =
-        ucsbOrganizationRepository
-            .findById(orgCode)
-            .orElseThrow(() -> new EntityNotFoundException(UCSBOrganization.class, orgCode));
+  /**
+   * This method creates many UCSB organizations in one transaction. Accessible only to users with
+   * the role "ROLE_ADMIN".
+   *
+   * @param items the UCSB organizations to create, with their org codes
+   * @return the created UCSB organizations
+   */
+  @Operation(
+      summary = "Create many UCSB organizations at once; if any is rejected, none are created")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PostMapping("/bulk")
+  public List<UCSBOrganization> postBulk(@RequestBody List<@Valid UCSBOrganization> items) {
+    return bulkService.create(ucsbOrganizationRepository, UCSBOrganization.class, items);
+  }
 
-    organization.setOrgTranslationShort(incoming.getOrgTranslationShort());
-    organization.setOrgTranslation(incoming.getOrgTranslation());
-    organization.setInactive(incoming.getInactive());
-    ucsbOrganizationRepository.save(organization);
+  /**
+   * This method updates many UCSB organizations in one transaction; each item is matched by its org
+   * code. Accessible only to users with the role "ROLE_ADMIN".
+   *
+   * @param items the new values of the UCSB organizations, with their org codes
+   * @return the updated UCSB organizations
+   */
+  @Operation(
+      summary = "Update many UCSB organizations at once; if any is rejected, none are updated")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @PutMapping("/bulk")
+  public List<UCSBOrganization> putBulk(@RequestBody List<@Valid UCSBOrganization> items) {
+    return bulkService.update(ucsbOrganizationRepository, UCSBOrganization.class, items);
+  }
 
-    return organization;
+  /**
+   * This method deletes many UCSB organizations in one transaction. Accessible only to users with
+   * the role "ROLE_ADMIN".
+   *
+   * @param ids the org codes of the UCSB organizations to delete
+   * @return a message indicating how many were deleted
+   */
+  @Operation(
+      summary = "Delete many UCSB organizations at once; if any is rejected, none are deleted")
+  @PreAuthorize("hasRole('ROLE_ADMIN')")
+  @DeleteMapping("/bulk")
+  public Object deleteBulk(@RequestBody List<String> ids) {
+    int deleted = bulkService.delete(ucsbOrganizationRepository, UCSBOrganization.class, ids);
+    return genericMessage("%d UCSBOrganization records deleted".formatted(deleted));
   }
 }
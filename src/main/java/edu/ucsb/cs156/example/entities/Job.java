@@ -16,7 +16,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @EntityListeners(AuditingEntityListener.class)
 public class Job {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_seq")
+  @SequenceGenerator(name = "jobs_seq", sequenceName = "JOBS_SEQ", allocationSize = 50)
   private long id;
 
   @JsonIgnore
@@ -29,6 +30,9 @@ public class Job {
 
   private String status;
 
+  // X-Request-Id of the request that started the job (see RequestIdFilter)
+  private String requestId;
+
   // 1048576 is 2^20, which is the max size of a mediumtext in MySQL
   @Column(
       columnDefinition = "TEXT",
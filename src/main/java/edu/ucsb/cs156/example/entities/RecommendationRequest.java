@@ -1,9 +1,11 @@
 package edu.ucsb.cs156.example.entities;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,10 +18,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity(name = "recommendationrequest")
+@EntityListeners(TableVersionListener.class)
 public class RecommendationRequest {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendationrequest_seq")
+  @SequenceGenerator(
+      name = "recommendationrequest_seq",
+      sequenceName = "RECOMMENDATIONREQUEST_SEQ",
+      allocationSize = 50)
   private Long id;
 
   private String requesterEmail;
@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.entities;
+
+import edu.ucsb.cs156.example.services.TableVersionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+
+/**
+ * This is a JPA entity listener that bumps the version of an entity's table (see
+ * TableVersionService) whenever an entity is inserted, updated or deleted. Hibernate creates it
+ * through Spring, which injects the service.
+ */
+public class TableVersionListener {
+
+  private final TableVersionService tableVersionService;
+
+  public TableVersionListener(TableVersionService tableVersionService) {
+    this.tableVersionService = tableVersionService;
+  }
+
+  /**
+   * This method is called by JPA after an entity has been inserted, updated or deleted.
+   *
+   * @param entity the entity
+   */
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void changed(Object entity) {
+    tableVersionService.bump(Hibernate.getClass(entity));
+  }
+}
@@ -0,0 +1,16 @@
+package edu.ucsb.cs156.example.errors;
+
+/**
+ * This is an error class for a custom RuntimeException in Java that is used to indicate that a
+ * request parameter has a value the API does not accept; it results in a 400 response.
+ */
+public class BadRequestException extends RuntimeException {
+  /**
+   * Constructor for the exception
+   *
+   * @param message explanation of what is wrong with the request
+   */
+  public BadRequestException(String message) {
+    super(message);
+  }
+}
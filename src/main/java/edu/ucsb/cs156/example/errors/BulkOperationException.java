@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.example.errors;
+
+import edu.ucsb.cs156.example.models.BulkItemError;
+import java.util.List;
+
+/**
+ * This is an error class for a custom RuntimeException in Java that is used to indicate that some
+ * items of a bulk request were rejected, so that none of them were applied; it results in a 400
+ * response listing the rejected items.
+ */
+public class BulkOperationException extends RuntimeException {
+
+  private final List<BulkItemError> errors;
+
+  /**
+   * Constructor for the exception
+   *
+   * @param errors the rejected items
+   * @param itemCount how many items the request contained
+   */
+  public BulkOperationException(List<BulkItemError> errors, int itemCount) {
+    super("%d of %d items were rejected; nothing was changed".formatted(errors.size(), itemCount));
+    this.errors = errors;
+  }
+
+  /**
+   * This method returns the rejected items.
+   *
+   * @return the rejected items, in request order
+   */
+  public List<BulkItemError> getErrors() {
+    return errors;
+  }
+}
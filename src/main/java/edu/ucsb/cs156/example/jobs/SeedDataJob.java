@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.jobs;
+
+import edu.ucsb.cs156.example.models.SeedDataOptions;
+import edu.ucsb.cs156.example.services.SeedDataService;
+import edu.ucsb.cs156.example.services.jobs.JobContext;
+import edu.ucsb.cs156.example.services.jobs.JobContextConsumer;
+import lombok.Builder;
+
+/** This job fills the database with synthetic data for performance testing. */
+@Builder
+public class SeedDataJob implements JobContextConsumer {
+
+  private SeedDataService seedDataService;
+  private SeedDataOptions options;
+
+  @Override
+  public void accept(JobContext ctx) throws Exception {
+    ctx.log("Seeding data: " + options);
+    seedDataService.seed(options, ctx::log);
+    ctx.log("Seeding complete");
+  }
+}
@@ -0,0 +1,58 @@
+package edu.ucsb.cs156.example.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the queue depth and drop count of every DropCountingAsyncAppender configured in
+ * logback-spring.xml, as <code>logging.async.queue.size</code> and <code>logging.async.dropped
+ * </code> (tagged with the appender name).
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (DropCountingAsyncAppender appender : findAppenders(LoggerFactory.getILoggerFactory())) {
+      FunctionCounter.builder(
+              "logging.async.dropped", appender, DropCountingAsyncAppender::getDroppedCount)
+          .description("Log events dropped because the async appender queue was (nearly) full")
+          .tag("appender", appender.getName())
+          .register(registry);
+      Gauge.builder(
+              "logging.async.queue.size",
+              appender,
+              DropCountingAsyncAppender::getNumberOfElementsInQueue)
+          .description("Log events waiting in the async appender queue")
+          .tag("appender", appender.getName())
+          .register(registry);
+    }
+  }
+
+  static Set<DropCountingAsyncAppender> findAppenders(ILoggerFactory loggerFactory) {
+    Set<DropCountingAsyncAppender> appenders = new LinkedHashSet<>();
+    if (loggerFactory instanceof LoggerContext context) {
+      for (Logger logger : context.getLoggerList()) {
+        Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+        while (it.hasNext()) {
+          if (it.next() instanceof DropCountingAsyncAppender appender) {
+            appenders.add(appender);
+          }
+        }
+      }
+    }
+    return appenders;
+  }
+}
@@ -0,0 +1,38 @@
+package edu.ucsb.cs156.example.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An AsyncAppender that counts the events it drops, so that the count can be published as a metric
+ * (see AsyncLoggingMetrics).
+ *
+ * <p>Events are dropped either because the queue is full and <code>neverBlock</code> is set, or
+ * because the queue is nearly full and the event is INFO or below (see logback's <code>
+ * discardingThreshold</code>). The queue is checked just before the event is offered, so under
+ * heavy contention the count is approximate.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+  private final LongAdder dropped = new LongAdder();
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    int remaining = getRemainingCapacity();
+    if ((isNeverBlock() && remaining == 0)
+        || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+      dropped.increment();
+    }
+    super.append(event);
+  }
+
+  /**
+   * This method returns how many events have been dropped since the appender was created.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+}
@@ -0,0 +1,82 @@
+package edu.ucsb.cs156.example.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how often a single log statement on a hot path is written.
+ *
+ * <p>At most <code>permits</code> statements are allowed in each window of <code>interval</code>;
+ * the rest are skipped and counted. The next statement that is allowed can report how many were
+ * skipped, so the volume is still visible in the logs:
+ *
+ * <pre>
+ * long suppressed = rateLimiter.tryAcquire();
+ * if (suppressed &gt;= 0) {
+ *   log.atInfo().addKeyValue("suppressed", suppressed).log("...");
+ * }
+ * </pre>
+ *
+ * <p>This is called on every request, so it takes no lock: the window is swapped with a
+ * compare-and-set, and the skipped count is a separate counter.
+ */
+public final class LogRateLimiter {
+
+  private final int permits;
+  private final long intervalNanos;
+  private final LongSupplier nanoClock;
+
+  private final AtomicReference<Window> window;
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**
+   * A window and how many statements were counted in it. <code>used</code> stops at one more than
+   * <code>permits</code>, so that once the window is full it is no longer replaced.
+   */
+  private record Window(long start, int used) {}
+
+  /**
+   * Constructor for a rate limiter.
+   *
+   * @param permits how many statements may be written per interval
+   * @param interval length of each window
+   */
+  public LogRateLimiter(int permits, Duration interval) {
+    this(permits, interval, System::nanoTime);
+  }
+
+  LogRateLimiter(int permits, Duration interval, LongSupplier nanoClock) {
+    this.permits = permits;
+    this.intervalNanos = interval.toNanos();
+    this.nanoClock = nanoClock;
+    this.window = new AtomicReference<>(new Window(nanoClock.getAsLong(), 0));
+  }
+
+  /**
+   * This method decides whether a statement may be written now.
+   *
+   * @return -1 if the statement should be skipped; otherwise the number of statements skipped since
+   *     the last one that was allowed
+   */
+  public long tryAcquire() {
+    long now = nanoClock.getAsLong();
+    Window counted = window.updateAndGet(current -> count(current, now));
+    if (counted.used() > permits) {
+      suppressed.incrementAndGet();
+      return -1;
+    }
+    return suppressed.getAndSet(0);
+  }
+
+  private Window count(Window current, long now) {
+    if (now - current.start() >= intervalNanos) {
+      return new Window(now, 1);
+    }
+    if (current.used() > permits) {
+      return current;
+    }
+    return new Window(current.start(), current.used() + 1);
+  }
+}
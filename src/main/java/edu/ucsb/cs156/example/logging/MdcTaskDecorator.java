@@ -0,0 +1,37 @@
+package edu.ucsb.cs156.example.logging;
+
+import java.util.Map;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the MDC (in particular the request id set by RequestIdFilter) of the thread that submits
+ * an @Async task to the thread that runs it, and restores the worker's own MDC afterwards. Spring
+ * Boot applies it to the application task executor automatically.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    Map<String, String> submitter = MDC.getCopyOfContextMap();
+    return () -> {
+      Map<String, String> previous = MDC.getCopyOfContextMap();
+      setContextMap(submitter);
+      try {
+        runnable.run();
+      } finally {
+        setContextMap(previous);
+      }
+    };
+  }
+
+  private static void setContextMap(Map<String, String> contextMap) {
+    if (contextMap == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(contextMap);
+    }
+  }
+}
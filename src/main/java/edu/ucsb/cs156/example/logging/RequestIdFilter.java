@@ -0,0 +1,62 @@
+package edu.ucsb.cs156.example.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives every request a correlation id, and puts it in the MDC (as {@value #MDC_KEY}) so that it
+ * appears in every log line written while handling the request.
+ *
+ * <p>The id is taken from the {@value #HEADER} request header when a client or proxy supplies a
+ * reasonable one, and generated otherwise. It is echoed back in the same response header. Jobs
+ * started by the request record it too (see JobService), and MdcTaskDecorator carries it into
+ * other @Async work.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Request-Id";
+
+  public static final String MDC_KEY = "requestId";
+
+  // ids are copied into logs and the jobs table, so only accept short, plain values
+  private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String requestId = resolve(request.getHeader(HEADER));
+    response.setHeader(HEADER, requestId);
+    MDC.put(MDC_KEY, requestId);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      MDC.remove(MDC_KEY);
+    }
+  }
+
+  /**
+   * This method decides which id to use for a request.
+   *
+   * @param header the value of the X-Request-Id header, or null
+   * @return the header value if it is acceptable, otherwise a new random id
+   */
+  static String resolve(String header) {
+    if (header != null && VALID.matcher(header).matches()) {
+      return header;
+    }
+    return UUID.randomUUID().toString();
+  }
+}
@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.models;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.security.web.csrf.CsrfToken;
+
+/**
+ * This is a model class that represents what the frontend needs when it starts.
+ *
+ * <p>It is returned by /api/bootstrap, so that the frontend can get the system information, the
+ * current user and a CSRF token in one request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class Bootstrap {
+  @JsonRawValue private String systemInfo; // the SystemInfo, already serialized
+  private CurrentUser currentUser; // null when no one is logged in
+  private CsrfToken csrf;
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that describes why one item of a bulk request was rejected.
+ *
+ * @see edu.ucsb.cs156.example.services.BulkService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class BulkItemError {
+  private int index; // position of the item in the request, starting at 0
+  private String id; // the item's id, or null if it has none
+  private String message;
+}
@@ -0,0 +1,29 @@
+package edu.ucsb.cs156.example.models;
+
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that summarizes the latency recorded for one controller handler method.
+ *
+ * @see edu.ucsb.cs156.example.services.RequestTimingService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class HandlerTimingSummary {
+  private String handler; // e.g. ArticlesController.allArticles
+  private long count;
+  private Map<String, Long> outcomes; // e.g. SUCCESS -> 10, CLIENT_ERROR -> 2
+  private Map<String, Long> exceptions; // exception simple name -> count
+  private double meanMs;
+  private double p50Ms;
+  private double p95Ms;
+  private double p99Ms;
+  private double maxMs;
+}
@@ -0,0 +1,29 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that describes a virtual thread that blocked while pinned to its carrier
+ * thread, for example while holding a monitor (a <code>synchronized</code> block), so that the
+ * carrier could not run other virtual threads in the meantime.
+ *
+ * @see edu.ucsb.cs156.example.services.VirtualThreadPinningService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class PinnedThread {
+  private String thread;
+  private Instant startedAt;
+  private double durationMs;
+  private String
+      site; // first frame outside the JDK, e.g. org.h2.engine.SessionLocal.lock; may be null
+  private List<String> stack;
+}
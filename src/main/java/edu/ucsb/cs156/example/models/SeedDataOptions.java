@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that says how much synthetic data to generate, and from which seed.
+ *
+ * @see edu.ucsb.cs156.example.services.SeedDataService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SeedDataOptions {
+  private long seed; // on an empty database, the same seed and counts generate the same rows
+  private long menuItems;
+  private long menuItemReviews;
+  private long helpRequests;
+  private long jobs;
+  private int jobLogLines; // lines in the log of each generated job
+}
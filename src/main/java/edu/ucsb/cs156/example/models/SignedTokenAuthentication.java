@@ -0,0 +1,44 @@
+package edu.ucsb.cs156.example.models;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * This is the Authentication placed in the security context when a request carries a valid signed
+ * API token. It is built entirely from the token's claims; no session or database lookup is
+ * involved.
+ */
+public class SignedTokenAuthentication extends AbstractAuthenticationToken {
+
+  private final TokenClaims claims;
+
+  /**
+   * Constructor for an authenticated token
+   *
+   * @param claims the verified claims of the signed token
+   */
+  public SignedTokenAuthentication(TokenClaims claims) {
+    super(AuthorityUtils.createAuthorityList(claims.getRoles()));
+    this.claims = claims;
+    setAuthenticated(true);
+  }
+
+  public TokenClaims getClaims() {
+    return claims;
+  }
+
+  @Override
+  public Object getCredentials() {
+    return null;
+  }
+
+  @Override
+  public Object getPrincipal() {
+    return claims;
+  }
+
+  @Override
+  public String getName() {
+    return claims.getEmail();
+  }
+}
@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that describes a controller call that took longer than the slow request
+ * threshold.
+ *
+ * @see edu.ucsb.cs156.example.services.SlowRequestService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SlowRequest {
+  private String handler; // e.g. ArticlesController.allArticles
+  private String method; // HTTP method
+  private String uri;
+  private int status;
+  private String thread;
+  private Instant startedAt;
+  private double durationMs;
+  private int sqlCount; // may be more than sql.size() if the list was truncated
+  private double sqlMs;
+  private List<SqlStatementTiming> sql;
+  private List<String> stack; // sampled once the threshold passed; empty if not sampled in time
+}
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class for one SQL statement executed while handling a request.
+ *
+ * @see SlowRequest
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SqlStatementTiming {
+  private double offsetMs; // when the statement finished, relative to the start of the request
+  private double elapsedMs;
+  private boolean success;
+  private String sql;
+}
@@ -0,0 +1,47 @@
+package edu.ucsb.cs156.example.models;
+
+import edu.ucsb.cs156.example.entities.User;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is a model class that represents the claims carried by a signed API token.
+ *
+ * <p>Tokens are issued after OAuth2 login when the stateless profile is active.
+ *
+ * @see edu.ucsb.cs156.example.services.SignedTokenService
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class TokenClaims {
+  private String keyId; // id of the key that signed the token
+  private String tokenId; // unique id of this token; used for revocation
+  private long userId;
+  private String email;
+  private String fullName;
+  private String pictureUrl;
+  private List<String> roles;
+  private long issuedAt; // epoch seconds
+  private long expiresAt; // epoch seconds
+
+  /**
+   * This method builds a (detached) User from the claims, without touching the database.
+   *
+   * @return a User holding the values carried by the token
+   */
+  public User toUser() {
+    return User.builder()
+        .id(userId)
+        .email(email)
+        .fullName(fullName)
+        .pictureUrl(pictureUrl)
+        .admin(roles != null && roles.contains("ROLE_ADMIN"))
+        .build();
+  }
+}
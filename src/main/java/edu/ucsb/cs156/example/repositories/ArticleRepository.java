@@ -1,8 +1,38 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.Article;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface ArticleRepository extends CrudRepository<Article, Long> {}
+public interface ArticleRepository
+    extends CrudRepository<Article, Long>,
+        PagingAndSortingRepository<Article, Long>,
+        StreamingRepository<Article, Long>,
+        SingleRowRepository<Article, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the article with
+   * the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the article
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such article
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update articles e set "
+          + "e.title = :#{#incoming.title}, "
+          + "e.url = :#{#incoming.url}, "
+          + "e.explanation = :#{#incoming.explanation}, "
+          + "e.email = :#{#incoming.email}, "
+          + "e.dateAdded = :#{#incoming.dateAdded} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") Article incoming);
+}
@@ -0,0 +1,32 @@
+package edu.ucsb.cs156.example.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+/**
+ * The CacheableRepository is extended by repositories for reference data, whose entities are kept
+ * in the Hibernate second-level cache (see HibernateCacheConfig). It also puts the results of the
+ * paged list queries in the query cache, so a page that has been read before is served without
+ * going to the database until the table is written.
+ *
+ * @param <T> the entity type
+ * @param <ID> the type of the entity's id
+ */
+@NoRepositoryBean
+public interface CacheableRepository<T, ID> extends PagingAndSortingRepository<T, ID> {
+
+  /**
+   * This method returns one page of entities, and its total count, through the query cache.
+   *
+   * @param pageable the page, page size and sort order
+   * @return the page of entities
+   */
+  @Override
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  Page<T> findAll(Pageable pageable);
+}
@@ -1,8 +1,39 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.HelpRequest;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface HelpRequestRepository extends CrudRepository<HelpRequest, Long> {}
+public interface HelpRequestRepository
+    extends CrudRepository<HelpRequest, Long>,
+        PagingAndSortingRepository<HelpRequest, Long>,
+        StreamingRepository<HelpRequest, Long>,
+        SingleRowRepository<HelpRequest, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the help request
+   * with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the help request
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such help request
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update helprequest e set "
+          + "e.requesterEmail = :#{#incoming.requesterEmail}, "
+          + "e.teamId = :#{#incoming.teamId}, "
+          + "e.tableOrBreakoutRoom = :#{#incoming.tableOrBreakoutRoom}, "
+          + "e.requestTime = :#{#incoming.requestTime}, "
+          + "e.explanation = :#{#incoming.explanation}, "
+          + "e.solved = :#{#incoming.solved} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") HelpRequest incoming);
+}
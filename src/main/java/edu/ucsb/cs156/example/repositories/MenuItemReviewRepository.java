@@ -1,8 +1,38 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.MenuItemReview;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface MenuItemReviewRepository extends CrudRepository<MenuItemReview, Long> {}
+public interface MenuItemReviewRepository
+    extends CrudRepository<MenuItemReview, Long>,
+        PagingAndSortingRepository<MenuItemReview, Long>,
+        StreamingRepository<MenuItemReview, Long>,
+        SingleRowRepository<MenuItemReview, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the menu item
+   * review with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the menu item review
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such menu item review
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update menuitemreview e set "
+          + "e.itemId = :#{#incoming.itemId}, "
+          + "e.reviewerEmail = :#{#incoming.reviewerEmail}, "
+          + "e.stars = :#{#incoming.stars}, "
+          + "e.dateReviewed = :#{#incoming.dateReviewed}, "
+          + "e.comments = :#{#incoming.comments} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") MenuItemReview incoming);
+}
@@ -1,10 +1,40 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** The RecommendationRequestRepository is a repository for RecommendationRequest entities. */
 @Repository
 public interface RecommendationRequestRepository
-    extends CrudRepository<RecommendationRequest, Long> {}
+    extends CrudRepository<RecommendationRequest, Long>,
+        PagingAndSortingRepository<RecommendationRequest, Long>,
+        StreamingRepository<RecommendationRequest, Long>,
+        SingleRowRepository<RecommendationRequest, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the
+   * recommendation request with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the recommendation request
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such recommendation request
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update recommendationrequest e set "
+          + "e.requesterEmail = :#{#incoming.requesterEmail}, "
+          + "e.professorEmail = :#{#incoming.professorEmail}, "
+          + "e.explanation = :#{#incoming.explanation}, "
+          + "e.dateRequested = :#{#incoming.dateRequested}, "
+          + "e.dateNeeded = :#{#incoming.dateNeeded}, "
+          + "e.done = :#{#incoming.done} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") RecommendationRequest incoming);
+}
@@ -1,9 +1,35 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.Restaurant;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** The RestaurantRepository is a repository for Restaurant entities */
 @Repository
-public interface RestaurantRepository extends CrudRepository<Restaurant, Long> {}
+public interface RestaurantRepository
+    extends CrudRepository<Restaurant, Long>,
+        CacheableRepository<Restaurant, Long>,
+        StreamingRepository<Restaurant, Long>,
+        SingleRowRepository<Restaurant, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the restaurant
+   * with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the restaurant
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such restaurant
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update restaurants e set "
+          + "e.name = :#{#incoming.name}, "
+          + "e.description = :#{#incoming.description} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") Restaurant incoming);
+}
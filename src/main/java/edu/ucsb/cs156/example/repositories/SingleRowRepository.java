@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.example.repositories;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The SingleRowRepository is extended by repositories whose single-entity PUT and DELETE endpoints
+ * change a row with one statement, instead of loading the entity first as save and {@link
+ * org.springframework.data.repository.CrudRepository#deleteById(Object)} do. Each repository
+ * declares its own <code>updateOneById</code> query, since the columns differ.
+ *
+ * <p>These statements bypass the persistence context and the entity listeners, so callers must bump
+ * the table version (see TableVersionService) themselves.
+ *
+ * @param <T> the entity type
+ * @param <ID> the type of the entity's id
+ */
+@NoRepositoryBean
+public interface SingleRowRepository<T, ID> extends Repository<T, ID> {
+
+  /**
+   * This method deletes the entity with the given id with a single DELETE statement.
+   *
+   * @param id the id of the entity
+   * @return the number of rows deleted: 1, or 0 if there is no such entity
+   */
+  @Modifying
+  @Transactional
+  @Query("delete from #{#entityName} e where id(e) = :id")
+  int deleteOneById(@Param("id") ID id);
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the entity with
+   * the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the entity
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such entity
+   */
+  int updateOneById(ID id, T incoming);
+}
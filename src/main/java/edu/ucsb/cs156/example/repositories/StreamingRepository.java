@@ -0,0 +1,38 @@
+package edu.ucsb.cs156.example.repositories;
+
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * The StreamingRepository is extended by repositories whose whole table can be exported (see
+ * ExportService).
+ *
+ * @param <T> the entity type
+ * @param <ID> the type of the entity's id
+ */
+@NoRepositoryBean
+public interface StreamingRepository<T, ID> extends Repository<T, ID> {
+
+  /** Number of rows the JDBC driver fetches per round trip while streaming. */
+  String FETCH_SIZE = "500";
+
+  /**
+   * This method returns every entity in the table as a stream that reads rows from the database as
+   * it is consumed, instead of loading the whole table first. It must be called, and the stream
+   * consumed and closed, inside a transaction; entities are loaded read-only and should be detached
+   * once they have been used.
+   *
+   * @return stream of all entities
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select e from #{#entityName} e")
+  Stream<T> streamAll();
+}
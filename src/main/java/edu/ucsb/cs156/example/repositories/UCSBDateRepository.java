@@ -1,12 +1,20 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.UCSBDate;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** The UCSBDateRepository is a repository for UCSBDate entities. */
 @Repository
-public interface UCSBDateRepository extends CrudRepository<UCSBDate, Long> {
+public interface UCSBDateRepository
+    extends CrudRepository<UCSBDate, Long>,
+        CacheableRepository<UCSBDate, Long>,
+        StreamingRepository<UCSBDate, Long>,
+        SingleRowRepository<UCSBDate, Long> {
   /**
    * This method returns all UCSBDate entities with a given quarterYYYYQ.
    *
@@ -15,4 +23,22 @@ public interface UCSBDateRepository extends CrudRepository<UCSBDate, Long> {
    * @return all UCSBDate entities with a given quarterYYYYQ
    */
   Iterable<UCSBDate> findAllByQuarterYYYYQ(String quarterYYYYQ);
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the UCSB date
+   * with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the UCSB date
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such UCSB date
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update ucsbdates e set "
+          + "e.quarterYYYYQ = :#{#incoming.quarterYYYYQ}, "
+          + "e.name = :#{#incoming.name}, "
+          + "e.localDateTime = :#{#incoming.localDateTime} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") UCSBDate incoming);
 }
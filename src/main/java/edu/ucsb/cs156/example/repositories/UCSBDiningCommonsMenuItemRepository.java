@@ -1,9 +1,36 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UCSBDiningCommonsMenuItemRepository
-    extends CrudRepository<UCSBDiningCommonsMenuItem, Long> {}
+    extends CrudRepository<UCSBDiningCommonsMenuItem, Long>,
+        PagingAndSortingRepository<UCSBDiningCommonsMenuItem, Long>,
+        StreamingRepository<UCSBDiningCommonsMenuItem, Long>,
+        SingleRowRepository<UCSBDiningCommonsMenuItem, Long> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the menu item
+   * with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the menu item
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such menu item
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update ucsbdiningcommonsmenuitem e set "
+          + "e.diningCommonsCode = :#{#incoming.diningCommonsCode}, "
+          + "e.name = :#{#incoming.name}, "
+          + "e.station = :#{#incoming.station} "
+          + "where e.id = :id")
+  int updateOneById(@Param("id") Long id, @Param("incoming") UCSBDiningCommonsMenuItem incoming);
+}
@@ -1,9 +1,39 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** The UCSBDiningCommonsRepository is a repository for UCSBDiningCommons entities */
 @Repository
-public interface UCSBDiningCommonsRepository extends CrudRepository<UCSBDiningCommons, String> {}
+public interface UCSBDiningCommonsRepository
+    extends CrudRepository<UCSBDiningCommons, String>,
+        CacheableRepository<UCSBDiningCommons, String>,
+        StreamingRepository<UCSBDiningCommons, String>,
+        SingleRowRepository<UCSBDiningCommons, String> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the dining
+   * commons with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the dining commons
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such dining commons
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update ucsbdiningcommons e set "
+          + "e.name = :#{#incoming.name}, "
+          + "e.hasSackMeal = :#{#incoming.hasSackMeal}, "
+          + "e.hasTakeOutMeal = :#{#incoming.hasTakeOutMeal}, "
+          + "e.hasDiningCam = :#{#incoming.hasDiningCam}, "
+          + "e.latitude = :#{#incoming.latitude}, "
+          + "e.longitude = :#{#incoming.longitude} "
+          + "where e.code = :id")
+  int updateOneById(@Param("id") String id, @Param("incoming") UCSBDiningCommons incoming);
+}
@@ -1,9 +1,36 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** The UCSBOrganizationsRepository is a repository for UCSBOrganization entities */
 @Repository
-public interface UCSBOrganizationRepository extends CrudRepository<UCSBOrganization, String> {}
+public interface UCSBOrganizationRepository
+    extends CrudRepository<UCSBOrganization, String>,
+        CacheableRepository<UCSBOrganization, String>,
+        StreamingRepository<UCSBOrganization, String>,
+        SingleRowRepository<UCSBOrganization, String> {
+
+  /**
+   * This method copies the fields of <code>incoming</code> (other than the id) to the organization
+   * with the given id, with a single UPDATE statement.
+   *
+   * @param id the id of the organization
+   * @param incoming the new values
+   * @return the number of rows updated: 1, or 0 if there is no such organization
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "update ucsborganization e set "
+          + "e.orgTranslationShort = :#{#incoming.orgTranslationShort}, "
+          + "e.orgTranslation = :#{#incoming.orgTranslation}, "
+          + "e.inactive = :#{#incoming.inactive} "
+          + "where e.orgCode = :id")
+  int updateOneById(@Param("id") String id, @Param("incoming") UCSBOrganization incoming);
+}
@@ -0,0 +1,20 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.Article;
+import edu.ucsb.cs156.example.repositories.ArticleRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes articles; see EntityService. */
+@Service("articleService")
+public class ArticleService extends EntityService<Article, Long, ArticleRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for articles
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public ArticleService(ArticleRepository repository, TableVersionService tableVersionService) {
+    super(Article.class, repository, tableVersionService);
+  }
+}
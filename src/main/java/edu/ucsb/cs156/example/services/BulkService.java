@@ -0,0 +1,251 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.errors.BulkOperationException;
+import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.BulkItemError;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * This is a service that creates, updates or deletes many entities of one type in a single
+ * transaction, for the /api/*&#47;bulk endpoints.
+ *
+ * <p>Every item is checked before anything is written, and the existing rows are loaded with one
+ * query. If any item is rejected, a BulkOperationException lists all of the rejected items and
+ * nothing is changed; otherwise the inserts, updates or deletes are flushed together at commit, in
+ * JDBC batches.
+ *
+ * <p>Requests with more than <code>app.bulk.maxItems</code> items are rejected outright.
+ */
+@Service("bulkService")
+public class BulkService {
+
+  private final EntityManager entityManager;
+  private final int maxItems;
+
+  private final Map<Class<?>, IdField> idFields = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for the service
+   *
+   * @param entityManager used to insert and update the entities
+   * @param maxItems the most items a single request may contain
+   */
+  public BulkService(
+      EntityManager entityManager, @Value("${app.bulk.maxItems:1000}") int maxItems) {
+    this.entityManager = entityManager;
+    this.maxItems = maxItems;
+  }
+
+  /**
+   * This method inserts new entities. Items of entities with generated ids must not have an id;
+   * items of entities with natural keys (e.g. UCSBOrganization) must have one that is not in use.
+   *
+   * @param <E> the entity type
+   * @param <ID> the id type
+   * @param repository the repository for the entity
+   * @param type the entity class
+   * @param items the entities to insert
+   * @return the inserted entities, with their ids
+   * @throws BulkOperationException if any item is rejected
+   */
+  @Transactional
+  public <E, ID> List<E> create(CrudRepository<E, ID> repository, Class<E> type, List<E> items) {
+    checkSize(items);
+    IdField idField = idField(type);
+    List<BulkItemError> errors = new ArrayList<>();
+    if (idField.generated) {
+      for (int i = 0; i < items.size(); i++) {
+        E item = items.get(i);
+        if (item == null) {
+          errors.add(error(i, null, "item is missing"));
+        } else if (!isUnset(idField.get(item))) {
+          errors.add(error(i, idField.get(item), "id must not be given; it is generated"));
+        }
+      }
+    } else {
+      Map<ID, Integer> keys = uniqueIds(items, idField, errors);
+      for (E existing : repository.findAllById(keys.keySet())) {
+        Object id = idField.get(existing);
+        errors.add(
+            error(
+                keys.get(id),
+                id,
+                "%s with id %s already exists".formatted(type.getSimpleName(), id)));
+      }
+    }
+    throwIfAny(errors, items.size());
+    items.forEach(entityManager::persist);
+    return items;
+  }
+
+  /**
+   * This method replaces existing entities with the given ones; each item is matched to an existing
+   * entity by its id.
+   *
+   * @param <E> the entity type
+   * @param <ID> the id type
+   * @param repository the repository for the entity
+   * @param type the entity class
+   * @param items the new values of the entities
+   * @return the updated entities
+   * @throws BulkOperationException if any item is rejected, e.g. because its id is not found
+   */
+  @Transactional
+  public <E, ID> List<E> update(CrudRepository<E, ID> repository, Class<E> type, List<E> items) {
+    checkSize(items);
+    IdField idField = idField(type);
+    List<BulkItemError> errors = new ArrayList<>();
+    Map<ID, Integer> keys = uniqueIds(items, idField, errors);
+    addNotFound(repository, type, keys, idField, errors);
+    throwIfAny(errors, items.size());
+    // the existing rows are now in the persistence context, so merge does not query again
+    return items.stream().map(entityManager::merge).toList();
+  }
+
+  /**
+   * This method deletes existing entities.
+   *
+   * @param <E> the entity type
+   * @param <ID> the id type
+   * @param repository the repository for the entity
+   * @param type the entity class
+   * @param ids the ids of the entities to delete
+   * @return the number of entities deleted
+   * @throws BulkOperationException if any id is rejected, e.g. because it is not found
+   */
+  @Transactional
+  public <E, ID> int delete(CrudRepository<E, ID> repository, Class<E> type, List<ID> ids) {
+    checkSize(ids);
+    IdField idField = idField(type);
+    List<BulkItemError> errors = new ArrayList<>();
+    Map<ID, Integer> keys = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      addKey(keys, ids.get(i), i, errors);
+    }
+    List<E> existing = addNotFound(repository, type, keys, idField, errors);
+    throwIfAny(errors, ids.size());
+    repository.deleteAll(existing);
+    return existing.size();
+  }
+
+  private void checkSize(List<?> items) {
+    if (items.size() > maxItems) {
+      throw new BadRequestException(
+          "a bulk request may contain at most %d items, not %d".formatted(maxItems, items.size()));
+    }
+  }
+
+  /**
+   * Collects the ids of the items, rejecting items that are missing or have no or a repeated id.
+   */
+  @SuppressWarnings("unchecked")
+  private <E, ID> Map<ID, Integer> uniqueIds(
+      List<E> items, IdField idField, List<BulkItemError> errors) {
+    Map<ID, Integer> keys = new HashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      E item = items.get(i);
+      if (item == null) {
+        errors.add(error(i, null, "item is missing"));
+      } else {
+        addKey(keys, (ID) idField.get(item), i, errors);
+      }
+    }
+    return keys;
+  }
+
+  private static <ID> void addKey(
+      Map<ID, Integer> keys, ID id, int index, List<BulkItemError> errors) {
+    if (isUnset(id)) {
+      errors.add(error(index, null, "id is required"));
+    } else if (keys.putIfAbsent(id, index) != null) {
+      errors.add(error(index, id, "id %s appears more than once".formatted(id)));
+    }
+  }
+
+  /** Loads the entities with the given ids, rejecting the ids that are not found. */
+  private <E, ID> List<E> addNotFound(
+      CrudRepository<E, ID> repository,
+      Class<E> type,
+      Map<ID, Integer> keys,
+      IdField idField,
+      List<BulkItemError> errors) {
+    List<E> existing = new ArrayList<>();
+    Set<Object> found = new HashSet<>();
+    for (E entity : repository.findAllById(keys.keySet())) {
+      existing.add(entity);
+      found.add(idField.get(entity));
+    }
+    keys.forEach(
+        (id, index) -> {
+          if (!found.contains(id)) {
+            errors.add(error(index, id, new EntityNotFoundException(type, id).getMessage()));
+          }
+        });
+    return existing;
+  }
+
+  private static void throwIfAny(List<BulkItemError> errors, int itemCount) {
+    if (!errors.isEmpty()) {
+      errors.sort(Comparator.comparingInt(BulkItemError::getIndex));
+      throw new BulkOperationException(errors, itemCount);
+    }
+  }
+
+  private static BulkItemError error(int index, Object id, String message) {
+    return BulkItemError.builder()
+        .index(index)
+        .id(id == null ? null : id.toString())
+        .message(message)
+        .build();
+  }
+
+  // a generated id that has not been assigned yet is null, or 0 for a primitive
+  private static boolean isUnset(Object id) {
+    return id == null
+        || (id instanceof Number number && number.longValue() == 0)
+        || (id instanceof String string && string.isBlank());
+  }
+
+  private IdField idField(Class<?> type) {
+    return idFields.computeIfAbsent(type, IdField::new);
+  }
+
+  /** The field annotated with @Id in an entity class, read through its getter. */
+  private static final class IdField {
+    private final Method getter;
+    private final boolean generated;
+
+    IdField(Class<?> type) {
+      Field[] idField = new Field[1];
+      ReflectionUtils.doWithFields(type, f -> idField[0] = f, f -> f.isAnnotationPresent(Id.class));
+      if (idField[0] == null) {
+        throw new IllegalArgumentException(type.getName() + " has no @Id field");
+      }
+      this.getter = BeanUtils.getPropertyDescriptor(type, idField[0].getName()).getReadMethod();
+      this.generated = idField[0].isAnnotationPresent(GeneratedValue.class);
+    }
+
+    Object get(Object entity) {
+      return ReflectionUtils.invokeMethod(getter, entity);
+    }
+  }
+}
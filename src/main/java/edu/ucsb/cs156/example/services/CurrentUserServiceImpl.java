@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.services;
 
 import edu.ucsb.cs156.example.entities.User;
 import edu.ucsb.cs156.example.models.CurrentUser;
+import edu.ucsb.cs156.example.models.SignedTokenAuthentication;
 import edu.ucsb.cs156.example.repositories.UserRepository;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -42,7 +43,10 @@ public class CurrentUserServiceImpl extends CurrentUserService {
    */
   public CurrentUser getCurrentUser() {
     CurrentUser cu = CurrentUser.builder().user(this.getUser()).roles(this.getRoles()).build();
-    log.info("getCurrentUser returns {}", cu);
+    log.atDebug()
+        .addKeyValue("email", () -> cu.getUser() == null ? null : cu.getUser().getEmail())
+        .addKeyValue("roles", cu::getRoles)
+        .log("getCurrentUser");
     return cu;
   }
 
@@ -70,8 +74,11 @@ public class CurrentUserServiceImpl extends CurrentUserService {
     String locale = oAuthUser.getAttribute("locale");
     String hostedDomain = oAuthUser.getAttribute("hd");
 
-    java.util.Map<java.lang.String, java.lang.Object> attrs = oAuthUser.getAttributes();
-    log.info("attrs={}", attrs);
+    // only the attribute names; the values are personal data
+    log.atDebug()
+        .addKeyValue("email", email)
+        .addKeyValue("attributes", () -> oAuthUser.getAttributes().keySet())
+        .log("OAuth2 user");
 
     Optional<User> ou = userRepository.findByEmail(email);
     if (ou.isPresent()) {
@@ -112,6 +119,10 @@ public class CurrentUserServiceImpl extends CurrentUserService {
     if (authentication instanceof OAuth2AuthenticationToken) {
       return getOAuth2AuthenticatedUser(securityContext, authentication);
     }
+    if (authentication instanceof SignedTokenAuthentication signedToken) {
+      // stateless profile: the token already carries everything we need
+      return signedToken.getClaims().toUser();
+    }
     return null;
   }
 
@@ -0,0 +1,127 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.repositories.SingleRowRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * This is the base class of the services that the entity controllers read and write through, one
+ * per entity.
+ *
+ * <p>Every method runs in a single transaction, so a request checks out one database connection
+ * however many statements it runs. Reads are read-only transactions: Spring tells Hibernate to load
+ * entities read-only and sets the flush mode to MANUAL, so no snapshots are kept for dirty checking
+ * and nothing is flushed at commit. Writes run in read-write transactions.
+ *
+ * @param <E> the entity type
+ * @param <ID> the type of the entity's id
+ * @param <R> the repository for the entity
+ */
+@Transactional(readOnly = true)
+public abstract class EntityService<
+    E,
+    ID,
+    R extends
+        CrudRepository<E, ID> & PagingAndSortingRepository<E, ID> & SingleRowRepository<E, ID>> {
+
+  private final Class<E> entityClass;
+  protected final R repository;
+  private final TableVersionService tableVersionService;
+
+  /**
+   * Constructor for the service
+   *
+   * @param entityClass the entity class
+   * @param repository the repository for the entity
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  protected EntityService(
+      Class<E> entityClass, R repository, TableVersionService tableVersionService) {
+    this.entityClass = entityClass;
+    this.repository = repository;
+    this.tableVersionService = tableVersionService;
+  }
+
+  /**
+   * This method returns one page of entities.
+   *
+   * @param pageable the page, page size and sort order
+   * @return the page of entities, with the total count
+   */
+  public Page<E> findAll(Pageable pageable) {
+    return repository.findAll(pageable);
+  }
+
+  /**
+   * This method returns a single entity.
+   *
+   * @param id the id of the entity
+   * @return the entity
+   * @throws EntityNotFoundException if there is no such entity
+   */
+  public E findById(ID id) {
+    return repository.findById(id).orElseThrow(() -> new EntityNotFoundException(entityClass, id));
+  }
+
+  /**
+   * This method inserts a new entity.
+   *
+   * @param entity the entity to insert
+   * @return the saved entity (with its id set, if it is generated)
+   */
+  @Transactional
+  public E create(E entity) {
+    return repository.save(entity);
+  }
+
+  /**
+   * This method replaces the fields of an existing entity with a single UPDATE statement.
+   *
+   * @param id the id of the entity
+   * @param incoming the new values (its id is ignored)
+   * @throws EntityNotFoundException if there is no such entity
+   */
+  @Transactional
+  public void update(ID id, E incoming) {
+    if (!rowChanged(repository.updateOneById(id, incoming))) {
+      throw new EntityNotFoundException(entityClass, id);
+    }
+  }
+
+  /**
+   * This method deletes an entity with a single DELETE statement, if it exists.
+   *
+   * @param id the id of the entity
+   * @return true if the entity was deleted, false if there was no such entity
+   */
+  @Transactional
+  public boolean deleteIfExists(ID id) {
+    return rowChanged(repository.deleteOneById(id));
+  }
+
+  /**
+   * This method deletes an existing entity with a single DELETE statement.
+   *
+   * @param id the id of the entity
+   * @throws EntityNotFoundException if there is no such entity
+   */
+  @Transactional
+  public void delete(ID id) {
+    if (!deleteIfExists(id)) {
+      throw new EntityNotFoundException(entityClass, id);
+    }
+  }
+
+  // statements run through SingleRowRepository bypass the entity listeners
+  private boolean rowChanged(int rows) {
+    if (rows == 0) {
+      return false;
+    }
+    tableVersionService.bump(entityClass);
+    return true;
+  }
+}
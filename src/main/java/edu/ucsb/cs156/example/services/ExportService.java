@@ -0,0 +1,209 @@
+package edu.ucsb.cs156.example.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.repositories.ArticleRepository;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.repositories.StreamingRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * This is a service that exports a whole table as JSON with constant memory use.
+ *
+ * <p>Rows are read with {@link StreamingRepository#streamAll()} (a JDBC fetch size, read-only
+ * entities) inside a read-only transaction, written to the response one at a time, and detached
+ * from the persistence context as soon as they have been written, so neither the persistence
+ * context nor the response body grows with the size of the table.
+ */
+@Slf4j
+@Service("exportService")
+public class ExportService {
+
+  /** The formats an export can be written in. */
+  public enum Format {
+    /** a single JSON array */
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    /** newline delimited JSON: one object per line */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    Format(MediaType mediaType, String extension) {
+      this.mediaType = mediaType;
+      this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+      return mediaType;
+    }
+
+    public String getExtension() {
+      return extension;
+    }
+
+    /**
+     * This method looks up a format by its name, ignoring case.
+     *
+     * @param name "json" or "ndjson"
+     * @return the format
+     * @throws BadRequestException if there is no such format
+     */
+    public static Format of(String name) {
+      for (Format format : values()) {
+        if (format.extension.equalsIgnoreCase(name)) {
+          return format;
+        }
+      }
+      throw new BadRequestException("format must be json or ndjson");
+    }
+  }
+
+  private final Map<String, StreamingRepository<?, ?>> repositories = new TreeMap<>();
+
+  private final ObjectMapper mapper;
+
+  private final EntityManager entityManager;
+
+  private final TransactionTemplate readOnlyTransaction;
+
+  /**
+   * Constructor for the service; the repositories are keyed by the same names as their controllers'
+   * URLs (e.g. menuitemreview for /api/menuitemreview).
+   *
+   * @param mapper used to write the entities
+   * @param entityManager used to detach entities once written
+   * @param transactionManager used to run each export in a read-only transaction
+   * @param articleRepository exported as articles
+   * @param helpRequestRepository exported as helprequest
+   * @param menuItemReviewRepository exported as menuitemreview
+   * @param recommendationRequestRepository exported as recommendationrequest
+   * @param restaurantRepository exported as restaurants
+   * @param ucsbDateRepository exported as ucsbdates
+   * @param ucsbDiningCommonsRepository exported as ucsbdiningcommons
+   * @param ucsbDiningCommonsMenuItemRepository exported as ucsbdiningcommonsmenuitem
+   * @param ucsbOrganizationRepository exported as ucsborganization
+   */
+  public ExportService(
+      ObjectMapper mapper,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      ArticleRepository articleRepository,
+      HelpRequestRepository helpRequestRepository,
+      MenuItemReviewRepository menuItemReviewRepository,
+      RecommendationRequestRepository recommendationRequestRepository,
+      RestaurantRepository restaurantRepository,
+      UCSBDateRepository ucsbDateRepository,
+      UCSBDiningCommonsRepository ucsbDiningCommonsRepository,
+      UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository,
+      UCSBOrganizationRepository ucsbOrganizationRepository) {
+    this.mapper = mapper;
+    this.entityManager = entityManager;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    repositories.put("articles", articleRepository);
+    repositories.put("helprequest", helpRequestRepository);
+    repositories.put("menuitemreview", menuItemReviewRepository);
+    repositories.put("recommendationrequest", recommendationRequestRepository);
+    repositories.put("restaurants", restaurantRepository);
+    repositories.put("ucsbdates", ucsbDateRepository);
+    repositories.put("ucsbdiningcommons", ucsbDiningCommonsRepository);
+    repositories.put("ucsbdiningcommonsmenuitem", ucsbDiningCommonsMenuItemRepository);
+    repositories.put("ucsborganization", ucsbOrganizationRepository);
+  }
+
+  /**
+   * This method returns the names of the tables that can be exported.
+   *
+   * @return resource names, in alphabetical order
+   */
+  public Iterable<String> getResources() {
+    return repositories.keySet();
+  }
+
+  /**
+   * This method prepares the export of a whole table. Nothing is read until the returned body is
+   * written, which Spring MVC does on another thread after the controller has returned.
+   *
+   * @param resource the name of the table, e.g. menuitemreview
+   * @param format how to write the rows
+   * @return the response body
+   * @throws BadRequestException if there is no such resource
+   */
+  public StreamingResponseBody export(String resource, Format format) {
+    StreamingRepository<?, ?> repository = repositories.get(resource);
+    if (repository == null) {
+      throw new BadRequestException(
+          "cannot export '%s'; resource must be one of %s"
+              .formatted(resource, repositories.keySet()));
+    }
+    return out -> {
+      long count =
+          readOnlyTransaction.execute(
+              status -> {
+                try (Stream<?> rows = repository.streamAll()) {
+                  return write(rows, format, out);
+                }
+              });
+      log.debug("exported {} {} rows as {}", count, resource, format);
+    };
+  }
+
+  /**
+   * This method writes rows to a stream, detaching each entity once it has been written.
+   *
+   * @param rows the rows to write
+   * @param format how to write them
+   * @param out where to write them
+   * @return number of rows written
+   */
+  long write(Stream<?> rows, Format format, OutputStream out) {
+    try (JsonGenerator generator = mapper.createGenerator(out)) {
+      // the response stream is closed by Spring, and NDJSON lines are separated by newlines only
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // an export that fails part way must not end with a "]" that makes it look complete
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      generator.setRootValueSeparator(null);
+      long count = 0;
+      if (format == Format.JSON) {
+        generator.writeStartArray();
+      }
+      for (Iterator<?> it = rows.iterator(); it.hasNext(); count++) {
+        Object row = it.next();
+        generator.writeObject(row);
+        if (format == Format.NDJSON) {
+          generator.writeRaw('\n');
+        }
+        entityManager.detach(row);
+      }
+      if (format == Format.JSON) {
+        generator.writeEndArray();
+      }
+      return count;
+    } catch (IOException e) {
+      // e.g. the client went away; rolls back the (read-only) transaction and closes the stream
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -9,8 +9,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 /**
- * The is a service that retrieves and logs the granted authorities for the current user's
- * authentication.
+ * The is a service that retrieves (and logs at DEBUG) the granted authorities for the current
+ * user's authentication.
  */
 @Slf4j
 @Service("grantedAuthorities")
@@ -26,7 +26,7 @@ public class GrantedAuthoritiesService {
     SecurityContext securityContext = SecurityContextHolder.getContext();
     Authentication authentication = securityContext.getAuthentication();
     Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-    log.info("authorities={}", authorities);
+    log.atDebug().addKeyValue("authorities", authorities).log("getGrantedAuthorities");
     return authorities;
   }
 }
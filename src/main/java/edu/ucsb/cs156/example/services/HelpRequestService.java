@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes help requests; see EntityService. */
+@Service("helpRequestService")
+public class HelpRequestService extends EntityService<HelpRequest, Long, HelpRequestRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for help requests
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public HelpRequestService(
+      HelpRequestRepository repository, TableVersionService tableVersionService) {
+    super(HelpRequest.class, repository, tableVersionService);
+  }
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes menu item reviews; see EntityService. */
+@Service("menuItemReviewService")
+public class MenuItemReviewService
+    extends EntityService<MenuItemReview, Long, MenuItemReviewRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for menu item reviews
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public MenuItemReviewService(
+      MenuItemReviewRepository repository, TableVersionService tableVersionService) {
+    super(MenuItemReview.class, repository, tableVersionService);
+  }
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes recommendation requests; see EntityService. */
+@Service("recommendationRequestService")
+public class RecommendationRequestService
+    extends EntityService<RecommendationRequest, Long, RecommendationRequestRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for recommendation requests
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public RecommendationRequestService(
+      RecommendationRequestRepository repository, TableVersionService tableVersionService) {
+    super(RecommendationRequest.class, repository, tableVersionService);
+  }
+}
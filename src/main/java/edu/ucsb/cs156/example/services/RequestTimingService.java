@@ -0,0 +1,231 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.models.HandlerTimingSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+/**
+ * This is a service that records the latency of controller handler methods.
+ *
+ * <p>Each handler gets an HDR histogram (served at /api/admin/timings) and a set of Micrometer
+ * timers named {@value #TIMER_NAME}, tagged with the handler, the outcome and the exception type.
+ * Everything a handler needs is created the first time it is seen; after that, recording a call
+ * only updates existing histograms, counters and timers and does not allocate.
+ */
+@Service("requestTimingService")
+public class RequestTimingService {
+
+  public static final String TIMER_NAME = "app.handler.latency";
+
+  // values are recorded in microseconds; anything slower than a minute is clamped
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  // controller class -> its @ExceptionHandler methods, as Spring MVC looks them up
+  private static final Map<Class<?>, ExceptionHandlerMethodResolver> EXCEPTION_HANDLERS =
+      new ConcurrentHashMap<>();
+
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  @Autowired MeterRegistry meterRegistry;
+
+  private final Map<Method, HandlerTimings> handlers = new ConcurrentHashMap<>();
+
+  /**
+   * This method records one call of a handler method.
+   *
+   * @param handler the controller method that handled the request
+   * @param elapsedNanos how long the call took
+   * @param status the HTTP status of the response
+   * @param exception the exception thrown by the handler, or null
+   */
+  public void record(Method handler, long elapsedNanos, int status, Throwable exception) {
+    HandlerTimings timings = handlers.get(handler);
+    if (timings == null) {
+      timings = handlers.computeIfAbsent(handler, this::newTimings);
+    }
+    timings.record(elapsedNanos, Outcome.forStatus(status), exception);
+  }
+
+  /**
+   * This method returns a summary of every handler recorded so far, slowest (by p99) first.
+   *
+   * @return list of summaries
+   */
+  public List<HandlerTimingSummary> getSummaries() {
+    List<HandlerTimingSummary> summaries = new ArrayList<>();
+    handlers.values().forEach(t -> summaries.add(t.summary()));
+    summaries.sort(Comparator.comparingDouble(HandlerTimingSummary::getP99Ms).reversed());
+    return summaries;
+  }
+
+  /** This method clears the histograms and counters (the Micrometer timers are kept). */
+  public void reset() {
+    handlers.values().forEach(HandlerTimings::reset);
+  }
+
+  /**
+   * This method works out the HTTP status of a handler call from what the handler returned or
+   * threw, since the status of a ResponseEntity or of a handled exception is only applied to the
+   * servlet response after the handler returns.
+   *
+   * <p>An exception is resolved the way Spring MVC resolves it: by the status of an ErrorResponse,
+   * then by the <code>@ResponseStatus</code> of the <code>@ExceptionHandler</code> method of the
+   * controller (e.g. those of ApiController) that handles it, then by a <code>@ResponseStatus
+   * </code> on the exception class. AccessDeniedException is answered with 403 by Spring Security.
+   * Anything else is a 500.
+   *
+   * @param handler the controller method that was called
+   * @param result the value returned by the handler (null if it threw)
+   * @param responseStatus the status currently set on the servlet response
+   * @param exception the exception thrown by the handler, or null
+   * @return the (expected) HTTP status of the response
+   */
+  public static int statusOf(
+      Method handler, Object result, int responseStatus, Throwable exception) {
+    if (exception instanceof ErrorResponse errorResponse) {
+      return errorResponse.getStatusCode().value();
+    }
+    if (exception instanceof AccessDeniedException) {
+      return 403;
+    }
+    if (exception != null) {
+      Method exceptionHandler =
+          EXCEPTION_HANDLERS
+              .computeIfAbsent(handler.getDeclaringClass(), ExceptionHandlerMethodResolver::new)
+              .resolveMethodByThrowable(exception);
+      ResponseStatus status =
+          exceptionHandler == null
+              ? AnnotatedElementUtils.findMergedAnnotation(
+                  exception.getClass(), ResponseStatus.class)
+              : AnnotatedElementUtils.findMergedAnnotation(exceptionHandler, ResponseStatus.class);
+      return status == null ? 500 : status.code().value();
+    }
+    if (result instanceof ResponseEntity<?> responseEntity) {
+      return responseEntity.getStatusCode().value();
+    }
+    return responseStatus;
+  }
+
+  private HandlerTimings newTimings(Method handler) {
+    return new HandlerTimings(
+        handler.getDeclaringClass().getSimpleName() + "." + handler.getName(), meterRegistry);
+  }
+
+  /** Histogram, counters and timers for a single handler method. */
+  static final class HandlerTimings {
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+    private final LongAdder[] outcomeCounts = new LongAdder[OUTCOMES.length];
+    private final Timer[] outcomeTimers = new Timer[OUTCOMES.length];
+    private final Map<Class<?>, ExceptionTimings> exceptions = new ConcurrentHashMap<>();
+
+    HandlerTimings(String name, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.meterRegistry = meterRegistry;
+      for (Outcome outcome : OUTCOMES) {
+        outcomeCounts[outcome.ordinal()] = new LongAdder();
+      }
+    }
+
+    void record(long elapsedNanos, Outcome outcome, Throwable exception) {
+      histogram.recordValue(
+          Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+      outcomeCounts[outcome.ordinal()].increment();
+      if (exception == null) {
+        Timer timer = outcomeTimers[outcome.ordinal()];
+        if (timer == null) {
+          // racing threads may both get here; register() returns the same timer to both
+          timer = outcomeTimers[outcome.ordinal()] = timer(outcome, "None");
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return;
+      }
+      ExceptionTimings e = exceptions.get(exception.getClass());
+      if (e == null) {
+        e =
+            exceptions.computeIfAbsent(
+                exception.getClass(), type -> new ExceptionTimings(this, outcome, type));
+      }
+      e.count.increment();
+      e.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    Timer timer(Outcome outcome, String exception) {
+      return Timer.builder(TIMER_NAME)
+          .description("Latency of controller handler methods")
+          .tag("handler", name)
+          .tag("outcome", outcome.name())
+          .tag("exception", exception)
+          .register(meterRegistry);
+    }
+
+    void reset() {
+      histogram.reset();
+      for (LongAdder count : outcomeCounts) {
+        count.reset();
+      }
+      exceptions.values().forEach(e -> e.count.reset());
+    }
+
+    HandlerTimingSummary summary() {
+      Histogram snapshot = histogram.copy();
+      Map<String, Long> outcomes = new TreeMap<>();
+      for (Outcome outcome : OUTCOMES) {
+        long count = outcomeCounts[outcome.ordinal()].sum();
+        if (count > 0) {
+          outcomes.put(outcome.name(), count);
+        }
+      }
+      Map<String, Long> exceptionCounts = new TreeMap<>();
+      exceptions.forEach(
+          (type, e) -> {
+            long count = e.count.sum();
+            if (count > 0) {
+              exceptionCounts.put(type.getSimpleName(), count);
+            }
+          });
+      return HandlerTimingSummary.builder()
+          .handler(name)
+          .count(snapshot.getTotalCount())
+          .outcomes(outcomes)
+          .exceptions(exceptionCounts)
+          .meanMs(snapshot.getMean() / 1000.0)
+          .p50Ms(snapshot.getValueAtPercentile(50) / 1000.0)
+          .p95Ms(snapshot.getValueAtPercentile(95) / 1000.0)
+          .p99Ms(snapshot.getValueAtPercentile(99) / 1000.0)
+          .maxMs(snapshot.getMaxValue() / 1000.0)
+          .build();
+    }
+  }
+
+  /** Counter and timer for one exception type thrown by a handler. */
+  static final class ExceptionTimings {
+    private final LongAdder count = new LongAdder();
+    private final Timer timer;
+
+    ExceptionTimings(HandlerTimings handler, Outcome outcome, Class<?> type) {
+      this.timer = handler.timer(outcome, type.getSimpleName());
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes restaurants; see EntityService. */
+@Service("restaurantService")
+public class RestaurantService extends EntityService<Restaurant, Long, RestaurantRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for restaurants
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public RestaurantService(
+      RestaurantRepository repository, TableVersionService tableVersionService) {
+    super(Restaurant.class, repository, tableVersionService);
+  }
+}
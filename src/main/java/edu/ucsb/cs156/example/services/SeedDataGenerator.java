@@ -0,0 +1,225 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * This class makes up plausible entities for performance testing. The values are drawn from a
+ * random number generator seeded with the given seed, so the same seed always produces the same
+ * entities, in the same order. The exception is the menu item a review refers to: it is picked from
+ * the ids it is given, which are the ids the database assigned to the new menu items, so the same
+ * seed gives the same reviews only when the database starts out empty.
+ *
+ * <p>Each kind of entity has a generator of its own, split from the seed, so how many entities of
+ * one kind are made does not change the entities of another kind.
+ */
+public class SeedDataGenerator {
+
+  private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+  private static final long SPAN_SECONDS = 4L * 365 * 24 * 60 * 60;
+  private static final int STUDENTS = 20_000;
+
+  private static final String[] DINING_COMMONS = {"carrillo", "de-la-guerra", "ortega", "portola"};
+  private static final String[] STATIONS = {
+    "Grill", "Pizza", "Salad Bar", "Deli", "Entrees", "Desserts", "International", "Vegan"
+  };
+  private static final String[] ADJECTIVES = {
+    "Grilled", "Roasted", "Spicy", "Crispy", "Vegan", "Baked", "Smoked", "Steamed", "Fresh",
+    "Classic"
+  };
+  private static final String[] DISHES = {
+    "Chicken",
+    "Tofu",
+    "Salmon",
+    "Burrito",
+    "Pasta",
+    "Pizza",
+    "Curry",
+    "Tacos",
+    "Salad",
+    "Noodles",
+    "Burger",
+    "Soup",
+    "Rice Bowl",
+    "Sandwich",
+    "Quesadilla",
+    "Dumplings"
+  };
+  // cumulative percentages of 1 to 5 stars; most reviews are 4 or 5 stars
+  private static final int[] STARS = {5, 15, 35, 70, 100};
+  private static final String[] QUARTERS = {"w25", "s25", "f25"};
+  private static final String[] WORDS = {
+    "the",
+    "a",
+    "was",
+    "really",
+    "not",
+    "very",
+    "good",
+    "tasty",
+    "cold",
+    "warm",
+    "bland",
+    "salty",
+    "portion",
+    "line",
+    "staff",
+    "friendly",
+    "again",
+    "would",
+    "order",
+    "too",
+    "fresh",
+    "sauce",
+    "loop",
+    "recursion",
+    "pointer",
+    "test",
+    "fails",
+    "merge",
+    "conflict",
+    "deploy",
+    "error",
+    "stuck",
+    "on",
+    "with",
+    "our",
+    "my",
+    "team",
+    "lab",
+    "help",
+    "please",
+    "why",
+    "does",
+    "this"
+  };
+
+  private final SplittableRandom menuItemRandom;
+  private final SplittableRandom menuItemReviewRandom;
+  private final SplittableRandom helpRequestRandom;
+  private final SplittableRandom jobRandom;
+
+  /**
+   * Constructor for the generator
+   *
+   * @param seed the seed the values are drawn from
+   */
+  public SeedDataGenerator(long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    menuItemRandom = random.split();
+    menuItemReviewRandom = random.split();
+    helpRequestRandom = random.split();
+    jobRandom = random.split();
+  }
+
+  /**
+   * This method makes up the next menu item.
+   *
+   * @return a menu item, without an id
+   */
+  public UCSBDiningCommonsMenuItem menuItem() {
+    SplittableRandom random = menuItemRandom;
+    return UCSBDiningCommonsMenuItem.builder()
+        .diningCommonsCode(pick(random, DINING_COMMONS))
+        .name(pick(random, ADJECTIVES) + " " + pick(random, DISHES))
+        .station(pick(random, STATIONS))
+        .build();
+  }
+
+  /**
+   * This method makes up the next review.
+   *
+   * @param itemIds the ids of the menu items that may be reviewed; if empty, ids from 1 to 1000
+   * @return a review, without an id
+   */
+  public MenuItemReview menuItemReview(List<Long> itemIds) {
+    SplittableRandom random = menuItemReviewRandom;
+    int percentile = random.nextInt(100);
+    int stars = 1;
+    while (percentile >= STARS[stars - 1]) {
+      stars++;
+    }
+    return MenuItemReview.builder()
+        .itemId(
+            itemIds.isEmpty()
+                ? 1 + random.nextLong(1000)
+                : itemIds.get(random.nextInt(itemIds.size())))
+        .reviewerEmail(student(random))
+        .stars(stars)
+        .dateReviewed(dateTime(random))
+        .comments(sentence(random, 3, 30))
+        .build();
+  }
+
+  /**
+   * This method makes up the next help request.
+   *
+   * @return a help request, without an id
+   */
+  public HelpRequest helpRequest() {
+    SplittableRandom random = helpRequestRandom;
+    return HelpRequest.builder()
+        .requesterEmail(student(random))
+        .teamId("%s-%02d".formatted(pick(random, QUARTERS), 1 + random.nextInt(20)))
+        .tableOrBreakoutRoom(
+            random.nextBoolean()
+                ? "table " + (1 + random.nextInt(15))
+                : "breakout room " + (1 + random.nextInt(10)))
+        .requestTime(dateTime(random))
+        .explanation(sentence(random, 5, 40))
+        .solved(random.nextInt(100) < 85)
+        .build();
+  }
+
+  /**
+   * This method makes up the next job, as left behind by a job that has finished.
+   *
+   * @param logLines the number of lines in the job's log
+   * @return a job, without an id
+   */
+  public Job job(int logLines) {
+    SplittableRandom random = jobRandom;
+    boolean failed = random.nextInt(100) < 10;
+    StringBuilder log = new StringBuilder(logLines * 64);
+    for (int line = 1; line <= logLines; line++) {
+      if (line > 1) {
+        log.append('\n');
+      }
+      log.append("Processed item %d of %d: %s".formatted(line, logLines, sentence(random, 3, 8)));
+    }
+    return Job.builder()
+        .status(failed ? "error" : "complete")
+        .requestId(Long.toHexString(random.nextLong()))
+        .log(log.toString())
+        .build();
+  }
+
+  private static String pick(SplittableRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static String student(SplittableRandom random) {
+    return "student%05d@ucsb.edu".formatted(random.nextInt(STUDENTS));
+  }
+
+  private static LocalDateTime dateTime(SplittableRandom random) {
+    return START.plusSeconds(random.nextLong(SPAN_SECONDS));
+  }
+
+  private static String sentence(SplittableRandom random, int minWords, int maxWords) {
+    int words = minWords + random.nextInt(maxWords - minWords + 1);
+    StringBuilder sentence = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        sentence.append(' ');
+      }
+      sentence.append(pick(random, WORDS));
+    }
+    return sentence.toString();
+  }
+}
@@ -0,0 +1,127 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.SeedDataOptions;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.JobsRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This is a service that fills the database with synthetic data (see SeedDataGenerator), so that
+ * performance can be tried out on tables of realistic size.
+ *
+ * <p>Rows are inserted in chunks of CHUNK_SIZE, one transaction per chunk, so that the persistence
+ * context never holds more than one chunk and Hibernate sends the inserts in JDBC batches (see
+ * hibernate.jdbc.batch_size). The rows are added to whatever is already in the tables.
+ */
+@Service("seedDataService")
+public class SeedDataService {
+
+  static final int CHUNK_SIZE = 1000;
+
+  private final TransactionTemplate transaction;
+  private final UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+  private final MenuItemReviewRepository menuItemReviewRepository;
+  private final HelpRequestRepository helpRequestRepository;
+  private final JobsRepository jobsRepository;
+
+  /**
+   * Constructor for the service
+   *
+   * @param transactionManager used to insert each chunk in a transaction of its own
+   * @param ucsbDiningCommonsMenuItemRepository where menu items are inserted
+   * @param menuItemReviewRepository where menu item reviews are inserted
+   * @param helpRequestRepository where help requests are inserted
+   * @param jobsRepository where jobs are inserted
+   */
+  public SeedDataService(
+      PlatformTransactionManager transactionManager,
+      UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository,
+      MenuItemReviewRepository menuItemReviewRepository,
+      HelpRequestRepository helpRequestRepository,
+      JobsRepository jobsRepository) {
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.ucsbDiningCommonsMenuItemRepository = ucsbDiningCommonsMenuItemRepository;
+    this.menuItemReviewRepository = menuItemReviewRepository;
+    this.helpRequestRepository = helpRequestRepository;
+    this.jobsRepository = jobsRepository;
+  }
+
+  /**
+   * This method generates and inserts the rows asked for. Menu items are inserted first, so that
+   * the reviews can refer to them.
+   *
+   * @param options how many rows of each kind, and the seed
+   * @param progress told about progress, about every tenth of each table
+   */
+  public void seed(SeedDataOptions options, Consumer<String> progress) {
+    SeedDataGenerator generator = new SeedDataGenerator(options.getSeed());
+    List<Long> itemIds = new ArrayList<>();
+    insert(
+        "UCSBDiningCommonsMenuItems",
+        ucsbDiningCommonsMenuItemRepository,
+        options.getMenuItems(),
+        generator::menuItem,
+        (UCSBDiningCommonsMenuItem item) -> itemIds.add(item.getId()),
+        progress);
+    insert(
+        "MenuItemReviews",
+        menuItemReviewRepository,
+        options.getMenuItemReviews(),
+        () -> generator.menuItemReview(itemIds),
+        review -> {},
+        progress);
+    insert(
+        "HelpRequests",
+        helpRequestRepository,
+        options.getHelpRequests(),
+        generator::helpRequest,
+        request -> {},
+        progress);
+    insert(
+        "Jobs",
+        jobsRepository,
+        options.getJobs(),
+        () -> generator.job(options.getJobLogLines()),
+        job -> {},
+        progress);
+  }
+
+  private <E> void insert(
+      String name,
+      CrudRepository<E, ?> repository,
+      long count,
+      Supplier<E> next,
+      Consumer<E> inserted,
+      Consumer<String> progress) {
+    long start = System.nanoTime();
+    long reportEvery = Math.max(count / 10, CHUNK_SIZE);
+    long nextReport = reportEvery;
+    long done = 0;
+    while (done < count) {
+      int size = (int) Math.min(CHUNK_SIZE, count - done);
+      List<E> chunk = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        chunk.add(next.get());
+      }
+      transaction.executeWithoutResult(status -> repository.saveAll(chunk));
+      chunk.forEach(inserted);
+      done += size;
+      if (done >= nextReport || done == count) {
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        progress.accept(
+            "%s: inserted %d of %d (%d rows/s)".formatted(name, done, count, done * 1000 / millis));
+        nextReport += reportEvery;
+      }
+    }
+  }
+}
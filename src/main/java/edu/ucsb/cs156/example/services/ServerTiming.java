@@ -0,0 +1,174 @@
+package edu.ucsb.cs156.example.services;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * This class collects the time spent in each part of handling one API request, and formats it as a
+ * <code>Server-Timing</code> response header.
+ *
+ * <p>An instance is bound to the request thread by the ServerTimingFilter; the other hooks (the
+ * security chain, ServerTimingAspect, the DataSource proxy and the JSON message converter) look it
+ * up with {@link #current()} and do nothing when it is null, i.e. when server timing is disabled or
+ * the request is not an API request.
+ *
+ * <p>The header looks like <code>
+ * auth;dur=1.2, user;dur=0.4, db;dur=3.1;desc="2 queries", json;dur=0.8, total;dur=7.9</code>.
+ * Segments may overlap (e.g. db time spent looking up the current user is counted in both user and
+ * db); total runs from the start of the filter until the header is written.
+ */
+public final class ServerTiming {
+
+  public static final String HEADER = "Server-Timing";
+
+  private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+  /** The parts of a request that are timed separately. */
+  public enum Segment {
+    /** resolving the current user with CurrentUserService */
+    USER("user"),
+    /** time spent in Spring Data repository methods, including the SQL they run */
+    DB("db"),
+    /** writing the response body as JSON */
+    JSON("json");
+
+    private final String metric;
+
+    Segment(String metric) {
+      this.metric = metric;
+    }
+  }
+
+  private static final Segment[] SEGMENTS = Segment.values();
+
+  private final LongSupplier nanoClock;
+  private final long startNanos;
+  private long authNanos = -1;
+  private final long[] totals = new long[SEGMENTS.length];
+  private final long[] entered = new long[SEGMENTS.length];
+  private final int[] depth = new int[SEGMENTS.length];
+  private final boolean[] seen = new boolean[SEGMENTS.length];
+  private int queries;
+  private boolean written;
+
+  private ServerTiming(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    this.startNanos = nanoClock.getAsLong();
+  }
+
+  /**
+   * This method starts timing a request on the current thread.
+   *
+   * @return the new timing, which must be passed to {@link #finish()} when the request completes
+   */
+  public static ServerTiming start() {
+    return start(System::nanoTime);
+  }
+
+  static ServerTiming start(LongSupplier nanoClock) {
+    ServerTiming timing = new ServerTiming(nanoClock);
+    CURRENT.set(timing);
+    return timing;
+  }
+
+  /**
+   * This method returns the timing of the request running on the current thread.
+   *
+   * @return the timing, or null if the current thread is not timing a request
+   */
+  public static ServerTiming current() {
+    return CURRENT.get();
+  }
+
+  /** This method unbinds this timing from the current thread. */
+  public void finish() {
+    CURRENT.remove();
+  }
+
+  /** This method records that the security filter chain has authenticated the request. */
+  public void markAuthenticated() {
+    if (authNanos < 0) {
+      authNanos = nanoClock.getAsLong() - startNanos;
+    }
+  }
+
+  /**
+   * This method starts a segment. Nested calls for the same segment (e.g. one repository method
+   * calling another) are only counted once.
+   *
+   * @param segment the segment being entered
+   */
+  public void enter(Segment segment) {
+    int i = segment.ordinal();
+    if (depth[i]++ == 0) {
+      entered[i] = nanoClock.getAsLong();
+      seen[i] = true;
+    }
+  }
+
+  /**
+   * This method ends a segment started with {@link #enter(Segment)}.
+   *
+   * @param segment the segment being exited
+   */
+  public void exit(Segment segment) {
+    int i = segment.ordinal();
+    if (--depth[i] == 0) {
+      totals[i] += nanoClock.getAsLong() - entered[i];
+    }
+  }
+
+  /** This method counts one SQL statement executed by the request. */
+  public void countQuery() {
+    queries++;
+  }
+
+  /**
+   * This method formats the header value, with total measured up to now.
+   *
+   * @return the value for the Server-Timing header
+   */
+  public String header() {
+    StringBuilder header = new StringBuilder(128);
+    if (authNanos >= 0) {
+      append(header, "auth", authNanos);
+    }
+    for (Segment segment : SEGMENTS) {
+      if (seen[segment.ordinal()]) {
+        append(header, segment.metric, totals[segment.ordinal()]);
+        if (segment == Segment.DB) {
+          header
+              .append(";desc=\"")
+              .append(queries)
+              .append(queries == 1 ? " query\"" : " queries\"");
+        }
+      }
+    }
+    append(header, "total", nanoClock.getAsLong() - startNanos);
+    return header.toString();
+  }
+
+  /**
+   * This method returns whether the header has already been added to the response.
+   *
+   * @return true if {@link #setWritten()} has been called
+   */
+  public boolean isWritten() {
+    return written;
+  }
+
+  /** This method records that the header has been added to the response. */
+  public void setWritten() {
+    written = true;
+  }
+
+  private static void append(StringBuilder header, String metric, long nanos) {
+    if (!header.isEmpty()) {
+      header.append(", ");
+    }
+    header
+        .append(metric)
+        .append(";dur=")
+        .append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+  }
+}
@@ -0,0 +1,214 @@
+package edu.ucsb.cs156.example.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.TokenClaims;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+/**
+ * This is a service that issues and verifies short-lived, HMAC-signed API tokens.
+ *
+ * <p>It is only active in the <code>stateless</code> profile. A token has the form <code>
+ * base64url(keyId) + "." + base64url(claims json) + "." + base64url(hmac-sha256)</code>, where the
+ * signature covers the first two parts. The key id is read from the first part, so that the
+ * signature is checked before the claims are parsed; nothing a client sends is deserialized unless
+ * it was signed with one of our keys. Verifying a token only requires checking the signature, the
+ * expiry and a small in-memory deny list, so requests that carry one need neither a session nor a
+ * database lookup.
+ *
+ * <p>Keys are configured as a list of <code>keyId:secret</code> entries in <code>
+ * app.token.signingKeys</code>. The first entry signs new tokens; the others are only used to
+ * verify tokens issued before a rotation. Individual tokens and whole keys can be revoked at
+ * runtime.
+ */
+@Slf4j
+@Service("signedTokenService")
+@Profile("stateless")
+public class SignedTokenService {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+
+  private final String activeKeyId;
+
+  private final long ttlSeconds;
+
+  private final Clock clock;
+
+  // tokenId -> expiresAt; entries are dropped once the token would have expired anyway
+  private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+
+  private final Set<String> revokedKeyIds = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructor for the service; the parameters are injected from properties.
+   *
+   * @param signingKeys list of <code>keyId:secret</code> entries; the first one is active. When
+   *     empty, a random key is generated, so tokens do not survive a restart.
+   * @param ttlSeconds how long an issued token remains valid
+   * @param clock clock used for issue and expiry times
+   */
+  public SignedTokenService(
+      @Value("${app.token.signingKeys:}") List<String> signingKeys,
+      @Value("${app.token.ttlSeconds:900}") long ttlSeconds,
+      Optional<Clock> clock) {
+    for (String entry : signingKeys) {
+      int colon = entry.indexOf(':');
+      if (colon <= 0 || colon == entry.length() - 1) {
+        throw new IllegalArgumentException("app.token.signingKeys entries must be keyId:secret");
+      }
+      keys.put(
+          entry.substring(0, colon),
+          new SecretKeySpec(
+              entry.substring(colon + 1).getBytes(StandardCharsets.UTF_8), ALGORITHM));
+    }
+    if (keys.isEmpty()) {
+      byte[] secret = new byte[32];
+      new SecureRandom().nextBytes(secret);
+      keys.put("generated", new SecretKeySpec(secret, ALGORITHM));
+      log.warn("app.token.signingKeys is empty; using a generated key");
+    }
+    this.activeKeyId = keys.keySet().iterator().next();
+    this.ttlSeconds = ttlSeconds;
+    this.clock = clock.orElse(Clock.systemUTC());
+  }
+
+  /**
+   * This method issues a token for a user.
+   *
+   * @param user the user the token is issued to
+   * @param authorities the authorities computed at login (e.g. by the userAuthoritiesMapper)
+   * @return the signed token
+   * @throws JsonProcessingException if the claims cannot be serialized
+   * @throws GeneralSecurityException if the token cannot be signed
+   */
+  public String issue(User user, Collection<? extends GrantedAuthority> authorities)
+      throws JsonProcessingException, GeneralSecurityException {
+    long now = clock.instant().getEpochSecond();
+    List<String> roles = new ArrayList<>();
+    authorities.forEach(a -> roles.add(a.getAuthority()));
+    TokenClaims claims =
+        TokenClaims.builder()
+            .keyId(activeKeyId)
+            .tokenId(UUID.randomUUID().toString())
+            .userId(user.getId())
+            .email(user.getEmail())
+            .fullName(user.getFullName())
+            .pictureUrl(user.getPictureUrl())
+            .roles(roles)
+            .issuedAt(now)
+            .expiresAt(now + ttlSeconds)
+            .build();
+    String signed =
+        ENCODER.encodeToString(activeKeyId.getBytes(StandardCharsets.UTF_8))
+            + "."
+            + ENCODER.encodeToString(mapper.writeValueAsBytes(claims));
+    return signed + "." + ENCODER.encodeToString(sign(keys.get(activeKeyId), signed));
+  }
+
+  /**
+   * This method verifies a token.
+   *
+   * @param token the token, as presented by the client
+   * @return the claims, or empty if the token is malformed, forged, expired or revoked
+   */
+  public Optional<TokenClaims> verify(String token) {
+    if (token == null) {
+      return Optional.empty();
+    }
+    String[] parts = token.split("\\.", -1);
+    if (parts.length != 3) {
+      return Optional.empty();
+    }
+    try {
+      String keyId = new String(DECODER.decode(parts[0]), StandardCharsets.UTF_8);
+      SecretKeySpec key = keys.get(keyId);
+      if (key == null || revokedKeyIds.contains(keyId)) {
+        return Optional.empty();
+      }
+      byte[] signature = DECODER.decode(parts[2]);
+      if (!MessageDigest.isEqual(sign(key, parts[0] + "." + parts[1]), signature)) {
+        return Optional.empty();
+      }
+      // only now that the signature is known to be ours are the claims parsed
+      TokenClaims claims = mapper.readValue(DECODER.decode(parts[1]), TokenClaims.class);
+      if (!keyId.equals(claims.getKeyId())
+          || claims.getExpiresAt() <= clock.instant().getEpochSecond()
+          || revokedTokenIds.containsKey(claims.getTokenId())) {
+        return Optional.empty();
+      }
+      return Optional.of(claims);
+    } catch (Exception e) {
+      log.debug("rejecting malformed token: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * This method adds a single token to the deny list until it would have expired.
+   *
+   * @param claims the claims of the token to revoke
+   */
+  public void revoke(TokenClaims claims) {
+    long now = clock.instant().getEpochSecond();
+    revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+    revokedTokenIds.put(claims.getTokenId(), claims.getExpiresAt());
+  }
+
+  /**
+   * This method revokes every token signed with a given key.
+   *
+   * <p>The active key cannot be revoked; rotate it out of first position first.
+   *
+   * @param keyId id of the key to revoke
+   * @return whether the key was revoked (false if it is unknown or is the active signing key)
+   */
+  public boolean revokeKey(String keyId) {
+    if (!keys.containsKey(keyId) || keyId.equals(activeKeyId)) {
+      return false;
+    }
+    revokedKeyIds.add(keyId);
+    return true;
+  }
+
+  public long getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  int revokedTokenCount() {
+    return revokedTokenIds.size();
+  }
+
+  private static byte[] sign(SecretKeySpec key, String payload) throws GeneralSecurityException {
+    Mac mac = Mac.getInstance(ALGORITHM);
+    mac.init(key);
+    return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+  }
+}
@@ -0,0 +1,271 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.models.SlowRequest;
+import edu.ucsb.cs156.example.models.SqlStatementTiming;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * This is a service that keeps the most recent controller calls that took longer than a threshold.
+ *
+ * <p>While a call is in progress, the SQL statements it executes are collected (see {@link
+ * #recordSql(String, long, boolean)}, which is called by the DataSource proxy) and a background
+ * task samples the stack of the request thread once the call passes the threshold. When the call
+ * finishes, it is kept in a ring buffer if it was slow and dropped otherwise.
+ *
+ * <p>Configured with <code>app.slowRequests.*</code>; see application.properties.
+ */
+@Slf4j
+@Service("slowRequestService")
+public class SlowRequestService {
+
+  private static final ThreadLocal<InFlightRequest> CURRENT = new ThreadLocal<>();
+
+  private final boolean enabled;
+  private final long thresholdNanos;
+  private final int capacity;
+  private final int maxSqlStatements;
+  private final int maxStackDepth;
+  private final LongSupplier nanoClock;
+
+  private final Map<Thread, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+  // guarded by itself; oldest first
+  private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+
+  /**
+   * Constructor for the service; the parameters are injected from properties.
+   *
+   * @param enabled whether calls are tracked at all
+   * @param thresholdMs calls that take at least this long are kept
+   * @param capacity how many slow requests are kept
+   * @param maxSqlStatements how many SQL statements are kept per request (all are counted)
+   * @param maxStackDepth how many frames of the sampled stack are kept
+   */
+  @Autowired
+  public SlowRequestService(
+      @Value("${app.slowRequests.enabled:true}") boolean enabled,
+      @Value("${app.slowRequests.thresholdMs:1000}") long thresholdMs,
+      @Value("${app.slowRequests.capacity:50}") int capacity,
+      @Value("${app.slowRequests.maxSqlStatements:100}") int maxSqlStatements,
+      @Value("${app.slowRequests.maxStackDepth:64}") int maxStackDepth) {
+    this(enabled, thresholdMs, capacity, maxSqlStatements, maxStackDepth, System::nanoTime);
+  }
+
+  SlowRequestService(
+      boolean enabled,
+      long thresholdMs,
+      int capacity,
+      int maxSqlStatements,
+      int maxStackDepth,
+      LongSupplier nanoClock) {
+    this.enabled = enabled;
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    this.capacity = capacity;
+    this.maxSqlStatements = maxSqlStatements;
+    this.maxStackDepth = maxStackDepth;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * This method tells whether calls are tracked at all, so that callers can skip building the
+   * arguments of {@link #begin} when they are not.
+   *
+   * @return true if calls are tracked
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * This method starts tracking a controller call on the current thread.
+   *
+   * @param handler the controller method handling the request
+   * @param httpMethod the HTTP method of the request
+   * @param uri the request URI
+   * @return the tracked call, to be passed to {@link #end}; null if tracking is disabled or a call
+   *     is already being tracked on this thread
+   */
+  public InFlightRequest begin(Method handler, String httpMethod, String uri) {
+    if (!enabled || CURRENT.get() != null) {
+      return null;
+    }
+    InFlightRequest request =
+        new InFlightRequest(
+            handler.getDeclaringClass().getSimpleName() + "." + handler.getName(),
+            httpMethod,
+            uri,
+            Thread.currentThread(),
+            maxSqlStatements,
+            nanoClock);
+    CURRENT.set(request);
+    inFlight.put(request.thread, request);
+    return request;
+  }
+
+  /**
+   * This method stops tracking a call, and keeps it if it was slow.
+   *
+   * @param request the value returned by {@link #begin}; nothing happens if it is null
+   * @param status the HTTP status of the response
+   */
+  public void end(InFlightRequest request, int status) {
+    if (request == null) {
+      return;
+    }
+    long elapsedNanos = nanoClock.getAsLong() - request.startNanos;
+    CURRENT.remove();
+    inFlight.remove(request.thread);
+    if (elapsedNanos < thresholdNanos) {
+      return;
+    }
+    SlowRequest slowRequest =
+        SlowRequest.builder()
+            .handler(request.handler)
+            .method(request.httpMethod)
+            .uri(request.uri)
+            .status(status)
+            .thread(request.thread.getName())
+            .startedAt(request.startedAt)
+            .durationMs(toMillis(elapsedNanos))
+            .sqlCount(request.sqlCount)
+            .sqlMs(toMillis(request.sqlNanos))
+            .sql(request.sql)
+            .stack(request.stack == null ? List.of() : request.stack)
+            .build();
+    log.warn(
+        "slow request: {} {} ({}) took {} ms, {} SQL statements",
+        request.httpMethod,
+        request.uri,
+        request.handler,
+        Math.round(slowRequest.getDurationMs()),
+        request.sqlCount);
+    synchronized (slowRequests) {
+      if (slowRequests.size() >= capacity) {
+        slowRequests.removeFirst();
+      }
+      slowRequests.addLast(slowRequest);
+    }
+  }
+
+  /**
+   * This method records a SQL statement against the call being tracked on the current thread, if
+   * any. It is static so that the DataSource proxy can call it without looking up this bean.
+   *
+   * @param sql the statement(s) executed
+   * @param elapsedNanos how long the statement took
+   * @param success whether the statement completed without an exception
+   */
+  public static void recordSql(String sql, long elapsedNanos, boolean success) {
+    InFlightRequest request = CURRENT.get();
+    if (request != null) {
+      request.addSql(sql, elapsedNanos, success);
+    }
+  }
+
+  /**
+   * This method samples the stack of every tracked call that has passed the threshold but has not
+   * been sampled yet. The sample is taken from another thread, so a call that finishes at the same
+   * moment may be sampled a little late; that sample is discarded along with the call.
+   */
+  @Scheduled(fixedDelayString = "${app.slowRequests.sampleIntervalMs:200}")
+  public void sampleStacks() {
+    long now = nanoClock.getAsLong();
+    for (InFlightRequest request : inFlight.values()) {
+      if (request.stack == null && now - request.startNanos >= thresholdNanos) {
+        StackTraceElement[] frames = request.thread.getStackTrace();
+        List<String> stack = new ArrayList<>();
+        for (int i = 0; i < frames.length && i < maxStackDepth; i++) {
+          stack.add(frames[i].toString());
+        }
+        request.stack = stack;
+      }
+    }
+  }
+
+  /**
+   * This method returns the slow requests that have been kept, newest first.
+   *
+   * @return list of slow requests
+   */
+  public List<SlowRequest> getSlowRequests() {
+    synchronized (slowRequests) {
+      List<SlowRequest> result = new ArrayList<>(slowRequests);
+      return result.reversed();
+    }
+  }
+
+  /** This method discards the slow requests that have been kept. */
+  public void clear() {
+    synchronized (slowRequests) {
+      slowRequests.clear();
+    }
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  /** A controller call that is being tracked. */
+  public static final class InFlightRequest {
+    private final String handler;
+    private final String httpMethod;
+    private final String uri;
+    private final Thread thread;
+    private final int maxSqlStatements;
+    private final LongSupplier nanoClock;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos;
+
+    // only touched by the request thread
+    private final List<SqlStatementTiming> sql = new ArrayList<>();
+    private int sqlCount;
+    private long sqlNanos;
+
+    // written by the sampler, read by the request thread when the call ends
+    private volatile List<String> stack;
+
+    InFlightRequest(
+        String handler,
+        String httpMethod,
+        String uri,
+        Thread thread,
+        int maxSqlStatements,
+        LongSupplier nanoClock) {
+      this.handler = handler;
+      this.httpMethod = httpMethod;
+      this.uri = uri;
+      this.thread = thread;
+      this.maxSqlStatements = maxSqlStatements;
+      this.nanoClock = nanoClock;
+      this.startNanos = nanoClock.getAsLong();
+    }
+
+    void addSql(String statement, long elapsedNanos, boolean success) {
+      sqlCount++;
+      sqlNanos += elapsedNanos;
+      if (sql.size() < maxSqlStatements) {
+        sql.add(
+            SqlStatementTiming.builder()
+                .offsetMs(toMillis(nanoClock.getAsLong() - startNanos))
+                .elapsedMs(toMillis(elapsedNanos))
+                .success(success)
+                .sql(statement)
+                .build());
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package edu.ucsb.cs156.example.services;
 
 import edu.ucsb.cs156.example.models.SystemInfo;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -35,18 +36,16 @@ public class SystemInfoServiceImpl extends SystemInfoService {
   @Value("${git.commit.id.abbrev:unknown}")
   private String commitId;
 
+  private SystemInfo systemInfo;
+
   public static String githubUrl(String repo, String commit) {
     return commit != null && repo != null ? repo + "/commit/" + commit : null;
   }
 
-  /**
-   * This method returns the system information.
-   *
-   * @see edu.ucsb.cs156.example.models.SystemInfo
-   * @return the system information
-   */
-  public SystemInfo getSystemInfo() {
-    SystemInfo si =
+  /** This method builds the system information, once the property values have been set. */
+  @PostConstruct
+  void buildSystemInfo() {
+    systemInfo =
         SystemInfo.builder()
             .springH2ConsoleEnabled(this.springH2ConsoleEnabled)
             .showSwaggerUILink(this.showSwaggerUILink)
@@ -56,7 +55,16 @@ public class SystemInfoServiceImpl extends SystemInfoService {
             .commitId(this.commitId)
             .githubUrl(githubUrl(this.sourceRepo, this.commitId))
             .build();
-    log.info("getSystemInfo returns {}", si);
-    return si;
+    log.info("System info: {}", systemInfo);
+  }
+
+  /**
+   * This method returns the system information, which does not change while the application runs.
+   *
+   * @see edu.ucsb.cs156.example.models.SystemInfo
+   * @return the system information
+   */
+  public SystemInfo getSystemInfo() {
+    return systemInfo;
   }
 }
@@ -0,0 +1,93 @@
+package edu.ucsb.cs156.example.services;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * This is a service that keeps a modification counter for each entity table, and turns it into the
+ * ETag used for the list and detail endpoints of that table.
+ *
+ * <p>Counters are bumped by the TableVersionListener whenever an entity is inserted, updated or
+ * deleted through JPA; code that changes a table some other way (e.g. a bulk JPQL update) must call
+ * {@link #bump(Class)} itself. Inside a transaction the bump is deferred until after commit, so a
+ * request that reads the new counter can never see the old rows.
+ *
+ * <p>The counters live in memory. Each ETag includes a value chosen when the application starts, so
+ * an ETag handed out before a restart never matches one handed out after it.
+ */
+@Service("tableVersionService")
+public class TableVersionService {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  /**
+   * This method returns the current version of a table.
+   *
+   * @param entityClass the entity stored in the table
+   * @return the number of committed changes to the table since the application started
+   */
+  public long getVersion(Class<?> entityClass) {
+    return counter(entityClass).get();
+  }
+
+  /**
+   * This method returns the current ETag of a table.
+   *
+   * @param entityClass the entity stored in the table
+   * @return a strong ETag, including the quotes
+   */
+  public String getETag(Class<?> entityClass) {
+    return "\"" + epoch + "-" + getVersion(entityClass) + "\"";
+  }
+
+  /**
+   * This method records that a table has changed. If a transaction is active, the counter is
+   * incremented once when it commits (however many times this is called during it) and not at all
+   * if it rolls back; otherwise it is incremented immediately.
+   *
+   * @param entityClass the entity stored in the table
+   */
+  public void bump(Class<?> entityClass) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      counter(entityClass).incrementAndGet();
+      return;
+    }
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof BumpAfterCommit pending && pending.owner == this) {
+        pending.tables.add(entityClass);
+        return;
+      }
+    }
+    BumpAfterCommit pending = new BumpAfterCommit(this);
+    pending.tables.add(entityClass);
+    TransactionSynchronizationManager.registerSynchronization(pending);
+  }
+
+  private AtomicLong counter(Class<?> entityClass) {
+    return versions.computeIfAbsent(entityClass, c -> new AtomicLong());
+  }
+
+  /** The tables changed by one transaction. */
+  private static final class BumpAfterCommit implements TransactionSynchronization {
+    private final TableVersionService owner;
+    private final Set<Class<?>> tables = new HashSet<>();
+
+    BumpAfterCommit(TableVersionService owner) {
+      this.owner = owner;
+    }
+
+    @Override
+    public void afterCommit() {
+      tables.forEach(table -> owner.counter(table).incrementAndGet());
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes UCSB dates; see EntityService. */
+@Service("ucsbDateService")
+public class UCSBDateService extends EntityService<UCSBDate, Long, UCSBDateRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for UCSB dates
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public UCSBDateService(UCSBDateRepository repository, TableVersionService tableVersionService) {
+    super(UCSBDate.class, repository, tableVersionService);
+  }
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes UCSB dining commons menu items; see EntityService. */
+@Service("ucsbDiningCommonsMenuItemService")
+public class UCSBDiningCommonsMenuItemService
+    extends EntityService<UCSBDiningCommonsMenuItem, Long, UCSBDiningCommonsMenuItemRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for UCSB dining commons menu items
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public UCSBDiningCommonsMenuItemService(
+      UCSBDiningCommonsMenuItemRepository repository, TableVersionService tableVersionService) {
+    super(UCSBDiningCommonsMenuItem.class, repository, tableVersionService);
+  }
+}
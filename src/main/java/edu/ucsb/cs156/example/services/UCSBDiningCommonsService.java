@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes UCSB dining commons; see EntityService. */
+@Service("ucsbDiningCommonsService")
+public class UCSBDiningCommonsService
+    extends EntityService<UCSBDiningCommons, String, UCSBDiningCommonsRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for UCSB dining commons
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public UCSBDiningCommonsService(
+      UCSBDiningCommonsRepository repository, TableVersionService tableVersionService) {
+    super(UCSBDiningCommons.class, repository, tableVersionService);
+  }
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import org.springframework.stereotype.Service;
+
+/** This is a service that reads and writes UCSB organizations; see EntityService. */
+@Service("ucsbOrganizationService")
+public class UCSBOrganizationService
+    extends EntityService<UCSBOrganization, String, UCSBOrganizationRepository> {
+
+  /**
+   * Constructor for the service
+   *
+   * @param repository the repository for UCSB organizations
+   * @param tableVersionService bumped when a row is changed without going through JPA
+   */
+  public UCSBOrganizationService(
+      UCSBOrganizationRepository repository, TableVersionService tableVersionService) {
+    super(UCSBOrganization.class, repository, tableVersionService);
+  }
+}
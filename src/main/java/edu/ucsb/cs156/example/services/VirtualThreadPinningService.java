@@ -0,0 +1,182 @@
+package edu.ucsb.cs156.example.services;
+
+import edu.ucsb.cs156.example.models.PinnedThread;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * This is a service that reports virtual threads that block while pinned to their carrier thread.
+ *
+ * <p>A virtual thread that blocks inside a <code>synchronized</code> block or a native method
+ * cannot be unmounted, so it holds on to one of the few carrier threads (one per core by default)
+ * until it is done; enough of them at once and every other virtual thread waits. The JVM reports
+ * each such wait that lasts longer than a threshold as a <code>jdk.VirtualThreadPinned</code> JFR
+ * event. This service listens for those events in-process, logs each one, counts them in the <code>
+ * app.virtualthreads.pinned</code> metric, and keeps the most recent ones, with their stack, in a
+ * ring buffer.
+ *
+ * <p>It is only enabled when requests are served on virtual threads (the virtualthreads profile);
+ * configured with <code>app.virtualThreads.pinning.*</code>, see application.properties.
+ */
+@Slf4j
+@Service("virtualThreadPinningService")
+public class VirtualThreadPinningService {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  // the pinned frames at the top of the stack, such as Thread.sleep, say nothing about the cause
+  private static final Pattern JDK_CLASS = Pattern.compile("(java|jdk|sun)\\.");
+
+  private final boolean enabled;
+  private final Duration threshold;
+  private final int capacity;
+  private final int maxStackDepth;
+  private final Counter pinnedCounter;
+
+  private RecordingStream recordingStream;
+
+  // guarded by itself; oldest first
+  private final Deque<PinnedThread> pinnedThreads = new ArrayDeque<>();
+
+  /**
+   * Constructor for the service; the parameters are injected from properties.
+   *
+   * @param enabled whether pinned threads are reported at all
+   * @param thresholdMs pinned waits shorter than this are not reported
+   * @param capacity how many pinned threads are kept
+   * @param maxStackDepth how many frames of each stack are kept
+   * @param meterRegistry where the number of pinned threads is counted
+   */
+  public VirtualThreadPinningService(
+      @Value("${app.virtualThreads.pinning.enabled:false}") boolean enabled,
+      @Value("${app.virtualThreads.pinning.thresholdMs:20}") long thresholdMs,
+      @Value("${app.virtualThreads.pinning.capacity:50}") int capacity,
+      @Value("${app.virtualThreads.pinning.maxStackDepth:64}") int maxStackDepth,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.threshold = Duration.ofMillis(thresholdMs);
+    this.capacity = capacity;
+    this.maxStackDepth = maxStackDepth;
+    this.pinnedCounter =
+        Counter.builder("app.virtualthreads.pinned")
+            .description("Virtual threads that blocked while pinned to their carrier thread")
+            .register(meterRegistry);
+  }
+
+  /** This method starts listening for pinned virtual threads, if enabled. */
+  @PostConstruct
+  public synchronized void start() {
+    if (!enabled || recordingStream != null) {
+      return;
+    }
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+    log.info("reporting virtual threads pinned for at least {} ms", threshold.toMillis());
+  }
+
+  /** This method stops listening for pinned virtual threads. */
+  @PreDestroy
+  public synchronized void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+      recordingStream = null;
+    }
+  }
+
+  /**
+   * This method returns whether pinned virtual threads are being listened for.
+   *
+   * @return true if started and not stopped since
+   */
+  public synchronized boolean isStarted() {
+    return recordingStream != null;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    List<String> stack = new ArrayList<>();
+    String site = null;
+    List<RecordedFrame> frames = event.getStackTrace().getFrames();
+    for (int i = 0; i < frames.size() && i < maxStackDepth; i++) {
+      RecordedFrame frame = frames.get(i);
+      String className = frame.getMethod().getType().getName();
+      String method = className + "." + frame.getMethod().getName();
+      stack.add(method + "(line " + frame.getLineNumber() + ")");
+      if (site == null && !JDK_CLASS.matcher(className).lookingAt()) {
+        site = method;
+      }
+    }
+    record(
+        PinnedThread.builder()
+            .thread(event.getThread().getJavaName())
+            .startedAt(event.getStartTime())
+            .durationMs(event.getDuration().toNanos() / 1_000_000.0)
+            .site(site)
+            .stack(stack)
+            .build());
+  }
+
+  /**
+   * This method reports one pinned virtual thread: it is logged, counted and kept.
+   *
+   * @param pinnedThread the pinned thread
+   */
+  public void record(PinnedThread pinnedThread) {
+    pinnedCounter.increment();
+    log.warn(
+        "virtual thread {} was pinned to its carrier for {} ms at {}",
+        pinnedThread.getThread(),
+        Math.round(pinnedThread.getDurationMs()),
+        pinnedThread.getSite());
+    synchronized (pinnedThreads) {
+      if (pinnedThreads.size() >= capacity) {
+        pinnedThreads.removeFirst();
+      }
+      pinnedThreads.addLast(pinnedThread);
+    }
+  }
+
+  /**
+   * This method returns the pinned threads that have been kept, newest first.
+   *
+   * @return list of pinned threads
+   */
+  public List<PinnedThread> getPinnedThreads() {
+    synchronized (pinnedThreads) {
+      List<PinnedThread> result = new ArrayList<>(pinnedThreads);
+      return result.reversed();
+    }
+  }
+
+  /**
+   * This method returns how many pinned threads have been reported since startup, including those
+   * no longer kept.
+   *
+   * @return the number of pinned threads
+   */
+  public long getPinnedCount() {
+    return (long) pinnedCounter.count();
+  }
+
+  /** This method discards the pinned threads that have been kept. */
+  public void clear() {
+    synchronized (pinnedThreads) {
+      pinnedThreads.clear();
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package edu.ucsb.cs156.example.services.jobs;
 
 import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.logging.RequestIdFilter;
 import edu.ucsb.cs156.example.repositories.JobsRepository;
 import edu.ucsb.cs156.example.services.CurrentUserService;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class JobService {
+  public static final String JOB_ID_MDC_KEY = "jobId";
+
   @Autowired private JobsRepository jobsRepository;
 
   @Autowired private CurrentUserService currentUserService;
@@ -17,7 +21,12 @@ public class JobService {
   @Lazy @Autowired private JobService self;
 
   public Job runAsJob(JobContextConsumer jobFunction) {
-    Job job = Job.builder().createdBy(currentUserService.getUser()).status("running").build();
+    Job job =
+        Job.builder()
+            .createdBy(currentUserService.getUser())
+            .status("running")
+            .requestId(MDC.get(RequestIdFilter.MDC_KEY))
+            .build();
 
     jobsRepository.save(job);
     self.runJobAsync(job, jobFunction);
@@ -27,6 +36,21 @@ public class JobService {
 
   @Async
   public void runJobAsync(Job job, JobContextConsumer jobFunction) {
+    // taken from the job row rather than the caller's MDC, so every line the job logs can be
+    // traced back to the request that started it
+    if (job.getRequestId() != null) {
+      MDC.put(RequestIdFilter.MDC_KEY, job.getRequestId());
+    }
+    MDC.put(JOB_ID_MDC_KEY, String.valueOf(job.getId()));
+    try {
+      runJob(job, jobFunction);
+    } finally {
+      MDC.remove(RequestIdFilter.MDC_KEY);
+      MDC.remove(JOB_ID_MDC_KEY);
+    }
+  }
+
+  private void runJob(Job job, JobContextConsumer jobFunction) {
     JobContext context = new JobContext(jobsRepository, job);
 
     try {
@@ -115,7 +115,7 @@ public class WiremockServiceImpl extends WiremockService {
   public void init() {
     log.info("WiremockServiceImpl.init() called");
 
-    WireMockServer wireMockServer = new WireMockServer(options().port(8090).globalTemplating(true));
+    wireMockServer = new WireMockServer(options().port(8090).globalTemplating(true));
     setupOauthMocks(wireMockServer, true);
 
     wireMockServer.start();
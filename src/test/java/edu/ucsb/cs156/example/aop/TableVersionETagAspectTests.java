@@ -0,0 +1,47 @@
+package edu.ucsb.cs156.example.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.services.TableVersionService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class TableVersionETagAspectTests {
+
+  private final TableVersionETagAspect aspect = new TableVersionETagAspect();
+
+  private final TableVersionETag annotation = mock(TableVersionETag.class);
+
+  @AfterEach
+  public void resetRequestAttributes() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  public void handler_called_outside_a_request_just_proceeds() throws Throwable {
+    aspect.tableVersionService = new TableVersionService();
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.proceed()).thenReturn("result");
+
+    assertEquals("result", aspect.checkNotModified(joinPoint, annotation));
+  }
+
+  @Test
+  public void handler_called_without_a_response_just_proceeds() throws Throwable {
+    aspect.tableVersionService = new TableVersionService();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/all");
+    request.addHeader("If-None-Match", aspect.tableVersionService.getETag(Restaurant.class));
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.proceed()).thenReturn("result");
+
+    assertEquals("result", aspect.checkNotModified(joinPoint, annotation));
+  }
+}
@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AcceptEncodingTests {
+
+  @Test
+  public void listed_codings_are_accepted() {
+    assertTrue(AcceptEncoding.accepts("gzip, deflate, br", "br"));
+    assertTrue(AcceptEncoding.accepts("gzip, deflate, br", "gzip"));
+    assertTrue(AcceptEncoding.accepts("GZIP", "gzip"));
+    assertTrue(AcceptEncoding.accepts(" gzip ; q=0.5 ", "gzip"));
+    assertTrue(AcceptEncoding.accepts("br;level=1;Q=0.001", "br"));
+  }
+
+  @Test
+  public void codings_that_are_missing_or_only_a_substring_are_refused() {
+    assertFalse(AcceptEncoding.accepts(null, "gzip"));
+    assertFalse(AcceptEncoding.accepts("", "gzip"));
+    assertFalse(AcceptEncoding.accepts("deflate", "gzip"));
+    assertFalse(AcceptEncoding.accepts("x-gzip", "gzip"));
+    assertFalse(AcceptEncoding.accepts("brotli", "br"));
+  }
+
+  @Test
+  public void codings_with_a_zero_or_malformed_q_value_are_refused() {
+    assertFalse(AcceptEncoding.accepts("br;q=0, gzip", "br"));
+    assertTrue(AcceptEncoding.accepts("br;q=0, gzip", "gzip"));
+    assertFalse(AcceptEncoding.accepts("gzip;q=0.000", "gzip"));
+    assertFalse(AcceptEncoding.accepts("gzip;q=", "gzip"));
+    assertFalse(AcceptEncoding.accepts("gzip;q=high", "gzip"));
+  }
+
+  @Test
+  public void the_wildcard_applies_to_codings_that_are_not_listed() {
+    assertTrue(AcceptEncoding.accepts("*", "br"));
+    assertTrue(AcceptEncoding.accepts("deflate, *;q=0.1", "br"));
+    assertFalse(AcceptEncoding.accepts("*;q=0", "br"));
+    assertFalse(AcceptEncoding.accepts("*, br;q=0", "br"));
+    assertTrue(AcceptEncoding.accepts("gzip, *;q=0", "gzip"));
+  }
+}
@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+public class FrontendConfigTests {
+
+  /** Exposes the handler that FrontendConfig registers for /assets/**. */
+  private static final class Registry extends ResourceHandlerRegistry {
+    Registry() {
+      super(new GenericWebApplicationContext(), new MockServletContext());
+    }
+
+    ResourceHttpRequestHandler assetsHandler() {
+      return (ResourceHttpRequestHandler)
+          ((SimpleUrlHandlerMapping) getHandlerMapping()).getUrlMap().get("/assets/**");
+    }
+  }
+
+  @Test
+  public void assets_are_served_from_the_assets_directory_of_each_static_location() {
+    WebProperties webProperties = new WebProperties();
+    webProperties
+        .getResources()
+        .setStaticLocations(new String[] {"classpath:/public", "file:/srv/frontend/build/"});
+    Registry registry = new Registry();
+
+    new FrontendConfig(webProperties).addResourceHandlers(registry);
+
+    ResourceHttpRequestHandler handler = registry.assetsHandler();
+    assertEquals(
+        List.of("class path resource [public/assets/]", "URL [file:/srv/frontend/build/assets/]"),
+        handler.getLocations().stream().map(Resource::getDescription).toList());
+    assertEquals("max-age=31536000, public, immutable", handler.getCacheControl().getHeaderValue());
+  }
+}
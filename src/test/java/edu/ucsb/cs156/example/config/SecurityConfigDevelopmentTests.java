@@ -0,0 +1,43 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.controllers.UserInfoController;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+/** In development, the modules served by the vite dev server also bypass the security chain. */
+@ActiveProfiles("development")
+@WebMvcTest(controllers = UserInfoController.class)
+public class SecurityConfigDevelopmentTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @Test
+  public void dev_server_paths_get_no_session_or_csrf_cookie() throws Exception {
+    for (String path :
+        new String[] {
+          "/src/main.jsx", "/node_modules/.vite/deps/react.js", "/@vite/client", "/@react-refresh"
+        }) {
+      MvcResult result = mockMvc.perform(get(path)).andReturn();
+
+      assertNull(result.getResponse().getCookie("XSRF-TOKEN"), path);
+      assertNull(result.getRequest().getSession(false), path);
+    }
+  }
+
+  @Test
+  public void api_requests_are_still_protected() throws Exception {
+    MvcResult result =
+        mockMvc.perform(get("/api/currentUser")).andExpect(status().isForbidden()).andReturn();
+    assertNotNull(result.getResponse().getCookie("XSRF-TOKEN"));
+  }
+}
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.controllers.UserInfoController;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Checks which requests bypass the security chain: static assets get neither a session nor a CSRF
+ * cookie, while /api/** and the vite dev-server paths (outside development) still go through it.
+ */
+@WebMvcTest(controllers = UserInfoController.class)
+public class SecurityConfigTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @Test
+  public void static_assets_get_no_session_or_csrf_cookie() throws Exception {
+    for (String path : new String[] {"/assets/index-B7x2kQ9d.js", "/favicon.ico", "/logo.svg"}) {
+      MvcResult result = mockMvc.perform(get(path)).andReturn();
+
+      assertNull(result.getResponse().getCookie("XSRF-TOKEN"), path);
+      assertNull(result.getRequest().getSession(false), path);
+    }
+  }
+
+  @Test
+  public void dev_server_paths_go_through_the_security_chain_outside_development()
+      throws Exception {
+    for (String path : new String[] {"/src/main.jsx", "/node_modules/.vite/deps/react.js"}) {
+      MvcResult result = mockMvc.perform(get(path)).andReturn();
+
+      assertNotNull(result.getResponse().getCookie("XSRF-TOKEN"), path);
+    }
+  }
+
+  @Test
+  public void api_requests_are_still_protected() throws Exception {
+    MvcResult result =
+        mockMvc.perform(get("/api/currentUser")).andExpect(status().isForbidden()).andReturn();
+    assertNotNull(result.getResponse().getCookie("XSRF-TOKEN"));
+
+    mockMvc.perform(post("/api/currentUser")).andExpect(status().isForbidden());
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void api_writes_need_the_csrf_token() throws Exception {
+    Cookie cookie =
+        mockMvc.perform(get("/api/currentUser")).andReturn().getResponse().getCookie("XSRF-TOKEN");
+
+    mockMvc.perform(post("/api/currentUser").cookie(cookie)).andExpect(status().isForbidden());
+    mockMvc
+        .perform(post("/api/currentUser").cookie(cookie).header("X-XSRF-TOKEN", cookie.getValue()))
+        .andExpect(status().isMethodNotAllowed());
+  }
+}
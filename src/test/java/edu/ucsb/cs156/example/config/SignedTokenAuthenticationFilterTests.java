@@ -0,0 +1,112 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.SignedTokenAuthentication;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import jakarta.servlet.http.Cookie;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class SignedTokenAuthenticationFilterTests {
+
+  private final SignedTokenService tokens =
+      new SignedTokenService(List.of("k1:secret-one"), 900, Optional.empty());
+
+  private final SignedTokenAuthenticationFilter filter =
+      new SignedTokenAuthenticationFilter(tokens);
+
+  private String token(String email) throws Exception {
+    return tokens.issue(
+        User.builder().id(1L).email(email).build(),
+        AuthorityUtils.createAuthorityList("ROLE_USER"));
+  }
+
+  // runs the filter and returns who the rest of the chain sees as authenticated
+  private Authentication filter(MockHttpServletRequest request) throws Exception {
+    AtomicReference<Authentication> seen = new AtomicReference<>();
+    filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+    return seen.get();
+  }
+
+  @AfterEach
+  public void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void bearer_token_authenticates_the_request() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token("cgaucho@ucsb.edu"));
+
+    Authentication authentication = filter(request);
+
+    assertInstanceOf(SignedTokenAuthentication.class, authentication);
+    assertEquals("cgaucho@ucsb.edu", authentication.getName());
+  }
+
+  @Test
+  public void cookie_authenticates_the_request() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setCookies(
+        new Cookie("XSRF-TOKEN", "abc"),
+        new Cookie(SignedTokenAuthenticationFilter.COOKIE_NAME, token("cgaucho@ucsb.edu")));
+
+    assertEquals("cgaucho@ucsb.edu", filter(request).getName());
+  }
+
+  @Test
+  public void bearer_token_takes_precedence_over_the_cookie() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token("bearer@ucsb.edu"));
+    request.setCookies(
+        new Cookie(SignedTokenAuthenticationFilter.COOKIE_NAME, token("cookie@ucsb.edu")));
+
+    assertEquals("bearer@ucsb.edu", filter(request).getName());
+  }
+
+  @Test
+  public void other_authorization_schemes_fall_back_to_the_cookie() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Basic dXNlcjpwYXNz");
+    request.setCookies(
+        new Cookie(SignedTokenAuthenticationFilter.COOKIE_NAME, token("cookie@ucsb.edu")));
+
+    assertEquals("cookie@ucsb.edu", filter(request).getName());
+  }
+
+  @Test
+  public void requests_without_a_valid_token_continue_unauthenticated() throws Exception {
+    assertNull(filter(new MockHttpServletRequest()));
+
+    MockHttpServletRequest otherCookies = new MockHttpServletRequest();
+    otherCookies.setCookies(new Cookie("JSESSIONID", "abc"));
+    assertNull(filter(otherCookies));
+
+    MockHttpServletRequest forged = new MockHttpServletRequest();
+    forged.addHeader("Authorization", "Bearer " + token("cgaucho@ucsb.edu") + "x");
+    assertNull(filter(forged));
+  }
+
+  @Test
+  public void resolve_token_returns_null_when_there_is_none() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    assertNull(SignedTokenAuthenticationFilter.resolveToken(request));
+    request.setCookies(new Cookie("JSESSIONID", "abc"));
+    assertNull(SignedTokenAuthenticationFilter.resolveToken(request));
+  }
+}
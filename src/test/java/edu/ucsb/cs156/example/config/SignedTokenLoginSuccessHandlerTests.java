@@ -0,0 +1,100 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.TokenClaims;
+import edu.ucsb.cs156.example.services.CurrentUserService;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import jakarta.servlet.ServletException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+public class SignedTokenLoginSuccessHandlerTests {
+
+  private final SignedTokenService tokens =
+      new SignedTokenService(List.of("k1:secret-one"), 900, Optional.empty());
+
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+
+  private final Authentication authentication =
+      new TestingAuthenticationToken("cgaucho", null, "ROLE_USER", "ROLE_MEMBER");
+
+  private final User user = User.builder().id(7L).email("cgaucho@ucsb.edu").build();
+
+  @Test
+  public void login_sets_the_token_cookie_drops_the_session_and_redirects() throws Exception {
+    when(currentUserService.getUser()).thenReturn(user);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpSession session = new MockHttpSession();
+    request.setSession(session);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new SignedTokenLoginSuccessHandler(tokens, () -> currentUserService)
+        .onAuthenticationSuccess(request, response, authentication);
+
+    String setCookie = response.getHeader("Set-Cookie");
+    assertTrue(setCookie.startsWith(SignedTokenAuthenticationFilter.COOKIE_NAME + "="));
+    assertTrue(setCookie.contains("Max-Age=900"), setCookie);
+    assertTrue(setCookie.contains("HttpOnly"), setCookie);
+    assertTrue(setCookie.contains("SameSite=Lax"), setCookie);
+    assertTrue(setCookie.contains("Path=/"), setCookie);
+    assertFalse(setCookie.contains("Secure"), setCookie);
+    TokenClaims claims =
+        tokens
+            .verify(response.getCookie(SignedTokenAuthenticationFilter.COOKIE_NAME).getValue())
+            .orElseThrow();
+    assertEquals(7L, claims.getUserId());
+    assertEquals(List.of("ROLE_USER", "ROLE_MEMBER"), claims.getRoles());
+    assertTrue(session.isInvalid());
+    assertEquals("/", response.getRedirectedUrl());
+  }
+
+  @Test
+  public void login_over_https_without_a_session_sets_a_secure_cookie() throws Exception {
+    when(currentUserService.getUser()).thenReturn(user);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setSecure(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new SignedTokenLoginSuccessHandler(tokens, () -> currentUserService)
+        .onAuthenticationSuccess(request, response, authentication);
+
+    assertTrue(response.getHeader("Set-Cookie").contains("Secure"));
+    assertEquals("/", response.getRedirectedUrl());
+  }
+
+  @Test
+  public void signing_failure_is_reported_as_a_servlet_exception() throws Exception {
+    SignedTokenService failing = mock(SignedTokenService.class);
+    when(currentUserService.getUser()).thenReturn(user);
+    when(failing.issue(any(), any())).thenThrow(new GeneralSecurityException("no HMAC"));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    ServletException e =
+        assertThrows(
+            ServletException.class,
+            () ->
+                new SignedTokenLoginSuccessHandler(failing, () -> currentUserService)
+                    .onAuthenticationSuccess(
+                        new MockHttpServletRequest(), response, authentication));
+
+    assertInstanceOf(GeneralSecurityException.class, e.getCause());
+    assertNull(response.getHeader("Set-Cookie"));
+  }
+}
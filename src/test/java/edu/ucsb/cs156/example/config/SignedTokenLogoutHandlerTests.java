@@ -0,0 +1,49 @@
+package edu.ucsb.cs156.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+public class SignedTokenLogoutHandlerTests {
+
+  private final SignedTokenService tokens =
+      spy(new SignedTokenService(List.of("k1:secret-one"), 900, Optional.empty()));
+
+  @Test
+  public void logout_revokes_the_token_of_the_request() throws Exception {
+    String token =
+        tokens.issue(
+            User.builder().id(7L).email("cgaucho@ucsb.edu").build(),
+            AuthorityUtils.createAuthorityList("ROLE_USER"));
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    assertTrue(tokens.verify(token).isPresent());
+
+    new SignedTokenLogoutHandler(tokens).logout(request, new MockHttpServletResponse(), null);
+
+    assertTrue(tokens.verify(token).isEmpty());
+  }
+
+  @Test
+  public void logout_without_a_valid_token_revokes_nothing() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer not-a-token");
+
+    new SignedTokenLogoutHandler(tokens).logout(request, new MockHttpServletResponse(), null);
+    new SignedTokenLogoutHandler(tokens)
+        .logout(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+    verify(tokens, never()).revoke(any());
+  }
+}
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -53,4 +54,92 @@ public class ApiControllerTests extends ControllerTestCase {
     assertEquals("EntityNotFoundException", json.get("type"));
     assertEquals("String with id 7 not found", json.get("message"));
   }
+
+  @Test
+  public void page_request_sorts_by_requested_property_then_id() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/page?page=2&size=10&sort=name,desc"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    Map<String, Object> json = responseToJson(response);
+    assertEquals(2, json.get("page"));
+    assertEquals(10, json.get("size"));
+    assertEquals("name: DESC,id: ASC", json.get("sort"));
+  }
+
+  @Test
+  public void page_request_sorting_by_id_needs_no_tie_break() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/page?page=0&size=5&sort=id,DESC"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals("id: DESC", responseToJson(response).get("sort"));
+  }
+
+  @Test
+  public void page_request_accepts_a_size_of_one() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/page?page=0&size=1&sort=id"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(1, responseToJson(response).get("size"));
+  }
+
+  @Test
+  public void page_request_size_is_limited_to_max_page_size() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/page?page=0&size=100000&sort=id"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(100, responseToJson(response).get("size"));
+  }
+
+  private void assertBadPageRequest(String query, String message) throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/page?" + query))
+            .andExpect(status().isBadRequest())
+            .andReturn();
+
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("BadRequestException", json.get("type"));
+    assertEquals(message, json.get("message"));
+  }
+
+  @Test
+  public void page_request_rejects_bad_parameters() throws Exception {
+    assertBadPageRequest("page=-1&size=10&sort=id", "page must not be negative");
+    assertBadPageRequest("page=0&size=0&sort=id", "size must be at least 1");
+    assertBadPageRequest(
+        "page=0&size=10&sort=password",
+        "cannot sort by 'password'; sort must be one of [id, name]");
+    assertBadPageRequest("page=0&size=10&sort=name,sideways", "sort direction must be asc or desc");
+    assertBadPageRequest(
+        "page=0&size=10&sort=name,asc,id",
+        "sort must be a property, optionally followed by ,asc or ,desc");
+  }
+
+  @Test
+  public void bulk_operation_exception_lists_the_rejected_items() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(get("/dummycontroller/bulk"))
+            .andExpect(status().isBadRequest())
+            .andReturn();
+
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("BulkOperationException", json.get("type"));
+    assertEquals("1 of 2 items were rejected; nothing was changed", json.get("message"));
+    assertEquals(
+        List.of(Map.of("index", 1, "id", "7", "message", "String with id 7 not found")),
+        json.get("errors"));
+  }
 }
@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -12,16 +13,20 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.Article;
 import edu.ucsb.cs156.example.repositories.ArticleRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.ArticleService;
+import edu.ucsb.cs156.example.services.BulkService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -29,15 +34,22 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = ArticlesController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, ArticleService.class})
 public class ArticlesControllerTests extends ControllerTestCase {
 
   @MockBean private ArticleRepository articleRepository;
+  @MockBean private BulkService bulkService;
   @MockBean private UserRepository userRepository;
 
   // --- Authorization: GET /all ---
@@ -49,6 +61,7 @@ public class ArticlesControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(articleRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/articles/all")).andExpect(status().isOk());
   }
 
@@ -86,17 +99,48 @@ public class ArticlesControllerTests extends ControllerTestCase {
             .dateAdded(LocalDateTime.parse("2025-10-27T14:00:00"))
             .build();
 
-    when(articleRepository.findAll()).thenReturn(new ArrayList<>(Arrays.asList(a1, a2)));
+    List<Article> expectedArticles = new ArrayList<>(Arrays.asList(a1, a2));
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<Article> expectedPage =
+        new PageImpl<>(expectedArticles, pageable, expectedArticles.size());
+    when(articleRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     MvcResult response =
         mockMvc.perform(get("/api/articles/all")).andExpect(status().isOk()).andReturn();
 
-    verify(articleRepository, times(1)).findAll();
+    verify(articleRepository, times(1)).findAll(eq(pageable));
     assertEquals(
-        mapper.writeValueAsString(Arrays.asList(a1, a2)),
+        mapper.writeValueAsString(new PagedModel<>(expectedPage)),
         response.getResponse().getContentAsString());
   }
 
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_user_can_page_and_sort_articles() throws Exception {
+    Pageable pageable =
+        PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "dateAdded").and(Sort.by("id")));
+    when(articleRepository.findAll(any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(), pageable, 5));
+
+    mockMvc
+        .perform(get("/api/articles/all?page=1&size=5&sort=dateAdded,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page.number").value(1))
+        .andExpect(jsonPath("$.page.size").value(5))
+        .andExpect(jsonPath("$.page.totalElements").value(5))
+        .andExpect(jsonPath("$.page.totalPages").value(1));
+
+    verify(articleRepository, times(1)).findAll(eq(pageable));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void sorting_articles_by_explanation_is_rejected() throws Exception {
+    mockMvc.perform(get("/api/articles/all?sort=explanation")).andExpect(status().isBadRequest());
+
+    verify(articleRepository, never()).findAll(any(Pageable.class));
+  }
+
   // --- With mocks: POST /post ---
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
@@ -187,15 +231,7 @@ public class ArticlesControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"ADMIN"})
   @Test
   public void admin_can_edit_an_existing_article() throws Exception {
-    Article original =
-        Article.builder()
-            .title("Old Title")
-            .url("https://old.com")
-            .explanation("old")
-            .email("old@ucsb.edu")
-            .dateAdded(LocalDateTime.parse("2025-10-29T13:45:00"))
-            .build();
-    when(articleRepository.findById(2L)).thenReturn(Optional.of(original));
+    when(articleRepository.updateOneById(eq(2L), any())).thenReturn(1);
 
     Article updated =
         Article.builder()
@@ -206,8 +242,6 @@ public class ArticlesControllerTests extends ControllerTestCase {
             .dateAdded(LocalDateTime.parse("2025-10-29T13:45:33"))
             .build();
 
-    when(articleRepository.save(any(Article.class))).thenReturn(updated);
-
     String requestBody = mapper.writeValueAsString(updated);
 
     MvcResult response =
@@ -222,23 +256,23 @@ public class ArticlesControllerTests extends ControllerTestCase {
             .andReturn();
 
     ArgumentCaptor<Article> captor = ArgumentCaptor.forClass(Article.class);
-    verify(articleRepository, times(1)).findById(2L);
-    verify(articleRepository, times(1)).save(captor.capture());
+    verify(articleRepository, times(1)).updateOneById(eq(2L), captor.capture());
     Article saved = captor.getValue();
 
+    assertEquals(2L, saved.getId());
     assertEquals("New Title", saved.getTitle());
     assertEquals("https://new.com", saved.getUrl());
     assertEquals("new explanation", saved.getExplanation());
     assertEquals("new@ucsb.edu", saved.getEmail());
     assertEquals(LocalDateTime.parse("2025-10-29T13:45:33"), saved.getDateAdded());
 
-    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+    assertEquals(mapper.writeValueAsString(saved), response.getResponse().getContentAsString());
   }
 
   @WithMockUser(roles = {"ADMIN"})
   @Test
   public void admin_cannot_edit_nonexistent_article() throws Exception {
-    when(articleRepository.findById(999L)).thenReturn(Optional.empty());
+    when(articleRepository.updateOneById(eq(999L), any())).thenReturn(0);
 
     Article incoming =
         Article.builder()
@@ -257,8 +291,7 @@ public class ArticlesControllerTests extends ControllerTestCase {
                 .with(csrf()))
         .andExpect(status().isNotFound());
 
-    verify(articleRepository, times(1)).findById(999L);
-    verify(articleRepository, never()).save(any());
+    verify(articleRepository, times(1)).updateOneById(eq(999L), any());
   }
 
   // --- Authorization: DELETE /api/articles ---
@@ -277,17 +310,8 @@ public class ArticlesControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
   public void admin_can_delete_existing_article() throws Exception {
-    Article existing =
-        Article.builder()
-            .id(2L)
-            .title("t")
-            .url("https://e.com")
-            .explanation("x")
-            .email("u@ucsb.edu")
-            .dateAdded(LocalDateTime.parse("2025-10-27T13:45:00"))
-            .build();
 
-    when(articleRepository.findById(2L)).thenReturn(Optional.of(existing));
+    when(articleRepository.deleteOneById(2L)).thenReturn(1);
 
     MvcResult response =
         mockMvc
@@ -295,8 +319,7 @@ public class ArticlesControllerTests extends ControllerTestCase {
             .andExpect(status().isOk())
             .andReturn();
 
-    verify(articleRepository, times(1)).findById(2L);
-    verify(articleRepository, times(1)).delete(existing);
+    verify(articleRepository, times(1)).deleteOneById(2L);
 
     assertEquals("record 2 deleted", response.getResponse().getContentAsString());
   }
@@ -305,7 +328,7 @@ public class ArticlesControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
   public void admin_delete_nonexistent_article_returns_404() throws Exception {
-    when(articleRepository.findById(123L)).thenReturn(Optional.empty());
+    when(articleRepository.deleteOneById(123L)).thenReturn(0);
 
     MvcResult response =
         mockMvc
@@ -313,9 +336,97 @@ public class ArticlesControllerTests extends ControllerTestCase {
             .andExpect(status().isNotFound())
             .andReturn();
 
-    verify(articleRepository, times(1)).findById(123L);
-    verify(articleRepository, never()).delete(any());
+    verify(articleRepository, times(1)).deleteOneById(123L);
 
     assertEquals("record 123 not found", response.getResponse().getContentAsString());
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/articles/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/articles/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/articles/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<Article> created = List.of(Article.builder().build(), Article.builder().build());
+    when(bulkService.create(
+            eq(articleRepository), eq(Article.class), argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/articles/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<Article> updated = List.of(Article.builder().build());
+    when(bulkService.update(
+            eq(articleRepository), eq(Article.class), argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/articles/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(articleRepository, Article.class, List.of(1L, 2L))).thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/articles/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService).delete(articleRepository, Article.class, List.of(1L, 2L));
+    assertEquals("2 Article records deleted", responseToJson(response).get("message"));
+  }
 }
@@ -0,0 +1,179 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.CurrentUser;
+import edu.ucsb.cs156.example.models.SystemInfo;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SystemInfoService;
+import edu.ucsb.cs156.example.services.SystemInfoServiceImpl;
+import jakarta.servlet.http.Cookie;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+// the controller serializes the system information when it is created, so the real service is
+// used, with its property values set here
+@WebMvcTest(
+    controllers = BootstrapController.class,
+    properties = {
+      "spring.h2.console.enabled=false",
+      "app.showSwaggerUILink=true",
+      "app.oauth.login=/oauth2/authorization/google",
+      "app.sourceRepo=https://github.com/ucsb-cs156/proj-courses",
+      "git.commit.message.short=Add the bootstrap endpoint",
+      "git.commit.id.abbrev=abcdef1"
+    })
+@Import(SystemInfoServiceImpl.class)
+public class BootstrapControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoSpyBean SystemInfoService systemInfoService;
+
+  private final SystemInfo systemInfo =
+      SystemInfo.builder()
+          .showSwaggerUILink(true)
+          .springH2ConsoleEnabled(false)
+          .oauthLogin("/oauth2/authorization/google")
+          .sourceRepo("https://github.com/ucsb-cs156/proj-courses")
+          .commitMessage("Add the bootstrap endpoint")
+          .commitId("abcdef1")
+          .githubUrl("https://github.com/ucsb-cs156/proj-courses/commit/abcdef1")
+          .build();
+
+  @Test
+  public void bootstrap__logged_out() throws Exception {
+    // act
+    MvcResult response =
+        mockMvc.perform(get("/api/bootstrap")).andExpect(status().isOk()).andReturn();
+
+    // assert
+    Map<String, Object> json = responseToJson(response);
+    assertEquals(
+        mapper.writeValueAsString(systemInfo), mapper.writeValueAsString(json.get("systemInfo")));
+    assertNull(json.get("currentUser"));
+    assertNull(response.getRequest().getSession(false));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void bootstrap__logged_in() throws Exception {
+    // arrange
+    CurrentUser currentUser = currentUserService.getCurrentUser();
+    MockHttpSession session = new MockHttpSession();
+
+    // act
+    MvcResult response =
+        mockMvc
+            .perform(get("/api/bootstrap").session(session))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    // assert
+    Map<String, Object> json = responseToJson(response);
+    assertEquals(
+        mapper.writeValueAsString(currentUser), mapper.writeValueAsString(json.get("currentUser")));
+    assertEquals(
+        mapper.writeValueAsString(systemInfo), mapper.writeValueAsString(json.get("systemInfo")));
+    assertEquals(
+        currentUser, session.getAttribute(BootstrapController.CURRENT_USER_ATTRIBUTE + "user"));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void bootstrap__current_user_comes_from_the_session() throws Exception {
+    // arrange
+    User user = User.builder().id(42L).email("cgaucho@ucsb.edu").build();
+    CurrentUser inSession = CurrentUser.builder().user(user).roles(List.of()).build();
+    MockHttpSession session = new MockHttpSession();
+    session.setAttribute(BootstrapController.CURRENT_USER_ATTRIBUTE + "user", inSession);
+
+    // act
+    MvcResult response =
+        mockMvc
+            .perform(get("/api/bootstrap").session(session))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    // assert
+    Map<String, Object> json = responseToJson(response);
+    assertEquals(
+        mapper.writeValueAsString(inSession), mapper.writeValueAsString(json.get("currentUser")));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void bootstrap__without_a_session_looks_the_user_up() throws Exception {
+    // arrange
+    CurrentUser currentUser = currentUserService.getCurrentUser();
+
+    // act
+    MvcResult response =
+        mockMvc
+            .perform(
+                get("/api/bootstrap")
+                    .with(
+                        request -> {
+                          // as in the stateless profile, where no session is ever created
+                          request.setSession(null);
+                          return request;
+                        }))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    // assert
+    Map<String, Object> json = responseToJson(response);
+    assertEquals(
+        mapper.writeValueAsString(currentUser), mapper.writeValueAsString(json.get("currentUser")));
+  }
+
+  @Test
+  public void bootstrap__system_info_is_serialized_once() throws Exception {
+    mockMvc.perform(get("/api/bootstrap")).andExpect(status().isOk());
+    clearInvocations(systemInfoService);
+
+    mockMvc.perform(get("/api/bootstrap")).andExpect(status().isOk());
+
+    verify(systemInfoService, never()).getSystemInfo();
+  }
+
+  @Test
+  public void bootstrap__csrf_token_is_the_one_to_send_in_the_header() throws Exception {
+    // act
+    MvcResult response =
+        mockMvc.perform(get("/api/bootstrap")).andExpect(status().isOk()).andReturn();
+
+    // assert
+    Map<String, Object> csrf = (Map<String, Object>) responseToJson(response).get("csrf");
+    assertEquals("X-XSRF-TOKEN", csrf.get("headerName"));
+    Cookie cookie = response.getResponse().getCookie("XSRF-TOKEN");
+    assertNotNull(cookie);
+    assertEquals(cookie.getValue(), csrf.get("token"));
+
+    // a write with the token in the header gets past the CSRF check (there is no POST here)
+    mockMvc
+        .perform(
+            post("/api/bootstrap")
+                .cookie(cookie)
+                .header("X-XSRF-TOKEN", (String) csrf.get("token")))
+        .andExpect(status().isMethodNotAllowed());
+    mockMvc.perform(post("/api/bootstrap").cookie(cookie)).andExpect(status().isForbidden());
+  }
+}
@@ -1,12 +1,20 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.errors.BulkOperationException;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.BulkItemError;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-/** This class is used to test ApiController and EntityNotFoundException */
+/**
+ * This class is used to test ApiController, EntityNotFoundException, BulkOperationException and
+ * pageRequest
+ */
 @RequestMapping("/dummycontroller")
 @RestController
 public class DummyController extends ApiController {
@@ -18,4 +26,22 @@ public class DummyController extends ApiController {
     }
     throw new EntityNotFoundException(String.class, id);
   }
+
+  @GetMapping("/page")
+  public Map<String, Object> page(
+      @RequestParam int page, @RequestParam int size, @RequestParam String sort) {
+    Pageable pageable = pageRequest(page, size, sort, List.of("id", "name"));
+    return Map.of(
+        "page", pageable.getPageNumber(),
+        "size", pageable.getPageSize(),
+        "sort", pageable.getSort().toString());
+  }
+
+  @GetMapping("/bulk")
+  public Object bulk() {
+    throw new BulkOperationException(
+        List.of(
+            BulkItemError.builder().index(1).id("7").message("String with id 7 not found").build()),
+        2);
+  }
 }
@@ -0,0 +1,115 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.ExportService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = ExportController.class)
+@Import(TestConfig.class)
+public class ExportControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoBean ExportService exportService;
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_export() throws Exception {
+    mockMvc.perform(get("/api/export/restaurants")).andExpect(status().is(403));
+    mockMvc.perform(get("/api/export")).andExpect(status().is(403));
+    verify(exportService, never()).export(anyString(), any());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_list_exportable_tables() throws Exception {
+    when(exportService.getResources()).thenReturn(List.of("articles", "restaurants"));
+
+    MvcResult response = mockMvc.perform(get("/api/export")).andExpect(status().isOk()).andReturn();
+
+    assertEquals("[\"articles\",\"restaurants\"]", response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_export_a_table_as_ndjson() throws Exception {
+    when(exportService.export("restaurants", ExportService.Format.NDJSON))
+        .thenReturn(out -> out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8)));
+
+    MvcResult started =
+        mockMvc
+            .perform(get("/api/export/restaurants?format=ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    assertEquals(
+        Duration.ofMinutes(10).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(
+            header().string("Content-Disposition", "attachment; filename=\"restaurants.ndjson\""))
+        .andExpect(content().string("{\"id\":1}\n"));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void export_defaults_to_a_json_array() throws Exception {
+    when(exportService.export("restaurants", ExportService.Format.JSON))
+        .thenReturn(out -> out.write("[]".getBytes(StandardCharsets.UTF_8)));
+
+    MvcResult started =
+        mockMvc
+            .perform(get("/api/export/restaurants"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/json"))
+        .andExpect(
+            header().string("Content-Disposition", "attachment; filename=\"restaurants.json\""))
+        .andExpect(content().string("[]"));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void export_of_unknown_table_is_a_bad_request() throws Exception {
+    when(exportService.export("users", ExportService.Format.JSON))
+        .thenThrow(new BadRequestException("cannot export 'users'"));
+
+    MvcResult response =
+        mockMvc.perform(get("/api/export/users")).andExpect(status().isBadRequest()).andReturn();
+
+    assertEquals(
+        Map.of("type", "BadRequestException", "message", "cannot export 'users'"),
+        responseToJson(response));
+  }
+}
@@ -3,11 +3,14 @@ package edu.ucsb.cs156.example.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -17,26 +20,37 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.HelpRequest;
 import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.HelpRequestService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = HelpRequestController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, HelpRequestService.class})
 public class HelpRequestControllerTests extends ControllerTestCase {
 
   @MockBean HelpRequestRepository helpRequestRepository;
 
+  @MockBean BulkService bulkService;
+
   // Needed for security in tests (pattern from example controllers)
   @MockBean UserRepository userRepository;
 
@@ -50,6 +64,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(helpRequestRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/helprequest/all")).andExpect(status().is(200));
   }
 
@@ -125,13 +140,15 @@ public class HelpRequestControllerTests extends ControllerTestCase {
     var expected = new ArrayList<HelpRequest>();
     expected.addAll(Arrays.asList(h1, h2));
 
-    when(helpRequestRepository.findAll()).thenReturn(expected);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<HelpRequest> expectedPage = new PageImpl<>(expected, pageable, expected.size());
+    when(helpRequestRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     MvcResult response =
         mockMvc.perform(get("/api/helprequest/all")).andExpect(status().isOk()).andReturn();
 
-    verify(helpRequestRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expected);
+    verify(helpRequestRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -259,7 +276,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
     String requestBody = mapper.writeValueAsString(incoming);
     assertNotEquals(true, existing.equals(incoming));
 
-    when(helpRequestRepository.findById(eq(123L))).thenReturn(Optional.of(existing));
+    when(helpRequestRepository.updateOneById(eq(123L), any())).thenReturn(1);
 
     MvcResult response =
         mockMvc
@@ -273,10 +290,10 @@ public class HelpRequestControllerTests extends ControllerTestCase {
             .andReturn();
 
     var captor = org.mockito.ArgumentCaptor.forClass(HelpRequest.class);
-    verify(helpRequestRepository, times(1)).findById(123L);
-    verify(helpRequestRepository, times(1)).save(captor.capture());
+    verify(helpRequestRepository, times(1)).updateOneById(eq(123L), captor.capture());
 
     HelpRequest saved = captor.getValue();
+    assertEquals(123L, saved.getId());
     assertEquals("new@ucsb.edu", saved.getRequesterEmail());
     assertEquals("f25-4pm-2", saved.getTeamId());
     assertEquals("Breakout 7", saved.getTableOrBreakoutRoom());
@@ -305,7 +322,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(incoming);
 
-    when(helpRequestRepository.findById(eq(123L))).thenReturn(Optional.empty());
+    when(helpRequestRepository.updateOneById(eq(123L), any())).thenReturn(0);
 
     MvcResult response =
         mockMvc
@@ -318,8 +335,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
             .andExpect(status().isNotFound())
             .andReturn();
 
-    verify(helpRequestRepository, times(1)).findById(eq(123L));
-    verify(helpRequestRepository, times(0)).save(org.mockito.ArgumentMatchers.any());
+    verify(helpRequestRepository, times(1)).updateOneById(eq(123L), any());
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("EntityNotFoundException", json.get("type"));
@@ -340,7 +356,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
             .solved(false)
             .build();
 
-    when(helpRequestRepository.findById(eq(123L))).thenReturn(Optional.of(existing));
+    when(helpRequestRepository.deleteOneById(eq(123L))).thenReturn(1);
 
     MvcResult response =
         mockMvc
@@ -351,8 +367,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
             .andExpect(status().isOk())
             .andReturn();
 
-    verify(helpRequestRepository, times(1)).findById(eq(123L));
-    verify(helpRequestRepository, times(1)).delete(existing);
+    verify(helpRequestRepository, times(1)).deleteOneById(eq(123L));
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("HelpRequest with id 123 was deleted", json.get("message"));
@@ -361,7 +376,7 @@ public class HelpRequestControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
   public void admin_tries_to_delete_nonexistent_helpRequest() throws Exception {
-    when(helpRequestRepository.findById(eq(123L))).thenReturn(Optional.empty());
+    when(helpRequestRepository.deleteOneById(eq(123L))).thenReturn(0);
 
     MvcResult response =
         mockMvc
@@ -372,11 +387,101 @@ public class HelpRequestControllerTests extends ControllerTestCase {
             .andExpect(status().isNotFound())
             .andReturn();
 
-    verify(helpRequestRepository, times(1)).findById(eq(123L));
-    verify(helpRequestRepository, times(0)).delete(org.mockito.ArgumentMatchers.any());
+    verify(helpRequestRepository, times(1)).deleteOneById(eq(123L));
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("EntityNotFoundException", json.get("type"));
     assertEquals("HelpRequest with id 123 not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/helprequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/helprequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/helprequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<HelpRequest> created =
+        List.of(HelpRequest.builder().build(), HelpRequest.builder().build());
+    when(bulkService.create(
+            eq(helpRequestRepository), eq(HelpRequest.class), argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/helprequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<HelpRequest> updated = List.of(HelpRequest.builder().build());
+    when(bulkService.update(
+            eq(helpRequestRepository), eq(HelpRequest.class), argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/helprequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(helpRequestRepository, HelpRequest.class, List.of(1L, 2L)))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/helprequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService).delete(helpRequestRepository, HelpRequest.class, List.of(1L, 2L));
+    assertEquals("2 HelpRequest records deleted", responseToJson(response).get("message"));
+  }
 }
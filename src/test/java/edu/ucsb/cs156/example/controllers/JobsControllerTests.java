@@ -17,15 +17,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.Job;
 import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.SeedDataOptions;
 import edu.ucsb.cs156.example.repositories.JobsRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SeedDataService;
 import edu.ucsb.cs156.example.services.jobs.JobService;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -44,6 +49,8 @@ public class JobsControllerTests extends ControllerTestCase {
 
   @MockitoBean UserRepository userRepository;
 
+  @MockitoBean SeedDataService seedDataService;
+
   @Autowired JobService jobService;
 
   @Autowired ObjectMapper objectMapper;
@@ -235,6 +242,7 @@ public class JobsControllerTests extends ControllerTestCase {
             .createdAt(null)
             .updatedAt(null)
             .status("running")
+            .requestId("launch-test-1")
             .log("Hello World! from test job!")
             .build();
 
@@ -245,6 +253,7 @@ public class JobsControllerTests extends ControllerTestCase {
             .createdAt(null)
             .updatedAt(null)
             .status("complete")
+            .requestId("launch-test-1")
             .log("Hello World! from test job!\nGoodbye from test job!")
             .build();
 
@@ -253,7 +262,10 @@ public class JobsControllerTests extends ControllerTestCase {
     // act
     MvcResult response =
         mockMvc
-            .perform(post("/api/jobs/launch/testjob?fail=false&sleepMs=2000").with(csrf()))
+            .perform(
+                post("/api/jobs/launch/testjob?fail=false&sleepMs=2000")
+                    .header("X-Request-Id", "launch-test-1")
+                    .with(csrf()))
             .andExpect(status().isOk())
             .andReturn();
 
@@ -262,6 +274,7 @@ public class JobsControllerTests extends ControllerTestCase {
     Job jobReturned = objectMapper.readValue(responseString, Job.class);
 
     assertEquals("running", jobReturned.getStatus());
+    assertEquals("launch-test-1", jobReturned.getRequestId());
 
     await()
         .atMost(1, SECONDS)
@@ -286,6 +299,7 @@ public class JobsControllerTests extends ControllerTestCase {
             .createdAt(null)
             .updatedAt(null)
             .status("running")
+            .requestId("launch-test-1")
             .log("Hello World! from test job!")
             .build();
 
@@ -296,6 +310,7 @@ public class JobsControllerTests extends ControllerTestCase {
             .createdAt(null)
             .updatedAt(null)
             .status("error")
+            .requestId("launch-test-1")
             .log("Hello World! from test job!\nFail!")
             .build();
 
@@ -304,7 +319,10 @@ public class JobsControllerTests extends ControllerTestCase {
     // act
     MvcResult response =
         mockMvc
-            .perform(post("/api/jobs/launch/testjob?fail=true&sleepMs=4000").with(csrf()))
+            .perform(
+                post("/api/jobs/launch/testjob?fail=true&sleepMs=4000")
+                    .header("X-Request-Id", "launch-test-1")
+                    .with(csrf()))
             .andExpect(status().isOk())
             .andReturn();
 
@@ -312,6 +330,7 @@ public class JobsControllerTests extends ControllerTestCase {
     Job jobReturned = objectMapper.readValue(responseString, Job.class);
 
     assertEquals("running", jobReturned.getStatus());
+    assertEquals("launch-test-1", jobReturned.getRequestId());
 
     await()
         .atMost(1, SECONDS)
@@ -321,4 +340,111 @@ public class JobsControllerTests extends ControllerTestCase {
         .atMost(10, SECONDS)
         .untilAsserted(() -> verify(jobsRepository, times(3)).save(eq(jobFailed)));
   }
+
+  @WithMockUser(roles = {"ADMIN"})
+  @Test
+  public void admin_can_launch_seed_data_job() throws Exception {
+    // arrange: hold the job in seed until the response has been checked
+    CountDownLatch seeding = new CountDownLatch(1);
+    doAnswer(invocation -> seeding.await(10, SECONDS)).when(seedDataService).seed(any(), any());
+
+    // act
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/jobs/launch/seeddata?seed=7&menuItems=10&menuItemReviews=20"
+                        + "&helpRequests=30&jobs=40&jobLogLines=5")
+                    .with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    // assert
+    Job jobReturned =
+        objectMapper.readValue(response.getResponse().getContentAsString(), Job.class);
+    assertEquals("running", jobReturned.getStatus());
+    seeding.countDown();
+
+    SeedDataOptions expectedOptions =
+        SeedDataOptions.builder()
+            .seed(7)
+            .menuItems(10)
+            .menuItemReviews(20)
+            .helpRequests(30)
+            .jobs(40)
+            .jobLogLines(5)
+            .build();
+    await()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> verify(seedDataService).seed(eq(expectedOptions), any()));
+    await()
+        .atMost(10, SECONDS)
+        .untilAsserted(
+            () -> {
+              ArgumentCaptor<Job> saved = ArgumentCaptor.forClass(Job.class);
+              verify(jobsRepository, atLeastOnce()).save(saved.capture());
+              assertEquals("complete", saved.getValue().getStatus());
+              assertEquals(
+                  "Seeding data: " + expectedOptions + "\nSeeding complete",
+                  saved.getValue().getLog());
+            });
+  }
+
+  @WithMockUser(roles = {"ADMIN"})
+  @Test
+  public void seed_data_job_has_defaults_for_every_count() throws Exception {
+    mockMvc.perform(post("/api/jobs/launch/seeddata").with(csrf())).andExpect(status().isOk());
+
+    SeedDataOptions expectedOptions =
+        SeedDataOptions.builder()
+            .seed(42)
+            .menuItems(5000)
+            .menuItemReviews(1_000_000)
+            .helpRequests(200_000)
+            .jobs(100_000)
+            .jobLogLines(50)
+            .build();
+    await()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> verify(seedDataService).seed(eq(expectedOptions), any()));
+  }
+
+  @WithMockUser(roles = {"ADMIN"})
+  @Test
+  public void seed_data_job_rejects_negative_counts() throws Exception {
+    for (String count :
+        List.of("menuItems", "menuItemReviews", "helpRequests", "jobs", "jobLogLines")) {
+      MvcResult response =
+          mockMvc
+              .perform(post("/api/jobs/launch/seeddata?" + count + "=-1").with(csrf()))
+              .andExpect(status().isBadRequest())
+              .andReturn();
+      Map<String, Object> json = responseToJson(response);
+      assertEquals("counts must not be negative", json.get("message"));
+    }
+    verify(seedDataService, never()).seed(any(), any());
+  }
+
+  @WithMockUser(roles = {"ADMIN"})
+  @Test
+  public void seed_data_job_accepts_zero_counts() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/jobs/launch/seeddata?menuItems=0&menuItemReviews=0"
+                    + "&helpRequests=0&jobs=0&jobLogLines=0")
+                .with(csrf()))
+        .andExpect(status().isOk());
+
+    SeedDataOptions expectedOptions = SeedDataOptions.builder().seed(42).build();
+    await()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> verify(seedDataService).seed(eq(expectedOptions), any()));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_user_cannot_launch_seed_data_job() throws Exception {
+    mockMvc
+        .perform(post("/api/jobs/launch/seeddata").with(csrf()))
+        .andExpect(status().isForbidden());
+  }
 }
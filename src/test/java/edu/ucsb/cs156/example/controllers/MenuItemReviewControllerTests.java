@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -17,24 +18,34 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.MenuItemReview;
 import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.MenuItemReviewService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = MenuItemReviewController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, MenuItemReviewService.class})
 public class MenuItemReviewControllerTests extends ControllerTestCase {
   @MockBean MenuItemReviewRepository menuItemReviewRepository;
+  @MockBean BulkService bulkService;
   @MockBean UserRepository userRepository;
 
   // Tests w/ Mocks for database actions
@@ -48,6 +59,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void test_login_user_can_get_all() throws Exception {
+    when(menuItemReviewRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/menuitemreview/all")).andExpect(status().is(200));
   }
 
@@ -126,15 +138,18 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
     ArrayList<MenuItemReview> expectedReviews = new ArrayList<>();
     expectedReviews.addAll(Arrays.asList(menuItemReview1, menuItemReview2));
 
-    when(menuItemReviewRepository.findAll()).thenReturn(expectedReviews);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<MenuItemReview> expectedPage =
+        new PageImpl<>(expectedReviews, pageable, expectedReviews.size());
+    when(menuItemReviewRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     // act
     MvcResult response =
         mockMvc.perform(get("/api/menuitemreview/all")).andExpect(status().isOk()).andReturn();
 
     // assert
-    verify(menuItemReviewRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expectedReviews);
+    verify(menuItemReviewRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -225,18 +240,8 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
   @Test
   public void admin_can_edit_existing_menuitemreview() throws Exception {
     // arrange
-    LocalDateTime ldt1 = LocalDateTime.parse("2025-10-28T00:00:00");
     LocalDateTime ldt2 = LocalDateTime.parse("2025-10-29T00:00:00");
 
-    MenuItemReview menuItemReviewOrig =
-        MenuItemReview.builder()
-            .itemId(Long.valueOf(1))
-            .reviewerEmail("johnsmith@gmail.com")
-            .stars(3)
-            .dateReviewed(ldt1)
-            .comments("mid")
-            .build();
-
     MenuItemReview menuItemReviewEdited =
         MenuItemReview.builder()
             .itemId(Long.valueOf(2))
@@ -247,8 +252,9 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .build();
 
     String requestBody = mapper.writeValueAsString(menuItemReviewEdited);
+    menuItemReviewEdited.setId(67L);
 
-    when(menuItemReviewRepository.findById(eq(67L))).thenReturn(Optional.of(menuItemReviewOrig));
+    when(menuItemReviewRepository.updateOneById(eq(67L), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -263,11 +269,9 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(menuItemReviewRepository, times(1)).findById(67L);
-    verify(menuItemReviewRepository, times(1))
-        .save(menuItemReviewEdited); // should be saved with correct user
+    verify(menuItemReviewRepository, times(1)).updateOneById(67L, menuItemReviewEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(menuItemReviewEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -287,7 +291,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(menuItemReviewEdited);
 
-    when(menuItemReviewRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(menuItemReviewRepository.updateOneById(eq(67L), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -302,7 +306,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(menuItemReviewRepository, times(1)).findById(67L);
+    verify(menuItemReviewRepository, times(1)).updateOneById(eq(67L), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("MenuItemReview with id 67 not found", json.get("message"));
   }
@@ -321,7 +325,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .comments("mid")
             .build();
 
-    when(menuItemReviewRepository.findById(eq(15L))).thenReturn(Optional.of(menuItemReview1));
+    when(menuItemReviewRepository.deleteOneById(eq(15L))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -331,8 +335,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(menuItemReviewRepository, times(1)).findById(15L);
-    verify(menuItemReviewRepository, times(1)).delete(any());
+    verify(menuItemReviewRepository, times(1)).deleteOneById(15L);
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("MenuItemReview with id 15 deleted", json.get("message"));
@@ -341,7 +344,7 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
   public void admin_cannot_delete_review_that_does_not_exist() throws Exception {
-    when(menuItemReviewRepository.findById(eq(15L))).thenReturn(Optional.empty());
+    when(menuItemReviewRepository.deleteOneById(eq(15L))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -351,8 +354,103 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(menuItemReviewRepository, times(1)).findById(15L);
+    verify(menuItemReviewRepository, times(1)).deleteOneById(15L);
     Map<String, Object> json = responseToJson(response);
     assertEquals("MenuItemReview with id 15 not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/menuitemreview/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/menuitemreview/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/menuitemreview/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<MenuItemReview> created =
+        List.of(MenuItemReview.builder().build(), MenuItemReview.builder().build());
+    when(bulkService.create(
+            eq(menuItemReviewRepository),
+            eq(MenuItemReview.class),
+            argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/menuitemreview/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<MenuItemReview> updated = List.of(MenuItemReview.builder().build());
+    when(bulkService.update(
+            eq(menuItemReviewRepository),
+            eq(MenuItemReview.class),
+            argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/menuitemreview/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(menuItemReviewRepository, MenuItemReview.class, List.of(1L, 2L)))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/menuitemreview/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService).delete(menuItemReviewRepository, MenuItemReview.class, List.of(1L, 2L));
+    assertEquals("2 MenuItemReview records deleted", responseToJson(response).get("message"));
+  }
 }
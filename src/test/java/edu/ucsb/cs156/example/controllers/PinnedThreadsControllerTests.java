@@ -0,0 +1,82 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.PinnedThread;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.VirtualThreadPinningService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = PinnedThreadsController.class)
+@Import(TestConfig.class)
+public class PinnedThreadsControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoBean VirtualThreadPinningService virtualThreadPinningService;
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_get_pinned_threads() throws Exception {
+    mockMvc.perform(get("/api/admin/pinned-threads")).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_clear_pinned_threads() throws Exception {
+    mockMvc.perform(delete("/api/admin/pinned-threads").with(csrf())).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_get_pinned_threads() throws Exception {
+    List<PinnedThread> pinnedThreads =
+        List.of(
+            PinnedThread.builder()
+                .thread("tomcat-handler-12")
+                .startedAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .durationMs(35.5)
+                .site("org.h2.engine.SessionLocal.waitForLock")
+                .stack(
+                    List.of(
+                        "java.lang.VirtualThread.parkOnCarrierThread(line 675)",
+                        "org.h2.engine.SessionLocal.waitForLock(line 1456)"))
+                .build());
+    when(virtualThreadPinningService.getPinnedThreads()).thenReturn(pinnedThreads);
+
+    MvcResult response =
+        mockMvc.perform(get("/api/admin/pinned-threads")).andExpect(status().isOk()).andReturn();
+
+    assertEquals(
+        mapper.writeValueAsString(pinnedThreads), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_clear_pinned_threads() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(delete("/api/admin/pinned-threads").with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(virtualThreadPinningService, times(1)).clear();
+    assertEquals("Pinned threads cleared", responseToJson(response).get("message"));
+  }
+}
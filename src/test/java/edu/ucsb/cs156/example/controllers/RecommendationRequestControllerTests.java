@@ -1,6 +1,8 @@
 package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -11,20 +13,29 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
 import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.RecommendationRequestService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = RecommendationRequestController.class)
+@Import(RecommendationRequestService.class)
 public class RecommendationRequestControllerTests extends ControllerTestCase {
   @MockBean private RecommendationRequestRepository recommendationRequestRepository;
+  @MockBean private BulkService bulkService;
   @MockBean UserRepository userRepository;
 
   // === /all endpoint ===
@@ -39,15 +50,20 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
     r2.setId(2L);
     r2.setRequesterEmail("student2@ucsb.edu");
 
-    when(recommendationRequestRepository.findAll()).thenReturn(List.of(r1, r2));
+    List<RecommendationRequest> expectedRecommendationRequests = List.of(r1, r2);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<RecommendationRequest> expectedPage =
+        new PageImpl<>(
+            expectedRecommendationRequests, pageable, expectedRecommendationRequests.size());
+    when(recommendationRequestRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     mockMvc
         .perform(get("/api/recommendationrequest/all"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].requesterEmail").value("student1@ucsb.edu"))
-        .andExpect(jsonPath("$[1].requesterEmail").value("student2@ucsb.edu"));
+        .andExpect(jsonPath("$.content[0].requesterEmail").value("student1@ucsb.edu"))
+        .andExpect(jsonPath("$.content[1].requesterEmail").value("student2@ucsb.edu"));
 
-    verify(recommendationRequestRepository).findAll();
+    verify(recommendationRequestRepository).findAll(eq(pageable));
   }
 
   // === /post endpoint ===
@@ -131,21 +147,9 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
   public void admin_can_edit_an_existing_recommendation_request() throws Exception {
     // arrange
 
-    LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
-    LocalDateTime ldt2 = LocalDateTime.parse("2023-01-03T00:00:00");
     LocalDateTime ldt3 = LocalDateTime.parse("2024-01-03T00:00:00");
     LocalDateTime ldt4 = LocalDateTime.parse("2025-01-03T00:00:00");
 
-    RecommendationRequest recommendationRequestOrig =
-        RecommendationRequest.builder()
-            .requesterEmail("abc@ucsb.edu")
-            .professorEmail("prof@ucsb.edu")
-            .explanation("Grad school recommendation")
-            .dateRequested(ldt1)
-            .dateNeeded(ldt2)
-            .done(false)
-            .build();
-
     RecommendationRequest recommendationRequestEdited =
         RecommendationRequest.builder()
             .requesterEmail("edf@ucsb.edu")
@@ -157,9 +161,9 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
             .build();
 
     String requestBody = mapper.writeValueAsString(recommendationRequestEdited);
+    recommendationRequestEdited.setId(67L);
 
-    when(recommendationRequestRepository.findById(eq(67L)))
-        .thenReturn(Optional.of(recommendationRequestOrig));
+    when(recommendationRequestRepository.updateOneById(eq(67L), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -174,11 +178,10 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(recommendationRequestRepository, times(1)).findById(67L);
     verify(recommendationRequestRepository, times(1))
-        .save(recommendationRequestEdited); // should be saved with correct user
+        .updateOneById(67L, recommendationRequestEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(recommendationRequestEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -200,7 +203,7 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(recommendationRequestEdited);
 
-    when(recommendationRequestRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(recommendationRequestRepository.updateOneById(eq(67L), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -215,7 +218,7 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(recommendationRequestRepository, times(1)).findById(67L);
+    verify(recommendationRequestRepository, times(1)).updateOneById(eq(67L), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("RecommendationRequest with id 67 not found", json.get("message"));
   }
@@ -227,7 +230,7 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
           throws Exception {
     // arrange
 
-    when(recommendationRequestRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(recommendationRequestRepository.deleteOneById(eq(67L))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -237,7 +240,7 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(recommendationRequestRepository, times(1)).findById(67L);
+    verify(recommendationRequestRepository, times(1)).deleteOneById(67L);
     Map<String, Object> json = responseToJson(response);
     assertEquals("RecommendationRequest with id 67 not found", json.get("message"));
   }
@@ -246,17 +249,8 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
   @Test
   public void admin_can_delete_existing_recommendationrequest() throws Exception {
     // arrange
-    RecommendationRequest existing =
-        RecommendationRequest.builder()
-            .requesterEmail("test@ucsb.edu")
-            .professorEmail("prof@ucsb.edu")
-            .explanation("explanation")
-            .dateRequested(LocalDateTime.parse("2024-01-01T00:00:00"))
-            .dateNeeded(LocalDateTime.parse("2024-02-01T00:00:00"))
-            .done(false)
-            .build();
 
-    when(recommendationRequestRepository.findById(eq(67L))).thenReturn(Optional.of(existing));
+    when(recommendationRequestRepository.deleteOneById(eq(67L))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -266,10 +260,107 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(recommendationRequestRepository, times(1)).findById(67L);
-    verify(recommendationRequestRepository, times(1)).delete(existing);
+    verify(recommendationRequestRepository, times(1)).deleteOneById(67L);
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("RecommendationRequest with id 67 deleted", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/recommendationrequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/recommendationrequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/recommendationrequest/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<RecommendationRequest> created =
+        List.of(RecommendationRequest.builder().build(), RecommendationRequest.builder().build());
+    when(bulkService.create(
+            eq(recommendationRequestRepository),
+            eq(RecommendationRequest.class),
+            argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/recommendationrequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<RecommendationRequest> updated = List.of(RecommendationRequest.builder().build());
+    when(bulkService.update(
+            eq(recommendationRequestRepository),
+            eq(RecommendationRequest.class),
+            argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/recommendationrequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(
+            recommendationRequestRepository, RecommendationRequest.class, List.of(1L, 2L)))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/recommendationrequest/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService)
+        .delete(recommendationRequestRepository, RecommendationRequest.class, List.of(1L, 2L));
+    assertEquals(
+        "2 RecommendationRequest records deleted", responseToJson(response).get("message"));
+  }
 }
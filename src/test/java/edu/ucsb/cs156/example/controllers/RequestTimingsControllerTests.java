@@ -0,0 +1,82 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.HandlerTimingSummary;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.RequestTimingService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = RequestTimingsController.class)
+@Import(TestConfig.class)
+public class RequestTimingsControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoBean RequestTimingService requestTimingService;
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_get_timings() throws Exception {
+    mockMvc.perform(get("/api/admin/timings")).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_reset_timings() throws Exception {
+    mockMvc.perform(delete("/api/admin/timings").with(csrf())).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_get_timings() throws Exception {
+    List<HandlerTimingSummary> summaries =
+        List.of(
+            HandlerTimingSummary.builder()
+                .handler("ArticlesController.allArticles")
+                .count(3)
+                .outcomes(Map.of("SUCCESS", 3L))
+                .exceptions(Map.of())
+                .meanMs(1.5)
+                .p50Ms(1)
+                .p95Ms(2)
+                .p99Ms(2)
+                .maxMs(2)
+                .build());
+    when(requestTimingService.getSummaries()).thenReturn(summaries);
+
+    MvcResult response =
+        mockMvc.perform(get("/api/admin/timings")).andExpect(status().isOk()).andReturn();
+
+    assertEquals(mapper.writeValueAsString(summaries), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_reset_timings() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(delete("/api/admin/timings").with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(requestTimingService, times(1)).reset();
+    assertEquals("Request timings reset", responseToJson(response).get("message"));
+  }
+}
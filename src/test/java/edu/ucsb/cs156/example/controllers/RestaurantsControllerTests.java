@@ -2,9 +2,11 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -14,27 +16,42 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.Restaurant;
 import edu.ucsb.cs156.example.repositories.RestaurantRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.RestaurantService;
+import edu.ucsb.cs156.example.services.TableVersionService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = RestaurantsController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, RestaurantService.class})
 public class RestaurantsControllerTests extends ControllerTestCase {
 
   @MockitoBean RestaurantRepository restaurantRepository;
 
+  @MockitoBean BulkService bulkService;
+
   @MockitoBean UserRepository userRepository;
 
+  @Autowired TableVersionService tableVersionService;
+
   // Authorization tests for /api/phones/admin/all
 
   @Test
@@ -47,6 +64,7 @@ public class RestaurantsControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(restaurantRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/restaurants/all")).andExpect(status().is(200)); // logged
   }
 
@@ -131,7 +149,10 @@ public class RestaurantsControllerTests extends ControllerTestCase {
     ArrayList<Restaurant> expectedRestaurants = new ArrayList<>();
     expectedRestaurants.addAll(Arrays.asList(restaurant1, restaurant2));
 
-    when(restaurantRepository.findAll()).thenReturn(expectedRestaurants);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<Restaurant> expectedPage =
+        new PageImpl<>(expectedRestaurants, pageable, expectedRestaurants.size());
+    when(restaurantRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     // act
     MvcResult response =
@@ -139,8 +160,8 @@ public class RestaurantsControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(restaurantRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expectedRestaurants);
+    verify(restaurantRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -173,9 +194,8 @@ public class RestaurantsControllerTests extends ControllerTestCase {
   public void admin_can_delete_a_restaurant() throws Exception {
     // arrange
 
-    Restaurant restaurant = Restaurant.builder().name("Taco Bell").description("Mexican").build();
-
-    when(restaurantRepository.findById(eq(15L))).thenReturn(Optional.of(restaurant));
+    when(restaurantRepository.deleteOneById(eq(15L))).thenReturn(1);
+    long version = tableVersionService.getVersion(Restaurant.class);
 
     // act
     MvcResult response =
@@ -185,11 +205,11 @@ public class RestaurantsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(restaurantRepository, times(1)).findById(15L);
-    verify(restaurantRepository, times(1)).delete(any());
+    verify(restaurantRepository, times(1)).deleteOneById(15L);
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("Restaurant with id 15 deleted", json.get("message"));
+    assertEquals(version + 1, tableVersionService.getVersion(Restaurant.class));
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -198,7 +218,8 @@ public class RestaurantsControllerTests extends ControllerTestCase {
       throws Exception {
     // arrange
 
-    when(restaurantRepository.findById(eq(15L))).thenReturn(Optional.empty());
+    when(restaurantRepository.deleteOneById(eq(15L))).thenReturn(0);
+    long version = tableVersionService.getVersion(Restaurant.class);
 
     // act
     MvcResult response =
@@ -208,9 +229,10 @@ public class RestaurantsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(restaurantRepository, times(1)).findById(15L);
+    verify(restaurantRepository, times(1)).deleteOneById(15L);
     Map<String, Object> json = responseToJson(response);
     assertEquals("Restaurant with id 15 not found", json.get("message"));
+    assertEquals(version, tableVersionService.getVersion(Restaurant.class));
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -218,15 +240,13 @@ public class RestaurantsControllerTests extends ControllerTestCase {
   public void admin_can_edit_an_existing_restaurant() throws Exception {
     // arrange
 
-    Restaurant restaurantOrig =
-        Restaurant.builder().id(67L).name("Chipotle").description("Mexican").build();
-
     Restaurant restaurantEdited =
-        Restaurant.builder().id(67L).name("Taco Bell").description("American").build();
+        Restaurant.builder().name("Taco Bell").description("American").build();
 
     String requestBody = mapper.writeValueAsString(restaurantEdited);
+    restaurantEdited.setId(67L);
 
-    when(restaurantRepository.findById(eq(67L))).thenReturn(Optional.of(restaurantOrig));
+    when(restaurantRepository.updateOneById(eq(67L), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -241,11 +261,9 @@ public class RestaurantsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(restaurantRepository, times(1)).findById(67L);
-    verify(restaurantRepository, times(1))
-        .save(restaurantEdited); // should be saved with correct user
+    verify(restaurantRepository, times(1)).updateOneById(67L, restaurantEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(restaurantEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -258,7 +276,7 @@ public class RestaurantsControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(editedRestaurant);
 
-    when(restaurantRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(restaurantRepository.updateOneById(eq(67L), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -273,8 +291,157 @@ public class RestaurantsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(restaurantRepository, times(1)).findById(67L);
+    verify(restaurantRepository, times(1)).updateOneById(eq(67L), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("Restaurant with id 67 not found", json.get("message"));
   }
+
+  // Tests for ETag / If-None-Match
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void get_all_has_the_table_etag_and_may_be_cached_with_revalidation() throws Exception {
+    when(restaurantRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+    mockMvc
+        .perform(get("/api/restaurants/all"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", tableVersionService.getETag(Restaurant.class)))
+        .andExpect(header().string("Cache-Control", "no-cache, private"));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void get_all_with_current_etag_is_not_modified_and_does_not_query() throws Exception {
+    String etag = tableVersionService.getETag(Restaurant.class);
+
+    MvcResult response =
+        mockMvc
+            .perform(get("/api/restaurants/all").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andReturn();
+
+    assertEquals("", response.getResponse().getContentAsString());
+    verifyNoInteractions(restaurantRepository);
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void get_by_id_with_stale_etag_returns_the_restaurant_and_new_etag() throws Exception {
+    String stale = tableVersionService.getETag(Restaurant.class);
+    tableVersionService.bump(Restaurant.class);
+    Restaurant restaurant =
+        Restaurant.builder().id(7).name("Taco Bell").description("Mexican").build();
+    when(restaurantRepository.findById(eq(7L))).thenReturn(Optional.of(restaurant));
+
+    MvcResult response =
+        mockMvc
+            .perform(get("/api/restaurants?id=7").header("If-None-Match", stale))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", tableVersionService.getETag(Restaurant.class)))
+            .andReturn();
+
+    assertEquals(
+        mapper.writeValueAsString(restaurant), response.getResponse().getContentAsString());
+  }
+
+  @Test
+  public void logged_out_users_cannot_revalidate() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/restaurants/all")
+                .header("If-None-Match", tableVersionService.getETag(Restaurant.class)))
+        .andExpect(status().is(403))
+        .andExpect(header().doesNotExist("ETag"));
+  }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<Restaurant> created = List.of(Restaurant.builder().build(), Restaurant.builder().build());
+    when(bulkService.create(
+            eq(restaurantRepository), eq(Restaurant.class), argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/restaurants/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<Restaurant> updated = List.of(Restaurant.builder().build());
+    when(bulkService.update(
+            eq(restaurantRepository), eq(Restaurant.class), argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/restaurants/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(restaurantRepository, Restaurant.class, List.of(1L, 2L))).thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/restaurants/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService).delete(restaurantRepository, Restaurant.class, List.of(1L, 2L));
+    assertEquals("2 Restaurant records deleted", responseToJson(response).get("message"));
+  }
 }
@@ -0,0 +1,70 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SignedTokenService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+@ActiveProfiles("stateless")
+@WebMvcTest(controllers = SignedTokensController.class)
+@Import(TestConfig.class)
+public class SignedTokensControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoBean SignedTokenService signedTokenService;
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_user_cannot_revoke_keys() throws Exception {
+    mockMvc
+        .perform(post("/api/admin/tokens/revokeKey?keyId=k1").with(csrf()))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_revoke_a_retired_key() throws Exception {
+    when(signedTokenService.revokeKey("k1")).thenReturn(true);
+
+    MvcResult response =
+        mockMvc
+            .perform(post("/api/admin/tokens/revokeKey?keyId=k1").with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(signedTokenService).revokeKey("k1");
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("Key k1 revoked", json.get("message"));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_cannot_revoke_the_active_or_an_unknown_key() throws Exception {
+    when(signedTokenService.revokeKey("k2")).thenReturn(false);
+
+    MvcResult response =
+        mockMvc
+            .perform(post("/api/admin/tokens/revokeKey?keyId=k2").with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andReturn();
+
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("Key k2 is unknown or is the active key", json.get("message"));
+  }
+}
@@ -0,0 +1,93 @@
+package edu.ucsb.cs156.example.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.SlowRequest;
+import edu.ucsb.cs156.example.models.SqlStatementTiming;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SlowRequestService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = SlowRequestsController.class)
+@Import(TestConfig.class)
+public class SlowRequestsControllerTests extends ControllerTestCase {
+
+  @MockitoBean UserRepository userRepository;
+
+  @MockitoBean SlowRequestService slowRequestService;
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_get_slow_requests() throws Exception {
+    mockMvc.perform(get("/api/admin/slow-requests")).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void regular_users_cannot_clear_slow_requests() throws Exception {
+    mockMvc.perform(delete("/api/admin/slow-requests").with(csrf())).andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_get_slow_requests() throws Exception {
+    List<SlowRequest> slowRequests =
+        List.of(
+            SlowRequest.builder()
+                .handler("ArticlesController.allArticles")
+                .method("GET")
+                .uri("/api/articles/all")
+                .status(200)
+                .thread("http-nio-8080-exec-1")
+                .startedAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .durationMs(1500)
+                .sqlCount(1)
+                .sqlMs(1400)
+                .sql(
+                    List.of(
+                        SqlStatementTiming.builder()
+                            .offsetMs(1450)
+                            .elapsedMs(1400)
+                            .success(true)
+                            .sql("select * from articles")
+                            .build()))
+                .stack(List.of("java.lang.Thread.sleep(Thread.java)"))
+                .build());
+    when(slowRequestService.getSlowRequests()).thenReturn(slowRequests);
+
+    MvcResult response =
+        mockMvc.perform(get("/api/admin/slow-requests")).andExpect(status().isOk()).andReturn();
+
+    assertEquals(
+        mapper.writeValueAsString(slowRequests), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void admin_can_clear_slow_requests() throws Exception {
+    MvcResult response =
+        mockMvc
+            .perform(delete("/api/admin/slow-requests").with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(slowRequestService, times(1)).clear();
+    assertEquals("Slow requests cleared", responseToJson(response).get("message"));
+  }
+}
@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,26 +15,37 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDateService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = UCSBDatesController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, UCSBDateService.class})
 public class UCSBDatesControllerTests extends ControllerTestCase {
 
   @MockitoBean UCSBDateRepository ucsbDateRepository;
 
+  @MockitoBean BulkService bulkService;
+
   @MockitoBean UserRepository userRepository;
 
   // Authorization tests for /api/ucsbdates/admin/all
@@ -48,6 +60,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(ucsbDateRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().is(200)); // logged
   }
 
@@ -150,7 +163,9 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
     ArrayList<UCSBDate> expectedDates = new ArrayList<>();
     expectedDates.addAll(Arrays.asList(ucsbDate1, ucsbDate2));
 
-    when(ucsbDateRepository.findAll()).thenReturn(expectedDates);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<UCSBDate> expectedPage = new PageImpl<>(expectedDates, pageable, expectedDates.size());
+    when(ucsbDateRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     // act
     MvcResult response =
@@ -158,8 +173,8 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(ucsbDateRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expectedDates);
+    verify(ucsbDateRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -201,16 +216,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
   public void admin_can_delete_a_date() throws Exception {
     // arrange
 
-    LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
-
-    UCSBDate ucsbDate1 =
-        UCSBDate.builder()
-            .name("firstDayOfClasses")
-            .quarterYYYYQ("20222")
-            .localDateTime(ldt1)
-            .build();
-
-    when(ucsbDateRepository.findById(eq(15L))).thenReturn(Optional.of(ucsbDate1));
+    when(ucsbDateRepository.deleteOneById(eq(15L))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -220,8 +226,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDateRepository, times(1)).findById(15L);
-    verify(ucsbDateRepository, times(1)).delete(any());
+    verify(ucsbDateRepository, times(1)).deleteOneById(15L);
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDate with id 15 deleted", json.get("message"));
@@ -233,7 +238,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
       throws Exception {
     // arrange
 
-    when(ucsbDateRepository.findById(eq(15L))).thenReturn(Optional.empty());
+    when(ucsbDateRepository.deleteOneById(eq(15L))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -243,7 +248,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDateRepository, times(1)).findById(15L);
+    verify(ucsbDateRepository, times(1)).deleteOneById(15L);
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDate with id 15 not found", json.get("message"));
   }
@@ -253,16 +258,8 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
   public void admin_can_edit_an_existing_ucsbdate() throws Exception {
     // arrange
 
-    LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
     LocalDateTime ldt2 = LocalDateTime.parse("2023-01-03T00:00:00");
 
-    UCSBDate ucsbDateOrig =
-        UCSBDate.builder()
-            .name("firstDayOfClasses")
-            .quarterYYYYQ("20222")
-            .localDateTime(ldt1)
-            .build();
-
     UCSBDate ucsbDateEdited =
         UCSBDate.builder()
             .name("firstDayOfFestivus")
@@ -271,8 +268,9 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
             .build();
 
     String requestBody = mapper.writeValueAsString(ucsbDateEdited);
+    ucsbDateEdited.setId(67L);
 
-    when(ucsbDateRepository.findById(eq(67L))).thenReturn(Optional.of(ucsbDateOrig));
+    when(ucsbDateRepository.updateOneById(eq(67L), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -287,10 +285,9 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDateRepository, times(1)).findById(67L);
-    verify(ucsbDateRepository, times(1)).save(ucsbDateEdited); // should be saved with correct user
+    verify(ucsbDateRepository, times(1)).updateOneById(67L, ucsbDateEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(ucsbDateEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -309,7 +306,7 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(ucsbEditedDate);
 
-    when(ucsbDateRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(ucsbDateRepository.updateOneById(eq(67L), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -324,8 +321,97 @@ public class UCSBDatesControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDateRepository, times(1)).findById(67L);
+    verify(ucsbDateRepository, times(1)).updateOneById(eq(67L), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDate with id 67 not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/ucsbdates/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/ucsbdates/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/ucsbdates/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<UCSBDate> created = List.of(UCSBDate.builder().build(), UCSBDate.builder().build());
+    when(bulkService.create(
+            eq(ucsbDateRepository), eq(UCSBDate.class), argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/ucsbdates/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<UCSBDate> updated = List.of(UCSBDate.builder().build());
+    when(bulkService.update(
+            eq(ucsbDateRepository), eq(UCSBDate.class), argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/ucsbdates/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(ucsbDateRepository, UCSBDate.class, List.of(1L, 2L))).thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/ucsbdates/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService).delete(ucsbDateRepository, UCSBDate.class, List.of(1L, 2L));
+    assertEquals("2 UCSBDate records deleted", responseToJson(response).get("message"));
+  }
 }
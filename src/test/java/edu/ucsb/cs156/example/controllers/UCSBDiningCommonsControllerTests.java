@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,25 +15,36 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDiningCommonsService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = UCSBDiningCommonsController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, UCSBDiningCommonsService.class})
 public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
 
   @MockitoBean UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
 
+  @MockitoBean BulkService bulkService;
+
   @MockitoBean UserRepository userRepository;
 
   // Authorization tests for /api/ucsbdiningcommons/admin/all
@@ -47,6 +59,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(ucsbDiningCommonsRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/ucsbdiningcommons/all")).andExpect(status().is(200)); // logged
   }
 
@@ -163,7 +176,10 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
     ArrayList<UCSBDiningCommons> expectedCommons = new ArrayList<>();
     expectedCommons.addAll(Arrays.asList(carrillo, dlg));
 
-    when(ucsbDiningCommonsRepository.findAll()).thenReturn(expectedCommons);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("code"));
+    Page<UCSBDiningCommons> expectedPage =
+        new PageImpl<>(expectedCommons, pageable, expectedCommons.size());
+    when(ucsbDiningCommonsRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     // act
     MvcResult response =
@@ -171,8 +187,8 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(ucsbDiningCommonsRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expectedCommons);
+    verify(ucsbDiningCommonsRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -227,7 +243,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .longitude(-119.867427)
             .build();
 
-    when(ucsbDiningCommonsRepository.findById(eq("portola"))).thenReturn(Optional.of(portola));
+    when(ucsbDiningCommonsRepository.deleteOneById(eq("portola"))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -237,8 +253,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsRepository, times(1)).findById("portola");
-    verify(ucsbDiningCommonsRepository, times(1)).delete(any());
+    verify(ucsbDiningCommonsRepository, times(1)).deleteOneById("portola");
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommons with id portola deleted", json.get("message"));
@@ -250,7 +265,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
       throws Exception {
     // arrange
 
-    when(ucsbDiningCommonsRepository.findById(eq("munger-hall"))).thenReturn(Optional.empty());
+    when(ucsbDiningCommonsRepository.deleteOneById(eq("munger-hall"))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -260,7 +275,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsRepository, times(1)).findById("munger-hall");
+    verify(ucsbDiningCommonsRepository, times(1)).deleteOneById("munger-hall");
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommons with id munger-hall not found", json.get("message"));
   }
@@ -270,21 +285,9 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
   public void admin_can_edit_an_existing_commons() throws Exception {
     // arrange
 
-    UCSBDiningCommons carrilloOrig =
-        UCSBDiningCommons.builder()
-            .name("Carrillo")
-            .code("carrillo")
-            .hasSackMeal(false)
-            .hasTakeOutMeal(false)
-            .hasDiningCam(true)
-            .latitude(34.409953)
-            .longitude(-119.85277)
-            .build();
-
     UCSBDiningCommons carrilloEdited =
         UCSBDiningCommons.builder()
             .name("Carrillo Dining Hall")
-            .code("carrillo")
             .hasSackMeal(true)
             .hasTakeOutMeal(true)
             .hasDiningCam(false)
@@ -293,9 +296,9 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .build();
 
     String requestBody = mapper.writeValueAsString(carrilloEdited);
+    carrilloEdited.setCode("carrillo");
 
-    when(ucsbDiningCommonsRepository.findById(eq("carrillo")))
-        .thenReturn(Optional.of(carrilloOrig));
+    when(ucsbDiningCommonsRepository.updateOneById(eq("carrillo"), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -310,11 +313,9 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsRepository, times(1)).findById("carrillo");
-    verify(ucsbDiningCommonsRepository, times(1))
-        .save(carrilloEdited); // should be saved with updated info
+    verify(ucsbDiningCommonsRepository, times(1)).updateOneById("carrillo", carrilloEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(carrilloEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -335,7 +336,7 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(editedCommons);
 
-    when(ucsbDiningCommonsRepository.findById(eq("munger-hall"))).thenReturn(Optional.empty());
+    when(ucsbDiningCommonsRepository.updateOneById(eq("munger-hall"), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -350,8 +351,105 @@ public class UCSBDiningCommonsControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsRepository, times(1)).findById("munger-hall");
+    verify(ucsbDiningCommonsRepository, times(1)).updateOneById(eq("munger-hall"), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommons with id munger-hall not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/ucsbdiningcommons/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/ucsbdiningcommons/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/ucsbdiningcommons/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"A\",\"B\"]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<UCSBDiningCommons> created =
+        List.of(UCSBDiningCommons.builder().build(), UCSBDiningCommons.builder().build());
+    when(bulkService.create(
+            eq(ucsbDiningCommonsRepository),
+            eq(UCSBDiningCommons.class),
+            argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/ucsbdiningcommons/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<UCSBDiningCommons> updated = List.of(UCSBDiningCommons.builder().build());
+    when(bulkService.update(
+            eq(ucsbDiningCommonsRepository),
+            eq(UCSBDiningCommons.class),
+            argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/ucsbdiningcommons/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(
+            ucsbDiningCommonsRepository, UCSBDiningCommons.class, List.of("A", "B")))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/ucsbdiningcommons/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[\"A\",\"B\"]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService)
+        .delete(ucsbDiningCommonsRepository, UCSBDiningCommons.class, List.of("A", "B"));
+    assertEquals("2 UCSBDiningCommons records deleted", responseToJson(response).get("message"));
+  }
 }
@@ -3,6 +3,7 @@ package edu.ucsb.cs156.example.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -18,24 +19,33 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBDiningCommonsMenuItemService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = UCSBDiningCommonsMenuItemController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, UCSBDiningCommonsMenuItemService.class})
 public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase {
   @MockBean UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+  @MockBean BulkService bulkService;
   @MockBean UserRepository userRepository;
 
   // Get /all tests
@@ -66,7 +76,10 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
     ArrayList<UCSBDiningCommonsMenuItem> expectedItems =
         new ArrayList<>(Arrays.asList(item1, item2));
 
-    when(ucsbDiningCommonsMenuItemRepository.findAll()).thenReturn(expectedItems);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+    Page<UCSBDiningCommonsMenuItem> expectedPage =
+        new PageImpl<>(expectedItems, pageable, expectedItems.size());
+    when(ucsbDiningCommonsMenuItemRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     MvcResult response =
         mockMvc
@@ -74,9 +87,9 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .andExpect(status().isOk())
             .andReturn();
 
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findAll();
+    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findAll(eq(pageable));
 
-    String expectedJson = mapper.writeValueAsString(expectedItems);
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
 
     assertEquals(expectedJson, responseString);
@@ -178,17 +191,7 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
   public void admin_can_delete_a_dining_commons_menu_item() throws Exception {
     // arrange
 
-    LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
-
-    UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItem1 =
-        UCSBDiningCommonsMenuItem.builder()
-            .diningCommonsCode("DLG")
-            .name("Pancakes")
-            .station("Breakfast")
-            .build();
-
-    when(ucsbDiningCommonsMenuItemRepository.findById(eq(15L)))
-        .thenReturn(Optional.of(ucsbDiningCommonsMenuItem1));
+    when(ucsbDiningCommonsMenuItemRepository.deleteOneById(eq(15L))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -198,8 +201,7 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findById(15L);
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).delete(any());
+    verify(ucsbDiningCommonsMenuItemRepository, times(1)).deleteOneById(15L);
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommonsMenuItem with id 15 deleted", json.get("message"));
@@ -212,7 +214,7 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
           throws Exception {
     // arrange
 
-    when(ucsbDiningCommonsMenuItemRepository.findById(eq(15L))).thenReturn(Optional.empty());
+    when(ucsbDiningCommonsMenuItemRepository.deleteOneById(eq(15L))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -222,7 +224,7 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findById(15L);
+    verify(ucsbDiningCommonsMenuItemRepository, times(1)).deleteOneById(15L);
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommonsMenuItem with id 15 not found", json.get("message"));
   }
@@ -230,12 +232,6 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
   @WithMockUser(roles = {"ADMIN", "USER"})
   @Test
   public void admin_can_edit_an_existing_menuitem() throws Exception {
-    UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItemOrig =
-        UCSBDiningCommonsMenuItem.builder()
-            .diningCommonsCode("DLG")
-            .name("Pancakes")
-            .station("Breakfast")
-            .build();
 
     UCSBDiningCommonsMenuItem ucsbDiningCommonsMenuItemEdited =
         UCSBDiningCommonsMenuItem.builder()
@@ -245,9 +241,9 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .build();
 
     String requestBody = mapper.writeValueAsString(ucsbDiningCommonsMenuItemEdited);
+    ucsbDiningCommonsMenuItemEdited.setId(67L);
 
-    when(ucsbDiningCommonsMenuItemRepository.findById(eq(67L)))
-        .thenReturn(Optional.of(ucsbDiningCommonsMenuItemOrig));
+    when(ucsbDiningCommonsMenuItemRepository.updateOneById(eq(67L), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -262,11 +258,10 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findById(67L);
     verify(ucsbDiningCommonsMenuItemRepository, times(1))
-        .save(ucsbDiningCommonsMenuItemEdited); // should be saved with correct user
+        .updateOneById(67L, ucsbDiningCommonsMenuItemEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(ucsbDiningCommonsMenuItemEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -281,7 +276,7 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
 
     String requestBody = mapper.writeValueAsString(ucsbEditedItem);
 
-    when(ucsbDiningCommonsMenuItemRepository.findById(eq(67L))).thenReturn(Optional.empty());
+    when(ucsbDiningCommonsMenuItemRepository.updateOneById(eq(67L), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -296,8 +291,109 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
             .andReturn();
 
     // assert
-    verify(ucsbDiningCommonsMenuItemRepository, times(1)).findById(67L);
+    verify(ucsbDiningCommonsMenuItemRepository, times(1)).updateOneById(eq(67L), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBDiningCommonsMenuItem with id 67 not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/ucsbdiningcommonsmenuitem/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/ucsbdiningcommonsmenuitem/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/ucsbdiningcommonsmenuitem/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<UCSBDiningCommonsMenuItem> created =
+        List.of(
+            UCSBDiningCommonsMenuItem.builder().build(),
+            UCSBDiningCommonsMenuItem.builder().build());
+    when(bulkService.create(
+            eq(ucsbDiningCommonsMenuItemRepository),
+            eq(UCSBDiningCommonsMenuItem.class),
+            argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/ucsbdiningcommonsmenuitem/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<UCSBDiningCommonsMenuItem> updated = List.of(UCSBDiningCommonsMenuItem.builder().build());
+    when(bulkService.update(
+            eq(ucsbDiningCommonsMenuItemRepository),
+            eq(UCSBDiningCommonsMenuItem.class),
+            argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/ucsbdiningcommonsmenuitem/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(
+            ucsbDiningCommonsMenuItemRepository, UCSBDiningCommonsMenuItem.class, List.of(1L, 2L)))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/ucsbdiningcommonsmenuitem/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1,2]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService)
+        .delete(
+            ucsbDiningCommonsMenuItemRepository, UCSBDiningCommonsMenuItem.class, List.of(1L, 2L));
+    assertEquals(
+        "2 UCSBDiningCommonsMenuItem records deleted", responseToJson(response).get("message"));
+  }
 }
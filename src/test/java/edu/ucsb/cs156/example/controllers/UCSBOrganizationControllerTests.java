@@ -2,6 +2,7 @@ package edu.ucsb.cs156.example.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -17,25 +18,36 @@ import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
 import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.BulkService;
+import edu.ucsb.cs156.example.services.UCSBOrganizationService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = UCSBOrganizationController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, UCSBOrganizationService.class})
 public class UCSBOrganizationControllerTests extends ControllerTestCase {
 
   @MockBean UCSBOrganizationRepository ucsbOrganizationRepository;
 
+  @MockBean BulkService bulkService;
+
   @MockBean UserRepository userRepository;
 
   // Authorization tests for /api/ucsborganization/admin/all
@@ -50,6 +62,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
   @WithMockUser(roles = {"USER"})
   @Test
   public void logged_in_users_can_get_all() throws Exception {
+    when(ucsbOrganizationRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
     mockMvc.perform(get("/api/ucsborganization/all")).andExpect(status().is(200)); // logged
   }
 
@@ -73,7 +86,10 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
     ArrayList<UCSBOrganization> expectedOrgs = new ArrayList<>();
     expectedOrgs.addAll(Arrays.asList(zpr));
 
-    when(ucsbOrganizationRepository.findAll()).thenReturn(expectedOrgs);
+    Pageable pageable = PageRequest.of(0, 20, Sort.by("orgCode"));
+    Page<UCSBOrganization> expectedPage =
+        new PageImpl<>(expectedOrgs, pageable, expectedOrgs.size());
+    when(ucsbOrganizationRepository.findAll(any(Pageable.class))).thenReturn(expectedPage);
 
     // act
     MvcResult response =
@@ -81,8 +97,8 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(ucsbOrganizationRepository, times(1)).findAll();
-    String expectedJson = mapper.writeValueAsString(expectedOrgs);
+    verify(ucsbOrganizationRepository, times(1)).findAll(eq(pageable));
+    String expectedJson = mapper.writeValueAsString(new PagedModel<>(expectedPage));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
@@ -189,15 +205,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
   public void admin_can_delete_an_organization() throws Exception {
     // arrange
 
-    UCSBOrganization zpr =
-        UCSBOrganization.builder()
-            .orgCode("ZPR")
-            .orgTranslationShort("ZETA PHI RHO")
-            .orgTranslation("ZETA PHI RHO")
-            .inactive(true)
-            .build();
-
-    when(ucsbOrganizationRepository.findById(eq("ZPR"))).thenReturn(Optional.of(zpr));
+    when(ucsbOrganizationRepository.deleteOneById(eq("ZPR"))).thenReturn(1);
 
     // act
     MvcResult response =
@@ -207,8 +215,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbOrganizationRepository, times(1)).findById("ZPR");
-    verify(ucsbOrganizationRepository, times(1)).delete(any());
+    verify(ucsbOrganizationRepository, times(1)).deleteOneById("ZPR");
 
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBOrganization with id ZPR deleted", json.get("message"));
@@ -220,7 +227,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
       throws Exception {
     // arrange
 
-    when(ucsbOrganizationRepository.findById(eq("Awesome"))).thenReturn(Optional.empty());
+    when(ucsbOrganizationRepository.deleteOneById(eq("Awesome"))).thenReturn(0);
 
     // act
     MvcResult response =
@@ -230,7 +237,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbOrganizationRepository, times(1)).findById("Awesome");
+    verify(ucsbOrganizationRepository, times(1)).deleteOneById("Awesome");
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBOrganization with id Awesome not found", json.get("message"));
   }
@@ -240,25 +247,17 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
   public void admin_can_edit_an_existing_organization() throws Exception {
     // arrange
 
-    UCSBOrganization zprOrig =
-        UCSBOrganization.builder()
-            .orgCode("ZPR")
-            .orgTranslationShort("ZETA PHI RHO")
-            .orgTranslation("ZETA PHI RHO")
-            .inactive(true)
-            .build();
-
     UCSBOrganization zprEdited =
         UCSBOrganization.builder()
-            .orgCode("ZPR")
             .orgTranslationShort("ZETA PHI RHO EDIT")
             .orgTranslation("ZETA PHI RHO EDITED")
             .inactive(false)
             .build();
 
     String requestBody = mapper.writeValueAsString(zprEdited);
+    zprEdited.setOrgCode("ZPR");
 
-    when(ucsbOrganizationRepository.findById(eq("ZPR"))).thenReturn(Optional.of(zprOrig));
+    when(ucsbOrganizationRepository.updateOneById(eq("ZPR"), any())).thenReturn(1);
 
     // act
     MvcResult response =
@@ -273,11 +272,9 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbOrganizationRepository, times(1)).findById("ZPR");
-    verify(ucsbOrganizationRepository, times(1))
-        .save(zprEdited); // should be saved with updated info
+    verify(ucsbOrganizationRepository, times(1)).updateOneById("ZPR", zprEdited);
     String responseString = response.getResponse().getContentAsString();
-    assertEquals(requestBody, responseString);
+    assertEquals(mapper.writeValueAsString(zprEdited), responseString);
   }
 
   @WithMockUser(roles = {"ADMIN", "USER"})
@@ -295,7 +292,7 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
 
     String requestBody = mapper.writeValueAsString(editedOrganization);
 
-    when(ucsbOrganizationRepository.findById(eq("Amazing"))).thenReturn(Optional.empty());
+    when(ucsbOrganizationRepository.updateOneById(eq("Amazing"), any())).thenReturn(0);
 
     // act
     MvcResult response =
@@ -310,8 +307,104 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
             .andReturn();
 
     // assert
-    verify(ucsbOrganizationRepository, times(1)).findById("Amazing");
+    verify(ucsbOrganizationRepository, times(1)).updateOneById(eq("Amazing"), any());
     Map<String, Object> json = responseToJson(response);
     assertEquals("UCSBOrganization with id Amazing not found", json.get("message"));
   }
+
+  // Tests for the bulk endpoints
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void logged_in_regular_users_cannot_use_bulk_endpoints() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            put("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{}]"))
+        .andExpect(status().is(403));
+    mockMvc
+        .perform(
+            delete("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"A\",\"B\"]"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_post_many_at_once() throws Exception {
+    List<UCSBOrganization> created =
+        List.of(UCSBOrganization.builder().build(), UCSBOrganization.builder().build());
+    when(bulkService.create(
+            eq(ucsbOrganizationRepository),
+            eq(UCSBOrganization.class),
+            argThat(items -> items.size() == 2)))
+        .thenReturn(created);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                post("/api/ucsborganization/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{},{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(created), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_put_many_at_once() throws Exception {
+    List<UCSBOrganization> updated = List.of(UCSBOrganization.builder().build());
+    when(bulkService.update(
+            eq(ucsbOrganizationRepository),
+            eq(UCSBOrganization.class),
+            argThat(items -> items.size() == 1)))
+        .thenReturn(updated);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                put("/api/ucsborganization/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{}]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertEquals(mapper.writeValueAsString(updated), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_delete_many_at_once() throws Exception {
+    when(bulkService.delete(ucsbOrganizationRepository, UCSBOrganization.class, List.of("A", "B")))
+        .thenReturn(2);
+
+    MvcResult response =
+        mockMvc
+            .perform(
+                delete("/api/ucsborganization/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[\"A\",\"B\"]"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    verify(bulkService)
+        .delete(ucsbOrganizationRepository, UCSBOrganization.class, List.of("A", "B"));
+    assertEquals("2 UCSBOrganization records deleted", responseToJson(response).get("message"));
+  }
 }
@@ -0,0 +1,20 @@
+package edu.ucsb.cs156.example.entities;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import edu.ucsb.cs156.example.services.TableVersionService;
+import org.junit.jupiter.api.Test;
+
+public class TableVersionListenerTests {
+
+  @Test
+  public void changed_bumps_the_version_of_the_entity_table() {
+    TableVersionService tableVersionService = mock(TableVersionService.class);
+    TableVersionListener listener = new TableVersionListener(tableVersionService);
+
+    listener.changed(Restaurant.builder().name("Freebirds").build());
+
+    verify(tableVersionService).bump(Restaurant.class);
+  }
+}
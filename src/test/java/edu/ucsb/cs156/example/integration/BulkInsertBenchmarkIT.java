@@ -0,0 +1,105 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures how fast rows can be inserted through JPA on H2, and checks that the inserts are sent to
+ * the database in JDBC batches rather than one statement at a time.
+ */
+@Slf4j
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class BulkInsertBenchmarkIT {
+
+  private static final int WARMUP_ROWS = 5_000;
+  private static final int ROWS = 50_000;
+
+  @Autowired MenuItemReviewRepository menuItemReviewRepository;
+
+  @Autowired TransactionTemplate transactionTemplate;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @MockitoBean UserRepository userRepository;
+
+  @Test
+  public void bulk_inserts_are_batched() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    long before = menuItemReviewRepository.count();
+    insert(WARMUP_ROWS);
+    statistics.clear();
+
+    long start = System.nanoTime();
+    insert(ROWS);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long statements = statistics.getPrepareStatementCount();
+    log.info(
+        "inserted {} menu item reviews in {} ms ({} rows/s) using {} JDBC statements",
+        ROWS,
+        Math.round(seconds * 1000),
+        Math.round(ROWS / seconds),
+        statements);
+    assertEquals(before + WARMUP_ROWS + ROWS, menuItemReviewRepository.count());
+    // one INSERT per batch of 50, plus one sequence call per 50 ids
+    assertTrue(statements <= 2 * ROWS / 50 + 10, statements + " statements for " + ROWS + " rows");
+  }
+
+  @Test
+  public void sql_inserts_do_not_take_ids_that_hibernate_hands_out() {
+    long before = menuItemReviewRepository.count();
+    // hibernate fetches a block of 50 ids and uses the first
+    insert(1);
+    jdbcTemplate.update(
+        "INSERT INTO MENUITEMREVIEW (ITEM_ID, REVIEWER_EMAIL, STARS)"
+            + " SELECT X, 'sql' || X || '@ucsb.edu', 1 FROM SYSTEM_RANGE(1, 100)");
+    // the rest of hibernate's block, and the next one
+    insert(99);
+
+    assertEquals(before + 200, menuItemReviewRepository.count());
+  }
+
+  private void insert(int rows) {
+    List<MenuItemReview> reviews = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      reviews.add(
+          MenuItemReview.builder()
+              .itemId((long) i)
+              .reviewerEmail("reviewer" + i + "@ucsb.edu")
+              .stars(i % 5 + 1)
+              .dateReviewed(LocalDateTime.of(2025, 1, 1, 12, 0))
+              .comments("Comment number " + i)
+              .build());
+    }
+    transactionTemplate.executeWithoutResult(status -> menuItemReviewRepository.saveAll(reviews));
+  }
+}
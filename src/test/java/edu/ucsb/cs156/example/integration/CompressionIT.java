@@ -0,0 +1,153 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks, through the embedded Tomcat, that large JSON responses are gzipped for clients that
+ * accept gzip, and that the frontend files are served from the .br and .gz copies written when the
+ * frontend is built. The frontend is served from a temporary directory holding such a build.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class CompressionIT {
+
+  private static final String INDEX_HTML = "<html><body>" + "<div></div>".repeat(200) + "</body>";
+  private static final String APP_JS = "console.log('hello');".repeat(200);
+  // stand-ins for what the build writes; distinct from the real compressed bytes, so that a test
+  // can tell which file was served
+  private static final byte[] APP_JS_BR = "brotli bytes".getBytes(StandardCharsets.UTF_8);
+
+  @LocalServerPort int port;
+
+  @MockitoBean UserRepository userRepository;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @DynamicPropertySource
+  static void frontendBuild(DynamicPropertyRegistry registry) throws IOException {
+    Path build = Files.createTempDirectory("frontend-build");
+    Files.createDirectories(build.resolve("assets"));
+    Files.writeString(build.resolve("index.html"), INDEX_HTML);
+    Files.write(build.resolve("index.html.gz"), gzip(INDEX_HTML));
+    Files.writeString(build.resolve("assets/app.js"), APP_JS);
+    Files.write(build.resolve("assets/app.js.gz"), gzip(APP_JS));
+    Files.write(build.resolve("assets/app.js.br"), APP_JS_BR);
+    registry.add("spring.web.resources.static-locations", () -> build.toUri().toString());
+  }
+
+  private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    if (acceptEncoding != null) {
+      request.header("Accept-Encoding", acceptEncoding);
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private static Optional<String> contentEncoding(HttpResponse<?> response) {
+    return response.headers().firstValue("Content-Encoding");
+  }
+
+  private static byte[] gzip(String content) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String gunzip(byte[] content) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  public void large_json_is_gzipped_when_the_client_accepts_gzip() throws Exception {
+    HttpResponse<byte[]> plain = get("/v3/api-docs", null);
+    assertEquals(200, plain.statusCode());
+    assertEquals(Optional.empty(), contentEncoding(plain));
+    assertTrue(plain.body().length > 2048, "api docs are only " + plain.body().length + " bytes");
+
+    HttpResponse<byte[]> gzipped = get("/v3/api-docs", "gzip, deflate, br");
+    assertEquals(200, gzipped.statusCode());
+    assertEquals(Optional.of("gzip"), contentEncoding(gzipped));
+    assertTrue(
+        gzipped.headers().allValues("Vary").toString().toLowerCase().contains("accept-encoding"));
+    assertTrue(gzipped.body().length < plain.body().length / 2);
+    new ObjectMapper().readTree(gunzip(gzipped.body()));
+  }
+
+  @Test
+  public void small_json_is_not_compressed() throws Exception {
+    HttpResponse<byte[]> response = get("/api/systemInfo", "gzip");
+    assertEquals(200, response.statusCode());
+    assertEquals(Optional.empty(), contentEncoding(response));
+    new ObjectMapper().readTree(response.body());
+  }
+
+  @Test
+  public void assets_are_served_from_the_precompressed_copies() throws Exception {
+    HttpResponse<byte[]> br = get("/assets/app.js", "gzip, deflate, br");
+    assertEquals(200, br.statusCode());
+    assertEquals(Optional.of("br"), contentEncoding(br));
+    assertArrayEquals(APP_JS_BR, br.body());
+    assertTrue(br.headers().allValues("Vary").toString().toLowerCase().contains("accept-encoding"));
+
+    HttpResponse<byte[]> gzipped = get("/assets/app.js", "gzip");
+    assertEquals(Optional.of("gzip"), contentEncoding(gzipped));
+    assertEquals(APP_JS, gunzip(gzipped.body()));
+
+    HttpResponse<byte[]> plain = get("/assets/app.js", null);
+    assertEquals(Optional.empty(), contentEncoding(plain));
+    assertEquals(APP_JS, new String(plain.body(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void frontend_routes_are_served_the_precompressed_index_html() throws Exception {
+    HttpResponse<byte[]> gzipped = get("/restaurants", "gzip, br");
+    assertEquals(200, gzipped.statusCode());
+    // there is no index.html.br, as there would not be for a file the build could not shrink
+    assertEquals(Optional.of("gzip"), contentEncoding(gzipped));
+    assertEquals(INDEX_HTML, gunzip(gzipped.body()));
+
+    HttpResponse<byte[]> refused = get("/restaurants", "gzip;q=0, br");
+    assertEquals(200, refused.statusCode());
+    assertEquals(Optional.empty(), contentEncoding(refused));
+    assertEquals(INDEX_HTML, new String(refused.body(), StandardCharsets.UTF_8));
+  }
+}
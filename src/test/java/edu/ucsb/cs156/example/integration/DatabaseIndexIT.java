@@ -0,0 +1,128 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks, with H2's EXPLAIN, that the SQL Hibernate generates for the repository queries that
+ * filter or sort on a column other than the primary key uses the index created for it.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "edu.ucsb.cs156.example.integration.DatabaseIndexIT$RecordingStatementInspector")
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class DatabaseIndexIT {
+
+  /** Keeps every SQL statement Hibernate prepares, as Hibernate generated it. */
+  public static class RecordingStatementInspector implements StatementInspector {
+    static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      statements.add(sql);
+      return sql;
+    }
+  }
+
+  @Autowired UserRepository userRepository;
+
+  @Autowired UCSBDateRepository ucsbDateRepository;
+
+  @Autowired MenuItemReviewRepository menuItemReviewRepository;
+
+  @Autowired UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @Autowired HelpRequestRepository helpRequestRepository;
+
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  public void setup() {
+    RecordingStatementInspector.statements.clear();
+  }
+
+  /**
+   * Explains the one statement that the last repository call ran, with every parameter set to
+   * <code>parameter</code>.
+   */
+  private String explainLastStatement(Object parameter) {
+    List<String> statements = RecordingStatementInspector.statements;
+    assertTrue(statements.size() == 1, () -> "expected one statement, not " + statements);
+    String sql = statements.get(0);
+    Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+    Arrays.fill(parameters, parameter);
+    return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+  }
+
+  private static void assertUses(String index, String plan) {
+    assertTrue(plan.contains("PUBLIC." + index), () -> "expected " + index + " in " + plan);
+  }
+
+  /** Asserts that the rows come out of the index in order, so H2 does not sort them. */
+  private static void assertSortedBy(String index, String plan) {
+    assertUses(index, plan);
+    assertTrue(plan.contains("/* index sorted */"), () -> "expected no sort in " + plan);
+  }
+
+  private static PageRequest sortedBy(String property) {
+    return PageRequest.of(0, 20, Sort.by(property).and(Sort.by("id")));
+  }
+
+  @Test
+  public void finding_a_user_by_email_uses_the_email_index() {
+    userRepository.findByEmail("cgaucho@ucsb.edu");
+    assertUses("USERS_EMAIL_IDX", explainLastStatement("cgaucho@ucsb.edu"));
+  }
+
+  @Test
+  public void finding_dates_by_quarter_uses_the_quarter_index() {
+    ucsbDateRepository.findAllByQuarterYYYYQ("20251");
+    assertUses("UCSBDATES_QUARTERYYYYQ_IDX", explainLastStatement("20251"));
+  }
+
+  @Test
+  public void sorted_pages_use_the_index_on_the_sort_column() {
+    ucsbDateRepository.findAll(sortedBy("quarterYYYYQ"));
+    assertSortedBy("UCSBDATES_QUARTERYYYYQ_IDX", explainLastStatement(20));
+
+    RecordingStatementInspector.statements.clear();
+    menuItemReviewRepository.findAll(sortedBy("itemId"));
+    assertSortedBy("MENUITEMREVIEW_ITEM_ID_IDX", explainLastStatement(20));
+
+    RecordingStatementInspector.statements.clear();
+    ucsbDiningCommonsMenuItemRepository.findAll(sortedBy("diningCommonsCode"));
+    assertSortedBy("UCSBDININGCOMMONSMENUITEM_DINING_COMMONS_CODE_IDX", explainLastStatement(20));
+
+    RecordingStatementInspector.statements.clear();
+    helpRequestRepository.findAll(sortedBy("solved"));
+    assertSortedBy("HELPREQUEST_SOLVED_IDX", explainLastStatement(20));
+
+    RecordingStatementInspector.statements.clear();
+    helpRequestRepository.findAll(sortedBy("requestTime"));
+    assertSortedBy("HELPREQUEST_REQUEST_TIME_IDX", explainLastStatement(20));
+  }
+}
@@ -0,0 +1,147 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Checks that the entity endpoints run each request in one transaction on one connection, and that
+ * reads are read-only all the way down to Hibernate.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class EntityServiceIT {
+
+  @MockitoSpyBean RestaurantRepository restaurantRepository;
+
+  @Autowired EntityManager entityManager;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @Autowired public MockMvc mockMvc;
+
+  @MockitoBean UserRepository userRepository;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void reads_run_in_a_read_only_session_that_is_never_flushed() throws Exception {
+    long id =
+        restaurantRepository
+            .save(Restaurant.builder().name("Freebirds").description("Burritos").build())
+            .getId();
+    List<String> seen = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              // the spy wraps the repository proxy, so load the entity the way it would
+              Session session = entityManager.unwrap(Session.class);
+              Restaurant restaurant = session.find(Restaurant.class, invocation.getArgument(0));
+              seen.add(
+                  TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                      + " "
+                      + session.getHibernateFlushMode()
+                      + " "
+                      + session.isReadOnly(restaurant));
+              return Optional.of(restaurant);
+            })
+        .when(restaurantRepository)
+        .findById(any());
+
+    statistics.clear();
+    mockMvc.perform(get("/api/restaurants?id=" + id)).andExpect(status().isOk());
+
+    assertEquals(List.of("true " + FlushMode.MANUAL + " true"), seen);
+    assertEquals(1, statistics.getConnectCount());
+    assertEquals(0, statistics.getFlushCount());
+  }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void a_page_and_its_count_share_one_connection() throws Exception {
+    for (String name : List.of("Freebirds", "Woodstocks", "Taco Bell")) {
+      restaurantRepository.save(Restaurant.builder().name(name).description("food").build());
+    }
+
+    statistics.clear();
+    mockMvc
+        .perform(get("/api/restaurants/all?page=0&size=2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page.totalElements").value(3));
+
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(1, statistics.getConnectCount());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void writes_use_one_connection() throws Exception {
+    statistics.clear();
+    mockMvc
+        .perform(post("/api/restaurants/post?name=Freebirds&description=Burritos").with(csrf()))
+        .andExpect(status().isOk());
+    assertEquals(1, statistics.getConnectCount());
+    long id = restaurantRepository.findAll().iterator().next().getId();
+
+    statistics.clear();
+    mockMvc
+        .perform(
+            put("/api/restaurants?id=" + id)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Freebirds\",\"description\":\"Tacos\"}"))
+        .andExpect(status().isOk());
+    assertEquals(1, statistics.getConnectCount());
+
+    statistics.clear();
+    mockMvc.perform(delete("/api/restaurants?id=" + id).with(csrf())).andExpect(status().isOk());
+    assertEquals(1, statistics.getConnectCount());
+    assertTrue(restaurantRepository.findById(id).isEmpty());
+  }
+}
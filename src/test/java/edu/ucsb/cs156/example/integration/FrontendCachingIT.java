@@ -0,0 +1,111 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks the cache headers of the frontend: index.html is revalidated with its ETag on every visit,
+ * and the content-hashed files under /assets are cached for good. The frontend is served from a
+ * temporary directory holding a small build.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class FrontendCachingIT {
+
+  private static final String INDEX_HTML =
+      "<html><head><script src=\"/assets/index-B7x2kQ9d.js\"></script></head></html>";
+
+  @LocalServerPort int port;
+
+  @MockitoBean UserRepository userRepository;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @DynamicPropertySource
+  static void frontendBuild(DynamicPropertyRegistry registry) throws IOException {
+    Path build = Files.createTempDirectory("frontend-build");
+    Files.createDirectories(build.resolve("assets"));
+    Files.writeString(build.resolve("index.html"), INDEX_HTML);
+    Files.writeString(build.resolve("assets/index-B7x2kQ9d.js"), "console.log('hello');");
+    Files.writeString(build.resolve("manifest.json"), "{}");
+    registry.add("spring.web.resources.static-locations", () -> build.toUri().toString());
+  }
+
+  private HttpResponse<String> get(String path, String... headers) throws Exception {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    if (headers.length > 0) {
+      request.headers(headers);
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static Optional<String> header(HttpResponse<?> response, String name) {
+    return response.headers().firstValue(name);
+  }
+
+  @Test
+  public void index_html_is_revalidated_with_its_etag() throws Exception {
+    HttpResponse<String> first = get("/restaurants/create");
+    assertEquals(200, first.statusCode());
+    assertEquals(INDEX_HTML, first.body());
+    assertEquals(Optional.of("no-cache"), header(first, "Cache-Control"));
+    assertEquals("text/html;charset=UTF-8", header(first, "Content-Type").get());
+    String eTag = header(first, "ETag").get();
+
+    HttpResponse<String> repeat = get("/ucsbdates", "If-None-Match", eTag);
+    assertEquals(304, repeat.statusCode());
+    assertEquals("", repeat.body());
+    assertEquals(Optional.of(eTag), header(repeat, "ETag"));
+
+    HttpResponse<String> stale = get("/", "If-None-Match", "\"from-an-older-build\"");
+    assertEquals(200, stale.statusCode());
+    assertEquals(INDEX_HTML, stale.body());
+    assertEquals(Optional.of(eTag), header(stale, "ETag"));
+    assertEquals(Optional.of(eTag), header(get("/index.html"), "ETag"));
+  }
+
+  @Test
+  public void hashed_assets_are_cached_for_good() throws Exception {
+    HttpResponse<String> asset = get("/assets/index-B7x2kQ9d.js");
+    assertEquals(200, asset.statusCode());
+    assertEquals("console.log('hello');", asset.body());
+    String cacheControl = header(asset, "Cache-Control").get();
+    assertTrue(cacheControl.contains("max-age=31536000"), cacheControl);
+    assertTrue(cacheControl.contains("public"), cacheControl);
+    assertTrue(cacheControl.contains("immutable"), cacheControl);
+
+    assertEquals(404, get("/assets/index-00000000.js").statusCode());
+  }
+
+  @Test
+  public void files_that_are_not_hashed_are_not_cached_for_good() throws Exception {
+    HttpResponse<String> manifest = get("/manifest.json");
+    assertEquals(200, manifest.statusCode());
+    assertFalse(header(manifest, "Cache-Control").orElse("").contains("immutable"));
+  }
+}
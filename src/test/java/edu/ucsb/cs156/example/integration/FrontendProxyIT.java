@@ -0,0 +1,318 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.websocket.server.WsSci;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks FrontendProxyController and the HMR WebSocket relay of FrontendProxyConfig against a stub
+ * dev server: a Tomcat with one servlet, which records the requests it gets, and one WebSocket
+ * endpoint, which echoes what it is sent.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles({"development", "integration"})
+@Import(TestConfig.class)
+public class FrontendProxyIT {
+
+  private static final String ETAG = "\"v1\"";
+
+  private static final BlockingQueue<Received> requests = new LinkedBlockingQueue<>();
+
+  private static final BlockingQueue<Integer> upstreamCloseCodes = new LinkedBlockingQueue<>();
+
+  private static Tomcat devServer;
+
+  @LocalServerPort int port;
+
+  @Autowired MockMvc mockMvc;
+
+  @MockitoBean UserRepository userRepository;
+
+  /** What the stub dev server got; header names are lower case. */
+  record Received(String uri, String query, Map<String, List<String>> headers) {}
+
+  @DynamicPropertySource
+  static void frontendServer(DynamicPropertyRegistry registry) throws Exception {
+    devServer = new Tomcat();
+    devServer.setBaseDir(Files.createTempDirectory("dev-server").toString());
+    devServer.setPort(0);
+    Context context = devServer.addContext("", null);
+    context.addServletContainerInitializer(new WsSci(), null);
+    Tomcat.addServlet(context, "dev-server", new DevServerServlet());
+    context.addServletMappingDecoded("/", "dev-server");
+    devServer.getConnector();
+    devServer.start();
+    ServerContainer container =
+        (ServerContainer) context.getServletContext().getAttribute(ServerContainer.class.getName());
+    container.addEndpoint(
+        ServerEndpointConfig.Builder.create(DevServerEndpoint.class, "/")
+            .subprotocols(List.of("vite-hmr", "vite-ping"))
+            .build());
+    int devServerPort = devServer.getConnector().getLocalPort();
+    registry.add("app.frontendServer", () -> "localhost:" + devServerPort);
+  }
+
+  @AfterAll
+  static void stopDevServer() throws Exception {
+    devServer.stop();
+    devServer.destroy();
+  }
+
+  @BeforeEach
+  public void clear() {
+    requests.clear();
+    upstreamCloseCodes.clear();
+  }
+
+  @Test
+  public void requests_are_proxied_with_their_query_and_without_hop_by_hop_headers()
+      throws Exception {
+    mockMvc
+        .perform(
+            get("/src/main.jsx?t=1712&import")
+                .header("X-Requested-By", "browser")
+                .header("Keep-Alive", "timeout=5")
+                .header("Proxy-Connection", "keep-alive")
+                .header("TE", "trailers")
+                .header("Cookie", "JSESSIONID=secret"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("export default 1;"))
+        .andExpect(header().string("X-Dev-Server", "vite"))
+        .andExpect(header().string("ETag", ETAG))
+        .andExpect(header().doesNotExist("Keep-Alive"));
+
+    Received received = requests.poll(10, TimeUnit.SECONDS);
+    assertEquals("/src/main.jsx", received.uri());
+    assertEquals("t=1712&import", received.query());
+    assertEquals(List.of("browser"), received.headers().get("x-requested-by"));
+    for (String name : List.of("keep-alive", "proxy-connection", "te", "cookie")) {
+      assertFalse(received.headers().containsKey(name), name + " was passed on");
+    }
+  }
+
+  @Test
+  public void not_modified_responses_are_relayed() throws Exception {
+    mockMvc
+        .perform(get("/src/main.jsx").header("If-None-Match", ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", ETAG))
+        .andExpect(content().string(""));
+
+    Received received = requests.poll(10, TimeUnit.SECONDS);
+    assertEquals(List.of(ETAG), received.headers().get("if-none-match"));
+    assertNull(received.query());
+  }
+
+  @Test
+  public void hmr_messages_are_relayed_both_ways_in_order() throws Exception {
+    Client client = new Client();
+    WebSocket ws = client.connect(port, "/?token=abc");
+    assertEquals("connected token=abc vite-hmr", client.next());
+
+    // a message sent in parts reaches the dev server whole
+    ws.sendText("hel", false).join();
+    ws.sendText("lo", true).join();
+    assertEquals("echo hello", client.next());
+
+    for (int i = 0; i < 100; i++) {
+      ws.sendText(Integer.toString(i), true).join();
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals("echo " + i, client.next());
+    }
+
+    ws.sendBinary(ByteBuffer.wrap(new byte[] {1, 2, 3}), true).join();
+    assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) client.messages.poll(10, TimeUnit.SECONDS));
+
+    ws.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+    assertEquals(1000, upstreamCloseCodes.poll(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void close_codes_from_the_dev_server_are_passed_on() throws Exception {
+    Client client = new Client();
+    WebSocket ws = client.connect(port, "/");
+    assertEquals("connected null vite-hmr", client.next());
+
+    ws.sendText("close 4001", true).join();
+
+    assertEquals("4001 bye", client.closed.get(10, TimeUnit.SECONDS));
+  }
+
+  /** Records each request, and answers with a 304 if it has the current ETag. */
+  static final class DevServerServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      Map<String, List<String>> headers = new LinkedHashMap<>();
+      for (String name : Collections.list(request.getHeaderNames())) {
+        headers.put(name.toLowerCase(), Collections.list(request.getHeaders(name)));
+      }
+      requests.add(new Received(request.getRequestURI(), request.getQueryString(), headers));
+      response.setHeader("ETag", ETAG);
+      response.setHeader("X-Dev-Server", "vite");
+      response.setHeader("Keep-Alive", "timeout=5");
+      if (ETAG.equals(request.getHeader("If-None-Match"))) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return;
+      }
+      response.setContentType("text/javascript");
+      response.getWriter().write("export default 1;");
+    }
+  }
+
+  /** Echoes what it is sent; "close N" closes the connection with code N. */
+  public static class DevServerEndpoint extends Endpoint {
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+      send(
+          session,
+          "connected " + session.getQueryString() + " " + session.getNegotiatedSubprotocol());
+      session.addMessageHandler(
+          String.class,
+          (MessageHandler.Whole<String>)
+              text -> {
+                if (text.startsWith("close ")) {
+                  int code = Integer.parseInt(text.substring("close ".length()));
+                  try {
+                    session.close(
+                        new CloseReason(CloseReason.CloseCodes.getCloseCode(code), "bye"));
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                } else {
+                  send(session, "echo " + text);
+                }
+              });
+      session.addMessageHandler(
+          ByteBuffer.class,
+          (MessageHandler.Whole<ByteBuffer>)
+              bytes -> {
+                try {
+                  session.getBasicRemote().sendBinary(bytes);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+      upstreamCloseCodes.add(closeReason.getCloseCode().getCode());
+    }
+
+    private static void send(Session session, String text) {
+      try {
+        session.getBasicRemote().sendText(text);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * A browser's HMR client: collects whole messages, and the code and reason it was closed with.
+   */
+  static final class Client implements WebSocket.Listener {
+    final BlockingQueue<Object> messages = new LinkedBlockingQueue<>();
+    final CompletableFuture<String> closed = new CompletableFuture<>();
+    private final StringBuilder text = new StringBuilder();
+
+    WebSocket connect(int port, String path) {
+      return HttpClient.newHttpClient()
+          .newWebSocketBuilder()
+          .subprotocols("vite-hmr")
+          .buildAsync(URI.create("ws://localhost:" + port + path), this)
+          .join();
+    }
+
+    String next() throws InterruptedException {
+      return (String) messages.poll(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      text.append(data);
+      if (last) {
+        messages.add(text.toString());
+        text.setLength(0);
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+      byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      messages.add(bytes);
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      closed.complete(statusCode + " " + reason);
+      return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      closed.completeExceptionally(error);
+    }
+  }
+}
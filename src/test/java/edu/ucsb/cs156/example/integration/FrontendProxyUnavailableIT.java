@@ -0,0 +1,66 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Checks what the frontend proxy does when nothing is listening where the dev server should be. */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles({"development", "integration"})
+@Import(TestConfig.class)
+public class FrontendProxyUnavailableIT {
+
+  @LocalServerPort int port;
+
+  @Autowired MockMvc mockMvc;
+
+  @MockitoBean UserRepository userRepository;
+
+  @DynamicPropertySource
+  static void frontendServer(DynamicPropertyRegistry registry) throws Exception {
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    registry.add("app.frontendServer", () -> "localhost:" + closedPort);
+  }
+
+  @Test
+  public void pages_explain_how_to_start_the_dev_server() throws Exception {
+    mockMvc
+        .perform(get("/"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/html"))
+        .andExpect(content().string(containsString("Failed to connect to the frontend server")));
+  }
+
+  @Test
+  public void hmr_connections_are_closed_with_try_again_later() throws Exception {
+    FrontendProxyIT.Client client = new FrontendProxyIT.Client();
+    client.connect(port, "/");
+
+    assertEquals("1013 frontend server unavailable", client.closed.get(10, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,119 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.repositories.StreamingRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.ExportService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.OutputStream;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Exports a large menuitemreview table and checks that it is streamed: the first row is written
+ * after only one JDBC fetch has been loaded, and each row is detached once written, so the
+ * persistence context never holds more than the row being written.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class MenuItemReviewExportIT {
+
+  private static final int ROWS = 50_000;
+  private static final String REVIEWER_PREFIX = "export-it-";
+
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @Autowired ExportService exportService;
+
+  @Autowired EntityManager entityManager;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @MockitoBean UserRepository userRepository;
+
+  @AfterEach
+  public void deleteReviews() {
+    jdbcTemplate.update(
+        "DELETE FROM MENUITEMREVIEW WHERE REVIEWER_EMAIL LIKE ?", REVIEWER_PREFIX + "%");
+  }
+
+  @Test
+  public void exporting_many_reviews_streams_them_one_at_a_time() throws Exception {
+    jdbcTemplate.update(
+        "INSERT INTO MENUITEMREVIEW (ITEM_ID, REVIEWER_EMAIL, STARS, DATE_REVIEWED, COMMENTS)"
+            + " SELECT X, ? || X || '@ucsb.edu', MOD(X, 5) + 1,"
+            + " TIMESTAMP '2025-01-01 00:00:00', 'Comment number ' || X"
+            + " FROM SYSTEM_RANGE(1, ?)",
+        REVIEWER_PREFIX,
+        ROWS);
+    long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MENUITEMREVIEW", Long.class);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    StreamCheckingOutputStream out = new StreamCheckingOutputStream(statistics);
+    exportService.export("menuitemreview", ExportService.Format.NDJSON).writeTo(out);
+
+    assertEquals(total, out.lines);
+    assertEquals(total, statistics.getEntityLoadCount());
+    assertTrue(
+        out.loadedBeforeFirstLine <= Integer.parseInt(StreamingRepository.FETCH_SIZE),
+        "%d rows were loaded before the first was written".formatted(out.loadedBeforeFirstLine));
+    assertTrue(
+        out.maxManagedEntities <= 1,
+        "the persistence context held %d entities".formatted(out.maxManagedEntities));
+  }
+
+  /**
+   * Discards what is written, counting lines. At the end of each line it records how many rows had
+   * been loaded and how many entities the export's persistence context holds.
+   */
+  private final class StreamCheckingOutputStream extends OutputStream {
+    private final Statistics statistics;
+    private long lines;
+    private long loadedBeforeFirstLine = -1;
+    private int maxManagedEntities;
+
+    StreamCheckingOutputStream(Statistics statistics) {
+      this.statistics = statistics;
+    }
+
+    @Override
+    public void write(int b) {
+      if (b != '\n') {
+        return;
+      }
+      if (lines++ == 0) {
+        loadedBeforeFirstLine = statistics.getEntityLoadCount();
+      }
+      // the export runs on this thread, so this is its persistence context
+      int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+      maxManagedEntities = Math.max(maxManagedEntities, managed);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      for (int i = off; i < off + len; i++) {
+        write(b[i]);
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.example.integration;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -12,12 +13,15 @@ import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.services.CurrentUserService;
 import edu.ucsb.cs156.example.services.GrantedAuthoritiesService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
@@ -85,4 +89,140 @@ public class RestaurantIT {
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
+
+  @WithMockUser(roles = {"USER"})
+  @Test
+  public void test_that_logged_in_user_can_page_through_restaurants_sorted_by_name()
+      throws Exception {
+    // arrange
+
+    restaurantRepository.save(
+        Restaurant.builder().name("Freebirds").description("Burritos").build());
+    restaurantRepository.save(
+        Restaurant.builder().name("Taco Bell").description("Mexican").build());
+    restaurantRepository.save(Restaurant.builder().name("Woodstocks").description("Pizza").build());
+
+    // act
+
+    mockMvc
+        .perform(get("/api/restaurants/all?page=0&size=2&sort=name,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].name").value("Woodstocks"))
+        .andExpect(jsonPath("$.content[1].name").value("Taco Bell"))
+        .andExpect(jsonPath("$.page.totalElements").value(3))
+        .andExpect(jsonPath("$.page.totalPages").value(2));
+
+    mockMvc
+        .perform(get("/api/restaurants/all?page=1&size=2&sort=name,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].name").value("Freebirds"));
+
+    mockMvc
+        .perform(get("/api/restaurants/all?sort=description"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void changing_restaurants_changes_the_etag() throws Exception {
+    // arrange
+
+    restaurantRepository.save(
+        Restaurant.builder().name("Freebirds").description("Burritos").build());
+    String etag =
+        mockMvc
+            .perform(get("/api/restaurants/all"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/api/restaurants/all").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    // act
+
+    mockMvc
+        .perform(post("/api/restaurants/post?name=Woodstocks&description=Pizza").with(csrf()))
+        .andExpect(status().isOk());
+
+    // assert
+
+    mockMvc
+        .perform(get("/api/restaurants/all").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", not(etag)))
+        .andExpect(jsonPath("$.content.length()").value(2));
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void an_admin_user_can_create_update_and_delete_restaurants_in_bulk() throws Exception {
+    // act: create
+
+    mockMvc
+        .perform(
+            post("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[{\"name\":\"Freebirds\",\"description\":\"Burritos\"},"
+                        + "{\"name\":\"Woodstocks\",\"description\":\"Pizza\"}]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").isNumber());
+
+    List<Restaurant> created = new ArrayList<>();
+    restaurantRepository.findAll().forEach(created::add);
+    assertEquals(2, created.size());
+    long id1 = created.get(0).getId();
+    long id2 = created.get(1).getId();
+
+    // act: an update with an unknown id changes nothing
+
+    mockMvc
+        .perform(
+            put("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[{\"id\":%d,\"name\":\"Freebirds\",\"description\":\"Tacos\"},".formatted(id1)
+                        + "{\"id\":999999,\"name\":\"Nowhere\",\"description\":\"None\"}]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.length()").value(1))
+        .andExpect(jsonPath("$.errors[0].index").value(1))
+        .andExpect(jsonPath("$.errors[0].message").value("Restaurant with id 999999 not found"));
+    assertEquals("Burritos", restaurantRepository.findById(id1).get().getDescription());
+
+    // act: update
+
+    mockMvc
+        .perform(
+            put("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[{\"id\":%d,\"name\":\"Freebirds\",\"description\":\"Tacos\"}]"
+                        .formatted(id1)))
+        .andExpect(status().isOk());
+    assertEquals("Tacos", restaurantRepository.findById(id1).get().getDescription());
+
+    // act: delete
+
+    mockMvc
+        .perform(
+            delete("/api/restaurants/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[%d,%d]".formatted(id1, id2)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message").value("2 Restaurant records deleted"));
+
+    // assert
+
+    assertEquals(0, restaurantRepository.count());
+  }
 }
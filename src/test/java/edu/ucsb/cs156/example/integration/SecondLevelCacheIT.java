@@ -0,0 +1,153 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks that reference data is served from the second-level and query caches once it has been
+ * read, and that writes through the controllers are seen by the next read.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SecondLevelCacheIT {
+
+  @Autowired RestaurantRepository restaurantRepository;
+
+  @Autowired UCSBOrganizationRepository ucsbOrganizationRepository;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @Autowired MeterRegistry meterRegistry;
+
+  @Autowired public MockMvc mockMvc;
+
+  @MockitoBean UserRepository userRepository;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private double cacheRequests(String region, String result) {
+    return meterRegistry
+        .get("hibernate.second.level.cache.requests")
+        .tags("region", region, "result", result)
+        .functionCounter()
+        .count();
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void a_restaurant_is_read_from_the_cache_until_it_is_changed() throws Exception {
+    long id =
+        restaurantRepository
+            .save(Restaurant.builder().name("Freebirds").description("Burritos").build())
+            .getId();
+
+    statistics.clear();
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(get("/api/restaurants?id=" + id))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.description").value("Burritos"));
+    }
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertEquals(2, statistics.getDomainDataRegionStatistics("restaurants").getHitCount());
+    assertTrue(cacheRequests("restaurants", "hit") >= 2);
+
+    mockMvc
+        .perform(
+            put("/api/restaurants?id=" + id)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Freebirds\",\"description\":\"Tacos\"}"))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/api/restaurants?id=" + id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.description").value("Tacos"));
+
+    mockMvc.perform(delete("/api/restaurants?id=" + id).with(csrf())).andExpect(status().isOk());
+    mockMvc.perform(get("/api/restaurants?id=" + id)).andExpect(status().isNotFound());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void a_page_of_organizations_is_read_from_the_query_cache_until_the_table_changes()
+      throws Exception {
+    ucsbOrganizationRepository.save(
+        UCSBOrganization.builder()
+            .orgCode("ZPR")
+            .orgTranslationShort("ZETA PHI RHO")
+            .orgTranslation("ZETA PHI RHO")
+            .build());
+
+    mockMvc
+        .perform(get("/api/ucsborganization/all?page=0&size=10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page.totalElements").value(1));
+    statistics.clear();
+    mockMvc
+        .perform(get("/api/ucsborganization/all?page=0&size=10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].orgCode").value("ZPR"));
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertEquals(1, statistics.getQueryCacheHitCount());
+
+    mockMvc
+        .perform(
+            post("/api/ucsborganization/post?orgCode=SKY&orgTranslationShort=SKYDIVING"
+                    + "&orgTranslation=SKYDIVING CLUB&inactive=false")
+                .with(csrf()))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/api/ucsborganization/all?page=0&size=10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page.totalElements").value(2));
+
+    mockMvc
+        .perform(delete("/api/ucsborganization?orgCode=SKY").with(csrf()))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/api/ucsborganization/all?page=0&size=10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.page.totalElements").value(1));
+  }
+}
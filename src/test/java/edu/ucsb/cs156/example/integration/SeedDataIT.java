@@ -0,0 +1,120 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.models.SeedDataOptions;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.JobsRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SeedDataService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks that SeedDataService inserts what it is asked for into H2, in JDBC batches, and that the
+ * same seed inserts the same rows.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SeedDataIT {
+
+  @Autowired SeedDataService seedDataService;
+
+  @Autowired UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @Autowired MenuItemReviewRepository menuItemReviewRepository;
+
+  @Autowired HelpRequestRepository helpRequestRepository;
+
+  @Autowired JobsRepository jobsRepository;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @MockitoBean UserRepository userRepository;
+
+  private static final SeedDataOptions OPTIONS =
+      SeedDataOptions.builder()
+          .seed(42)
+          .menuItems(50)
+          .menuItemReviews(5000)
+          .helpRequests(500)
+          .jobs(100)
+          .jobLogLines(20)
+          .build();
+
+  @Test
+  public void seed_inserts_the_rows_asked_for_in_batches() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    List<String> progress = new ArrayList<>();
+
+    seedDataService.seed(OPTIONS, progress::add);
+
+    assertEquals(50, ucsbDiningCommonsMenuItemRepository.count());
+    assertEquals(5000, menuItemReviewRepository.count());
+    assertEquals(500, helpRequestRepository.count());
+    assertEquals(100, jobsRepository.count());
+    assertEquals(20, jobsRepository.findAll().iterator().next().getLog().lines().count());
+    assertTrue(progress.get(progress.size() - 1).startsWith("Jobs: inserted 100 of 100"));
+
+    // one INSERT per batch of 50 and one sequence call per 50 ids, plus the counts above
+    long rows = 50 + 5000 + 500 + 100;
+    long statements = statistics.getPrepareStatementCount();
+    assertTrue(statements <= 2 * rows / 50 + 20, statements + " statements for " + rows + " rows");
+  }
+
+  @Test
+  public void the_same_seed_inserts_the_same_rows() {
+    seedDataService.seed(OPTIONS, message -> {});
+    List<String> first = reviews();
+    menuItemReviewRepository.deleteAll();
+    ucsbDiningCommonsMenuItemRepository.deleteAll();
+
+    seedDataService.seed(OPTIONS, message -> {});
+
+    assertEquals(first, reviews());
+  }
+
+  // the reviews without their generated ids, with the position of their menu item instead
+  private List<String> reviews() {
+    List<Long> itemIds =
+        StreamSupport.stream(ucsbDiningCommonsMenuItemRepository.findAll().spliterator(), false)
+            .map(item -> item.getId())
+            .sorted()
+            .toList();
+    return StreamSupport.stream(menuItemReviewRepository.findAll().spliterator(), false)
+        .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+        .map(
+            (MenuItemReview review) ->
+                "%d %s %d %s %s"
+                    .formatted(
+                        itemIds.indexOf(review.getItemId()),
+                        review.getReviewerEmail(),
+                        review.getStars(),
+                        review.getDateReviewed(),
+                        review.getComments()))
+        .toList();
+  }
+}
@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.ServerTiming;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/** Checks that no <code>Server-Timing</code> header is sent when the feature is left off. */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class ServerTimingDisabledIT {
+
+  @LocalServerPort int port;
+
+  @MockitoBean UserRepository userRepository;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  public void api_responses_do_not_include_the_header() throws Exception {
+    for (String path : List.of("/api/systemInfo", "/api/currentUser")) {
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+      assertEquals(List.of(), response.headers().allValues(ServerTiming.HEADER), path);
+    }
+  }
+}
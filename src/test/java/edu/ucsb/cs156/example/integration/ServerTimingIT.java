@@ -0,0 +1,77 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.ServerTiming;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks, through the embedded Tomcat, that /api responses carry a <code>Server-Timing</code>
+ * header when <code>app.serverTiming.enabled</code> is true, including responses that Spring
+ * Security rejects before they reach a controller.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "app.serverTiming.enabled=true")
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+public class ServerTimingIT {
+
+  @LocalServerPort int port;
+
+  @MockitoBean UserRepository userRepository;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  private HttpResponse<String> get(String path) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  public void json_responses_include_the_serialization_time() throws Exception {
+    HttpResponse<String> response = get("/api/systemInfo");
+
+    assertEquals(200, response.statusCode());
+    List<String> timings = response.headers().allValues(ServerTiming.HEADER);
+    assertEquals(1, timings.size(), timings.toString());
+    assertTrue(timings.get(0).contains("auth;dur="), timings.get(0));
+    assertTrue(timings.get(0).contains("json;dur="), timings.get(0));
+    assertTrue(timings.get(0).contains("total;dur="), timings.get(0));
+  }
+
+  @Test
+  public void rejected_requests_include_the_timings_so_far() throws Exception {
+    HttpResponse<String> response = get("/api/currentUser");
+
+    assertEquals(403, response.statusCode());
+    List<String> timings = response.headers().allValues(ServerTiming.HEADER);
+    assertEquals(1, timings.size(), timings.toString());
+    assertTrue(timings.get(0).contains("total;dur="), timings.get(0));
+  }
+
+  @Test
+  public void non_api_responses_do_not_include_the_header() throws Exception {
+    HttpResponse<String> response = get("/v3/api-docs");
+
+    assertEquals(200, response.statusCode());
+    assertEquals(List.of(), response.headers().allValues(ServerTiming.HEADER));
+  }
+}
@@ -0,0 +1,190 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks that the single-entity PUT and DELETE endpoints run exactly one SQL statement, whether or
+ * not the entity exists.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+@Import(TestConfig.class)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SingleRowWriteIT {
+
+  @Autowired RestaurantRepository restaurantRepository;
+
+  @Autowired UCSBOrganizationRepository ucsbOrganizationRepository;
+
+  @Autowired HelpRequestRepository helpRequestRepository;
+
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @Autowired public MockMvc mockMvc;
+
+  @MockitoBean UserRepository userRepository;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void updating_and_deleting_a_restaurant_take_one_statement_each() throws Exception {
+    long id =
+        restaurantRepository
+            .save(Restaurant.builder().name("Freebirds").description("Burritos").build())
+            .getId();
+
+    statistics.clear();
+    mockMvc
+        .perform(
+            put("/api/restaurants?id=" + id)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Freebirds\",\"description\":\"Tacos\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(id))
+        .andExpect(jsonPath("$.description").value("Tacos"));
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals("Tacos", restaurantRepository.findById(id).get().getDescription());
+
+    statistics.clear();
+    mockMvc.perform(delete("/api/restaurants?id=" + id).with(csrf())).andExpect(status().isOk());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertFalse(restaurantRepository.existsById(id));
+
+    statistics.clear();
+    mockMvc
+        .perform(delete("/api/restaurants?id=" + id).with(csrf()))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("Restaurant with id %d not found".formatted(id)));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void updating_and_deleting_an_organization_take_one_statement_each() throws Exception {
+    ucsbOrganizationRepository.save(
+        UCSBOrganization.builder()
+            .orgCode("ZPR")
+            .orgTranslationShort("ZETA PHI RHO")
+            .orgTranslation("ZETA PHI RHO")
+            .inactive(false)
+            .build());
+
+    statistics.clear();
+    mockMvc
+        .perform(
+            put("/api/ucsborganization?orgCode=ZPR")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"orgTranslationShort\":\"ZPR\",\"orgTranslation\":\"Zeta Phi Rho\","
+                        + "\"inactive\":true}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orgCode").value("ZPR"));
+    assertEquals(1, statistics.getPrepareStatementCount());
+    UCSBOrganization updated = ucsbOrganizationRepository.findById("ZPR").get();
+    assertEquals("Zeta Phi Rho", updated.getOrgTranslation());
+    assertEquals(true, updated.getInactive());
+
+    statistics.clear();
+    mockMvc
+        .perform(
+            put("/api/ucsborganization?orgCode=NONE")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orgTranslationShort\":\"x\",\"orgTranslation\":\"x\"}"))
+        .andExpect(status().isNotFound());
+    assertEquals(1, statistics.getPrepareStatementCount());
+
+    statistics.clear();
+    mockMvc
+        .perform(delete("/api/ucsborganization?orgCode=ZPR").with(csrf()))
+        .andExpect(status().isOk());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, ucsbOrganizationRepository.count());
+  }
+
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @Test
+  public void updating_a_help_request_copies_every_field() throws Exception {
+    long id =
+        helpRequestRepository
+            .save(
+                HelpRequest.builder()
+                    .requesterEmail("a@ucsb.edu")
+                    .teamId("s25-01")
+                    .tableOrBreakoutRoom("1")
+                    .requestTime(LocalDateTime.parse("2025-01-01T10:00:00"))
+                    .explanation("stuck")
+                    .solved(false)
+                    .build())
+            .getId();
+
+    statistics.clear();
+    mockMvc
+        .perform(
+            put("/api/helprequest?id=" + id)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"requesterEmail\":\"b@ucsb.edu\",\"teamId\":\"s25-02\","
+                        + "\"tableOrBreakoutRoom\":\"2\",\"requestTime\":\"2025-02-02T11:00:00\","
+                        + "\"explanation\":\"unstuck\",\"solved\":true}"))
+        .andExpect(status().isOk());
+    assertEquals(1, statistics.getPrepareStatementCount());
+
+    HelpRequest expected =
+        HelpRequest.builder()
+            .id(id)
+            .requesterEmail("b@ucsb.edu")
+            .teamId("s25-02")
+            .tableOrBreakoutRoom("2")
+            .requestTime(LocalDateTime.parse("2025-02-02T11:00:00"))
+            .explanation("unstuck")
+            .solved(true)
+            .build();
+    assertEquals(expected, helpRequestRepository.findById(id).get());
+  }
+}
@@ -0,0 +1,314 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.SqlStatementRecorder;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Pins down the SQL statements each entity endpoint runs against H2, so that an N+1 query or a
+ * redundant select shows up as a failing test (with a diff of the SQL) rather than in production.
+ *
+ * <p>Each test uses its own table, so the tests do not need a fresh application context. The first
+ * insert into a table with a generated id fetches a block of ids from its sequence.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+@Import({TestConfig.class, SqlStatementRecorder.class})
+@WithMockUser(roles = {"ADMIN", "USER"})
+public class StatementCountIT {
+
+  @Autowired SqlStatementRecorder sql;
+
+  @Autowired public MockMvc mockMvc;
+
+  @Autowired public ObjectMapper mapper;
+
+  @MockitoBean UserRepository userRepository;
+
+  private JsonNode create(String url) throws Exception {
+    sql.clear();
+    String json =
+        mockMvc
+            .perform(post(url).with(csrf()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return mapper.readTree(json);
+  }
+
+  private void read(String url) throws Exception {
+    sql.clear();
+    mockMvc.perform(get(url)).andExpect(status().isOk());
+  }
+
+  private void update(String url, JsonNode incoming) throws Exception {
+    sql.clear();
+    mockMvc
+        .perform(
+            put(url)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(incoming)))
+        .andExpect(status().isOk());
+  }
+
+  private void remove(String url) throws Exception {
+    sql.clear();
+    mockMvc.perform(delete(url).with(csrf())).andExpect(status().isOk());
+  }
+
+  @Test
+  public void articles() throws Exception {
+    JsonNode article =
+        create(
+            "/api/articles/post?title=Tacos&url=https://example.org&explanation=tasty"
+                + "&email=cgaucho@ucsb.edu&dateAdded=2025-01-01T00:00:00");
+    sql.assertStatements("next value for articles_seq", "insert into articles");
+    String byId = "/api/articles?id=" + article.get("id");
+
+    read(byId);
+    sql.assertStatements("select from articles where id");
+    read("/api/articles/all");
+    sql.assertStatements("select from articles order by");
+    update(byId, article);
+    sql.assertStatements("update articles set where id");
+    remove(byId);
+    sql.assertStatements("delete from articles where id");
+  }
+
+  @Test
+  public void help_requests() throws Exception {
+    JsonNode helpRequest =
+        create(
+            "/api/helprequest/post?requesterEmail=cgaucho@ucsb.edu&teamId=s25-01"
+                + "&tableOrBreakoutRoom=7&requestTime=2025-01-01T00:00:00"
+                + "&explanation=stuck&solved=false");
+    sql.assertStatements("next value for helprequest_seq", "insert into helprequest");
+    String byId = "/api/helprequest?id=" + helpRequest.get("id");
+
+    read(byId);
+    sql.assertStatements("select from helprequest where id");
+    read("/api/helprequest/all?sort=requestTime");
+    sql.assertStatements("select from helprequest order by request_time");
+    update(byId, helpRequest);
+    sql.assertStatements("update helprequest set where id");
+    remove(byId);
+    sql.assertStatements("delete from helprequest where id");
+  }
+
+  @Test
+  public void menu_item_reviews() throws Exception {
+    JsonNode review =
+        create(
+            "/api/menuitemreview/post?itemId=1&reviewerEmail=cgaucho@ucsb.edu&stars=5"
+                + "&dateReviewed=2025-01-01T00:00:00&comments=great");
+    sql.assertStatements("next value for menuitemreview_seq", "insert into menuitemreview");
+    String byId = "/api/menuitemreview?id=" + review.get("id");
+
+    read(byId);
+    sql.assertStatements("select from menuitemreview where id");
+    read("/api/menuitemreview/all?sort=itemId");
+    sql.assertStatements("select from menuitemreview order by item_id");
+    update(byId, review);
+    sql.assertStatements("update menuitemreview set where id");
+    remove(byId);
+    sql.assertStatements("delete from menuitemreview where id");
+  }
+
+  @Test
+  public void recommendation_requests() throws Exception {
+    JsonNode request =
+        create(
+            "/api/recommendationrequest/post?requesterEmail=cgaucho@ucsb.edu"
+                + "&professorEmail=phtcon@ucsb.edu&explanation=grad school"
+                + "&dateRequested=2025-01-01T00:00:00&dateNeeded=2025-02-01T00:00:00&done=false");
+    sql.assertStatements(
+        "next value for recommendationrequest_seq", "insert into recommendationrequest");
+    String byId = "/api/recommendationrequest?id=" + request.get("id");
+
+    read(byId);
+    sql.assertStatements("select from recommendationrequest where id");
+    read("/api/recommendationrequest/all");
+    sql.assertStatements("select from recommendationrequest order by");
+    update(byId, request);
+    sql.assertStatements("update recommendationrequest set where id");
+    remove(byId);
+    sql.assertStatements("delete from recommendationrequest where id");
+  }
+
+  @Test
+  public void ucsb_dining_commons_menu_items() throws Exception {
+    JsonNode item =
+        create(
+            "/api/ucsbdiningcommonsmenuitem/post?diningCommonsCode=ortega&name=Tacos&station=Grill");
+    sql.assertStatements(
+        "next value for ucsbdiningcommonsmenuitem_seq", "insert into ucsbdiningcommonsmenuitem");
+    String byId = "/api/ucsbdiningcommonsmenuitem?id=" + item.get("id");
+
+    read(byId);
+    sql.assertStatements("select from ucsbdiningcommonsmenuitem where id");
+    read("/api/ucsbdiningcommonsmenuitem/all?sort=diningCommonsCode");
+    sql.assertStatements("select from ucsbdiningcommonsmenuitem order by dining_commons_code");
+    update(byId, item);
+    sql.assertStatements("update ucsbdiningcommonsmenuitem set where id");
+    remove(byId);
+    sql.assertStatements("delete from ucsbdiningcommonsmenuitem where id");
+  }
+
+  // the reference data below is in the second-level cache (see HibernateCacheConfig), so once it
+  // has been written it is read without going to the database
+
+  @Test
+  public void restaurants() throws Exception {
+    JsonNode restaurant = create("/api/restaurants/post?name=Freebirds&description=Burritos");
+    sql.assertStatements("next value for restaurants_seq", "insert into restaurants");
+    String byId = "/api/restaurants?id=" + restaurant.get("id");
+
+    read(byId);
+    sql.assertCount(0);
+    read("/api/restaurants/all");
+    sql.assertStatements("select from restaurants order by");
+    read("/api/restaurants/all");
+    sql.assertCount(0);
+    update(byId, restaurant);
+    sql.assertStatements("update restaurants set where id");
+    remove(byId);
+    sql.assertStatements("delete from restaurants where id");
+
+    // the delete cleared the restaurants from the cache, so this goes to the database once
+    sql.clear();
+    mockMvc.perform(get(byId)).andExpect(status().isNotFound());
+    sql.assertAtMost(1);
+  }
+
+  @Test
+  public void ucsb_dates() throws Exception {
+    JsonNode date =
+        create(
+            "/api/ucsbdates/post?quarterYYYYQ=20251&name=first day&localDateTime=2025-01-06T00:00:00");
+    sql.assertStatements("next value for ucsbdates_seq", "insert into ucsbdates");
+    String byId = "/api/ucsbdates?id=" + date.get("id");
+
+    read(byId);
+    sql.assertCount(0);
+    read("/api/ucsbdates/all?sort=quarterYYYYQ");
+    sql.assertStatements("select from ucsbdates order by quarteryyyyq");
+    update(byId, date);
+    sql.assertStatements("update ucsbdates set where id");
+    remove(byId);
+    sql.assertStatements("delete from ucsbdates where id");
+  }
+
+  @Test
+  public void ucsb_dining_commons() throws Exception {
+    // the code is given rather than generated, so saving it first checks whether it exists
+    JsonNode commons =
+        create(
+            "/api/ucsbdiningcommons/post?code=ortega&name=Ortega&hasSackMeal=true"
+                + "&hasTakeOutMeal=true&hasDiningCam=true&latitude=34.41&longitude=-119.84");
+    sql.assertStatements(
+        "select from ucsbdiningcommons where code", "insert into ucsbdiningcommons");
+    String byCode = "/api/ucsbdiningcommons?code=ortega";
+
+    read(byCode);
+    sql.assertCount(0);
+    read("/api/ucsbdiningcommons/all");
+    sql.assertStatements("select from ucsbdiningcommons order by");
+    update(byCode, commons);
+    sql.assertStatements("update ucsbdiningcommons set where code");
+    remove(byCode);
+    sql.assertStatements("delete from ucsbdiningcommons where code");
+  }
+
+  @Test
+  public void ucsb_organizations() throws Exception {
+    JsonNode organization =
+        create(
+            "/api/ucsborganization/post?orgCode=ZPR&orgTranslationShort=ZETA PHI RHO"
+                + "&orgTranslation=ZETA PHI RHO&inactive=false");
+    sql.assertStatements(
+        "select from ucsborganization where org_code", "insert into ucsborganization");
+    String byCode = "/api/ucsborganization?orgCode=ZPR";
+
+    read(byCode);
+    sql.assertCount(0);
+    read("/api/ucsborganization/all");
+    sql.assertStatements("select from ucsborganization order by");
+    update(byCode, organization);
+    sql.assertStatements("update ucsborganization set where org_code");
+    remove(byCode);
+    sql.assertStatements("delete from ucsborganization where org_code");
+  }
+
+  @Test
+  public void bulk_requests_take_the_same_statements_however_many_items_they_have()
+      throws Exception {
+    List<String> organizations = new ArrayList<>();
+    List<String> updated = new ArrayList<>();
+    List<String> codes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      String json =
+          "{\"orgCode\":\"BULK%d\",\"orgTranslationShort\":\"club %d\",\"orgTranslation\":\"%s\","
+              + "\"inactive\":false}";
+      organizations.add(json.formatted(i, i, "club"));
+      updated.add(json.formatted(i, i, "renamed club"));
+      codes.add("\"BULK%d\"".formatted(i));
+    }
+
+    sql.clear();
+    mockMvc
+        .perform(
+            post("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", organizations) + "]"))
+        .andExpect(status().isOk());
+    sql.assertStatements(
+        "select from ucsborganization where org_code in", "insert into ucsborganization");
+
+    sql.clear();
+    mockMvc
+        .perform(
+            put("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", updated) + "]"))
+        .andExpect(status().isOk());
+    sql.assertStatements(
+        "select from ucsborganization where org_code in", "update ucsborganization set");
+
+    sql.clear();
+    mockMvc
+        .perform(
+            delete("/api/ucsborganization/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", codes) + "]"))
+        .andExpect(status().isOk());
+    sql.assertStatements(
+        "select from ucsborganization where org_code in", "delete from ucsborganization");
+  }
+}
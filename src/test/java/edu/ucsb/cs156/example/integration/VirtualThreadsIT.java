@@ -0,0 +1,96 @@
+package edu.ucsb.cs156.example.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.VirtualThreadPinningService;
+import edu.ucsb.cs156.example.services.jobs.JobService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Checks that in the virtualthreads profile, requests, @Async jobs and scheduled tasks all run on
+ * virtual threads, and that pinned virtual threads are being listened for.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"integration", "virtualthreads"})
+@Import(TestConfig.class)
+public class VirtualThreadsIT {
+
+  @LocalServerPort int port;
+
+  @MockitoBean UserRepository userRepository;
+
+  @Autowired ServletWebServerApplicationContext context;
+
+  @Autowired JobService jobService;
+
+  @Autowired TaskScheduler taskScheduler;
+
+  @Autowired VirtualThreadPinningService virtualThreadPinningService;
+
+  @Test
+  public void requests_are_served_on_virtual_threads() throws Exception {
+    TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+    assertInstanceOf(
+        VirtualThreadExecutor.class,
+        webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+
+    HttpResponse<String> response =
+        HttpClient.newHttpClient()
+            .send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/systemInfo"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode());
+  }
+
+  @Test
+  public void jobs_run_on_virtual_threads() throws Exception {
+    CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+    jobService.runJobAsync(
+        Job.builder().status("running").build(),
+        ctx -> virtual.complete(Thread.currentThread().isVirtual()));
+
+    assertTrue(virtual.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void scheduled_tasks_run_on_virtual_threads() throws Exception {
+    CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+    taskScheduler.schedule(
+        () -> virtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+
+    assertTrue(virtual.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void pinned_threads_are_listened_for() {
+    assertTrue(virtualThreadPinningService.isStarted());
+  }
+}
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.example.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+public class AsyncLoggingMetricsTests {
+
+  private static DropCountingAsyncAppender appender(LoggerContext context, String name) {
+    DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+    appender.setContext(context);
+    appender.setName(name);
+    return appender;
+  }
+
+  @Test
+  public void finds_drop_counting_appenders_on_any_logger() {
+    LoggerContext context = new LoggerContext();
+    DropCountingAsyncAppender rootAppender = appender(context, "ROOT_ASYNC");
+    DropCountingAsyncAppender otherAppender = appender(context, "OTHER_ASYNC");
+    context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(rootAppender);
+    context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(new ListAppender<ILoggingEvent>());
+    context.getLogger("other").addAppender(otherAppender);
+    context.getLogger("another").addAppender(otherAppender);
+
+    assertEquals(Set.of(rootAppender, otherAppender), AsyncLoggingMetrics.findAppenders(context));
+  }
+
+  @Test
+  public void finds_nothing_without_logback() {
+    assertEquals(Set.of(), AsyncLoggingMetrics.findAppenders(mock(ILoggerFactory.class)));
+  }
+
+  @Test
+  public void binds_dropped_counter_and_queue_gauge() {
+    LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    Logger logger = context.getLogger("AsyncLoggingMetricsTests");
+    DropCountingAsyncAppender appender = appender(context, "TEST_ASYNC");
+    ListAppender<ILoggingEvent> events = new ListAppender<>();
+    events.start();
+    appender.addAppender(events);
+    appender.start();
+    logger.addAppender(appender);
+    try {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      new AsyncLoggingMetrics().bindTo(registry);
+
+      assertNotNull(
+          registry.find("logging.async.dropped").tag("appender", "TEST_ASYNC").functionCounter());
+      assertEquals(
+          0,
+          registry.get("logging.async.queue.size").tag("appender", "TEST_ASYNC").gauge().value());
+    } finally {
+      logger.detachAppender(appender);
+      appender.stop();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package edu.ucsb.cs156.example.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DropCountingAsyncAppenderTests {
+
+  private final LoggerContext context = new LoggerContext();
+  private final Logger logger = context.getLogger("test");
+  private final CountDownLatch taken = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private DropCountingAsyncAppender appender;
+
+  /** Blocks on the first event, so that the async queue fills up behind it. */
+  private class BlockingAppender extends AppenderBase<ILoggingEvent> {
+    @Override
+    protected void append(ILoggingEvent event) {
+      taken.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void start(int queueSize, int discardingThreshold, boolean neverBlock) {
+    context.setMDCAdapter(new LogbackMDCAdapter());
+    BlockingAppender blocking = new BlockingAppender();
+    blocking.setContext(context);
+    blocking.start();
+    appender = new DropCountingAsyncAppender();
+    appender.setContext(context);
+    appender.setName("ASYNC");
+    appender.setQueueSize(queueSize);
+    appender.setDiscardingThreshold(discardingThreshold);
+    appender.setNeverBlock(neverBlock);
+    appender.addAppender(blocking);
+    appender.start();
+  }
+
+  private void log(Level level) {
+    appender.doAppend(new LoggingEvent("fqcn", logger, level, "message", null, null));
+  }
+
+  private void blockWorker() throws InterruptedException {
+    log(Level.INFO);
+    taken.await(10, TimeUnit.SECONDS);
+  }
+
+  @AfterEach
+  public void stop() {
+    release.countDown();
+    appender.stop();
+  }
+
+  @Test
+  public void events_are_counted_as_dropped_when_the_queue_is_full() throws Exception {
+    start(2, 0, true);
+    blockWorker();
+
+    log(Level.INFO);
+    log(Level.ERROR);
+    assertEquals(0, appender.getDroppedCount());
+
+    log(Level.ERROR);
+    log(Level.INFO);
+    assertEquals(2, appender.getDroppedCount());
+  }
+
+  @Test
+  public void info_events_are_counted_as_dropped_near_the_discarding_threshold() throws Exception {
+    start(4, 3, true);
+    blockWorker();
+
+    log(Level.WARN);
+    log(Level.WARN);
+    assertEquals(0, appender.getDroppedCount());
+
+    log(Level.INFO);
+    log(Level.DEBUG);
+    log(Level.WARN);
+    assertEquals(2, appender.getDroppedCount());
+  }
+
+  @Test
+  public void nothing_is_dropped_when_there_is_room() {
+    start(16, 0, false);
+    log(Level.INFO);
+    log(Level.INFO);
+    assertEquals(0, appender.getDroppedCount());
+  }
+}
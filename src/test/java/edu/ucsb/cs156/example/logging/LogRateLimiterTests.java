@@ -0,0 +1,78 @@
+package edu.ucsb.cs156.example.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class LogRateLimiterTests {
+
+  private final AtomicLong now = new AtomicLong(1_000);
+
+  private final LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofNanos(100), now::get);
+
+  @Test
+  public void allows_permits_per_window_and_reports_suppressed_count() {
+    assertEquals(0, limiter.tryAcquire());
+    assertEquals(0, limiter.tryAcquire());
+    assertEquals(-1, limiter.tryAcquire());
+    assertEquals(-1, limiter.tryAcquire());
+
+    now.addAndGet(99);
+    assertEquals(-1, limiter.tryAcquire());
+
+    now.addAndGet(1);
+    assertEquals(3, limiter.tryAcquire());
+    assertEquals(0, limiter.tryAcquire());
+    assertEquals(-1, limiter.tryAcquire());
+  }
+
+  @Test
+  public void public_constructor_uses_the_system_clock() {
+    LogRateLimiter systemLimiter = new LogRateLimiter(1, Duration.ofHours(1));
+    assertEquals(0, systemLimiter.tryAcquire());
+    assertEquals(-1, systemLimiter.tryAcquire());
+  }
+
+  @Test
+  public void concurrent_callers_share_the_permits_and_lose_no_suppressed_counts()
+      throws Exception {
+    LogRateLimiter shared = new LogRateLimiter(10, Duration.ofNanos(100), now::get);
+    int threads = 8;
+    int callsPerThread = 10_000;
+    CountDownLatch ready = new CountDownLatch(threads);
+    List<Future<Long>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      for (int t = 0; t < threads; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  ready.countDown();
+                  ready.await();
+                  long allowed = 0;
+                  for (int i = 0; i < callsPerThread; i++) {
+                    if (shared.tryAcquire() >= 0) {
+                      allowed++;
+                    }
+                  }
+                  return allowed;
+                }));
+      }
+      long allowed = 0;
+      for (Future<Long> result : results) {
+        allowed += result.get();
+      }
+      assertEquals(10, allowed);
+    }
+
+    now.addAndGet(100);
+    assertEquals(threads * callsPerThread - 10, shared.tryAcquire());
+  }
+}
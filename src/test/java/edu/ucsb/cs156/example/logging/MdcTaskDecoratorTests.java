@@ -0,0 +1,56 @@
+package edu.ucsb.cs156.example.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+public class MdcTaskDecoratorTests {
+
+  private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+  @AfterEach
+  public void clearMdc() {
+    MDC.clear();
+  }
+
+  @Test
+  public void task_runs_with_submitters_mdc_and_worker_mdc_is_restored() {
+    MDC.put("requestId", "req-1");
+    Map<String, String> seen = new HashMap<>();
+    Runnable task = decorator.decorate(() -> seen.putAll(MDC.getCopyOfContextMap()));
+
+    // run it as if on a worker thread with its own MDC
+    MDC.clear();
+    MDC.put("worker", "w");
+    task.run();
+
+    assertEquals(Map.of("requestId", "req-1"), seen);
+    assertEquals(Map.of("worker", "w"), MDC.getCopyOfContextMap());
+  }
+
+  @Test
+  public void task_submitted_without_mdc_runs_with_empty_mdc() {
+    MDC.clear();
+    Map<String, String> seen = new HashMap<>();
+    Runnable task =
+        decorator.decorate(
+            () -> {
+              seen.put("requestId", MDC.get("requestId"));
+              MDC.put("leaked", "x");
+            });
+
+    MDC.put("requestId", "stale");
+    task.run();
+    assertNull(seen.get("requestId"));
+    assertEquals(Map.of("requestId", "stale"), MDC.getCopyOfContextMap());
+
+    MDC.clear();
+    task.run();
+    assertNull(MDC.get("leaked"));
+  }
+}
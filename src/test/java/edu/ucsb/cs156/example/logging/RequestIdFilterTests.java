@@ -0,0 +1,62 @@
+package edu.ucsb.cs156.example.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestIdFilterTests {
+
+  private final RequestIdFilter filter = new RequestIdFilter();
+
+  private String filter(String header) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/systemInfo");
+    if (header != null) {
+      request.addHeader(RequestIdFilter.HEADER, header);
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    String[] inChain = new String[1];
+    filter.doFilter(
+        request,
+        response,
+        new MockFilterChain() {
+          @Override
+          public void doFilter(
+              jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+            inChain[0] = MDC.get(RequestIdFilter.MDC_KEY);
+          }
+        });
+    assertEquals(inChain[0], response.getHeader(RequestIdFilter.HEADER));
+    assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    return inChain[0];
+  }
+
+  @Test
+  public void accepts_incoming_request_id() throws Exception {
+    assertEquals("abc-123.x:y_z", filter("abc-123.x:y_z"));
+  }
+
+  @Test
+  public void generates_request_id_when_missing() throws Exception {
+    String first = filter(null);
+    String second = filter(null);
+    UUID.fromString(first);
+    assertNotEquals(first, second);
+  }
+
+  @Test
+  public void replaces_unacceptable_request_ids() throws Exception {
+    assertNotEquals("", filter(""));
+    String injected = "abc\n2025-01-01 ERROR fake log line";
+    assertNotEquals(injected, filter(injected));
+    String tooLong = "a".repeat(65);
+    assertNotEquals(tooLong, filter(tooLong));
+    assertEquals("a".repeat(64), filter("a".repeat(64)));
+  }
+}
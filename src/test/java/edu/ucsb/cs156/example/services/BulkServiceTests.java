@@ -0,0 +1,211 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.errors.BulkOperationException;
+import edu.ucsb.cs156.example.models.BulkItemError;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.CrudRepository;
+
+public class BulkServiceTests {
+
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final UCSBDateRepository ucsbDateRepository = mock(UCSBDateRepository.class);
+  private final MenuItemReviewRepository menuItemReviewRepository =
+      mock(MenuItemReviewRepository.class);
+  private final UCSBOrganizationRepository ucsbOrganizationRepository =
+      mock(UCSBOrganizationRepository.class);
+
+  private final BulkService bulkService = new BulkService(entityManager, 5);
+
+  private static UCSBDate date(long id, String name) {
+    return UCSBDate.builder().id(id).quarterYYYYQ("20251").name(name).build();
+  }
+
+  private static UCSBOrganization org(String code) {
+    return UCSBOrganization.builder().orgCode(code).orgTranslation(code + " club").build();
+  }
+
+  private static BulkItemError error(int index, String id, String message) {
+    return BulkItemError.builder().index(index).id(id).message(message).build();
+  }
+
+  private static List<BulkItemError> errors(Runnable operation) {
+    return assertThrows(BulkOperationException.class, operation::run).getErrors();
+  }
+
+  @Test
+  public void create_persists_entities_with_generated_ids() {
+    List<UCSBDate> items = List.of(date(0, "first day"), date(0, "last day"));
+
+    assertSame(items, bulkService.create(ucsbDateRepository, UCSBDate.class, items));
+
+    verify(entityManager).persist(items.get(0));
+    verify(entityManager).persist(items.get(1));
+  }
+
+  @Test
+  public void create_rejects_ids_and_missing_items_when_ids_are_generated() {
+    List<MenuItemReview> items =
+        Arrays.asList(
+            MenuItemReview.builder().build(), MenuItemReview.builder().id(7L).build(), null);
+
+    BulkOperationException e =
+        assertThrows(
+            BulkOperationException.class,
+            () -> bulkService.create(menuItemReviewRepository, MenuItemReview.class, items));
+
+    assertEquals("2 of 3 items were rejected; nothing was changed", e.getMessage());
+    assertEquals(
+        List.of(
+            error(1, "7", "id must not be given; it is generated"),
+            error(2, null, "item is missing")),
+        e.getErrors());
+    verify(entityManager, never()).persist(any());
+  }
+
+  @Test
+  public void create_persists_entities_with_new_natural_keys() {
+    List<UCSBOrganization> items = List.of(org("ZPR"), org("SKY"));
+    when(ucsbOrganizationRepository.findAllById(Set.of("ZPR", "SKY"))).thenReturn(List.of());
+
+    assertSame(
+        items, bulkService.create(ucsbOrganizationRepository, UCSBOrganization.class, items));
+
+    verify(entityManager).persist(items.get(0));
+    verify(entityManager).persist(items.get(1));
+  }
+
+  @Test
+  public void create_rejects_natural_keys_that_are_missing_repeated_or_in_use() {
+    List<UCSBOrganization> items = List.of(org("ZPR"), org(" "), org("SKY"), org("ZPR"));
+    when(ucsbOrganizationRepository.findAllById(Set.of("ZPR", "SKY")))
+        .thenReturn(List.of(org("SKY")));
+
+    assertEquals(
+        List.of(
+            error(1, null, "id is required"),
+            error(2, "SKY", "UCSBOrganization with id SKY already exists"),
+            error(3, "ZPR", "id ZPR appears more than once")),
+        errors(
+            () -> bulkService.create(ucsbOrganizationRepository, UCSBOrganization.class, items)));
+    verify(entityManager, never()).persist(any());
+  }
+
+  @Test
+  public void update_merges_every_item_into_the_existing_entity() {
+    UCSBDate incoming1 = date(1, "new name 1");
+    UCSBDate incoming2 = date(2, "new name 2");
+    UCSBDate merged1 = date(1, "merged 1");
+    UCSBDate merged2 = date(2, "merged 2");
+    when(ucsbDateRepository.findAllById(Set.of(1L, 2L)))
+        .thenReturn(List.of(date(1, "old 1"), date(2, "old 2")));
+    when(entityManager.merge(incoming1)).thenReturn(merged1);
+    when(entityManager.merge(incoming2)).thenReturn(merged2);
+
+    assertEquals(
+        List.of(merged1, merged2),
+        bulkService.update(ucsbDateRepository, UCSBDate.class, List.of(incoming1, incoming2)));
+  }
+
+  @Test
+  public void update_rejects_items_without_ids_repeated_ids_and_unknown_ids() {
+    List<UCSBDate> items =
+        Arrays.asList(date(1, "a"), date(0, "b"), date(1, "c"), null, date(9, "d"));
+    when(ucsbDateRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(date(1, "old")));
+
+    assertEquals(
+        List.of(
+            error(1, null, "id is required"),
+            error(2, "1", "id 1 appears more than once"),
+            error(3, null, "item is missing"),
+            error(4, "9", "UCSBDate with id 9 not found")),
+        errors(() -> bulkService.update(ucsbDateRepository, UCSBDate.class, items)));
+    verify(entityManager, never()).merge(any());
+  }
+
+  @Test
+  public void delete_removes_the_existing_entities() {
+    List<UCSBDate> existing = List.of(date(1, "a"), date(2, "b"));
+    when(ucsbDateRepository.findAllById(Set.of(1L, 2L))).thenReturn(existing);
+
+    assertEquals(2, bulkService.delete(ucsbDateRepository, UCSBDate.class, List.of(1L, 2L)));
+
+    verify(ucsbDateRepository).deleteAll(existing);
+  }
+
+  @Test
+  public void delete_rejects_missing_repeated_and_unknown_ids() {
+    List<Long> ids = Arrays.asList(1L, null, 1L);
+    when(ucsbDateRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+
+    assertEquals(
+        List.of(
+            error(0, "1", "UCSBDate with id 1 not found"),
+            error(1, null, "id is required"),
+            error(2, "1", "id 1 appears more than once")),
+        errors(() -> bulkService.delete(ucsbDateRepository, UCSBDate.class, ids)));
+    verify(ucsbDateRepository, never()).deleteAll(any());
+  }
+
+  @Test
+  public void requests_over_the_maximum_size_are_rejected() {
+    List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+    List<UCSBDate> items = ids.stream().map(id -> date(id, "day " + id)).toList();
+    String message = "a bulk request may contain at most 5 items, not 6";
+
+    assertEquals(
+        message,
+        assertThrows(
+                BadRequestException.class,
+                () -> bulkService.create(ucsbDateRepository, UCSBDate.class, items))
+            .getMessage());
+    assertEquals(
+        message,
+        assertThrows(
+                BadRequestException.class,
+                () -> bulkService.update(ucsbDateRepository, UCSBDate.class, items))
+            .getMessage());
+    assertEquals(
+        message,
+        assertThrows(
+                BadRequestException.class,
+                () -> bulkService.delete(ucsbDateRepository, UCSBDate.class, ids))
+            .getMessage());
+    verify(entityManager, never()).persist(any());
+    verify(entityManager, never()).merge(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void classes_without_an_id_field_cannot_be_used() {
+    CrudRepository<String, Long> repository = mock(CrudRepository.class);
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> bulkService.create(repository, String.class, List.of("not an entity")));
+
+    assertEquals("java.lang.String has no @Id field", e.getMessage());
+  }
+}
@@ -0,0 +1,181 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.entities.Restaurant;
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.repositories.ArticleRepository;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
+import edu.ucsb.cs156.example.repositories.RestaurantRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+public class ExportServiceTests {
+
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+  private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+
+  private final ExportService exportService =
+      new ExportService(
+          new ObjectMapper(),
+          entityManager,
+          transactionManager,
+          mock(ArticleRepository.class),
+          mock(HelpRequestRepository.class),
+          mock(MenuItemReviewRepository.class),
+          mock(RecommendationRequestRepository.class),
+          restaurantRepository,
+          mock(UCSBDateRepository.class),
+          mock(UCSBDiningCommonsRepository.class),
+          mock(UCSBDiningCommonsMenuItemRepository.class),
+          mock(UCSBOrganizationRepository.class));
+
+  private final Restaurant freebirds =
+      Restaurant.builder().id(1).name("Freebirds").description("Burritos").build();
+  private final Restaurant woodstocks =
+      Restaurant.builder().id(2).name("Woodstocks").description("Pizza").build();
+
+  @Test
+  public void resources_are_listed_in_alphabetical_order() {
+    assertIterableEquals(
+        List.of(
+            "articles",
+            "helprequest",
+            "menuitemreview",
+            "recommendationrequest",
+            "restaurants",
+            "ucsbdates",
+            "ucsbdiningcommons",
+            "ucsbdiningcommonsmenuitem",
+            "ucsborganization"),
+        exportService.getResources());
+  }
+
+  @Test
+  public void export_writes_json_array_in_a_read_only_transaction_and_closes_the_stream()
+      throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    when(restaurantRepository.streamAll())
+        .thenReturn(Stream.of(freebirds, woodstocks).onClose(() -> closed.set(true)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.export("restaurants", ExportService.Format.JSON).writeTo(out);
+
+    assertEquals(
+        "[{\"id\":1,\"name\":\"Freebirds\",\"description\":\"Burritos\"},"
+            + "{\"id\":2,\"name\":\"Woodstocks\",\"description\":\"Pizza\"}]",
+        out.toString());
+    assertTrue(closed.get());
+    verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    verify(entityManager).detach(freebirds);
+    verify(entityManager).detach(woodstocks);
+  }
+
+  @Test
+  public void write_ndjson_puts_one_object_on_each_line() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count =
+        exportService.write(Stream.of(freebirds, woodstocks), ExportService.Format.NDJSON, out);
+
+    assertEquals(2, count);
+    assertEquals(
+        "{\"id\":1,\"name\":\"Freebirds\",\"description\":\"Burritos\"}\n"
+            + "{\"id\":2,\"name\":\"Woodstocks\",\"description\":\"Pizza\"}\n",
+        out.toString());
+  }
+
+  @Test
+  public void write_empty_table_as_json_is_an_empty_array() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(0, exportService.write(Stream.empty(), ExportService.Format.JSON, out));
+    assertEquals("[]", out.toString());
+  }
+
+  @Test
+  public void write_leaves_the_json_array_open_when_a_row_fails() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Stream<Restaurant> rows =
+        Stream.of(freebirds, woodstocks)
+            .peek(
+                r -> {
+                  if (r == woodstocks) {
+                    throw new IllegalStateException("connection lost");
+                  }
+                });
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> exportService.write(rows, ExportService.Format.JSON, out));
+    assertEquals("[{\"id\":1,\"name\":\"Freebirds\",\"description\":\"Burritos\"}", out.toString());
+  }
+
+  @Test
+  public void write_reports_io_errors_unchecked() {
+    OutputStream broken =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+        };
+
+    UncheckedIOException e =
+        assertThrows(
+            UncheckedIOException.class,
+            () -> exportService.write(Stream.of(freebirds), ExportService.Format.JSON, broken));
+    assertEquals("Broken pipe", e.getCause().getMessage());
+  }
+
+  @Test
+  public void export_of_unknown_resource_is_rejected() {
+    BadRequestException e =
+        assertThrows(
+            BadRequestException.class,
+            () -> exportService.export("users", ExportService.Format.JSON));
+    assertTrue(e.getMessage().startsWith("cannot export 'users'; resource must be one of ["));
+  }
+
+  @Test
+  public void formats_are_looked_up_by_name() {
+    assertEquals(ExportService.Format.JSON, ExportService.Format.of("json"));
+    assertEquals(ExportService.Format.NDJSON, ExportService.Format.of("NDJSON"));
+    assertEquals(MediaType.APPLICATION_NDJSON, ExportService.Format.NDJSON.getMediaType());
+    assertEquals("ndjson", ExportService.Format.NDJSON.getExtension());
+    BadRequestException e =
+        assertThrows(BadRequestException.class, () -> ExportService.Format.of("xml"));
+    assertEquals("format must be json or ndjson", e.getMessage());
+  }
+}
@@ -0,0 +1,217 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.controllers.ApiController;
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.errors.BadRequestException;
+import edu.ucsb.cs156.example.errors.BulkOperationException;
+import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.HandlerTimingSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class RequestTimingServiceTests {
+
+  private SimpleMeterRegistry meterRegistry;
+  private RequestTimingService service;
+  private Method fast;
+  private Method slow;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    service = new RequestTimingService();
+    service.meterRegistry = meterRegistry;
+    fast = String.class.getMethod("length");
+    slow = Object.class.getMethod("toString");
+  }
+
+  private static long ms(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  @Test
+  public void summaries_report_percentiles_and_outcomes_slowest_first() {
+    for (int i = 1; i <= 100; i++) {
+      service.record(fast, ms(i), 200, null);
+    }
+    service.record(slow, ms(500), 404, new EntityNotFoundException(MenuItemReview.class, 1L));
+    service.record(slow, ms(300), 404, new EntityNotFoundException(MenuItemReview.class, 2L));
+    service.record(slow, ms(100), 200, null);
+
+    List<HandlerTimingSummary> summaries = service.getSummaries();
+    assertEquals(2, summaries.size());
+
+    HandlerTimingSummary first = summaries.get(0);
+    assertEquals("Object.toString", first.getHandler());
+    assertEquals(3, first.getCount());
+    assertEquals(Map.of("SUCCESS", 1L, "CLIENT_ERROR", 2L), first.getOutcomes());
+    assertEquals(Map.of("EntityNotFoundException", 2L), first.getExceptions());
+    assertEquals(500, first.getMaxMs(), 5);
+
+    HandlerTimingSummary second = summaries.get(1);
+    assertEquals("String.length", second.getHandler());
+    assertEquals(100, second.getCount());
+    assertEquals(Map.of("SUCCESS", 100L), second.getOutcomes());
+    assertEquals(Map.of(), second.getExceptions());
+    assertEquals(50.5, second.getMeanMs(), 1);
+    assertEquals(50, second.getP50Ms(), 1);
+    assertEquals(95, second.getP95Ms(), 1);
+    assertEquals(99, second.getP99Ms(), 1);
+    assertEquals(100, second.getMaxMs(), 1);
+  }
+
+  @Test
+  public void summaries_are_sorted_by_p99_not_by_map_order() {
+    service.record(slow, ms(1), 200, null);
+    service.record(fast, ms(500), 200, null);
+
+    List<HandlerTimingSummary> summaries = service.getSummaries();
+    assertEquals("String.length", summaries.get(0).getHandler());
+    assertEquals("Object.toString", summaries.get(1).getHandler());
+  }
+
+  @Test
+  public void micrometer_timers_are_tagged_by_handler_outcome_and_exception() {
+    service.record(fast, ms(10), 200, null);
+    service.record(fast, ms(20), 200, null);
+    service.record(fast, ms(30), 500, new IllegalStateException("boom"));
+
+    Timer ok =
+        meterRegistry
+            .find(RequestTimingService.TIMER_NAME)
+            .tags("handler", "String.length", "outcome", "SUCCESS", "exception", "None")
+            .timer();
+    assertNotNull(ok);
+    assertEquals(2, ok.count());
+    assertEquals(30, ok.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+    Timer failed =
+        meterRegistry
+            .find(RequestTimingService.TIMER_NAME)
+            .tags("outcome", "SERVER_ERROR", "exception", "IllegalStateException")
+            .timer();
+    assertNotNull(failed);
+    assertEquals(1, failed.count());
+
+    assertNull(
+        meterRegistry.find(RequestTimingService.TIMER_NAME).tags("outcome", "REDIRECTION").timer());
+  }
+
+  @Test
+  public void very_slow_calls_are_clamped_rather_than_rejected() {
+    service.record(fast, TimeUnit.HOURS.toNanos(2), 200, null);
+    HandlerTimingSummary summary = service.getSummaries().get(0);
+    assertEquals(1, summary.getCount());
+    assertTrue(summary.getMaxMs() >= 59_000 && summary.getMaxMs() <= 61_000);
+  }
+
+  @Test
+  public void reset_clears_histograms_and_counters() {
+    service.record(fast, ms(10), 200, null);
+    service.record(fast, ms(10), 500, new IllegalStateException("boom"));
+
+    service.reset();
+
+    HandlerTimingSummary summary = service.getSummaries().get(0);
+    assertEquals(0, summary.getCount());
+    assertEquals(Map.of(), summary.getOutcomes());
+    assertEquals(Map.of(), summary.getExceptions());
+
+    service.record(fast, ms(10), 500, new IllegalStateException("again"));
+    assertEquals(
+        Map.of("IllegalStateException", 1L), service.getSummaries().get(0).getExceptions());
+  }
+
+  /** A controller that, like most, handles its exceptions with those of ApiController. */
+  static class Controller extends ApiController {
+    public String handler() {
+      return "";
+    }
+  }
+
+  /** A controller without any @ExceptionHandler. */
+  static class PlainController {
+    public String handler() {
+      return "";
+    }
+  }
+
+  @ResponseStatus(HttpStatus.GONE)
+  static class GoneException extends RuntimeException {}
+
+  private static int statusOfException(Class<?> controller, Throwable exception) throws Exception {
+    return RequestTimingService.statusOf(controller.getMethod("handler"), null, 200, exception);
+  }
+
+  @Test
+  public void statusOf_error_response_uses_its_status() throws Exception {
+    assertEquals(
+        409, statusOfException(Controller.class, new ResponseStatusException(HttpStatus.CONFLICT)));
+  }
+
+  @Test
+  public void statusOf_bad_request_exception_is_400() throws Exception {
+    assertEquals(
+        400, statusOfException(Controller.class, new BadRequestException("size must be > 0")));
+  }
+
+  @Test
+  public void statusOf_bulk_operation_exception_is_400() throws Exception {
+    assertEquals(
+        400, statusOfException(Controller.class, new BulkOperationException(List.of(), 3)));
+  }
+
+  @Test
+  public void statusOf_entity_not_found_exception_is_404() throws Exception {
+    assertEquals(
+        404,
+        statusOfException(Controller.class, new EntityNotFoundException(MenuItemReview.class, 1L)));
+  }
+
+  @Test
+  public void statusOf_access_denied_exception_is_403() throws Exception {
+    assertEquals(403, statusOfException(Controller.class, new AccessDeniedException("denied")));
+  }
+
+  @Test
+  public void statusOf_exception_with_response_status_uses_it() throws Exception {
+    assertEquals(410, statusOfException(Controller.class, new GoneException()));
+    assertEquals(410, statusOfException(PlainController.class, new GoneException()));
+  }
+
+  @Test
+  public void statusOf_unhandled_exception_is_500() throws Exception {
+    assertEquals(500, statusOfException(Controller.class, new RuntimeException("boom")));
+    // without ApiController's handlers, nothing turns it into a 404
+    assertEquals(
+        500,
+        statusOfException(
+            PlainController.class, new EntityNotFoundException(MenuItemReview.class, 1L)));
+  }
+
+  @Test
+  public void statusOf_without_exception_uses_response_entity_then_servlet_status()
+      throws Exception {
+    Method handler = Controller.class.getMethod("handler");
+    assertEquals(
+        400,
+        RequestTimingService.statusOf(handler, ResponseEntity.badRequest().build(), 200, null));
+    assertEquals(201, RequestTimingService.statusOf(handler, "body", 201, null));
+  }
+}
@@ -0,0 +1,104 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class SeedDataGeneratorTests {
+
+  @Test
+  public void the_same_seed_generates_the_same_entities() {
+    SeedDataGenerator first = new SeedDataGenerator(42);
+    SeedDataGenerator second = new SeedDataGenerator(42);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.menuItem(), second.menuItem());
+      assertEquals(first.menuItemReview(List.of()), second.menuItemReview(List.of()));
+      assertEquals(first.helpRequest(), second.helpRequest());
+      assertEquals(first.job(3), second.job(3));
+    }
+  }
+
+  @Test
+  public void different_seeds_generate_different_entities() {
+    assertNotEquals(new SeedDataGenerator(1).helpRequest(), new SeedDataGenerator(2).helpRequest());
+  }
+
+  @Test
+  public void each_kind_of_entity_is_generated_independently_of_the_others() {
+    SeedDataGenerator withMenuItems = new SeedDataGenerator(42);
+    IntStream.range(0, 10).forEach(i -> withMenuItems.menuItem());
+
+    assertEquals(
+        new SeedDataGenerator(42).menuItemReview(List.of()),
+        withMenuItems.menuItemReview(List.of()));
+  }
+
+  @Test
+  public void reviews_refer_to_the_given_menu_items_and_have_one_to_five_stars() {
+    SeedDataGenerator generator = new SeedDataGenerator(42);
+    Set<Integer> stars = new HashSet<>();
+
+    for (int i = 0; i < 1000; i++) {
+      MenuItemReview review = generator.menuItemReview(List.of(7L, 8L));
+      assertTrue(review.getItemId() == 7L || review.getItemId() == 8L);
+      stars.add(review.getStars());
+    }
+
+    assertEquals(Set.of(1, 2, 3, 4, 5), stars);
+  }
+
+  @Test
+  public void without_menu_items_reviews_refer_to_ids_from_1_to_1000() {
+    SeedDataGenerator generator = new SeedDataGenerator(42);
+
+    for (int i = 0; i < 1000; i++) {
+      long itemId = generator.menuItemReview(List.of()).getItemId();
+      assertTrue(itemId >= 1 && itemId <= 1000, "itemId " + itemId);
+    }
+  }
+
+  @Test
+  public void help_requests_are_at_tables_and_in_breakout_rooms() {
+    SeedDataGenerator generator = new SeedDataGenerator(42);
+    Set<String> places = new HashSet<>();
+    Set<Boolean> solved = new HashSet<>();
+
+    for (int i = 0; i < 100; i++) {
+      HelpRequest request = generator.helpRequest();
+      places.add(request.getTableOrBreakoutRoom().replaceAll(" \\d+$", ""));
+      solved.add(request.getSolved());
+      assertTrue(request.getTeamId().matches("[wsf]25-\\d\\d"), request.getTeamId());
+      assertTrue(request.getRequesterEmail().matches("student\\d{5}@ucsb.edu"));
+    }
+
+    assertEquals(Set.of("table", "breakout room"), places);
+    assertEquals(Set.of(true, false), solved);
+  }
+
+  @Test
+  public void jobs_have_logs_of_the_given_number_of_lines() {
+    SeedDataGenerator generator = new SeedDataGenerator(42);
+    Set<String> statuses = new HashSet<>();
+
+    for (int i = 0; i < 100; i++) {
+      Job job = generator.job(5);
+      statuses.add(job.getStatus());
+      List<String> lines = job.getLog().lines().toList();
+      assertEquals(5, lines.size());
+      assertTrue(lines.get(4).startsWith("Processed item 5 of 5: "), lines.get(4));
+    }
+
+    assertEquals(Set.of("complete", "error"), statuses);
+    assertEquals("", generator.job(0).getLog());
+  }
+}
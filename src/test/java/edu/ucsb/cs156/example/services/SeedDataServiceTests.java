@@ -0,0 +1,113 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.SeedDataOptions;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.JobsRepository;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class SeedDataServiceTests {
+
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+  private final UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository =
+      mock(UCSBDiningCommonsMenuItemRepository.class);
+  private final MenuItemReviewRepository menuItemReviewRepository =
+      mock(MenuItemReviewRepository.class);
+  private final HelpRequestRepository helpRequestRepository = mock(HelpRequestRepository.class);
+  private final JobsRepository jobsRepository = mock(JobsRepository.class);
+
+  private final SeedDataService seedDataService =
+      new SeedDataService(
+          transactionManager,
+          ucsbDiningCommonsMenuItemRepository,
+          menuItemReviewRepository,
+          helpRequestRepository,
+          jobsRepository);
+
+  private final List<String> progress = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  private static <E> List<List<E>> chunks(ArgumentCaptor<Iterable<E>> captor) {
+    return captor.getAllValues().stream().map(chunk -> (List<E>) chunk).toList();
+  }
+
+  @Test
+  public void seed_inserts_each_table_in_chunks_of_one_transaction_each() {
+    // the database assigns ids 101, 102, 103 to the menu items
+    when(ucsbDiningCommonsMenuItemRepository.saveAll(any()))
+        .thenAnswer(
+            invocation -> {
+              long id = 101;
+              for (UCSBDiningCommonsMenuItem item :
+                  invocation.<Iterable<UCSBDiningCommonsMenuItem>>getArgument(0)) {
+                item.setId(id++);
+              }
+              return invocation.getArgument(0);
+            });
+
+    seedDataService.seed(
+        SeedDataOptions.builder()
+            .seed(42)
+            .menuItems(3)
+            .menuItemReviews(2500)
+            .helpRequests(0)
+            .jobs(2)
+            .jobLogLines(4)
+            .build(),
+        progress::add);
+
+    ArgumentCaptor<Iterable<MenuItemReview>> reviews = ArgumentCaptor.captor();
+    verify(menuItemReviewRepository, times(3)).saveAll(reviews.capture());
+    List<List<MenuItemReview>> reviewChunks = chunks(reviews);
+    assertEquals(List.of(1000, 1000, 500), reviewChunks.stream().map(List::size).toList());
+    reviewChunks.stream()
+        .flatMap(List::stream)
+        .forEach(review -> assertTrue(List.of(101L, 102L, 103L).contains(review.getItemId())));
+
+    ArgumentCaptor<Iterable<Job>> jobs = ArgumentCaptor.captor();
+    verify(jobsRepository).saveAll(jobs.capture());
+    List<Job> insertedJobs = chunks(jobs).get(0);
+    assertEquals(2, insertedJobs.size());
+    assertEquals(4, insertedJobs.get(0).getLog().lines().count());
+
+    verify(helpRequestRepository, never()).saveAll(any());
+    // 1 + 3 + 0 + 1 chunks
+    verify(transactionManager, times(5)).commit(any());
+
+    assertEquals(5, progress.size());
+    assertTrue(progress.get(0).startsWith("UCSBDiningCommonsMenuItems: inserted 3 of 3 ("));
+    assertTrue(progress.get(1).startsWith("MenuItemReviews: inserted 1000 of 2500 ("));
+    assertTrue(progress.get(2).startsWith("MenuItemReviews: inserted 2000 of 2500 ("));
+    assertTrue(progress.get(3).startsWith("MenuItemReviews: inserted 2500 of 2500 ("));
+    assertTrue(progress.get(4).matches("Jobs: inserted 2 of 2 \\(\\d+ rows/s\\)"), progress.get(4));
+  }
+
+  @Test
+  public void large_tables_report_progress_about_every_tenth() {
+    seedDataService.seed(
+        SeedDataOptions.builder().seed(1).helpRequests(20_000).build(), progress::add);
+
+    verify(helpRequestRepository, times(20)).saveAll(any());
+    assertEquals(10, progress.size());
+    assertTrue(progress.get(0).startsWith("HelpRequests: inserted 2000 of 20000 ("));
+    assertTrue(progress.get(9).startsWith("HelpRequests: inserted 20000 of 20000 ("));
+  }
+}
@@ -0,0 +1,113 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerTimingTests {
+
+  private static final String DUR = "dur=\\d+\\.\\d";
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+  private void advanceMs(long millis) {
+    now.addAndGet(millis * 1_000_000);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    ServerTiming timing = ServerTiming.current();
+    if (timing != null) {
+      timing.finish();
+    }
+  }
+
+  private static void assertHeader(String regex, String header) {
+    assertTrue(Pattern.matches(regex, header), header);
+  }
+
+  @Test
+  public void start_binds_to_the_current_thread_until_finish() {
+    assertNull(ServerTiming.current());
+
+    ServerTiming timing = ServerTiming.start();
+    assertSame(timing, ServerTiming.current());
+
+    timing.finish();
+    assertNull(ServerTiming.current());
+  }
+
+  @Test
+  public void header_with_no_segments_has_only_total() {
+    assertHeader("total;" + DUR, ServerTiming.start().header());
+  }
+
+  @Test
+  public void header_lists_auth_segments_and_query_count_in_order() {
+    ServerTiming timing = ServerTiming.start(now::get);
+
+    timing.markAuthenticated();
+    advanceMs(5);
+    timing.markAuthenticated(); // only the first call counts
+    timing.enter(ServerTiming.Segment.JSON);
+    advanceMs(1);
+    timing.exit(ServerTiming.Segment.JSON);
+    timing.enter(ServerTiming.Segment.DB);
+    timing.countQuery();
+    timing.countQuery();
+    advanceMs(3);
+    timing.exit(ServerTiming.Segment.DB);
+    timing.enter(ServerTiming.Segment.USER);
+    advanceMs(2);
+    timing.exit(ServerTiming.Segment.USER);
+
+    assertEquals(
+        "auth;dur=0.0, user;dur=2.0, db;dur=3.0;desc=\"2 queries\", json;dur=1.0,"
+            + " total;dur=11.0",
+        timing.header());
+  }
+
+  @Test
+  public void a_single_query_is_not_pluralized() {
+    ServerTiming timing = ServerTiming.start(now::get);
+    timing.enter(ServerTiming.Segment.DB);
+    timing.countQuery();
+    advanceMs(1);
+    timing.exit(ServerTiming.Segment.DB);
+
+    assertEquals("db;dur=1.0;desc=\"1 query\", total;dur=1.0", timing.header());
+  }
+
+  @Test
+  public void nested_segments_are_counted_once() {
+    ServerTiming timing = ServerTiming.start(now::get);
+
+    timing.enter(ServerTiming.Segment.DB);
+    advanceMs(20);
+    timing.enter(ServerTiming.Segment.DB);
+    advanceMs(1);
+    timing.exit(ServerTiming.Segment.DB);
+    timing.exit(ServerTiming.Segment.DB);
+    advanceMs(4);
+    timing.enter(ServerTiming.Segment.DB);
+    advanceMs(2);
+    timing.exit(ServerTiming.Segment.DB);
+
+    assertEquals("db;dur=23.0;desc=\"0 queries\", total;dur=27.0", timing.header());
+  }
+
+  @Test
+  public void written_flag() {
+    ServerTiming timing = ServerTiming.start();
+    assertFalse(timing.isWritten());
+    timing.setWritten();
+    assertTrue(timing.isWritten());
+  }
+}
@@ -0,0 +1,247 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.SignedTokenAuthentication;
+import edu.ucsb.cs156.example.models.TokenClaims;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+public class SignedTokenServiceTests {
+
+  private static final Instant NOW = Instant.parse("2025-10-28T00:00:00Z");
+
+  private final User user =
+      User.builder()
+          .id(7L)
+          .email("cgaucho@ucsb.edu")
+          .fullName("Chris Gaucho")
+          .pictureUrl("https://example.org/cgaucho.jpg")
+          .build();
+
+  private static SignedTokenService service(List<String> keys, Instant now) {
+    return new SignedTokenService(keys, 900, Optional.of(Clock.fixed(now, ZoneOffset.UTC)));
+  }
+
+  private String issue(SignedTokenService tokens, String... roles) throws Exception {
+    return tokens.issue(user, AuthorityUtils.createAuthorityList(roles));
+  }
+
+  private static String encode(String value) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // a token with the given key id and claims, signed with the given secret
+  private static String signed(String secret, String keyId, String claims) throws Exception {
+    String signed = encode(keyId) + "." + encode(claims);
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    byte[] signature = mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    return signed + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+  }
+
+  @Test
+  public void issued_token_verifies_and_carries_user_and_roles() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+
+    String token = issue(tokens, "ROLE_USER", "ROLE_ADMIN");
+    TokenClaims claims = tokens.verify(token).orElseThrow();
+
+    assertEquals("k1", claims.getKeyId());
+    assertEquals(7L, claims.getUserId());
+    assertEquals("cgaucho@ucsb.edu", claims.getEmail());
+    assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), claims.getRoles());
+    assertEquals(NOW.getEpochSecond(), claims.getIssuedAt());
+    assertEquals(NOW.getEpochSecond() + 900, claims.getExpiresAt());
+    assertEquals(900, tokens.getTtlSeconds());
+
+    User fromToken = claims.toUser();
+    assertEquals(7L, fromToken.getId());
+    assertEquals("Chris Gaucho", fromToken.getFullName());
+    assertEquals("https://example.org/cgaucho.jpg", fromToken.getPictureUrl());
+    assertTrue(fromToken.getAdmin());
+  }
+
+  @Test
+  public void user_from_token_without_admin_role_is_not_admin() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+    assertFalse(tokens.verify(issue(tokens, "ROLE_USER")).orElseThrow().toUser().getAdmin());
+    assertFalse(TokenClaims.builder().build().toUser().getAdmin());
+  }
+
+  @Test
+  public void expired_token_is_rejected() throws Exception {
+    String token = issue(service(List.of("k1:secret-one"), NOW));
+
+    assertTrue(service(List.of("k1:secret-one"), NOW.plusSeconds(899)).verify(token).isPresent());
+    assertTrue(service(List.of("k1:secret-one"), NOW.plusSeconds(900)).verify(token).isEmpty());
+  }
+
+  @Test
+  public void tampered_or_malformed_tokens_are_rejected() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+    String[] token = issue(tokens, "ROLE_USER").split("\\.");
+    String forgedClaims = issue(tokens, "ROLE_ADMIN").split("\\.")[1];
+
+    assertTrue(tokens.verify(null).isEmpty());
+    assertTrue(tokens.verify("").isEmpty());
+    assertTrue(tokens.verify("..").isEmpty());
+    assertTrue(tokens.verify("not-a-token").isEmpty());
+    assertTrue(tokens.verify(token[0] + "." + token[1]).isEmpty());
+    assertTrue(tokens.verify(String.join(".", token) + ".").isEmpty());
+    assertTrue(tokens.verify("!!!.###.$$$").isEmpty());
+    assertTrue(tokens.verify(token[0] + "." + forgedClaims + "." + token[2]).isEmpty());
+    assertTrue(tokens.verify(String.join(".", token) + "x").isEmpty());
+  }
+
+  @Test
+  public void claims_are_not_parsed_unless_the_signature_is_valid() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+    Logger logger = (Logger) LoggerFactory.getLogger(SignedTokenService.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    Level level = logger.getLevel();
+    logger.setLevel(Level.DEBUG);
+    logger.addAppender(appender);
+    try {
+      // not JSON, and not signed with k1: rejected on the signature, before any parsing
+      String unsigned = encode("k1") + "." + encode("{not json") + "." + encode("signature");
+      assertTrue(tokens.verify(unsigned).isEmpty());
+      assertEquals(List.of(), appender.list);
+
+      // the same claims, signed with k1, are parsed (and rejected as malformed)
+      assertTrue(tokens.verify(signed("secret-one", "k1", "{not json")).isEmpty());
+      assertEquals(1, appender.list.size());
+      assertTrue(appender.list.get(0).getFormattedMessage().startsWith("rejecting malformed"));
+    } finally {
+      logger.detachAppender(appender);
+      logger.setLevel(level);
+    }
+  }
+
+  @Test
+  public void claims_must_name_the_key_that_signed_them() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one", "k2:secret-two"), NOW);
+    String claims =
+        new ObjectMapper()
+            .writeValueAsString(
+                TokenClaims.builder()
+                    .keyId("k2")
+                    .tokenId("t")
+                    .expiresAt(NOW.getEpochSecond() + 60)
+                    .build());
+
+    assertTrue(tokens.verify(signed("secret-one", "k1", claims)).isEmpty());
+    assertTrue(tokens.verify(signed("secret-two", "k2", claims)).isPresent());
+  }
+
+  @Test
+  public void token_signed_with_another_secret_is_rejected() throws Exception {
+    String token = issue(service(List.of("k1:secret-one"), NOW));
+    assertTrue(service(List.of("k1:other-secret"), NOW).verify(token).isEmpty());
+    assertTrue(service(List.of("k2:secret-one"), NOW).verify(token).isEmpty());
+  }
+
+  @Test
+  public void rotated_keys_still_verify_until_revoked() throws Exception {
+    String oldToken = issue(service(List.of("k1:secret-one"), NOW));
+    SignedTokenService rotated = service(List.of("k2:secret-two", "k1:secret-one"), NOW);
+    String newToken = issue(rotated);
+
+    assertEquals("k2", rotated.verify(newToken).orElseThrow().getKeyId());
+    assertTrue(rotated.verify(oldToken).isPresent());
+
+    assertFalse(rotated.revokeKey("k2"));
+    assertFalse(rotated.revokeKey("unknown"));
+    assertTrue(rotated.revokeKey("k1"));
+
+    assertTrue(rotated.verify(oldToken).isEmpty());
+    assertTrue(rotated.verify(newToken).isPresent());
+  }
+
+  @Test
+  public void revoked_token_is_rejected_and_deny_list_is_pruned() throws Exception {
+    SignedTokenService issuer = service(List.of("k1:secret-one"), NOW);
+    TokenClaims first = issuer.verify(issue(issuer)).orElseThrow();
+    String second = issue(issuer);
+
+    issuer.revoke(first);
+    assertEquals(1, issuer.revokedTokenCount());
+
+    SignedTokenService later = service(List.of("k1:secret-one"), NOW.plusSeconds(1000));
+    later.revoke(first);
+    later.revoke(TokenClaims.builder().tokenId("x").expiresAt(NOW.getEpochSecond()).build());
+    later.revoke(TokenClaims.builder().tokenId("y").expiresAt(NOW.getEpochSecond()).build());
+    assertEquals(1, later.revokedTokenCount());
+
+    // an entry is dropped as soon as its token would be rejected as expired
+    later.revoke(TokenClaims.builder().tokenId("z").expiresAt(NOW.getEpochSecond() + 1000).build());
+    later.revoke(first);
+    assertEquals(1, later.revokedTokenCount());
+
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+    tokens.revoke(first);
+    tokens.revoke(tokens.verify(second).orElseThrow());
+    assertEquals(2, tokens.revokedTokenCount());
+    assertTrue(tokens.verify(second).isEmpty());
+  }
+
+  @Test
+  public void authentication_built_from_claims_exposes_user_and_roles() throws Exception {
+    SignedTokenService tokens = service(List.of("k1:secret-one"), NOW);
+    TokenClaims claims = tokens.verify(issue(tokens, "ROLE_USER")).orElseThrow();
+
+    SignedTokenAuthentication authentication = new SignedTokenAuthentication(claims);
+
+    assertTrue(authentication.isAuthenticated());
+    assertEquals("cgaucho@ucsb.edu", authentication.getName());
+    assertEquals(claims, authentication.getPrincipal());
+    assertEquals(claims, authentication.getClaims());
+    assertNull(authentication.getCredentials());
+    assertEquals(
+        AuthorityUtils.createAuthorityList("ROLE_USER"),
+        List.copyOf(authentication.getAuthorities()));
+  }
+
+  @Test
+  public void generated_key_is_used_when_none_configured() throws Exception {
+    SignedTokenService tokens = new SignedTokenService(List.of(), 60, Optional.empty());
+    TokenClaims claims = tokens.verify(issue(tokens, "ROLE_USER")).orElseThrow();
+    assertEquals("generated", claims.getKeyId());
+    assertEquals(60, claims.getExpiresAt() - claims.getIssuedAt());
+
+    SignedTokenService other = new SignedTokenService(List.of(), 60, Optional.empty());
+    assertTrue(other.verify(issue(tokens, "ROLE_USER")).isEmpty());
+  }
+
+  @Test
+  public void malformed_key_configuration_is_rejected() {
+    assertThrows(IllegalArgumentException.class, () -> service(List.of("nocolon"), NOW));
+    assertThrows(IllegalArgumentException.class, () -> service(List.of(":secret"), NOW));
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> service(List.of("k1:"), NOW));
+    assertEquals("app.token.signingKeys entries must be keyId:secret", e.getMessage());
+  }
+}
@@ -0,0 +1,190 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.models.SlowRequest;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SlowRequestServiceTests {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000L);
+  private Method handler;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    handler = String.class.getMethod("length");
+  }
+
+  private void advanceMs(long millis) {
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  public void disabled_service_tracks_nothing() {
+    SlowRequestService service = new SlowRequestService(false, 0, 10, 10, 10);
+
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    SlowRequestService.recordSql("select 1", 1000, true);
+    service.end(request, 200);
+
+    assertFalse(service.isEnabled());
+    assertNull(request);
+    assertEquals(List.of(), service.getSlowRequests());
+  }
+
+  @Test
+  public void fast_requests_are_not_kept() {
+    SlowRequestService service = new SlowRequestService(true, 60_000, 10, 10, 10);
+
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    service.sampleStacks();
+    service.end(request, 200);
+
+    assertTrue(service.isEnabled());
+    assertNotNull(request);
+    assertEquals(List.of(), service.getSlowRequests());
+  }
+
+  @Test
+  public void slow_requests_are_kept_with_sql_and_stack() {
+    SlowRequestService service = new SlowRequestService(true, 0, 10, 2, 3, now::get);
+
+    SlowRequestService.InFlightRequest request =
+        service.begin(handler, "GET", "/api/articles?id=1");
+    advanceMs(3);
+    SlowRequestService.recordSql("select * from articles", TimeUnit.MILLISECONDS.toNanos(3), true);
+    advanceMs(2);
+    SlowRequestService.recordSql("select * from users", TimeUnit.MILLISECONDS.toNanos(2), false);
+    advanceMs(1);
+    SlowRequestService.recordSql("select 1", TimeUnit.MILLISECONDS.toNanos(1), true);
+    service.sampleStacks();
+    advanceMs(4);
+    service.end(request, 404);
+
+    List<SlowRequest> slowRequests = service.getSlowRequests();
+    assertEquals(1, slowRequests.size());
+    SlowRequest slow = slowRequests.get(0);
+    assertEquals("String.length", slow.getHandler());
+    assertEquals("GET", slow.getMethod());
+    assertEquals("/api/articles?id=1", slow.getUri());
+    assertEquals(404, slow.getStatus());
+    assertEquals(Thread.currentThread().getName(), slow.getThread());
+    assertNotNull(slow.getStartedAt());
+    assertEquals(10.0, slow.getDurationMs(), 0.001);
+
+    assertEquals(3, slow.getSqlCount());
+    assertEquals(6.0, slow.getSqlMs(), 0.001);
+    assertEquals(2, slow.getSql().size());
+    assertEquals("select * from articles", slow.getSql().get(0).getSql());
+    assertEquals(3.0, slow.getSql().get(0).getElapsedMs(), 0.001);
+    assertEquals(3.0, slow.getSql().get(0).getOffsetMs(), 0.001);
+    assertTrue(slow.getSql().get(0).getSuccess());
+    assertEquals("select * from users", slow.getSql().get(1).getSql());
+    assertFalse(slow.getSql().get(1).getSuccess());
+    assertEquals(5.0, slow.getSql().get(1).getOffsetMs(), 0.001);
+
+    assertEquals(3, slow.getStack().size());
+    assertTrue(slow.getStack().get(0).contains("getStackTrace"), slow.getStack().get(0));
+  }
+
+  @Test
+  public void requests_that_end_before_being_sampled_have_an_empty_stack() {
+    SlowRequestService service = new SlowRequestService(true, 50, 10, 10, 10, now::get);
+
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    advanceMs(49);
+    service.sampleStacks(); // too early
+    advanceMs(11);
+    service.end(request, 200);
+
+    assertEquals(List.of(), service.getSlowRequests().get(0).getStack());
+  }
+
+  @Test
+  public void requests_that_take_exactly_the_threshold_are_sampled_and_kept() {
+    SlowRequestService service = new SlowRequestService(true, 50, 10, 10, 10, now::get);
+
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    advanceMs(50);
+    service.sampleStacks();
+    service.end(request, 200);
+
+    SlowRequest slow = service.getSlowRequests().get(0);
+    assertEquals(50.0, slow.getDurationMs(), 0.001);
+    assertFalse(slow.getStack().isEmpty());
+  }
+
+  private static void firstSample(SlowRequestService service) {
+    service.sampleStacks();
+  }
+
+  private static void secondSample(SlowRequestService service) {
+    service.sampleStacks();
+  }
+
+  @Test
+  public void a_request_is_only_sampled_once() {
+    SlowRequestService service = new SlowRequestService(true, 0, 10, 10, 10_000);
+
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    firstSample(service);
+    secondSample(service);
+    service.end(request, 200);
+
+    String stack = String.join("\n", service.getSlowRequests().get(0).getStack());
+    assertTrue(stack.contains("firstSample"), stack);
+    assertFalse(stack.contains("secondSample"), stack);
+  }
+
+  @Test
+  public void nested_calls_on_the_same_thread_are_not_tracked_separately() {
+    SlowRequestService service = new SlowRequestService(true, 0, 10, 10, 10);
+
+    SlowRequestService.InFlightRequest outer = service.begin(handler, "GET", "/api/outer");
+    SlowRequestService.InFlightRequest inner = service.begin(handler, "GET", "/api/inner");
+    service.end(inner, 200);
+    service.end(outer, 200);
+
+    assertNull(inner);
+    assertEquals(1, service.getSlowRequests().size());
+    assertEquals("/api/outer", service.getSlowRequests().get(0).getUri());
+  }
+
+  @Test
+  public void sql_outside_a_tracked_request_is_ignored() {
+    SlowRequestService service = new SlowRequestService(true, 0, 10, 10, 10);
+
+    SlowRequestService.recordSql("select 1", 1000, true);
+    SlowRequestService.InFlightRequest request = service.begin(handler, "GET", "/api/articles");
+    service.end(request, 200);
+    SlowRequestService.recordSql("select 2", 1000, true);
+
+    assertEquals(0, service.getSlowRequests().get(0).getSqlCount());
+  }
+
+  @Test
+  public void only_the_most_recent_requests_are_kept_newest_first() {
+    SlowRequestService service = new SlowRequestService(true, 0, 2, 10, 10);
+
+    for (String uri : List.of("/api/1", "/api/2", "/api/3")) {
+      service.end(service.begin(handler, "GET", uri), 200);
+    }
+
+    List<SlowRequest> slowRequests = service.getSlowRequests();
+    assertEquals(2, slowRequests.size());
+    assertEquals("/api/3", slowRequests.get(0).getUri());
+    assertEquals("/api/2", slowRequests.get(1).getUri());
+
+    service.clear();
+    assertEquals(List.of(), service.getSlowRequests());
+  }
+}
@@ -0,0 +1,101 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.entities.Article;
+import edu.ucsb.cs156.example.entities.Restaurant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TableVersionServiceTests {
+
+  private final TableVersionService tableVersionService = new TableVersionService();
+
+  @AfterEach
+  public void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  public void tables_start_at_version_zero() {
+    assertEquals(0, tableVersionService.getVersion(Restaurant.class));
+  }
+
+  @Test
+  public void bump_outside_a_transaction_is_immediate_and_per_table() {
+    tableVersionService.bump(Restaurant.class);
+    tableVersionService.bump(Restaurant.class);
+
+    assertEquals(2, tableVersionService.getVersion(Restaurant.class));
+    assertEquals(0, tableVersionService.getVersion(Article.class));
+  }
+
+  @Test
+  public void etag_is_quoted_and_changes_with_the_version() {
+    String before = tableVersionService.getETag(Restaurant.class);
+    tableVersionService.bump(Restaurant.class);
+    String after = tableVersionService.getETag(Restaurant.class);
+
+    assertTrue(before.matches("\"[0-9a-z]+-0\""), before);
+    assertTrue(after.matches("\"[0-9a-z]+-1\""), after);
+    assertEquals(tableVersionService.getETag(Article.class), before);
+  }
+
+  @Test
+  public void etags_differ_between_application_starts() throws Exception {
+    String first = tableVersionService.getETag(Restaurant.class);
+    Thread.sleep(2);
+    assertNotEquals(first, new TableVersionService().getETag(Restaurant.class));
+  }
+
+  @Test
+  public void bump_inside_a_transaction_waits_for_commit_and_counts_once() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    tableVersionService.bump(Restaurant.class);
+    tableVersionService.bump(Restaurant.class);
+    tableVersionService.bump(Article.class);
+
+    assertEquals(0, tableVersionService.getVersion(Restaurant.class));
+    assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertEquals(1, tableVersionService.getVersion(Restaurant.class));
+    assertEquals(1, tableVersionService.getVersion(Article.class));
+  }
+
+  @Test
+  public void bump_inside_a_rolled_back_transaction_changes_nothing() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    tableVersionService.bump(Restaurant.class);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertEquals(0, tableVersionService.getVersion(Restaurant.class));
+  }
+
+  @Test
+  public void pending_bumps_are_kept_per_service() {
+    TransactionSynchronizationManager.initSynchronization();
+    TableVersionService other = new TableVersionService();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {});
+
+    other.bump(Restaurant.class);
+    tableVersionService.bump(Restaurant.class);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertEquals(3, TransactionSynchronizationManager.getSynchronizations().size());
+    assertEquals(1, tableVersionService.getVersion(Restaurant.class));
+    assertEquals(1, other.getVersion(Restaurant.class));
+  }
+}
@@ -0,0 +1,129 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ucsb.cs156.example.models.PinnedThread;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadPinningServiceTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private static PinnedThread pinnedThread(String thread) {
+    return PinnedThread.builder()
+        .thread(thread)
+        .startedAt(Instant.parse("2025-01-01T00:00:00Z"))
+        .durationMs(25)
+        .site("org.h2.engine.SessionLocal.waitForLock")
+        .stack(List.of())
+        .build();
+  }
+
+  // blocks a virtual thread with the given name while it holds a monitor, which pins it
+  private static void pinVirtualThread(String name) throws InterruptedException {
+    Object lock = new Object();
+    Thread.ofVirtual()
+        .name(name)
+        .start(
+            () -> {
+              synchronized (lock) {
+                try {
+                  Thread.sleep(50);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            })
+        .join();
+  }
+
+  private static PinnedThread awaitPinnedThread(VirtualThreadPinningService service, String name) {
+    return await()
+        .atMost(Duration.ofSeconds(20))
+        .until(
+            () ->
+                service.getPinnedThreads().stream()
+                    .filter(pinned -> pinned.getThread().equals(name))
+                    .findFirst()
+                    .orElse(null),
+            pinned -> pinned != null);
+  }
+
+  @Test
+  public void disabled_service_does_not_listen() {
+    VirtualThreadPinningService service =
+        new VirtualThreadPinningService(false, 0, 10, 10, meterRegistry);
+
+    service.start();
+    assertFalse(service.isStarted());
+    service.stop();
+    assertFalse(service.isStarted());
+  }
+
+  @Test
+  public void pinned_threads_are_kept_newest_first_and_counted() {
+    VirtualThreadPinningService service =
+        new VirtualThreadPinningService(false, 0, 2, 10, meterRegistry);
+
+    service.record(pinnedThread("first"));
+    service.record(pinnedThread("second"));
+    service.record(pinnedThread("third"));
+
+    assertEquals(
+        List.of("third", "second"),
+        service.getPinnedThreads().stream().map(PinnedThread::getThread).toList());
+    assertEquals(3, service.getPinnedCount());
+    assertEquals(3, meterRegistry.get("app.virtualthreads.pinned").counter().count());
+
+    service.clear();
+    assertEquals(List.of(), service.getPinnedThreads());
+    assertEquals(3, service.getPinnedCount());
+  }
+
+  @Test
+  public void thread_pinned_by_a_monitor_is_reported_with_its_site() throws Exception {
+    VirtualThreadPinningService service =
+        new VirtualThreadPinningService(true, 10, 10, 64, meterRegistry);
+    service.start();
+    service.start(); // already started
+    try {
+      assertTrue(service.isStarted());
+
+      pinVirtualThread("pinned-by-a-monitor");
+
+      PinnedThread pinned = awaitPinnedThread(service, "pinned-by-a-monitor");
+      assertTrue(pinned.getDurationMs() >= 10, String.valueOf(pinned.getDurationMs()));
+      assertTrue(
+          pinned.getSite().startsWith(VirtualThreadPinningServiceTests.class.getName() + "."),
+          pinned.getSite());
+      assertTrue(pinned.getStack().size() > 2, pinned.getStack().toString());
+    } finally {
+      service.stop();
+    }
+    assertFalse(service.isStarted());
+  }
+
+  @Test
+  public void site_is_null_when_the_kept_frames_are_all_in_the_jdk() throws Exception {
+    VirtualThreadPinningService service =
+        new VirtualThreadPinningService(true, 10, 10, 1, meterRegistry);
+    service.start();
+    try {
+      pinVirtualThread("pinned-in-the-jdk");
+
+      PinnedThread pinned = awaitPinnedThread(service, "pinned-in-the-jdk");
+      assertEquals(1, pinned.getStack().size());
+      assertNull(pinned.getSite());
+    } finally {
+      service.stop();
+    }
+  }
+}
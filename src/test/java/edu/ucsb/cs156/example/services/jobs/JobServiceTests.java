@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.example.services.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+
+import edu.ucsb.cs156.example.entities.Job;
+import edu.ucsb.cs156.example.logging.RequestIdFilter;
+import edu.ucsb.cs156.example.repositories.JobsRepository;
+import edu.ucsb.cs156.example.services.CurrentUserService;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.MDC;
+
+public class JobServiceTests {
+
+  @Mock private JobsRepository jobsRepository;
+
+  @Mock private CurrentUserService currentUserService;
+
+  @Mock private JobService self;
+
+  @InjectMocks private JobService jobService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @AfterEach
+  public void clearMdc() {
+    MDC.clear();
+  }
+
+  @Test
+  public void runAsJob_records_the_request_id_of_the_caller() {
+    MDC.put(RequestIdFilter.MDC_KEY, "req-123");
+
+    Job job = jobService.runAsJob(ctx -> {});
+
+    assertEquals("req-123", job.getRequestId());
+    assertEquals("running", job.getStatus());
+    verify(jobsRepository).save(same(job));
+    verify(self).runJobAsync(same(job), any());
+  }
+
+  @Test
+  public void runJobAsync_puts_request_and_job_ids_in_the_mdc_while_the_job_runs() {
+    Job job = Job.builder().id(7L).requestId("req-456").build();
+    Map<String, String> seen = new HashMap<>();
+
+    jobService.runJobAsync(job, ctx -> seen.putAll(MDC.getCopyOfContextMap()));
+
+    assertEquals(Map.of("requestId", "req-456", "jobId", "7"), seen);
+    assertEquals("complete", job.getStatus());
+    assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    assertNull(MDC.get(JobService.JOB_ID_MDC_KEY));
+  }
+
+  @Test
+  public void runJobAsync_without_request_id_only_sets_the_job_id() {
+    Job job = Job.builder().id(8L).build();
+    Map<String, String> seen = new HashMap<>();
+
+    jobService.runJobAsync(
+        job,
+        ctx -> {
+          seen.putAll(MDC.getCopyOfContextMap());
+          throw new Exception("Fail!");
+        });
+
+    assertEquals(Map.of("jobId", "8"), seen);
+    assertEquals("error", job.getStatus());
+    assertEquals("Fail!", job.getLog());
+    assertNull(MDC.get(JobService.JOB_ID_MDC_KEY));
+  }
+}
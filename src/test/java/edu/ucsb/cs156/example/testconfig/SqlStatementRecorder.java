@@ -0,0 +1,159 @@
+package edu.ucsb.cs156.example.testconfig;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+/**
+ * Records the SQL statements sent to the database, so that an integration test can make the
+ * statements an endpoint runs part of its contract. Import it into a SpringBootTest; it attaches
+ * itself to the datasource-proxy that DataSourceProxyConfig wraps around the DataSource.
+ *
+ * <p>A JDBC batch counts as one statement, since it is one round trip.
+ *
+ * <pre>
+ * sql.clear();
+ * mockMvc.perform(put("/api/restaurants?id=1")...);
+ * sql.assertStatements("update restaurants");
+ * </pre>
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+  private final List<String> statements = new CopyOnWriteArrayList<>();
+
+  public SqlStatementRecorder(DataSource dataSource) {
+    if (!(dataSource instanceof ProxyDataSource proxyDataSource)) {
+      throw new IllegalStateException("the DataSource is not wrapped by DataSourceProxyConfig");
+    }
+    proxyDataSource.getProxyConfig().getQueryListener().addListener(this);
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    statements.add(
+        execInfo.isBatch() ? "%s [batch of %d]".formatted(sql, execInfo.getBatchSize()) : sql);
+  }
+
+  /** This method forgets the statements recorded so far. */
+  public void clear() {
+    statements.clear();
+  }
+
+  /**
+   * This method returns the statements recorded since the last clear.
+   *
+   * @return the SQL of each statement, in the order they were run
+   */
+  public List<String> statements() {
+    return List.copyOf(statements);
+  }
+
+  /**
+   * This method asserts that exactly <code>expected</code> statements have been run.
+   *
+   * @param expected the number of statements
+   */
+  public void assertCount(int expected) {
+    List<String> actual = statements();
+    if (actual.size() != expected) {
+      fail(
+          "expected %d SQL statements but %d were run:%n%s"
+              .formatted(expected, actual.size(), numbered(actual)));
+    }
+  }
+
+  /**
+   * This method asserts that no more than <code>maximum</code> statements have been run.
+   *
+   * @param maximum the largest number of statements allowed
+   */
+  public void assertAtMost(int maximum) {
+    List<String> actual = statements();
+    if (actual.size() > maximum) {
+      fail(
+          "expected at most %d SQL statements but %d were run:%n%s"
+              .formatted(maximum, actual.size(), numbered(actual)));
+    }
+  }
+
+  /**
+   * This method asserts that the statements run match <code>expected</code>, one for one and in
+   * order. Each expected statement is a few words that must appear, in order, in the SQL, such as
+   * <code>"select from restaurants"</code> or <code>"delete from restaurants"</code>. On failure
+   * the message is a diff: lines starting with <code>-</code> were expected but not run, and lines
+   * starting with <code>+</code> were run but not expected.
+   *
+   * @param expected the expected statements
+   */
+  public void assertStatements(String... expected) {
+    List<String> actual = statements();
+    List<Pattern> patterns = Arrays.stream(expected).map(SqlStatementRecorder::pattern).toList();
+    // longest common subsequence of expected and actual statements
+    int[][] common = new int[expected.length + 1][actual.size() + 1];
+    for (int e = expected.length - 1; e >= 0; e--) {
+      for (int a = actual.size() - 1; a >= 0; a--) {
+        common[e][a] =
+            patterns.get(e).matcher(actual.get(a)).find()
+                ? common[e + 1][a + 1] + 1
+                : Math.max(common[e + 1][a], common[e][a + 1]);
+      }
+    }
+    if (common[0][0] == expected.length && expected.length == actual.size()) {
+      return;
+    }
+    List<String> diff = new ArrayList<>();
+    int e = 0;
+    int a = 0;
+    while (e < expected.length || a < actual.size()) {
+      if (e < expected.length
+          && a < actual.size()
+          && patterns.get(e).matcher(actual.get(a)).find()
+          && common[e][a] == common[e + 1][a + 1] + 1) {
+        diff.add("  " + actual.get(a++));
+        e++;
+      } else if (a < actual.size()
+          && (e == expected.length || common[e][a + 1] >= common[e + 1][a])) {
+        diff.add("+ " + actual.get(a++));
+      } else {
+        diff.add("- " + expected[e++]);
+      }
+    }
+    fail(
+        "the SQL statements run differ from those expected:%n%s"
+            .formatted(String.join(System.lineSeparator(), diff)));
+  }
+
+  private static Pattern pattern(String words) {
+    String regex =
+        Arrays.stream(words.trim().split("\\s+"))
+            .map(word -> "\\b" + Pattern.quote(word) + "\\b")
+            .collect(Collectors.joining(".*?"));
+    return Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  }
+
+  private static String numbered(List<String> statements) {
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < statements.size(); i++) {
+      int first = statements.indexOf(statements.get(i));
+      lines.add(
+          first == i
+              ? "%3d  %s".formatted(i + 1, statements.get(i))
+              : "%3d  (same as %d)".formatted(i + 1, first + 1));
+    }
+    return String.join(System.lineSeparator(), lines);
+  }
+}
@@ -1,14 +1,18 @@
 package edu.ucsb.cs156.example.testconfig;
 
+import edu.ucsb.cs156.example.aop.TableVersionETagAspect;
 import edu.ucsb.cs156.example.config.SecurityConfig;
 import edu.ucsb.cs156.example.services.CurrentUserService;
 import edu.ucsb.cs156.example.services.GrantedAuthoritiesService;
+import edu.ucsb.cs156.example.services.TableVersionService;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
 
 @TestConfiguration
-@Import(SecurityConfig.class)
+@EnableAspectJAutoProxy
+@Import({SecurityConfig.class, TableVersionService.class, TableVersionETagAspect.class})
 public class TestConfig {
 
   @Bean